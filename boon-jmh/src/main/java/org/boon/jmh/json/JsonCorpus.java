@@ -0,0 +1,192 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.jmh.json;
+
+import java.util.Random;
+
+/**
+ * The standard corpus the JSON benchmarks run against.
+ *
+ * Every document is generated from a fixed seed so numbers are comparable between
+ * runs and between releases. All documents are plain ASCII so the ASCII parser can
+ * take part; non-ASCII characters only appear escaped.
+ */
+public enum JsonCorpus {
+
+    /** A typical small message, a flat object with a handful of fields. */
+    SMALL {
+        @Override
+        String generate( Random random ) {
+            StringBuilder builder = new StringBuilder( 256 );
+            person( builder, random, 42 );
+            return builder.toString();
+        }
+    },
+
+    /** A large array of small objects. */
+    LARGE_ARRAY {
+        @Override
+        String generate( Random random ) {
+            StringBuilder builder = new StringBuilder( 2_000_000 );
+            builder.append( '[' );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                person( builder, random, index );
+            }
+            builder.append( ']' );
+            return builder.toString();
+        }
+    },
+
+    /** Objects and arrays nested several hundred levels deep. */
+    DEEP_NESTING {
+        @Override
+        String generate( Random random ) {
+            StringBuilder builder = new StringBuilder( 16_000 );
+            int depth = 500;
+            for ( int level = 0; level < depth; level++ ) {
+                if ( level % 2 == 0 ) {
+                    builder.append( "{\"level\":" ).append( level ).append( ",\"child\":" );
+                } else {
+                    builder.append( "[" ).append( level ).append( ',' );
+                }
+            }
+            builder.append( "null" );
+            for ( int level = depth - 1; level >= 0; level-- ) {
+                builder.append( level % 2 == 0 ? '}' : ']' );
+            }
+            return builder.toString();
+        }
+    },
+
+    /** Arrays of ints, longs and doubles, the shape of a metrics feed. */
+    NUMBER_HEAVY {
+        @Override
+        String generate( Random random ) {
+            StringBuilder builder = new StringBuilder( 1_000_000 );
+            builder.append( "{\"ints\":[" );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                builder.append( random.nextInt() );
+            }
+            builder.append( "],\"longs\":[" );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                builder.append( random.nextLong() );
+            }
+            builder.append( "],\"doubles\":[" );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                builder.append( random.nextDouble() * 1_000_000 );
+            }
+            builder.append( "]}" );
+            return builder.toString();
+        }
+    },
+
+    /** Many medium sized strings without escapes. */
+    STRING_HEAVY {
+        @Override
+        String generate( Random random ) {
+            StringBuilder builder = new StringBuilder( 1_000_000 );
+            builder.append( '[' );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                builder.append( '"' );
+                word( builder, random, 20 + random.nextInt( 60 ) );
+                builder.append( '"' );
+            }
+            builder.append( ']' );
+            return builder.toString();
+        }
+    },
+
+    /** Strings full of escapes, quotes, control characters and unicode escapes. */
+    ESCAPE_HEAVY {
+        @Override
+        String generate( Random random ) {
+            String[] escapes = { "\\\"", "\\\\", "\\/", "\\b", "\\f", "\\n", "\\r", "\\t", "\\u00e9", "\\u2603" };
+            StringBuilder builder = new StringBuilder( 1_000_000 );
+            builder.append( '[' );
+            for ( int index = 0; index < 10_000; index++ ) {
+                if ( index > 0 ) {
+                    builder.append( ',' );
+                }
+                builder.append( '"' );
+                for ( int part = 0; part < 8; part++ ) {
+                    word( builder, random, 1 + random.nextInt( 6 ) );
+                    builder.append( escapes[ random.nextInt( escapes.length ) ] );
+                }
+                builder.append( '"' );
+            }
+            builder.append( ']' );
+            return builder.toString();
+        }
+    };
+
+
+    private static final long SEED = 0xB00L;
+
+    abstract String generate( Random random );
+
+    public String json() {
+        return generate( new Random( SEED ) );
+    }
+
+
+    private static void person( StringBuilder builder, Random random, int id ) {
+        builder.append( "{\"id\":" ).append( id )
+                .append( ",\"firstName\":\"" );
+        word( builder, random, 8 );
+        builder.append( "\",\"lastName\":\"" );
+        word( builder, random, 10 );
+        builder.append( "\",\"age\":" ).append( 18 + random.nextInt( 60 ) )
+                .append( ",\"salary\":" ).append( random.nextInt( 100_000 ) ).append( ".25" )
+                .append( ",\"active\":" ).append( random.nextBoolean() )
+                .append( ",\"manager\":null" )
+                .append( ",\"tags\":[\"a\",\"b\",\"c\"]" )
+                .append( ",\"address\":{\"city\":\"Austin\",\"zip\":\"78701\"}}" );
+    }
+
+    private static void word( StringBuilder builder, Random random, int length ) {
+        for ( int index = 0; index < length; index++ ) {
+            builder.append( ( char ) ( 'a' + random.nextInt( 26 ) ) );
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.jmh.json;
+
+import org.boon.Boon;
+import org.boon.json.JsonParserAndMapper;
+import org.boon.json.JsonParserFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads three paths out of a 50 KB order payload, the way a gateway routes a message:
+ * once by parsing the whole tree, once through a tape JsonDocument.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class JsonDocumentBenchmark {
+
+    private static final String[] PATHS = { "customer.id", "orders[3].lines[0].sku", "orders[40].total" };
+
+    private final JsonParserFactory factory = new JsonParserFactory();
+
+    private JsonParserAndMapper parser;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random( 0xB00L );
+        StringBuilder json = new StringBuilder( 60_000 );
+        json.append( "{\"customer\":{\"id\":\"c-17\",\"name\":\"Ada Lovelace\",\"tier\":3},\"orders\":[" );
+        for ( int order = 0; order < 60; order++ ) {
+            if ( order > 0 ) {
+                json.append( ',' );
+            }
+            json.append( "{\"id\":" ).append( order ).append( ",\"total\":" ).append( random.nextInt( 10_000 ) / 100.0 )
+                    .append( ",\"status\":\"shipped\",\"lines\":[" );
+            for ( int line = 0; line < 6; line++ ) {
+                if ( line > 0 ) {
+                    json.append( ',' );
+                }
+                json.append( "{\"sku\":\"SKU-" ).append( random.nextInt( 100_000 ) )
+                        .append( "\",\"qty\":" ).append( 1 + random.nextInt( 9 ) )
+                        .append( ",\"description\":\"a line item description of moderate length\"}" );
+            }
+            json.append( "]}" );
+        }
+        json.append( "]}" );
+        bytes = json.toString().getBytes( StandardCharsets.UTF_8 );
+        parser = factory.createUTF8DirectByteParser();
+    }
+
+    @Benchmark
+    public void parseTree( Blackhole blackhole ) {
+        Object tree = parser.parse( bytes );
+        for ( String path : PATHS ) {
+            blackhole.consume( Boon.atIndex( tree, path ) );
+        }
+    }
+
+    @Benchmark
+    public void document( Blackhole blackhole ) {
+        Object document = factory.createDocument( bytes );
+        for ( String path : PATHS ) {
+            blackhole.consume( Boon.atIndex( document, path ) );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.jmh.json;
+
+import org.boon.json.JsonParserAndMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses every document of the {@link JsonCorpus} with every {@link ParserVariant}.
+ *
+ * The lazy parsers (FAST, LAZY_FINAL) only chop the input on parse, so the
+ * materialize benchmark also converts the result into plain Java objects through
+ * toString which walks every value; compare that one when choosing a parser for
+ * documents that are read completely.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class JsonParserFactoryBenchmark {
+
+    @Param
+    public ParserVariant parser;
+
+    @Param
+    public JsonCorpus corpus;
+
+    private JsonParserAndMapper jsonParser;
+
+    private char[] chars;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        String json = corpus.json();
+        chars = json.toCharArray();
+        bytes = json.getBytes( StandardCharsets.UTF_8 );
+        jsonParser = parser.create();
+
+        /* Fail fast instead of benchmarking a parser that cannot read the document. */
+        parse();
+    }
+
+    @Benchmark
+    public Object parse() {
+        return parser.parsesBytes() ? jsonParser.parse( bytes ) : jsonParser.parse( chars );
+    }
+
+    @Benchmark
+    public void materialize( Blackhole blackhole ) {
+        blackhole.consume( parse().toString() );
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.jmh.json;
+
+import org.boon.json.JsonSerializer;
+import org.boon.json.JsonSerializerFactory;
+import org.boon.json.serializers.impl.JsonSimpleSerializerImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a list of beans to UTF-8 bytes, through chars and a String or directly, and
+ * through chars with generated per-class writers.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class JsonSerializerBenchmark {
+
+    public static class Person {
+        String name;
+        String city;
+        int age;
+        long id;
+        double score;
+        boolean active;
+        List<String> tags = new ArrayList<>();
+    }
+
+
+    @Param( { "1", "1000" } )
+    public int count;
+
+    private List<Person> people;
+
+    private JsonSimpleSerializerImpl charSerializer;
+    private JsonSimpleSerializerImpl utf8Serializer;
+    private JsonSerializer generatedSerializer;
+
+    @Setup
+    public void setup() {
+        people = new ArrayList<>( count );
+        for ( int index = 0; index < count; index++ ) {
+            Person person = new Person();
+            person.name = "Person " + index;
+            person.city = index % 10 == 0 ? "Zürich" : "Boston";
+            person.age = 20 + index % 50;
+            person.id = 1_000_000_000_000L + index;
+            person.score = index * 0.5;
+            person.active = index % 2 == 0;
+            person.tags.add( "tag" + index % 7 );
+            person.tags.add( "line\nbreak" );
+            people.add( person );
+        }
+        charSerializer = new JsonSimpleSerializerImpl();
+        utf8Serializer = new JsonSimpleSerializerImpl();
+        generatedSerializer = new JsonSerializerFactory().generateSerializers().create();
+    }
+
+    @Benchmark
+    public byte[] chars() {
+        return charSerializer.serialize( people ).toString().getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Benchmark
+    public byte[] utf8() {
+        return utf8Serializer.serializeUTF8( people ).toBytes();
+    }
+
+    @Benchmark
+    public byte[] generated() {
+        return generatedSerializer.serialize( people ).toString().getBytes( StandardCharsets.UTF_8 );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.jmh.json;
+
+import org.boon.json.JsonParserAndMapper;
+import org.boon.json.JsonParserFactory;
+
+/**
+ * One constant per JsonParserFactory parser variant.
+ *
+ * Byte oriented parsers are fed the UTF-8 bytes of the document, the char oriented
+ * parsers the chars, which is how each of them is meant to be used.
+ */
+public enum ParserVariant {
+
+    FAST( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createFastParser();
+        }
+    },
+
+    FAST_OBJECT_MAPPER( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createFastObjectMapperParser();
+        }
+    },
+
+    UTF8_DIRECT_BYTE( true ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createUTF8DirectByteParser();
+        }
+    },
+
+    UTF8_STRUCTURAL( true ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createUTF8StructuralParser();
+        }
+    },
+
+    ASCII( true ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createASCIIParser();
+        }
+    },
+
+    LAX( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createLaxParser();
+        }
+    },
+
+    CHARACTER_SOURCE( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createCharacterSourceParser();
+        }
+    },
+
+    CHAR_ARRAY( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createJsonCharArrayParser();
+        }
+    },
+
+    LAZY_FINAL( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.createLazyFinalParser();
+        }
+    },
+
+    DEFAULT( false ) {
+        @Override
+        JsonParserAndMapper create( JsonParserFactory factory ) {
+            return factory.create();
+        }
+    };
+
+
+    private final boolean bytes;
+
+    ParserVariant( boolean bytes ) {
+        this.bytes = bytes;
+    }
+
+    abstract JsonParserAndMapper create( JsonParserFactory factory );
+
+    public JsonParserAndMapper create() {
+        return create( new JsonParserFactory() );
+    }
+
+    public boolean parsesBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.jmh.primitive;
+
+import org.boon.primitive.DoubleFormatter;
+import org.boon.primitive.DoubleScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares DoubleScanner and DoubleFormatter with Double.parseDouble and Double.toString
+ * on metric style values, a few digits after the point and the odd exponent.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class DoubleConversionBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private final double[] values = new double[ COUNT ];
+    private final char[][] texts = new char[ COUNT ][];
+    private final char[] out = new char[ DoubleFormatter.MAX_DOUBLE_CHARS ];
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random( 15 );
+        for ( int index = 0; index < COUNT; index++ ) {
+            double value = index % 8 == 0 ? random.nextDouble() * Math.pow( 10, random.nextInt( 40 ) - 20 )
+                    : Math.round( random.nextDouble() * 1_000_000 ) / 1000.0;
+            values[ index ] = value;
+            texts[ index ] = Double.toString( value ).toCharArray();
+        }
+    }
+
+    @Benchmark
+    public double parseScanner() {
+        char[] text = texts[ next++ & ( COUNT - 1 ) ];
+        return DoubleScanner.parseDouble( text, 0, text.length );
+    }
+
+    @Benchmark
+    public double parseJdk() {
+        char[] text = texts[ next++ & ( COUNT - 1 ) ];
+        return Double.parseDouble( new String( text ) );
+    }
+
+    @Benchmark
+    public int formatFormatter() {
+        return DoubleFormatter.write( values[ next++ & ( COUNT - 1 ) ], out, 0 );
+    }
+
+    @Benchmark
+    public int formatJdk() {
+        return Double.toString( values[ next++ & ( COUNT - 1 ) ] ).length();
+    }
+}
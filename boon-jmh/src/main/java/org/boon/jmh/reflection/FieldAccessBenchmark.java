@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.jmh.reflection;
+
+import org.boon.core.reflection.Reflection;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the FieldAccess implementations on the primitive and object paths
+ * the mappers, serializers and datarepo indexes use.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FieldAccessBenchmark {
+
+    public enum Accessor {
+
+        UNSAFE {
+            @Override
+            Map<String, FieldAccess> fields() {
+                return Reflection.getAllAccessorFields( Bean.class, true );
+            }
+        },
+
+        REFLECT {
+            @Override
+            Map<String, FieldAccess> fields() {
+                return Reflection.getAllAccessorFields( Bean.class, false );
+            }
+        },
+
+        PROPERTY {
+            @Override
+            Map<String, FieldAccess> fields() {
+                return Reflection.getPropertyFieldAccessors( Bean.class );
+            }
+        },
+
+        HANDLE {
+            @Override
+            Map<String, FieldAccess> fields() {
+                return Reflection.getAllAccessorHandleFields( Bean.class );
+            }
+        };
+
+        abstract Map<String, FieldAccess> fields();
+    }
+
+
+    public static class Bean {
+        private int count;
+        private long id;
+        private String name;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount( int count ) {
+            this.count = count;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId( long id ) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName( String name ) {
+            this.name = name;
+        }
+    }
+
+
+    @Param
+    public Accessor accessor;
+
+    private FieldAccess count;
+    private FieldAccess id;
+    private FieldAccess name;
+
+    private final Bean bean = new Bean();
+
+    private long next;
+
+    @Setup
+    public void setup() {
+        Map<String, FieldAccess> fields = accessor.fields();
+        count = fields.get( "count" );
+        id = fields.get( "id" );
+        name = fields.get( "name" );
+        bean.setCount( 42 );
+        bean.setName( "boon" );
+    }
+
+    @Benchmark
+    public int getInt() {
+        return count.getInt( bean );
+    }
+
+    @Benchmark
+    public void setLong() {
+        id.setLong( bean, next++ );
+    }
+
+    @Benchmark
+    public Object getObject() {
+        return name.getObject( bean );
+    }
+
+    @Benchmark
+    public void setObject() {
+        name.setObject( bean, "boon" );
+    }
+
+    @Benchmark
+    public Object getValueBoxed() {
+        return count.getValue( bean );
+    }
+}
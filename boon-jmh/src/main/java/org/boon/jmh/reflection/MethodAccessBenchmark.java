@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.jmh.reflection;
+
+import org.boon.core.reflection.ConstructorAccess;
+import org.boon.core.reflection.MethodAccess;
+import org.boon.core.reflection.impl.ConstructorAccessHandleImpl;
+import org.boon.core.reflection.impl.ConstructorAccessImpl;
+import org.boon.core.reflection.impl.MethodAccessHandleImpl;
+import org.boon.core.reflection.impl.MethodAccessImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective and MethodHandle backed MethodAccess and ConstructorAccess
+ * on the calls the template engine, event bus and mappers make.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MethodAccessBenchmark {
+
+    public enum Invoker {
+
+        REFLECT {
+            @Override
+            MethodAccess method( Method method ) {
+                return new MethodAccessImpl( method );
+            }
+
+            @Override
+            ConstructorAccess<Bean> constructor( Constructor<Bean> constructor ) {
+                return new ConstructorAccessImpl<>( constructor );
+            }
+        },
+
+        HANDLE {
+            @Override
+            MethodAccess method( Method method ) {
+                return new MethodAccessHandleImpl( method );
+            }
+
+            @Override
+            ConstructorAccess<Bean> constructor( Constructor<Bean> constructor ) {
+                return new ConstructorAccessHandleImpl<>( constructor );
+            }
+        };
+
+        abstract MethodAccess method( Method method );
+
+        abstract ConstructorAccess<Bean> constructor( Constructor<Bean> constructor );
+    }
+
+
+    public static class Bean {
+        private String name = "boon";
+
+        public Bean() {
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName( String name ) {
+            this.name = name;
+        }
+
+        public long add( int a, long b ) {
+            return a + b;
+        }
+    }
+
+
+    @Param
+    public Invoker invoker;
+
+    private MethodAccess getName;
+    private MethodAccess setName;
+    private MethodAccess add;
+    private ConstructorAccess<Bean> create;
+
+    private final Bean bean = new Bean();
+    private final Object[] addArgs = { 1, 2L };
+
+    @Setup
+    public void setup() throws Exception {
+        getName = invoker.method( Bean.class.getMethod( "getName" ) );
+        setName = invoker.method( Bean.class.getMethod( "setName", String.class ) );
+        add = invoker.method( Bean.class.getMethod( "add", int.class, long.class ) );
+        create = invoker.constructor( Bean.class.getConstructor() );
+    }
+
+    @Benchmark
+    public Object invokeGetter() {
+        return getName.invoke( bean );
+    }
+
+    @Benchmark
+    public Object invokeSetter() {
+        return setName.invoke( bean, "boon" );
+    }
+
+    @Benchmark
+    public Object invokePrimitives() {
+        return add.invoke( bean, addArgs );
+    }
+
+    @Benchmark
+    public Bean construct() {
+        return create.create();
+    }
+}
@@ -36,6 +36,7 @@ import org.boon.core.Typ;
 import org.boon.core.reflection.*;
 import org.boon.core.reflection.fields.FieldAccessMode;
 import org.boon.di.Context;
+import org.boon.json.JsonDocument;
 import org.boon.json.JsonFactory;
 import org.boon.logging.LogLevel;
 import org.boon.logging.Logging;
@@ -489,12 +490,16 @@ public class Boon {
     /**
      * Does path lookupWithDefault.
      * Facade over BeanUtils.
+     * A JsonDocument only decodes the value at the path.
      *
      * @param value value to read
      * @param path  property path to read from value
      * @return value from property path
      */
     public static Object atIndex(Object value, String path) {
+        if (value instanceof JsonDocument) {
+            return ((JsonDocument) value).atIndex(path);
+        }
         return BeanUtils.idx(value, path);
     }
 
@@ -550,7 +555,7 @@ public class Boon {
      * @return string version of results
      */
     public static String stringAtIndex(Object value, String path) {
-        return Conversions.toString(BeanUtils.idx(value, path));
+        return Conversions.toString(atIndex(value, path));
     }
 
 
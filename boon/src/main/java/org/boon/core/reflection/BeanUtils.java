@@ -39,6 +39,7 @@ import org.boon.primitive.CharBuf;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -181,6 +182,11 @@ public class BeanUtils {
             @Override
             public FieldAccess get(final Object key) {
                 return new FieldAccess() {
+
+                    /* Built on first use, most of these are only asked for the value. */
+                    private char[] jsonName;
+                    private byte[] jsonNameUTF8;
+
                     @Override
                     public boolean injectable() {
                         return false;
@@ -216,6 +222,27 @@ public class BeanUtils {
                         return key.toString();
                     }
 
+                    @Override
+                    public char[] jsonName() {
+                        if ( jsonName == null ) {
+                            jsonName = CharBuf.jsonFieldName( key.toString() );
+                        }
+                        return jsonName;
+                    }
+
+                    @Override
+                    public byte[] jsonNameUTF8() {
+                        if ( jsonNameUTF8 == null ) {
+                            jsonNameUTF8 = new String( jsonName() ).getBytes( StandardCharsets.UTF_8 );
+                        }
+                        return jsonNameUTF8;
+                    }
+
+                    @Override
+                    public char[] jsonAlias() {
+                        return jsonName();
+                    }
+
                     @Override
                     public Object getValue(Object obj) {
                         return map.get(key);
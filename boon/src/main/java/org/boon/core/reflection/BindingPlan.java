@@ -0,0 +1,374 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection;
+
+import org.boon.core.TypeType;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.core.reflection.fields.FieldAccessMode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable description of how JSON is bound onto one class. It holds every settable
+ * field with its name as UTF-8 bytes and as chars, its TypeType and its FieldAccess setter,
+ * plus lookup tables that find a field from a slice of the input without creating a String.
+ *
+ * A table is a perfect hash over the length and three sampled characters of each name when
+ * such a layout exists, which is the usual case for field names, so a lookup is one probe
+ * and one comparison. When it does not, every character is hashed and collisions are probed.
+ *
+ * Plans are built the first time a class is bound and cached on its ClassMeta, one per
+ * FieldAccessMode. Use ClassMeta.bindingPlan to get one.
+ */
+public final class BindingPlan {
+
+
+    /**
+     * One field of the plan.
+     */
+    public static final class FieldBinding {
+
+        public final String name;
+        public final FieldAccess field;
+        public final TypeType type;
+        public final Class<?> componentClass;
+
+        /** The field holds a plain object that is bound field by field. */
+        public final boolean bindable;
+
+        /** The field is a collection of plain objects that are bound field by field. */
+        public final boolean componentBindable;
+
+        private final byte[] bytes;
+        private final char[] chars;
+        private final FieldAccessMode mode;
+
+        /* Resolved on first use. Plans are immutable so a racy assignment is harmless. */
+        private BindingPlan plan;
+
+
+        private FieldBinding( String name, FieldAccess field, FieldAccessMode mode ) {
+            this.name = name;
+            this.field = field;
+            this.mode = mode;
+            this.type = field.typeEnum();
+            this.componentClass = field.getComponentClass();
+            this.bindable = type == TypeType.INSTANCE && isBindable( field.type() );
+            this.componentBindable = type.isCollection() && componentClass != null && isBindable( componentClass );
+            this.bytes = name.getBytes( StandardCharsets.UTF_8 );
+            this.chars = name.toCharArray();
+        }
+
+
+        /**
+         * The plan for the field type, or for the component type of a collection field.
+         */
+        public BindingPlan plan() {
+            BindingPlan plan = this.plan;
+            if ( plan == null ) {
+                plan = ClassMeta.classMetaUnTyped( bindable ? field.type() : componentClass ).bindingPlan( mode );
+                this.plan = plan;
+            }
+            return plan;
+        }
+    }
+
+
+    private final Class<?> type;
+    private final FieldAccessMode mode;
+    private final List<FieldBinding> bindings;
+    private final Map<String, FieldBinding> byName;
+    private final Table byteTable;
+    private final Table charTable;
+
+
+    private BindingPlan( Class<?> type, FieldAccessMode mode, List<FieldBinding> bindings ) {
+        this.type = type;
+        this.mode = mode;
+        this.bindings = Collections.unmodifiableList( bindings );
+
+        Map<String, FieldBinding> byName = new LinkedHashMap<>( bindings.size() * 2 );
+        for ( FieldBinding binding : bindings ) {
+            byName.put( binding.name, binding );
+        }
+        this.byName = Collections.unmodifiableMap( byName );
+
+        FieldBinding[] array = bindings.toArray( new FieldBinding[ bindings.size() ] );
+        this.byteTable = new Table( array, true );
+        this.charTable = new Table( array, false );
+    }
+
+
+    static BindingPlan create( Class<?> type, FieldAccessMode mode ) {
+
+        Map<String, FieldAccess> fields = mode.create( true ).getFields( type );
+
+        List<FieldBinding> bindings = new ArrayList<>( fields.size() );
+        for ( Map.Entry<String, FieldAccess> entry : fields.entrySet() ) {
+            if ( entry.getValue().ignore() ) {
+                continue;
+            }
+            bindings.add( new FieldBinding( entry.getKey(), entry.getValue(), mode ) );
+        }
+        return new BindingPlan( type, mode, bindings );
+    }
+
+
+    /**
+     * True for plain classes that can be bound field by field, false for maps, collections,
+     * basic types and anything that cannot be instantiated.
+     */
+    public static boolean isBindable( Class<?> type ) {
+        return TypeType.getType( type ) == TypeType.INSTANCE
+                && !Map.class.isAssignableFrom( type )
+                && !Collection.class.isAssignableFrom( type );
+    }
+
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public FieldAccessMode mode() {
+        return mode;
+    }
+
+    public List<FieldBinding> bindings() {
+        return bindings;
+    }
+
+    public Object newInstance() {
+        return Reflection.newInstance( type );
+    }
+
+
+    /**
+     * Finds the field whose name is the UTF-8 bytes from start up to but not including end.
+     */
+    public FieldBinding find( byte[] name, int start, int end ) {
+        return byteTable.find( name, start, end );
+    }
+
+    /**
+     * Finds the field whose name is the chars from start up to but not including end.
+     */
+    public FieldBinding find( char[] name, int start, int end ) {
+        return charTable.find( name, start, end );
+    }
+
+    public FieldBinding find( String name ) {
+        return byName.get( name );
+    }
+
+
+    /**
+     * Open addressed table over the names as bytes or as chars.
+     */
+    private static final class Table {
+
+        private final FieldBinding[] slots;
+        private final int mask;
+        private final boolean perfect;
+
+
+        Table( FieldBinding[] bindings, boolean useBytes ) {
+
+            int[][] keys = new int[ bindings.length ][];
+            for ( int index = 0; index < bindings.length; index++ ) {
+                keys[ index ] = useBytes ? codes( bindings[ index ].bytes ) : codes( bindings[ index ].chars );
+            }
+
+            int size = 8;
+            while ( size < bindings.length * 2 ) {
+                size <<= 1;
+            }
+
+            /* Look for a size where the sampled hash has no collisions. */
+            for ( int tableSize = size; tableSize <= size * 8; tableSize <<= 1 ) {
+                FieldBinding[] slots = new FieldBinding[ tableSize ];
+                if ( fill( slots, bindings, keys, true ) ) {
+                    this.slots = slots;
+                    this.mask = tableSize - 1;
+                    this.perfect = true;
+                    return;
+                }
+            }
+
+            this.slots = new FieldBinding[ size ];
+            this.mask = size - 1;
+            this.perfect = false;
+            fill( this.slots, bindings, keys, false );
+        }
+
+
+        private static boolean fill( FieldBinding[] slots, FieldBinding[] bindings, int[][] keys, boolean sampled ) {
+            int mask = slots.length - 1;
+            for ( int index = 0; index < bindings.length; index++ ) {
+                int[] key = keys[ index ];
+                int slot = ( sampled ? sampledHash( key ) : fullHash( key ) ) & mask;
+                while ( slots[ slot ] != null ) {
+                    if ( sampled ) {
+                        return false;
+                    }
+                    slot = ( slot + 1 ) & mask;
+                }
+                slots[ slot ] = bindings[ index ];
+            }
+            return true;
+        }
+
+
+        FieldBinding find( byte[] name, int start, int end ) {
+
+            int length = end - start;
+            int hash;
+            if ( perfect ) {
+                hash = length == 0 ? 0 : mix( length, name[ start ], name[ start + ( length >> 1 ) ], name[ end - 1 ] );
+            } else {
+                hash = 0;
+                for ( int index = start; index < end; index++ ) {
+                    hash = 31 * hash + name[ index ];
+                }
+                hash = spread( hash );
+            }
+
+            for ( int slot = hash & mask; ; slot = ( slot + 1 ) & mask ) {
+                FieldBinding binding = slots[ slot ];
+                if ( binding == null ) {
+                    return null;
+                }
+                if ( equals( binding.bytes, name, start, length ) ) {
+                    return binding;
+                }
+                if ( perfect ) {
+                    return null;
+                }
+            }
+        }
+
+
+        FieldBinding find( char[] name, int start, int end ) {
+
+            int length = end - start;
+            int hash;
+            if ( perfect ) {
+                hash = length == 0 ? 0 : mix( length, name[ start ], name[ start + ( length >> 1 ) ], name[ end - 1 ] );
+            } else {
+                hash = 0;
+                for ( int index = start; index < end; index++ ) {
+                    hash = 31 * hash + name[ index ];
+                }
+                hash = spread( hash );
+            }
+
+            for ( int slot = hash & mask; ; slot = ( slot + 1 ) & mask ) {
+                FieldBinding binding = slots[ slot ];
+                if ( binding == null ) {
+                    return null;
+                }
+                if ( equals( binding.chars, name, start, length ) ) {
+                    return binding;
+                }
+                if ( perfect ) {
+                    return null;
+                }
+            }
+        }
+
+
+        private static int sampledHash( int[] key ) {
+            int length = key.length;
+            return length == 0 ? 0 : mix( length, key[ 0 ], key[ length >> 1 ], key[ length - 1 ] );
+        }
+
+        private static int fullHash( int[] key ) {
+            int hash = 0;
+            for ( int code : key ) {
+                hash = 31 * hash + code;
+            }
+            return spread( hash );
+        }
+
+        private static int mix( int length, int first, int middle, int last ) {
+            return spread( ( ( length * 31 + first ) * 31 + middle ) * 31 + last );
+        }
+
+        private static int spread( int hash ) {
+            return hash ^ ( hash >>> 16 ) ^ ( hash >>> 7 );
+        }
+
+
+        private static int[] codes( byte[] bytes ) {
+            int[] codes = new int[ bytes.length ];
+            for ( int index = 0; index < bytes.length; index++ ) {
+                codes[ index ] = bytes[ index ];
+            }
+            return codes;
+        }
+
+        private static int[] codes( char[] chars ) {
+            int[] codes = new int[ chars.length ];
+            for ( int index = 0; index < chars.length; index++ ) {
+                codes[ index ] = chars[ index ];
+            }
+            return codes;
+        }
+
+
+        private static boolean equals( byte[] name, byte[] array, int start, int length ) {
+            if ( name.length != length ) {
+                return false;
+            }
+            for ( int index = 0; index < length; index++ ) {
+                if ( name[ index ] != array[ start + index ] ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equals( char[] name, char[] array, int start, int length ) {
+            if ( name.length != length ) {
+                return false;
+            }
+            for ( int index = 0; index < length; index++ ) {
+                if ( name[ index ] != array[ start + index ] ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -33,7 +33,10 @@ import org.boon.collections.MultiMap;
 import org.boon.collections.MultiMapImpl;
 import org.boon.core.Typ;
 import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.core.reflection.fields.FieldAccessMode;
+import org.boon.core.reflection.impl.ConstructorAccessHandleImpl;
 import org.boon.core.reflection.impl.ConstructorAccessImpl;
+import org.boon.core.reflection.impl.MethodAccessHandleImpl;
 import org.boon.core.reflection.impl.MethodAccessImpl;
 
 import java.lang.invoke.ConstantCallSite;
@@ -122,6 +125,8 @@ public class ClassMeta <T> implements Annotated{
     private final Map<String, AnnotationData> annotationMap;
     private final List<AnnotationData> annotations;
 
+    private final Map<FieldAccessMode, BindingPlan> bindingPlans = new ConcurrentHashMap<>( 4 );
+
 
     public Set<String> instanceMethods() {
         return new LinkedHashSet<>(instanceMethods);
@@ -158,10 +163,11 @@ public class ClassMeta <T> implements Annotated{
         Set set = new LinkedHashSet();
 
         for (Constructor constructor : constructors ) {
+            ConstructorAccess access = constructorAccess( constructor );
             if (constructor.getParameterTypes().length == 0 ) {
-                noArg = new ConstructorAccessImpl<>(constructor);
+                noArg = access;
             }
-            set.add(new ConstructorAccessImpl(constructor));
+            set.add(access);
         }
 
 
@@ -184,6 +190,8 @@ public class ClassMeta <T> implements Annotated{
             Method[] methods_ = clasz.getDeclaredMethods();
 
             for (Method m : methods_) {
+                MethodAccessImpl mai = methodAccess( m );
+
                 if ( methodMap.containsKey( m.getName() )) {
 
                     /** Checking for duplicates */
@@ -202,7 +210,7 @@ public class ClassMeta <T> implements Annotated{
                         }
                         /* A match means a subclass overrode a base class. */
                         if ( match ) {
-                            methodMap.put( m.getName(), new MethodAccessImpl( m ) );
+                            methodMap.put( m.getName(), mai );
                         } else {
                             /* Don't allow overloads. */
                             methodMap.put( m.getName(), MANY_METHODS );
@@ -210,11 +218,9 @@ public class ClassMeta <T> implements Annotated{
                     }
 
                 } else {
-                    methodMap.put( m.getName(), new MethodAccessImpl( m ));
+                    methodMap.put( m.getName(), mai );
                 }
 
-                MethodAccessImpl mai = new MethodAccessImpl( m );
-
                 if (!mai.isStatic()) {
 
                     instanceMethods.add(mai.name());
@@ -236,6 +242,18 @@ public class ClassMeta <T> implements Annotated{
 
     }
 
+    /**
+     * Method handles are used for method and constructor calls unless
+     * -Dorg.boon.noMethodHandles=true is set, which brings back plain reflection.
+     */
+    private static MethodAccessImpl methodAccess( Method method ) {
+        return Reflection.useMethodHandles ? new MethodAccessHandleImpl( method ) : new MethodAccessImpl( method );
+    }
+
+    private static ConstructorAccess constructorAccess( Constructor constructor ) {
+        return Reflection.useMethodHandles ? new ConstructorAccessHandleImpl( constructor ) : new ConstructorAccessImpl( constructor );
+    }
+
     public static <T> ClassMeta<T> classMeta( Class<T> aClass ) {
         ClassMeta meta = Reflection.context()._classMetaMap.get( aClass );
         if (meta == null) {
@@ -295,6 +313,20 @@ public class ClassMeta <T> implements Annotated{
 
 
 
+    /**
+     * The plan used to bind JSON straight onto this class, built on first use.
+     * @param mode how fields are looked up
+     * @return the cached binding plan
+     */
+    public BindingPlan bindingPlan( FieldAccessMode mode ) {
+        BindingPlan plan = bindingPlans.get( mode );
+        if ( plan == null ) {
+            plan = BindingPlan.create( cls, mode );
+            bindingPlans.put( mode, plan );
+        }
+        return plan;
+    }
+
     public Map<String, FieldAccess> fieldMap() {
         return fieldMap;
     }
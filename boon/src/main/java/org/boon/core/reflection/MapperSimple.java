@@ -120,69 +120,82 @@ public class MapperSimple implements Mapper {
             /* Get the value from the map. */
             Object value = mapEntry.getValue();
 
+            setFieldValue( toObject, field, value );
 
-            /* If the value is a Value (a index overlay), then convert ensure it is not a container and inject
-            it into the field, and we are done so continue.
-             */
-            if ( value instanceof Value ) {
-                if ( ( ( Value ) value ).isContainer() ) {
-                    value = ( ( Value ) value ).toValue();
-                } else {
-                    field.setFromValue( toObject, ( Value ) value );
-                    continue;
-                }
-            }
+        }
 
-            /* If the value is null, then inject an null value into the field.
-            * Notice we do not check to see if the field is a primitive, if
-            * it is we die which is the expected behavior.
-            */
-            if ( value == null ) {
-                field.setObject( toObject, null );
-                continue;
-            }
+        return toObject;
 
-            /* if the value's type and the field type are the same or
-            the field just takes an object, then inject what we have as is.
-             */
-            if ( value.getClass() == field.type() || field.type() == Object.class) {
-                field.setValue(toObject, value);
-            } else if ( Typ.isBasicType(value) ) {
+    }
 
-                field.setValue(toObject, value);
-            }
+    /**
+     * Injects a single decoded JSON value into a field, doing whatever conversion
+     * fromMap would do for that map entry.
+     * @param toObject object we are injecting the field into
+     * @param field field we are injecting a value into
+     * @param value the value as the parser produced it
+     */
+    public void setFieldValue( final Object toObject, final FieldAccess field, Object value ) {
 
 
-            /* See if it is a map<string, object>, and if it is then process it.
-             *  REFACTOR:
-             *  It looks like we are using some utility classes here that we could have used in
-             *  oldMatchAndConvertArgs.
-             *  REFACTOR
-              * */
-            else if ( value instanceof Map ) {
-                setFieldValueFromMap(toObject, field, (Map)value);
-            } else if ( value instanceof Collection) {
-                /*It is a collection so process it that way. */
-                processCollectionFromMapUsingFields( toObject, field, ( Collection ) value);
-            } else if ( value instanceof Map[] ) {
-                /* It is an array of maps so, we need to process it as such. */
-                processArrayOfMaps(toObject, field, ( Map<String, Object>[] )value );
+        /* If the value is a Value (a index overlay), then convert ensure it is not a container and inject
+        it into the field, and we are done so continue.
+         */
+        if ( value instanceof Value ) {
+            if ( ( ( Value ) value ).isContainer() ) {
+                value = ( ( Value ) value ).toValue();
             } else {
-                /* If we could not determine how to convert it into some field
-                object then we just go ahead an inject it using setValue which
-                will call Conversion.coerce.
-                 */
-                field.setValue( toObject, value );
+                field.setFromValue( toObject, ( Value ) value );
+                return;
             }
+        }
 
+        /* If the value is null, then inject an null value into the field.
+        * Notice we do not check to see if the field is a primitive, if
+        * it is we die which is the expected behavior.
+        */
+        if ( value == null ) {
+            field.setObject( toObject, null );
+            return;
         }
 
-        return toObject;
+        /* if the value's type and the field type are the same or
+        the field just takes an object, then inject what we have as is.
+         */
+        if ( value.getClass() == field.type() || field.type() == Object.class) {
+            field.setValue(toObject, value);
+        } else if ( Typ.isBasicType(value) ) {
 
+            field.setValue(toObject, value);
+        }
+
+
+        /* See if it is a map<string, object>, and if it is then process it.
+         *  REFACTOR:
+         *  It looks like we are using some utility classes here that we could have used in
+         *  oldMatchAndConvertArgs.
+         *  REFACTOR
+          * */
+        else if ( value instanceof Map ) {
+            setFieldValueFromMap(toObject, field, (Map)value);
+        } else if ( value instanceof Collection) {
+            /*It is a collection so process it that way. */
+            processCollectionFromMapUsingFields( toObject, field, ( Collection ) value);
+        } else if ( value instanceof Map[] ) {
+            /* It is an array of maps so, we need to process it as such. */
+            processArrayOfMaps(toObject, field, ( Map<String, Object>[] )value );
+        } else {
+            /* If we could not determine how to convert it into some field
+            object then we just go ahead an inject it using setValue which
+            will call Conversion.coerce.
+             */
+            field.setValue( toObject, value );
+        }
     }
 
 
 
+
     /** Convert an item from a list into a class using the classes constructor.
      *
      * REFACTOR: Can't this just be from collection?
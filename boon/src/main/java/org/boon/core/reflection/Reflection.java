@@ -35,6 +35,7 @@ import org.boon.Pair;
 import org.boon.core.Sys;
 import org.boon.core.Typ;
 import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.core.reflection.fields.HandleField;
 import org.boon.core.reflection.fields.PropertyField;
 import org.boon.core.reflection.fields.ReflectField;
 import org.boon.core.reflection.fields.UnsafeField;
@@ -110,6 +111,12 @@ public class Reflection {
 
     private static final boolean useUnsafe = _useUnsafe;
 
+    /* Use MethodHandle fields in place of Unsafe fields everywhere, for JDKs where Unsafe is unwelcome. */
+    private static final boolean useHandles = Boolean.getBoolean( "org.boon.useHandles" );
+
+    /* Call methods and constructors through MethodHandles in place of reflection, like useHandles for fields. */
+    static final boolean useMethodHandles = Boolean.getBoolean( "org.boon.useMethodHandles" );
+
 
 
     private final static Context _context;
@@ -181,6 +188,7 @@ public class Reflection {
         Map<Class<?>, Map<String, FieldAccess>> _allAccessorReflectionFieldsCache = new ConcurrentHashMap<>( 200 );
         Map<Class<?>, Map<String, FieldAccess>> _allAccessorPropertyFieldsCache = new ConcurrentHashMap<>( 200 );
         Map<Class<?>, Map<String, FieldAccess>> _allAccessorUnsafeFieldsCache = new ConcurrentHashMap<>( 200 );
+        Map<Class<?>, Map<String, FieldAccess>> _allAccessorHandleFieldsCache = new ConcurrentHashMap<>( 200 );
 
         Map<Class<?>, Map<String, FieldAccess>> _combinedFieldsFieldsFirst = new ConcurrentHashMap<>( 200 );
         Map<Class<?>, Map<String, FieldAccess>> _combinedFieldsFieldsFirstForSerializer = new ConcurrentHashMap<>( 200 );
@@ -563,14 +571,22 @@ public class Reflection {
     private static class FieldConverter implements Function<Field, FieldAccess> {
 
         boolean thisUseUnsafe;
+        boolean thisUseHandles;
 
         FieldConverter( boolean useUnsafe ) {
+            this( useUnsafe, false );
+        }
+
+        FieldConverter( boolean useUnsafe, boolean useHandles ) {
             this.thisUseUnsafe = useUnsafe;
+            this.thisUseHandles = useHandles;
         }
 
         @Override
         public FieldAccess apply( Field from ) {
-            if ( useUnsafe && thisUseUnsafe ) {
+            if ( thisUseHandles || ( useHandles && thisUseUnsafe ) ) {
+                return new HandleField( from );
+            } else if ( useUnsafe && thisUseUnsafe ) {
                 return UnsafeField.createUnsafeField( from );
             } else {
                 return new ReflectField( from );
@@ -598,6 +614,24 @@ public class Reflection {
     }
 
 
+    /**
+     * Gets all of the fields of a class as MethodHandle backed field accessors.
+     */
+    public static Map<String, FieldAccess> getAllAccessorHandleFields(
+            Class<? extends Object> theClass ) {
+        Map<String, FieldAccess> map = context()._allAccessorHandleFieldsCache.get( theClass );
+        if ( map == null ) {
+            List<FieldAccess> list = Lists.mapBy( getAllFields( theClass ), new FieldConverter( false, true ) );
+            map = new LinkedHashMap<>( list.size() );
+            for ( FieldAccess fieldAccess : list ) {
+                map.put( fieldAccess.name(), fieldAccess );
+            }
+            context()._allAccessorHandleFieldsCache.put( theClass, map );
+        }
+        return map;
+    }
+
+
     public static List<Field> getAllFields( Class<? extends Object> theClass ) {
 
         try {
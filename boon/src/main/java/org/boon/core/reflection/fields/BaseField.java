@@ -37,10 +37,12 @@ import org.boon.core.Value;
 import org.boon.core.reflection.AnnotationData;
 import org.boon.core.reflection.Annotations;
 import org.boon.core.value.ValueContainer;
+import org.boon.primitive.CharBuf;
 
 import java.lang.reflect.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -77,6 +79,9 @@ public abstract class BaseField implements FieldAccess {
     private  HashSet<String> includedViews;
     private  HashSet<String> ignoreWithViews;
     private final String alias;
+    private final char[] jsonName;
+    private final byte[] jsonNameUTF8;
+    private final char[] jsonAlias;
     private static Set<String> annotationsThatHaveAliases = Sets.set("JsonProperty","SerializedName", "Named", "id", "In", "Qualifier" );
 
 
@@ -309,6 +314,10 @@ public abstract class BaseField implements FieldAccess {
 
             this.alias = alias != null ? alias : name;
 
+            jsonName = CharBuf.jsonFieldName( this.name );
+            jsonNameUTF8 = new String( jsonName ).getBytes( StandardCharsets.UTF_8 );
+            jsonAlias = CharBuf.jsonFieldName( this.alias );
+
         } catch ( Exception ex ) {
             Exceptions.handle ( "name " + name + " setter " + setter + " getter " + getter, ex );
             throw new RuntimeException ( "die" );
@@ -394,6 +403,10 @@ public abstract class BaseField implements FieldAccess {
 
         alias = findAlias();
 
+        jsonName = CharBuf.jsonFieldName( name );
+        jsonNameUTF8 = new String( jsonName ).getBytes( StandardCharsets.UTF_8 );
+        jsonAlias = CharBuf.jsonFieldName( alias );
+
 
 
     }
@@ -747,6 +760,21 @@ public abstract class BaseField implements FieldAccess {
         return alias;
     }
 
+    @Override
+    public final char[] jsonName() {
+        return jsonName;
+    }
+
+    @Override
+    public final byte[] jsonNameUTF8() {
+        return jsonNameUTF8;
+    }
+
+    @Override
+    public final char[] jsonAlias() {
+        return jsonAlias;
+    }
+
     @Override
     public String toString() {
         return "FieldInfo [name=" + name
@@ -47,6 +47,16 @@ public interface FieldAccess {
     String named();
 
     String name();
+
+    /** The name as a JSON object key with its colon, "name":, ready to copy into the output. */
+    char[] jsonName();
+
+    /** jsonName() in UTF-8. */
+    byte[] jsonNameUTF8();
+
+    /** The alias as a JSON object key with its colon. */
+    char[] jsonAlias();
+
     Object getValue( Object obj );
 
     void setValue( Object obj, Object value );
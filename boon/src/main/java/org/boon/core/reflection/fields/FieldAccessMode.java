@@ -33,7 +33,8 @@ public enum FieldAccessMode {
     PROPERTY,
     FIELD,
     FIELD_THEN_PROPERTY,
-    PROPERTY_THEN_FIELD;
+    PROPERTY_THEN_FIELD,
+    FIELD_HANDLE;
 
 
     public FieldsAccessor create(boolean useAlias) {
@@ -64,6 +65,9 @@ public enum FieldAccessMode {
             case PROPERTY_THEN_FIELD:
                 fieldsAccessor = new FieldsAccessorsPropertyThenField( useAlias, caseInsensitive);
                 break;
+            case FIELD_HANDLE:
+                fieldsAccessor = new FieldFieldsAccessor( useAlias, caseInsensitive, true);
+                break;
             default:
                 fieldsAccessor = new FieldFieldsAccessor( useAlias, caseInsensitive);
 
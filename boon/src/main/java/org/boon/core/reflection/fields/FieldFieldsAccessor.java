@@ -45,6 +45,7 @@ public class FieldFieldsAccessor implements FieldsAccessor {
 
     private final boolean useAlias;
     private final boolean caseInsensitive;
+    private final boolean useHandles;
 
 
     public FieldFieldsAccessor(boolean useAlias) {
@@ -52,8 +53,13 @@ public class FieldFieldsAccessor implements FieldsAccessor {
     }
 
     public FieldFieldsAccessor(boolean useAlias, boolean caseInsensitive) {
+        this(useAlias, caseInsensitive, false);
+    }
+
+    public FieldFieldsAccessor(boolean useAlias, boolean caseInsensitive, boolean useHandles) {
         this.useAlias = useAlias;
         this.caseInsensitive = caseInsensitive;
+        this.useHandles = useHandles;
     }
 
 
@@ -77,7 +83,8 @@ public class FieldFieldsAccessor implements FieldsAccessor {
 
     private final Map<String, FieldAccess> doGetFields ( Class<? extends Object> aClass ) {
 
-        Map<String, FieldAccess> fieldAccessMap = Reflection.getAllAccessorFields ( aClass, true );
+        Map<String, FieldAccess> fieldAccessMap = useHandles ? Reflection.getAllAccessorHandleFields ( aClass )
+                : Reflection.getAllAccessorFields ( aClass, true );
 
         Map<String, FieldAccess> mapOld = fieldAccessMap;
         fieldAccessMap = new LinkedHashMap<>();
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection.fields;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+
+/**
+ * Field access through MethodHandles instead of java.lang.reflect or sun.misc.Unsafe.
+ *
+ * The getter and setter handles are adapted once to (Object)T and (Object, T)void where T is
+ * the declared type of the field, so getInt, setLong and friends are exact invocations with
+ * no boxing. getObject and setObject use a second pair adapted to Object that boxes and
+ * unboxes as needed. Final fields cannot have a setter handle, so writes to them go through
+ * Field.set wrapped in a handle.
+ */
+public class HandleField extends BaseField {
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual( Field.class, "set",
+                    MethodType.methodType( void.class, Object.class, Object.class ) );
+        } catch ( Exception ex ) {
+            throw new ExceptionInInitializerError( ex );
+        }
+    }
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle objectGetter;
+    private final MethodHandle objectSetter;
+
+
+    public HandleField( Field field ) {
+        super( field );
+        this.field = field;
+
+        final Class<?> type = field.getType();
+        final boolean isStatic = Modifier.isStatic( field.getModifiers() );
+
+        try {
+            field.setAccessible( true );
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            MethodHandle get = lookup.unreflectGetter( field );
+            if ( isStatic ) {
+                get = MethodHandles.dropArguments( get, 0, Object.class );
+            }
+
+            MethodHandle set;
+            if ( Modifier.isFinal( field.getModifiers() ) ) {
+                set = FIELD_SET.bindTo( field );
+            } else {
+                set = lookup.unreflectSetter( field );
+                if ( isStatic ) {
+                    set = MethodHandles.dropArguments( set, 0, Object.class );
+                }
+            }
+
+            this.getter = get.asType( MethodType.methodType( type, Object.class ) );
+            this.objectGetter = get.asType( MethodType.methodType( Object.class, Object.class ) );
+            this.setter = set.asType( MethodType.methodType( void.class, Object.class, type ) );
+            this.objectSetter = set.asType( MethodType.methodType( void.class, Object.class, Object.class ) );
+
+        } catch ( IllegalAccessException e ) {
+            throw new IllegalStateException( "Unable to create handles for " + field, e );
+        }
+    }
+
+
+    private void handle( Throwable e, Object obj ) {
+        if ( e instanceof Error ) {
+            throw ( Error ) e;
+        }
+        analyzeError( ( Exception ) e, obj );
+    }
+
+
+    @Override
+    public Object getObject( Object obj ) {
+        try {
+            return ( Object ) objectGetter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return null;
+        }
+    }
+
+    @Override
+    public boolean getBoolean( Object obj ) {
+        try {
+            return ( boolean ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return false;
+        }
+    }
+
+    @Override
+    public int getInt( Object obj ) {
+        try {
+            return ( int ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public short getShort( Object obj ) {
+        try {
+            return ( short ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public char getChar( Object obj ) {
+        try {
+            return ( char ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public long getLong( Object obj ) {
+        try {
+            return ( long ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public double getDouble( Object obj ) {
+        try {
+            return ( double ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public float getFloat( Object obj ) {
+        try {
+            return ( float ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+    @Override
+    public byte getByte( Object obj ) {
+        try {
+            return ( byte ) getter.invokeExact( obj );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+            return 0;
+        }
+    }
+
+
+    @Override
+    public void setBoolean( Object obj, boolean value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setInt( Object obj, int value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setShort( Object obj, short value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setChar( Object obj, char value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setLong( Object obj, long value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setDouble( Object obj, double value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setFloat( Object obj, float value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setByte( Object obj, byte value ) {
+        try {
+            setter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+    @Override
+    public void setObject( Object obj, Object value ) {
+        try {
+            objectSetter.invokeExact( obj, value );
+        } catch ( Throwable e ) {
+            handle( e, obj );
+        }
+    }
+
+
+    @Override
+    public final Field getField() {
+        return field;
+    }
+
+    @Override
+    public void setStaticValue( Object newValue ) {
+        setObject( null, newValue );
+    }
+
+}
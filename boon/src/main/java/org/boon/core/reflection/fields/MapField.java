@@ -31,9 +31,11 @@ package org.boon.core.reflection.fields;
 import org.boon.core.Conversions;
 import org.boon.core.TypeType;
 import org.boon.core.Value;
+import org.boon.primitive.CharBuf;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 
@@ -42,9 +44,13 @@ import static org.boon.Exceptions.die;
 public class MapField implements FieldAccess {
 
     private final String name;
+    private final char[] jsonName;
+    private final byte[] jsonNameUTF8;
 
     public  MapField( String name ) {
         this.name = name;
+        this.jsonName = CharBuf.jsonFieldName( name );
+        this.jsonNameUTF8 = new String( jsonName ).getBytes( StandardCharsets.UTF_8 );
     }
 
     @Override
@@ -82,6 +88,21 @@ public class MapField implements FieldAccess {
         return name;
     }
 
+    @Override
+    public final char[] jsonName() {
+        return jsonName;
+    }
+
+    @Override
+    public final byte[] jsonNameUTF8() {
+        return jsonNameUTF8;
+    }
+
+    @Override
+    public final char[] jsonAlias() {
+        return jsonName;
+    }
+
     @Override
     public final Object getValue( Object obj ) {
         if ( obj instanceof Map ) {
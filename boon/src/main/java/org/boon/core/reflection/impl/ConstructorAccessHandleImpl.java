@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+import static org.boon.Exceptions.handle;
+
+/**
+ * ConstructorAccess that creates instances through a cached MethodHandle adapted to
+ * (Object[])Object instead of Constructor.newInstance. Arguments that need widening
+ * go through Constructor.newInstance as before. The handle is made on first use.
+ */
+public class ConstructorAccessHandleImpl<T> extends ConstructorAccessImpl<T> {
+
+    private final Class<?>[] wrappers;
+    private volatile MethodHandle invoker;
+
+    public ConstructorAccessHandleImpl( Constructor<T> constructor ) {
+        super( constructor );
+
+        this.wrappers = MethodAccessHandleImpl.wrappers( constructor.getParameterTypes() );
+    }
+
+    private MethodHandle link() {
+
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        try {
+            return invoker = MethodHandles.lookup().unreflectConstructor( constructor ).asFixedArity()
+                    .asType( MethodType.genericMethodType( parameterTypes.length ) )
+                    .asSpreader( Object[].class, parameterTypes.length );
+        } catch ( IllegalAccessException e ) {
+            throw new IllegalStateException( "Unable to create a handle for " + constructor, e );
+        }
+    }
+
+    @Override
+    public T create( Object... args ) {
+
+        if ( !MethodAccessHandleImpl.argumentsFit( wrappers, args ) ) {
+            return super.create( args );
+        }
+
+        MethodHandle invoker = this.invoker;
+        if ( invoker == null ) {
+            invoker = link();
+        }
+
+        try {
+            return ( T ) ( Object ) invoker.invokeExact( args );
+        } catch ( Throwable ex ) {
+            return handle( constructor.getDeclaringClass(), ex,
+                    "\nunable to invoke constructor", constructor,
+                    "\n on object ", constructor.getDeclaringClass(),
+                    "\nwith arguments", args,
+                    "\nparams", constructor.getParameterTypes() );
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static org.boon.Exceptions.handle;
+
+/**
+ * MethodAccess that calls through a cached MethodHandle instead of Method.invoke.
+ *
+ * The handle is adapted once to (Object, Object[])Object, on the first call that can use
+ * it rather than in the constructor, since ClassMeta creates an accessor for every public
+ * method of a class and most are never called.
+ *
+ * Arguments for primitive parameters must already be of the matching wrapper type to use
+ * the handle. Anything else, such as an Integer for a long parameter or a null target,
+ * goes through Method.invoke so the widening rules and error messages stay the same.
+ */
+public class MethodAccessHandleImpl extends MethodAccessImpl {
+
+    private final Class<?>[] wrappers;
+    private final boolean isStatic;
+
+    private volatile MethodHandle invoker;
+
+
+    public MethodAccessHandleImpl( Method method ) {
+        super( method );
+
+        this.isStatic = Modifier.isStatic( method.getModifiers() );
+        this.wrappers = wrappers( method.getParameterTypes() );
+    }
+
+
+    private MethodHandle link() {
+
+        final int count = method.getParameterTypes().length;
+
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect( method ).asFixedArity();
+        } catch ( IllegalAccessException e ) {
+            throw new IllegalStateException( "Unable to create a handle for " + method, e );
+        }
+
+        if ( isStatic ) {
+            handle = MethodHandles.dropArguments( handle, 0, Object.class );
+        }
+        return invoker = handle.asType( MethodType.genericMethodType( count + 1 ) )
+                .asSpreader( Object[].class, count );
+    }
+
+
+    static Class<?>[] wrappers( Class<?>[] parameterTypes ) {
+        Class<?>[] wrappers = new Class<?>[ parameterTypes.length ];
+        for ( int index = 0; index < parameterTypes.length; index++ ) {
+            if ( parameterTypes[ index ].isPrimitive() ) {
+                wrappers[ index ] = MethodType.methodType( parameterTypes[ index ] ).wrap().returnType();
+            }
+        }
+        return wrappers;
+    }
+
+
+    /**
+     * True when the arguments can be passed to a handle without the widening that reflection allows.
+     */
+    static boolean argumentsFit( Class<?>[] wrappers, Object[] args ) {
+        if ( args == null || args.length != wrappers.length ) {
+            return false;
+        }
+        for ( int index = 0; index < wrappers.length; index++ ) {
+            Class<?> wrapper = wrappers[ index ];
+            if ( wrapper != null && ( args[ index ] == null || args[ index ].getClass() != wrapper ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public Object invoke( Object object, Object... args ) {
+
+        if ( ( object == null && !isStatic ) || !argumentsFit( wrappers, args ) ) {
+            return super.invoke( object, args );
+        }
+
+        MethodHandle invoker = this.invoker;
+        if ( invoker == null ) {
+            invoker = link();
+        }
+
+        try {
+            return ( Object ) invoker.invokeExact( object, args );
+        } catch ( Throwable ex ) {
+
+            return handle( Object.class, ex, "unable to invoke method", method,
+                    " on object ", object, "with arguments", args,
+                    "\nparameter types", parameterTypes(), "\nargument types are", args );
+
+        }
+    }
+
+
+    @Override
+    public Object invokeStatic( Object... args ) {
+        return invoke( null, args );
+    }
+
+
+    @Override
+    public String toString() {
+        return "MethodAccessHandleImpl{" +
+                "method=" + method +
+                ", annotationData=" + annotationData +
+                '}';
+    }
+}
@@ -10,8 +10,11 @@ import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.boon.Exceptions.die;
 
@@ -37,6 +40,10 @@ public class OverloadedMethod implements MethodAccess {
 
     private boolean lock;
 
+    private static final int MAX_RESOLVED_SIGNATURES = 1024;
+
+    private final Map<Signature, MethodAccess> resolved = new ConcurrentHashMap<>();
+
 
     public OverloadedMethod add(MethodAccess methodAccess) {
 
@@ -87,20 +94,56 @@ public class OverloadedMethod implements MethodAccess {
     @Override
     public Object invokeDynamic(Object object, Object... args) {
 
+        final Signature signature = new Signature(object == null, args);
+        MethodAccess methodAccess = resolved.get(signature);
+
+        if (methodAccess == null) {
+            methodAccess = resolve(signature, args);
+        }
+
+        if (methodAccess!=null) {
+            return methodAccess.invokeDynamic(object, args);
+        } else {
+            /* Place holder for now. */
+            List<MethodAccess> varargMethods = this.methodAccessListByArgNumberWithVarArg.get(0);
+            if (varargMethods!=null) {
+                varargMethods.get(0).invokeDynamic(args);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Scores every overload that takes this many arguments and remembers the winner for the
+     * argument classes, so the next call with the same classes skips the scoring.
+     * A String passed where another type is expected is scored by whether it parses,
+     * so picks for those calls are not remembered.
+     */
+    private MethodAccess resolve(Signature signature, Object[] args) {
+
         final int length = args.length;
 
+        if (length >= this.methodAccessListByArgNumber.size()) {
+            return null;
+        }
 
         final List<MethodAccess> methodAccesses = this.methodAccessListByArgNumber.get(length);
 
+        if (methodAccesses == null) {
+            return null;
+        }
 
         int maxScore = Integer.MIN_VALUE;
         MethodAccess methodAccess = null;
+        boolean dependsOnValues = false;
 
         for (MethodAccess m : methodAccesses) {
             int score = 1;
             final List<TypeType> paramTypeEnumList = m.paramTypeEnumList();
 
-            if (object == null && !m.isStatic()) {
+            if (signature.noTarget && !m.isStatic()) {
                 continue;
             }
 
@@ -118,6 +161,10 @@ public class OverloadedMethod implements MethodAccess {
                     continue;
                 }
 
+                if (instanceType == TypeType.STRING) {
+                    dependsOnValues = true;
+                }
+
                 switch (type){
                     case BYTE_WRAPPER:
                     case BYTE:
@@ -207,17 +254,42 @@ public class OverloadedMethod implements MethodAccess {
             }
         }
 
-        if (methodAccess!=null) {
-            return methodAccess.invokeDynamic(object, args);
-        } else {
-            /* Place holder for now. */
-            List<MethodAccess> varargMethods = this.methodAccessListByArgNumberWithVarArg.get(0);
-            if (varargMethods!=null) {
-                varargMethods.get(0).invokeDynamic(args);
+        if (methodAccess != null && !dependsOnValues && resolved.size() < MAX_RESOLVED_SIGNATURES) {
+            resolved.put(signature, methodAccess);
+        }
+
+        return methodAccess;
+    }
+
+
+    /** Argument classes of a call, plus whether it was made without a target object. */
+    static final class Signature {
+
+        private final boolean noTarget;
+        private final Class<?>[] types;
+        private final int hashCode;
+
+        Signature(boolean noTarget, Object[] args) {
+            this.noTarget = noTarget;
+            this.types = new Class<?>[args.length];
+            for (int index = 0; index < args.length; index++) {
+                types[index] = args[index] == null ? null : args[index].getClass();
             }
+            this.hashCode = 31 * Arrays.hashCode(types) + (noTarget ? 1 : 0);
         }
 
-        return null;
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Signature)) return false;
+            Signature that = (Signature) o;
+            return noTarget == that.noTarget && Arrays.equals(types, that.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 
     private int handleLongArg(int score, Object arg, TypeType instanceType) {
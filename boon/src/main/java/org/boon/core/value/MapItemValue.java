@@ -66,6 +66,14 @@ public class MapItemValue implements Map.Entry<String, Value> {
 
     }
 
+    /** Used when the parser has already resolved the key, for example through a JsonKeyTable. */
+    public MapItemValue( String key, Value value ) {
+        this.name = null;
+        this.key = key;
+        this.value = value;
+
+    }
+
     @Override
     public String getKey() {
         if ( key == null ) {
@@ -99,6 +99,25 @@ public class ValueList extends AbstractList<Object> implements List<Object> {
         return list.add( obj );
     }
 
+    @Override
+    public void add( int index, Object obj ) {
+        list.add( index, obj );
+    }
+
+    @Override
+    public Object set( int index, Object obj ) {
+        Object old = get( index );
+        list.set( index, obj );
+        return old;
+    }
+
+    @Override
+    public Object remove( int index ) {
+        Object old = get( index );
+        list.remove( index );
+        return old;
+    }
+
 
     public void chopList() {
 
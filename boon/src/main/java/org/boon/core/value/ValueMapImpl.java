@@ -93,7 +93,7 @@ public class ValueMapImpl extends AbstractMap<String, Value> implements ValueMap
         if ( map == null && items.length < 20 ) {
             for ( Object item : items ) {
                 MapItemValue miv = ( MapItemValue ) item;
-                if ( key.equals( miv.name.toValue() ) ) {
+                if ( key.equals( miv.getKey() ) ) {
                     return miv.value;
                 }
             }
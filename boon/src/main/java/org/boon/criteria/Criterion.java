@@ -42,6 +42,7 @@ import org.boon.primitive.CharBuf;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static org.boon.Boon.sputl;
@@ -1406,6 +1407,10 @@ public abstract class Criterion<VALUE> extends Criteria {
         Object thisObject;
         private final String name;
 
+        /* Built on first use. */
+        private char[] jsonName;
+        private byte[] jsonNameUTF8;
+
         ThisField(String name, Object thisObject) {
             this.name = name;
             this.thisObject = thisObject;
@@ -1448,6 +1453,27 @@ public abstract class Criterion<VALUE> extends Criteria {
             return null;
         }
 
+        @Override
+        public char[] jsonName() {
+            if ( jsonName == null ) {
+                jsonName = CharBuf.jsonFieldName( name );
+            }
+            return jsonName;
+        }
+
+        @Override
+        public byte[] jsonNameUTF8() {
+            if ( jsonNameUTF8 == null ) {
+                jsonNameUTF8 = new String( jsonName() ).getBytes( StandardCharsets.UTF_8 );
+            }
+            return jsonNameUTF8;
+        }
+
+        @Override
+        public char[] jsonAlias() {
+            return jsonName();
+        }
+
         @Override
         public Object getValue(Object obj) {
             if (name.equals("this")) {
@@ -38,6 +38,10 @@ public class Not extends Criteria {
     }
 
 
+    public Criteria getExpression() {
+        return expression;
+    }
+
     @Override
     public boolean test(  Object owner ) {
         return !this.expression.test( owner );
@@ -28,6 +28,9 @@
 package org.boon.datarepo;
 
 import org.boon.criteria.internal.Criteria;
+import org.boon.sort.Sort;
+
+import java.util.Iterator;
 
 
 /**
@@ -39,6 +42,26 @@ public interface Filter {
 
     ResultSet filter( Criteria... expressions );
 
+    /**
+     * Hands out the matches one at a time as they are found, nothing is collected up front.
+     * The repo must not change while the cursor is in use.
+     *
+     * @param expressions criteria
+     * @return matches
+     */
+    Iterator cursor( Criteria... expressions );
+
+    /**
+     * One page of the matches. Only the page is collected, not every match.
+     *
+     * @param sort        order of the matches, null for the order they are found in
+     * @param start       matches to skip
+     * @param size        most matches to give back
+     * @param expressions criteria
+     * @return the page
+     */
+    ResultSet page( Sort sort, int start, int size, Criteria... expressions );
+
     void invalidate();
 
 }
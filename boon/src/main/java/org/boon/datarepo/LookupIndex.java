@@ -56,5 +56,14 @@ public interface LookupIndex<KEY, ITEM> extends Bag<ITEM> {
 
     boolean has( KEY key );
 
+    /**
+     * Number of items the index holds. An item filed under more than one key is counted once per key.
+     * Together with size, the number of distinct keys, this lets the query planner guess how many
+     * items a key matches.
+     *
+     * @return item count
+     */
+    int itemCount();
+
 
 }
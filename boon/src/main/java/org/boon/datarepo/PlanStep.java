@@ -25,10 +25,50 @@
  * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
  *               \/           \/          \/         \/        \/  \/
  */
-
 package org.boon.datarepo;
 
+/**
+ * One step of the plan the filter ran for a query, kept on the ResultSet for explain output.
+ * The details are only turned into a String when asked for.
+ */
 public class PlanStep {
-    String type;
-    String details;
+    private final PlanSteps type;
+    private final Object subject;
+    private final int estimate;
+    private final int size;
+
+    /**
+     * @param type     what the step did
+     * @param subject  criteria the step worked on
+     * @param estimate number of items the planner expected, -1 when it did not guess
+     * @param size     number of items left after the step, -1 when the step ran lazily and was not counted
+     */
+    public PlanStep( PlanSteps type, Object subject, int estimate, int size ) {
+        this.type = type;
+        this.subject = subject;
+        this.estimate = estimate;
+        this.size = size;
+    }
+
+    public PlanSteps getType() {
+        return type;
+    }
+
+    public int getEstimate() {
+        return estimate;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getDetails() {
+        return estimate == -1 ? subject + " size=" + size
+                : subject + " estimate=" + estimate + " size=" + size;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + getDetails();
+    }
 }
@@ -30,5 +30,10 @@ package org.boon.datarepo;
 
 public enum PlanSteps {
     USE_INDEX,
-    LINEAR_SEARCH;
+    USE_BITMAP,
+    INTERSECT_INDEX,
+    LINEAR_SEARCH,
+    WALK_INDEX,
+    TOP_K,
+    LIMIT;
 }
@@ -59,6 +59,13 @@ public interface RepoBuilder {
 
     public RepoBuilder uniqueLookupIndex( String propertyName );
 
+    /**
+     * Indexes a property with few distinct values with one bitmap per value.
+     * Equality, in, not and and/or groups over bitmap indexed properties are answered
+     * by combining the bitmaps.
+     */
+    public RepoBuilder bitmapIndex( String propertyName );
+
     public RepoBuilder searchIndex( String propertyName );
 
     public RepoBuilder uniqueSearchIndex( String propertyName );
@@ -88,6 +95,12 @@ public interface RepoBuilder {
 
     public RepoBuilder useCache();
 
+    /**
+     * Builds a Repo that many threads can read and write at once.
+     * Readers never block, and every index they see is at the same point.
+     */
+    public RepoBuilder concurrent();
+
     public RepoBuilder storeKeyInIndexOnly();
 
     RepoBuilder events( ModificationListener... listeners );
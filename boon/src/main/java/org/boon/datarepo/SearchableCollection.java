@@ -34,6 +34,7 @@ import org.boon.criteria.internal.Visitor;
 import org.boon.datarepo.spi.SearchIndex;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -115,6 +116,28 @@ public interface SearchableCollection<KEY, ITEM> extends Collection<ITEM> {
 
     void sortedQuery( Visitor<KEY, ITEM> visitor, Sort sortBy, Criteria... expressions );
 
+    /**
+     * Hands out the matches one at a time as they are found instead of collecting them in a list.
+     * The repo must not change while the cursor is in use.
+     */
+    Iterator<ITEM> cursor( Criteria... expressions );
+
+    /**
+     * One page of the matches, only the page is collected. A sort on an indexed property walks
+     * the index in order, other sorts keep the best start + size matches on a heap.
+     *
+     * @param sortBy order of the matches, null for the order they are found in
+     * @param start  matches to skip
+     * @param size   most matches to give back
+     */
+    ResultSet<ITEM> results( Sort sortBy, int start, int size, Criteria... expressions );
+
+    List<ITEM> query( int start, int size, Criteria... expressions );
+
+    List<ITEM> sortedQuery( String sortBy, int start, int size, Criteria... expressions );
+
+    List<ITEM> sortedQuery( Sort sortBy, int start, int size, Criteria... expressions );
+
 
     boolean delete( ITEM item );
 
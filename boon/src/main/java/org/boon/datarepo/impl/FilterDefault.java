@@ -36,16 +36,21 @@ import org.boon.criteria.Criterion;
 import org.boon.criteria.internal.*;
 import org.boon.datarepo.Filter;
 import org.boon.datarepo.LookupIndex;
+import org.boon.datarepo.PlanStep;
+import org.boon.datarepo.PlanSteps;
 import org.boon.datarepo.ResultSet;
 import org.boon.datarepo.SearchableCollection;
+import org.boon.datarepo.impl.indexes.BitmapIndex;
+import org.boon.datarepo.impl.indexes.Ordinals;
+import org.boon.datarepo.impl.indexes.UniqueLookupIndex;
 import org.boon.datarepo.spi.FilterComposer;
 import org.boon.datarepo.spi.ResultSetInternal;
 import org.boon.datarepo.spi.SearchIndex;
+import org.boon.sort.Sort;
+import org.boon.sort.SortType;
+import org.boon.sort.Sorting;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import static org.boon.criteria.ObjectFilter.instanceOf;
 import static org.boon.criteria.ObjectFilter.not;
@@ -54,11 +59,43 @@ import static org.boon.criteria.ObjectFilter.not;
  * This class should be renamed mother of all beasts.
  * This class is the reason I have no hair.
  * It implements the first cut of a decent criteria plan.
+ * <p/>
+ * The criteria of an and are ordered by how many items the planner expects each
+ * index to give back. Posting lists are read smallest first and intersected, and
+ * criteria whose list would cost more to read than checking the items left are
+ * run as a linear search over those items. The steps taken are recorded on the
+ * ResultSet, see ResultSet.queryPlan.
+ * <p/>
+ * Criteria on bitmap indexes, and not, and and or groups made only of them, are
+ * answered by combining bitmaps before any item is touched.
+ * <p/>
+ * Cursors and pages read from the one source that promises the fewest candidates, a
+ * bitmap, a posting list or every item, and check the rest of the criteria on each
+ * candidate as it is handed out. A sorted page walks the index of the sort property in
+ * order when that reads fewer items than the matches, and otherwise keeps the best
+ * start + size matches on a heap.
  *
  * @author Rick Hightower
  */
 public class FilterDefault implements Filter, FilterComposer {
 
+    /**
+     * A posting list is only read and intersected while it is at most this many times
+     * longer than the candidates left, checking the criterion on each candidate is
+     * cheaper after that.
+     */
+    private static final int INTERSECT_RATIO = 4;
+
+    /**
+     * Share of the items a range is expected to match when the keys are not numbers.
+     */
+    private static final int RANGE_DIVISOR = 3;
+
+    /**
+     * Share of the items a starts with is expected to match.
+     */
+    private static final int STARTS_WITH_DIVISOR = 10;
+
     private Set<Operator> indexedOperators =
             Sets.set( Operator.BETWEEN, Operator.EQUAL, Operator.STARTS_WITH,
                     Operator.GREATER_THAN, Operator.GREATER_THAN_EQUAL,
@@ -68,6 +105,7 @@ public class FilterDefault implements Filter, FilterComposer {
     private SearchableCollection searchableCollection;
     private Map<String, SearchIndex> searchIndexMap;
     private Map<String, LookupIndex> lookupIndexMap;
+    private String primaryKeyName;
 
 
     /**
@@ -106,13 +144,7 @@ public class FilterDefault implements Filter, FilterComposer {
             results.addResults ( searchableCollection.all() );
         }
 
-        /* I am sure this looked easy to read when I wrote it.
-         * If there is only one expression and first expression is a group then
-         * the group is that first expression otherwise wrap
-         * all of the expressions in an and clause. */
-        Group group = expressions.length ==
-                1 && expressions[ 0 ] instanceof Group
-                ? ( Group ) expressions[ 0 ] : ObjectFilter.and( expressions );
+        Group group = group( expressions );
 
         /**
          * Run the filter on the group.
@@ -122,18 +154,326 @@ public class FilterDefault implements Filter, FilterComposer {
         return results;
     }
 
+    /**
+     * I am sure this looked easy to read when I wrote it.
+     * If there is only one expression and first expression is a group then
+     * the group is that first expression otherwise wrap
+     * all of the expressions in an and clause.
+     */
+    private static Group group( Criteria[] expressions ) {
+        return expressions.length ==
+                1 && expressions[ 0 ] instanceof Group
+                ? ( Group ) expressions[ 0 ] : ObjectFilter.and( expressions );
+    }
+
+
+    @Override
+    public Iterator cursor( Criteria... expressions ) {
+        Source source = source( expressions );
+        return matching( open( source, new ResultSetImpl( this.fields ) ), source.rest );
+    }
+
+
+    @Override
+    public ResultSet page( Sort sort, int start, int size, Criteria... expressions ) {
+
+        if ( start < 0 || size < 0 ) {
+            throw new IllegalArgumentException( "start and size cannot be negative, start=" + start + " size=" + size );
+        }
+
+        ResultSetInternal results = new ResultSetImpl( this.fields );
+        int wanted = ( int ) Math.min( Integer.MAX_VALUE, ( long ) start + size );
+        Source source = source( expressions );
+        SearchIndex sortIndex = sortIndex( sort );
+        List found;
+
+        /* Walking the index reads about wanted * items / matches items before the page is full,
+         * reading the source reads its candidates. */
+        if ( sortIndex != null
+                && ( long ) source.estimate * source.estimate > ( long ) wanted * searchableCollection.size() ) {
+            Criteria criteria = expressions == null || expressions.length == 0 ? null : group( expressions );
+            found = walk( matching( sortIndex.walk( sort.getType() == SortType.ASCENDING ), criteria ), sort, wanted );
+            results.addPlanStep( new PlanStep( PlanSteps.WALK_INDEX, sort.getName(), -1, found.size() ) );
+
+        } else {
+            Iterator matches = matching( open( source, results ), source.rest );
+
+            if ( source.rest != null ) {
+                results.addPlanStep( new PlanStep( PlanSteps.LINEAR_SEARCH, source.rest, -1, -1 ) );
+            }
+
+            if ( sort == null ) {
+                found = new ArrayList( Math.min( wanted, 1024 ) );
+                while ( found.size() < wanted && matches.hasNext() ) {
+                    found.add( matches.next() );
+                }
+                results.addPlanStep( new PlanStep( PlanSteps.LIMIT, wanted, -1, found.size() ) );
+            } else {
+                found = topK( matches, sort, wanted );
+                results.addPlanStep( new PlanStep( PlanSteps.TOP_K, sort.getName(), -1, found.size() ) );
+            }
+        }
+
+        int end = Math.min( wanted, found.size() );
+        results.addResults( new ArrayList( found.subList( Math.min( start, end ), end ) ) );
+        return results;
+    }
+
+
+    /**
+     * Where a cursor or page reads its candidates from, and the criteria left to check on them.
+     */
+    private static final class Source {
+        BitSet bitmap;
+        Criteria bitmapped;
+        Criterion indexed;
+        /** Candidates the source is expected to give back. */
+        int estimate;
+        /** Null when every candidate matches. */
+        Criteria rest;
+    }
+
+    /**
+     * Picks the source without reading it. Or groups are only taken from bitmaps, otherwise every item is read,
+     * for an and the bitmaps are combined or else the criterion expected to match the fewest items is used.
+     */
+    private Source source( Criteria[] expressions ) {
+
+        Source source = new Source();
+        source.estimate = searchableCollection.size();
+
+        if ( expressions == null || expressions.length == 0 ) {
+            return source;
+        }
+
+        Group group = group( expressions );
+        BitSet bitmap = bitmap( group );
+
+        if ( bitmap != null ) {
+            source.bitmap = bitmap;
+            source.bitmapped = group;
+            source.estimate = bitmap.cardinality();
+            return source;
+        }
+
+        source.rest = group;
+
+        if ( group.getGrouping() != Grouping.AND ) {
+            return source;
+        }
+
+        List<Criteria> rest = new ArrayList<>( group.getExpressions() );
+        List<Criteria> bitmapped = new ArrayList<>();
+        IndexStep best = null;
+
+        for ( Criteria expression : group.getExpressions() ) {
+            BitSet bits = bitmap( expression );
+            if ( bits != null ) {
+                if ( bitmap == null ) {
+                    bitmap = bits;
+                } else {
+                    bitmap.and( bits );
+                }
+                bitmapped.add( expression );
+            } else if ( expression instanceof Criterion ) {
+                int estimate = estimate( ( Criterion ) expression );
+                if ( estimate != -1 && ( best == null || estimate < best.estimate ) ) {
+                    best = new IndexStep( ( Criterion ) expression, estimate );
+                }
+            }
+        }
+
+        if ( bitmap != null ) {
+            rest.removeAll( bitmapped );
+            source.bitmap = bitmap;
+            source.bitmapped = ObjectFilter.and( Conversions.array( Criteria.class, bitmapped ) );
+            source.estimate = bitmap.cardinality();
+        } else if ( best != null ) {
+            rest.remove( best.criterion );
+            source.indexed = best.criterion;
+            source.estimate = best.estimate;
+        } else {
+            return source;
+        }
+
+        source.rest = rest.size() == 0 ? null
+                : rest.size() == 1 ? rest.get( 0 ) : ObjectFilter.and( Conversions.array( Criteria.class, rest ) );
+        return source;
+    }
+
+    /**
+     * Starts reading the source and records it on the plan.
+     */
+    private Iterator open( Source source, ResultSetInternal results ) {
+
+        if ( source.bitmap != null ) {
+            results.addPlanStep( new PlanStep( PlanSteps.USE_BITMAP, source.bitmapped, -1, source.estimate ) );
+            return universe().iterator( source.bitmap );
+        }
+
+        if ( source.indexed != null ) {
+            List list = fromIndex( source.indexed );
+            results.addPlanStep( new PlanStep( PlanSteps.USE_INDEX, source.indexed, source.estimate, list.size() ) );
+            return list.iterator();
+        }
+
+        LookupIndex primaryIndex = lookupIndexMap.get( primaryKeyName );
+        if ( primaryIndex instanceof UniqueLookupIndex ) {
+            return ( ( UniqueLookupIndex ) primaryIndex ).values().iterator();
+        }
+        return searchableCollection.iterator();
+    }
+
+    /**
+     * Hands out the items that pass the criteria, checking each one as it is asked for.
+     */
+    private static Iterator matching( final Iterator items, final Criteria criteria ) {
+
+        if ( criteria == null ) {
+            return items;
+        }
+
+        return new Iterator() {
+            Object next;
+            boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while ( !ready && items.hasNext() ) {
+                    Object item = items.next();
+                    if ( criteria.test( item ) ) {
+                        next = item;
+                        ready = true;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public Object next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                Object item = next;
+                next = null;
+                ready = false;
+                return item;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Search index that can hand out every item in the order the sort asks for, or null.
+     * Strings are left out because the sort compares them with the locale's collator, and
+     * the index must hold every item once so that none are missed.
+     */
+    private SearchIndex sortIndex( Sort sort ) {
+
+        if ( sort == null ) {
+            return null;
+        }
+
+        FieldAccess field = fields.get( sort.getName() );
+        SearchIndex searchIndex = searchIndexMap.get( sort.getName() );
+
+        if ( field == null || searchIndex == null || CharSequence.class.isAssignableFrom( field.type() )
+                || searchIndex.itemCount() != searchableCollection.size()
+                || searchIndex.walk( true ) == null ) {
+            return null;
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Takes matches in index order until the page is full and the items tied with the last one are in,
+     * then lets the whole sort order the ties.
+     */
+    private List walk( Iterator matches, Sort sort, int wanted ) {
+
+        FieldAccess field = fields.get( sort.getName() );
+        List found = new ArrayList( Math.min( wanted, 1024 ) );
+        Object lastKey = null;
+
+        while ( matches.hasNext() ) {
+            Object item = matches.next();
+            Object key = field.getValue( item );
+            if ( found.size() >= wanted && Sorting.compare( lastKey, key ) != 0 ) {
+                break;
+            }
+            found.add( item );
+            lastKey = key;
+        }
+
+        Collections.sort( found, sort.comparator( fields ) );
+        return found;
+    }
+
+    /**
+     * Best wanted matches in sort order, kept on a heap with the worst of them on top.
+     * Ties keep the order they were found in, as a stable sort would.
+     */
+    private List topK( Iterator matches, Sort sort, int wanted ) {
+
+        final Comparator comparator = sort.comparator( fields );
+        Comparator<Ranked> order = new Comparator<Ranked>() {
+            @Override
+            public int compare( Ranked one, Ranked two ) {
+                int compare = comparator.compare( one.item, two.item );
+                return compare != 0 ? compare : Long.compare( one.sequence, two.sequence );
+            }
+        };
+
+        PriorityQueue<Ranked> heap = new PriorityQueue<>( 11, Collections.reverseOrder( order ) );
+        long sequence = 0;
+
+        while ( matches.hasNext() ) {
+            Object item = matches.next();
+            if ( heap.size() < wanted ) {
+                heap.add( new Ranked( item, sequence ) );
+            } else if ( wanted > 0 && comparator.compare( item, heap.peek().item ) < 0 ) {
+                heap.poll();
+                heap.add( new Ranked( item, sequence ) );
+            }
+            sequence++;
+        }
+
+        List<Ranked> ranked = new ArrayList<>( heap );
+        Collections.sort( ranked, order );
+
+        List found = new ArrayList( ranked.size() );
+        for ( Ranked entry : ranked ) {
+            found.add( entry.item );
+        }
+        return found;
+    }
+
+    private static final class Ranked {
+        final Object item;
+        final long sequence;
+
+        Ranked( Object item, long sequence ) {
+            this.item = item;
+            this.sequence = sequence;
+        }
+    }
+
 
     private void orPlanWithIndex( Criterion criterion, ResultSetInternal results ) {
 
 
-        Operator operator = criterion.getOperator();
-        if ( operator == Operator.EQUAL && lookupIndexMap.get( criterion.getName() ) != null ) {
-            doFilterWithIndex( criterion, fields, results );
-        } else if ( this.isIndexed( criterion.getName() ) && Sets.in( operator, indexedOperators ) ) {
-            doFilterWithIndex( criterion, fields, results );
+        List list = fromIndex( criterion );
+        if ( list != null ) {
+            results.addResults( list );
+            results.addPlanStep( new PlanStep( PlanSteps.USE_INDEX, criterion, -1, list.size() ) );
         } else {
-            List list = QueryFactory.filter( this.searchableCollection.all(), criterion );
+            list = QueryFactory.filter( this.searchableCollection.all(), criterion );
             results.addResults( list );
+            results.addPlanStep( new PlanStep( PlanSteps.LINEAR_SEARCH, criterion, -1, list.size() ) );
         }
 
     }
@@ -150,6 +490,15 @@ public class FilterDefault implements Filter, FilterComposer {
      * @param results here are the results
      */
     private void doFilterGroup( Group group, ResultSetInternal results ) {
+
+        BitSet bitmap = bitmap( group );
+        if ( bitmap != null ) {
+            List list = universe().items( bitmap );
+            results.addResults( list );
+            results.addPlanStep( new PlanStep( PlanSteps.USE_BITMAP, group, -1, list.size() ) );
+            return;
+        }
+
         /* The group was n or group so handle it that way. */
         if ( group.getGrouping() == Grouping.OR ) {
             /* nice short method name, or. */
@@ -161,6 +510,9 @@ public class FilterDefault implements Filter, FilterComposer {
             ResultSetInternal resultsForAnd = new ResultSetImpl( fields );
             and( group.getExpressions(), fields, resultsForAnd );
             results.addResults( resultsForAnd.asList() );
+            for ( Object step : resultsForAnd.queryPlan() ) {
+                results.addPlanStep( ( PlanStep ) step );
+            }
         }
     }
 
@@ -194,37 +546,109 @@ public class FilterDefault implements Filter, FilterComposer {
 
 
     private boolean applyIndexedFiltersForAnd( List<Criteria> expressions, Map<String, FieldAccess> fields, Set<Criteria> expressionSet, ResultSetInternal resultSet ) {
-        Criterion criteria = null;
-        boolean foundIndex = false;
 
+        List<IndexStep> steps = new ArrayList<>( expressions.size() );
+        List<Criteria> bitmapped = null;
+        BitSet bitmap = null;
 
-        if ( expressions.size() == 1 && expressions.get(0) instanceof Criterion ) {
-            criteria = ( Criterion ) expressions.get(0);
-            foundIndex = doFilterWithIndex( criteria, fields, resultSet );
-            if ( foundIndex ) {
-                expressionSet.remove( criteria );
+        for ( Criteria expression : expressions ) {
+            BitSet bits = bitmap( expression );
+            if ( bits != null ) {
+                if ( bitmap == null ) {
+                    bitmap = bits;
+                    bitmapped = new ArrayList<>();
+                } else {
+                    bitmap.and( bits );
+                }
+                bitmapped.add( expression );
+            } else if ( expression instanceof Criterion ) {
+                Criterion criterion = ( Criterion ) expression;
+                int estimate = estimate( criterion );
+                if ( estimate != -1 ) {
+                    steps.add( new IndexStep( criterion, estimate ) );
+                }
             }
+        }
 
-            return foundIndex;
+        if ( bitmap == null && steps.size() == 0 ) {
+            return false;
         }
 
-        int foundCount =0 ;
+        /* Start from the smallest posting list, every list after it can only shrink the candidates. */
+        Collections.sort( steps );
 
-        for ( Criteria expression : expressions ) {
-            /*
-             * See if the criteria has an index
-             */
-            if ( expression instanceof Criterion ) {
-                criteria = ( Criterion ) expression;
+        List candidates;
+        int start;
+
+        if ( bitmap != null ) {
+            candidates = universe().items( bitmap );
+            expressionSet.removeAll( bitmapped );
+            resultSet.addPlanStep( new PlanStep( PlanSteps.USE_BITMAP, bitmapped, -1, candidates.size() ) );
+            start = 0;
+        } else {
+            IndexStep first = steps.get( 0 );
+            candidates = fromIndex( first.criterion );
+            expressionSet.remove( first.criterion );
+            resultSet.addPlanStep( new PlanStep( PlanSteps.USE_INDEX, first.criterion, first.estimate, candidates.size() ) );
+            start = 1;
+        }
 
+        for ( int index = start; index < steps.size() && candidates.size() > 0; index++ ) {
+            IndexStep step = steps.get( index );
 
-                if (doFilterWithIndex( criteria, fields, resultSet )) {
-                    foundCount++;
-                }
+            /* The rest are left in the expression set for the linear search. */
+            if ( step.estimate > candidates.size() * INTERSECT_RATIO ) {
+                break;
+            }
+
+            candidates = intersect( candidates, fromIndex( step.criterion ) );
+            expressionSet.remove( step.criterion );
+            resultSet.addPlanStep( new PlanStep( PlanSteps.INTERSECT_INDEX, step.criterion, step.estimate, candidates.size() ) );
+        }
+
+        resultSet.addResults( candidates );
+        return true;
+    }
 
+
+    /**
+     * Keeps the candidates that are also in the posting list, in the candidates' order.
+     * Every index holds the same item instances so identity is enough.
+     */
+    private static List intersect( List candidates, List postingList ) {
+        if ( postingList.size() == 0 ) {
+            return Collections.EMPTY_LIST;
+        }
+
+        Set<Object> posted = Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>( postingList.size() ) );
+        posted.addAll( postingList );
+
+        List results = new ArrayList( Math.min( candidates.size(), postingList.size() ) );
+        for ( Object item : candidates ) {
+            if ( posted.contains( item ) ) {
+                results.add( item );
             }
         }
-        return foundCount > 0;
+        return results;
+    }
+
+
+    /**
+     * An indexed criterion and the number of items the planner expects it to match.
+     */
+    private static final class IndexStep implements Comparable<IndexStep> {
+        final Criterion criterion;
+        final int estimate;
+
+        IndexStep( Criterion criterion, int estimate ) {
+            this.criterion = criterion;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public int compareTo( IndexStep other ) {
+            return estimate < other.estimate ? -1 : ( estimate == other.estimate ? 0 : 1 );
+        }
     }
 
 
@@ -305,6 +729,9 @@ public class FilterDefault implements Filter, FilterComposer {
                             ObjectFilter.and( expressions ) )
             );
         }
+        if ( expressions.length > 0 ) {
+            resultSet.addPlanStep( new PlanStep( PlanSteps.LINEAR_SEARCH, Arrays.asList( expressions ), -1, resultSet.size() ) );
+        }
         for ( Criteria expression : expressions ) {
             expressionSet.remove( expression );
         }
@@ -312,17 +739,192 @@ public class FilterDefault implements Filter, FilterComposer {
     }
 
 
-    private boolean isIndexed( String name ) {
-        return searchIndexMap.containsKey( name );
+    /**
+     * Answers the criteria with bitmap indexes alone.
+     *
+     * @return ordinals of the matching items, or null when some part of the criteria has no bitmap index
+     */
+    private BitSet bitmap( Criteria criteria ) {
+
+        if ( criteria instanceof Criterion ) {
+            Criterion criterion = ( Criterion ) criteria;
+            LookupIndex lookupIndex = lookupIndexMap.get( criterion.getName() );
+
+            if ( !( lookupIndex instanceof BitmapIndex ) ) {
+                return null;
+            }
+
+            BitmapIndex index = ( BitmapIndex ) lookupIndex;
+
+            switch ( criterion.getOperator() ) {
+                case EQUAL:
+                    return index.bitmap( criterion.getValue() );
+
+                case NOT_EQUAL:
+                    BitSet notEqual = index.ordinals().live();
+                    notEqual.andNot( index.bitmap( criterion.getValue() ) );
+                    return notEqual;
+
+                case IN:
+                case NOT_IN:
+                    BitSet in = new BitSet();
+                    for ( Object value : criterion.getValues() ) {
+                        in.or( index.bitmap( value ) );
+                    }
+                    if ( criterion.getOperator() == Operator.IN ) {
+                        return in;
+                    }
+                    BitSet notIn = index.ordinals().live();
+                    notIn.andNot( in );
+                    return notIn;
+
+                default:
+                    return null;
+            }
+
+        } else if ( criteria instanceof Not ) {
+            BitSet inner = bitmap( ( ( Not ) criteria ).getExpression() );
+            if ( inner == null ) {
+                return null;
+            }
+            BitSet not = universe().live();
+            not.andNot( inner );
+            return not;
+
+        } else if ( criteria instanceof Group ) {
+            Group group = ( Group ) criteria;
+            BitSet result = null;
+
+            for ( Criteria expression : group.getExpressions() ) {
+                BitSet bits = bitmap( expression );
+                if ( bits == null ) {
+                    return null;
+                }
+                if ( result == null ) {
+                    result = bits;
+                } else if ( group.getGrouping() == Grouping.OR ) {
+                    result.or( bits );
+                } else {
+                    result.and( bits );
+                }
+            }
+            return result;
+        }
+
+        return null;
     }
 
-    private boolean doFilterWithIndex( Criterion criterion, Map<String, FieldAccess> fields, ResultSetInternal resultSet ) {
+    /**
+     * Ordinals shared by the bitmap indexes.
+     */
+    private Ordinals universe() {
+        for ( LookupIndex index : lookupIndexMap.values() ) {
+            if ( index instanceof BitmapIndex ) {
+                return ( ( BitmapIndex ) index ).ordinals();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Guesses how many items an index gives back for the criterion without reading the posting list.
+     * Equality is counted exactly. Ranges over number keys are spread evenly between the smallest
+     * and largest key, other ranges get a fixed share of the items.
+     *
+     * @return the guess, or -1 when no index can answer the criterion
+     */
+    private int estimate( Criterion criterion ) {
+
+        Operator operator = criterion.getOperator();
+
+        if ( !indexedOperators.contains( operator ) ) {
+            return -1;
+        }
+
+        String name = criterion.getName();
+        Object value = criterion.getValue();
+        LookupIndex lookupIndex = lookupIndexMap.get( name );
+
+        if ( lookupIndex != null && operator == Operator.EQUAL ) {
+            List list = lookupIndex.getAll( value );
+            return list == null ? 0 : list.size();
+        }
+
+        SearchIndex searchIndex = searchIndexMap.get( name );
+
+        if ( searchIndex == null ) {
+            return -1;
+        }
+
+        int items = searchIndex.itemCount();
+
+        if ( items == 0 ) {
+            return 0;
+        }
+
+        switch ( operator ) {
+            case EQUAL:
+                return searchIndex.count( value );
+
+            case STARTS_WITH:
+                return Math.max( 1, items / STARTS_WITH_DIVISOR );
+
+            case GREATER_THAN:
+            case GREATER_THAN_EQUAL:
+                return spread( searchIndex, items, value, null );
+
+            case LESS_THAN:
+            case LESS_THAN_EQUAL:
+                return spread( searchIndex, items, null, value );
+
+            case BETWEEN:
+                return spread( searchIndex, items, value, criterion.getValues()[ 1 ] );
+
+            default:
+                return items;
+        }
+    }
+
+    /**
+     * Share of the items between from and to, null meaning open ended.
+     */
+    private static int spread( SearchIndex searchIndex, int items, Object from, Object to ) {
+
+        Object first = searchIndex.findFirstKey();
+        Object last = searchIndex.findLastKey();
+
+        if ( !( first instanceof Number && last instanceof Number )
+                || ( from != null && !( from instanceof Number ) )
+                || ( to != null && !( to instanceof Number ) ) ) {
+            return Math.max( 1, items / RANGE_DIVISOR );
+        }
+
+        double low = ( ( Number ) first ).doubleValue();
+        double high = ( ( Number ) last ).doubleValue();
+        double start = from == null ? low : Math.max( low, ( ( Number ) from ).doubleValue() );
+        double end = to == null ? high : Math.min( high, ( ( Number ) to ).doubleValue() );
+
+        if ( end < start ) {
+            return 0;
+        }
+        if ( high == low ) {
+            return items;
+        }
+        return Math.max( 1, ( int ) ( items * ( ( end - start ) / ( high - low ) ) ) );
+    }
+
+    /**
+     * Reads the posting list for the criterion.
+     *
+     * @return the items, or null when no index can answer the criterion
+     */
+    private List fromIndex( Criterion criterion ) {
 
 
         boolean indexed = indexedOperators.contains( criterion.getOperator() );
 
         if ( !indexed ) {
-            return false;
+            return null;
         }
 
 
@@ -332,26 +934,16 @@ public class FilterDefault implements Filter, FilterComposer {
         SearchIndex searchIndex = searchIndexMap.get( name );
         LookupIndex lookupIndex = lookupIndexMap.get( name );
         List resultList = null;
-        boolean foundIndex;
 
         if ( lookupIndex != null && operator == Operator.EQUAL ) {
-            foundIndex = true;
             resultList = lookupIndex.getAll( value );
-            if ( resultList != null ) {
-                resultSet.addResults( resultList );
-                return foundIndex;
-            } else {
-                resultSet.addResults( Collections.EMPTY_LIST );
-                return foundIndex;
-            }
+            return resultList != null ? resultList : Collections.EMPTY_LIST;
         }
 
         if ( searchIndex == null ) {
-            return false;
+            return null;
         }
 
-        foundIndex = true;
-
 
         switch ( operator ) {
             case EQUAL:
@@ -386,12 +978,7 @@ public class FilterDefault implements Filter, FilterComposer {
 
         criterion.clean();
 
-        if ( resultList != null ) {
-            resultSet.addResults( resultList );
-            return foundIndex;
-        } else {
-            return foundIndex;
-        }
+        return resultList != null ? resultList : Collections.EMPTY_LIST;
 
     }
 
@@ -425,6 +1012,11 @@ public class FilterDefault implements Filter, FilterComposer {
         this.lookupIndexMap = lookupIndexMap;
     }
 
+    @Override
+    public void setPrimaryKeyName( String primaryKeyName ) {
+        this.primaryKeyName = primaryKeyName;
+    }
+
     @Override
     public void init() {
 
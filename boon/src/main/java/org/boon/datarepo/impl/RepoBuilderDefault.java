@@ -38,7 +38,11 @@ import org.boon.datarepo.impl.decorators.FilterWithSimpleCache;
 import org.boon.datarepo.impl.decorators.ObjectEditorCloneDecorator;
 import org.boon.datarepo.impl.decorators.ObjectEditorEventDecorator;
 import org.boon.datarepo.impl.decorators.ObjectEditorLogNullCheckDecorator;
+import org.boon.datarepo.impl.indexes.BitmapIndex;
 import org.boon.datarepo.impl.indexes.NestedKeySearchIndex;
+import org.boon.datarepo.impl.indexes.Ordinals;
+import org.boon.datarepo.impl.indexes.PrimitiveSearchIndex;
+import org.boon.datarepo.impl.indexes.SearchIndexDefault;
 import org.boon.datarepo.impl.indexes.TypeHierarchyIndex;
 import org.boon.datarepo.modification.ModificationListener;
 import org.boon.datarepo.spi.*;
@@ -134,6 +138,10 @@ public class RepoBuilderDefault implements RepoBuilder {
      * This holds the uniqueLookupIndexes that this repo will manager.
      */
     Set<String> uniqueLookupIndexes = new HashSet<>();
+    /**
+     * This holds the bitmapIndexes that this repo will manage.
+     */
+    Set<String> bitmapIndexes = new HashSet<>();
 
     /**
      * If we are dealing with a complex key, like a derived key or some sort of
@@ -231,6 +239,15 @@ public class RepoBuilderDefault implements RepoBuilder {
      */
     private boolean cache = false;
 
+    /**
+     * Builds a RepoConcurrent around two copies of the repo.
+     * Query caching and cloneEdits are left off the copies, since the concurrent
+     * repo already copies on write and never changes an item it has handed out.
+     *
+     * @see RepoConcurrent
+     */
+    private boolean concurrent = false;
+
     /**
      * Holds a collection of comparators that will be used per property for the Repo.
      */
@@ -382,6 +399,18 @@ public class RepoBuilderDefault implements RepoBuilder {
         return this;
     }
 
+    /**
+     * Lets many threads read and write the Repo at once.
+     *
+     * @return RepoBuilder
+     * @see RepoConcurrent
+     */
+    @Override
+    public RepoBuilder concurrent() {
+        this.concurrent = true;
+        return this;
+    }
+
     /**
      * Stores only the keys in the index. The data is stored elsewhere.
      * This is not implemented yet.
@@ -508,6 +537,17 @@ public class RepoBuilderDefault implements RepoBuilder {
         return this.lookupIndex( propertyName, true );
     }
 
+    /**
+     * @param propertyName
+     * @return
+     * @see BitmapIndex
+     */
+    @Override
+    public RepoBuilder bitmapIndex( String propertyName ) {
+        this.bitmapIndexes.add( propertyName );
+        return this;
+    }
+
     /**
      * @param propertyName
      * @param unique
@@ -656,6 +696,25 @@ public class RepoBuilderDefault implements RepoBuilder {
      */
     public <KEY, ITEM> Repo<KEY, ITEM> build( Class<?> primitiveKey, Class<KEY> key, Class<ITEM> clazz, Class<?>... classes ) {
 
+        if ( !concurrent ) {
+            return buildRepo( primitiveKey, key, clazz, classes );
+        }
+
+        Repo<KEY, ITEM> left = buildRepo( primitiveKey, key, clazz, classes );
+
+        /* Only one side reports modification events, or every change would be reported twice. */
+        boolean events = this.events;
+        this.events = false;
+        try {
+            Repo<KEY, ITEM> right = buildRepo( primitiveKey, key, clazz, classes );
+            return new RepoConcurrent<>( left, right );
+        } finally {
+            this.events = events;
+        }
+    }
+
+    private <KEY, ITEM> Repo<KEY, ITEM> buildRepo( Class<?> primitiveKey, Class<KEY> key, Class<ITEM> clazz, Class<?>... classes ) {
+
         /* Initialize factories. */
         initializeTheFactories();
 
@@ -741,7 +800,7 @@ public class RepoBuilderDefault implements RepoBuilder {
 
         query.init();
 
-        if ( this.cache ) {
+        if ( this.cache && !this.concurrent ) {
             filter = new FilterWithSimpleCache( filter );
         }
 
@@ -777,7 +836,7 @@ public class RepoBuilderDefault implements RepoBuilder {
             editor = logNullCheckDecorator;
         }
 
-        if ( cloneEdits ) {
+        if ( cloneEdits && !concurrent ) {
             editor = new ObjectEditorCloneDecorator( editor );
         }
 
@@ -898,6 +957,11 @@ public class RepoBuilderDefault implements RepoBuilder {
                 Class<?> type = fieldAccess.type();
 
                 searchIndex = this.searchIndexFactory.apply( type );
+
+                /* The primitive index orders by number, so a collated property needs the TreeMap one. */
+                if ( searchIndex instanceof PrimitiveSearchIndex && this.collators.get( prop ) != null ) {
+                    searchIndex = new SearchIndexDefault( type );
+                }
             } else {
                 searchIndex = this.searchIndexFactory.apply( null );
 
@@ -960,6 +1024,14 @@ public class RepoBuilderDefault implements RepoBuilder {
             }
         }
 
+        if ( bitmapIndexes.size() > 0 ) {
+            /* One set of ordinals for the whole repo, so the bitmaps can be combined. */
+            Ordinals ordinals = new Ordinals( getKeyGetterOrCreate( fields, this.primaryKey ) );
+            for ( String prop : bitmapIndexes ) {
+                configLookupIndex( fields, prop, new BitmapIndex( ordinals ) );
+            }
+        }
+
     }
 
     private boolean isPropPath(String prop) {
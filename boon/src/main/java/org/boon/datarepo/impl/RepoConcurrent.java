@@ -0,0 +1,1456 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.datarepo.impl;
+
+import org.boon.core.Conversions;
+import org.boon.core.Function;
+import org.boon.core.reflection.BeanUtils;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.criteria.Selector;
+import org.boon.criteria.Update;
+import org.boon.criteria.internal.Criteria;
+import org.boon.criteria.internal.Visitor;
+import org.boon.datarepo.*;
+import org.boon.datarepo.impl.decorators.ObjectEditorDecoratorBase;
+import org.boon.datarepo.spi.SearchIndex;
+import org.boon.sort.Sort;
+
+import java.util.*;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.boon.core.reflection.BeanUtils.copy;
+
+
+/**
+ * Repo that many threads can read and write at once.
+ * <p/>
+ * It keeps two complete Repos, each with its own indexes, and uses the Left-Right
+ * technique to move between them. Readers announce themselves on a striped counter
+ * and read whichever side is active, so they never block or retry and always see
+ * every index at the same point. A writer changes the idle side, makes it the active
+ * one, waits for the readers still on the old side to leave, and then repeats the
+ * change there.
+ * <p/>
+ * Stored items are never changed in place. A field update copies the current item,
+ * sets the field on the copy and swaps the copy in, so an item handed to a reader
+ * does not change under it. Items should be treated as read only.
+ * <p/>
+ * Writers are striped by primary key. Reading the current item and building the new
+ * copy happens under the key's stripe, so writers on different keys do that work in
+ * parallel. Only swapping the copies into the two sides is done one writer at a time.
+ * <p/>
+ * Visitors passed to query must not write to this repo, because the writer would
+ * wait for the visiting reader to finish. invalidateIndex does nothing here;
+ * validateIndex and validateIndexes copy the new values into the stored item.
+ *
+ * @param <KEY>  primary key
+ * @param <ITEM> item that this repo holds.
+ */
+public class RepoConcurrent<KEY, ITEM> implements Repo<KEY, ITEM> {
+
+    private static final int STRIPES = 64;
+
+    private final Repo<KEY, ITEM>[] sides;
+
+    /** Side that readers go to. */
+    private volatile int active;
+
+    /** Read indicator that new readers arrive on. */
+    private volatile int versionIndex;
+
+    private final ReadIndicator[] readIndicators = { new ReadIndicator(), new ReadIndicator() };
+
+    private final Object writeLock = new Object();
+
+    private final Object[] stripes = new Object[ STRIPES ];
+
+
+    public RepoConcurrent( Repo<KEY, ITEM> left, Repo<KEY, ITEM> right ) {
+        this.sides = new Repo[]{ left, right };
+        for ( int index = 0; index < STRIPES; index++ ) {
+            stripes[ index ] = new Object();
+        }
+    }
+
+
+    /**
+     * Counts the readers on one version. Each thread counts on its own padded slot so
+     * arriving readers do not fight over one cache line.
+     */
+    private static final class ReadIndicator {
+
+        private static final int PAD = 16;
+        private final int mask;
+        private final AtomicLongArray counts;
+
+        ReadIndicator() {
+            int slots = Integer.highestOneBit( Math.max( 1, Runtime.getRuntime().availableProcessors() ) * 2 - 1 ) * 2;
+            mask = slots - 1;
+            counts = new AtomicLongArray( slots * PAD );
+        }
+
+        private int slot() {
+            return ( ( int ) Thread.currentThread().getId() & mask ) * PAD;
+        }
+
+        void arrive() {
+            counts.incrementAndGet( slot() );
+        }
+
+        void depart() {
+            counts.decrementAndGet( slot() );
+        }
+
+        boolean isEmpty() {
+            for ( int index = 0; index < counts.length(); index += PAD ) {
+                if ( counts.get( index ) != 0 ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    private int arrive() {
+        int version = versionIndex;
+        readIndicators[ version ].arrive();
+        return version;
+    }
+
+    private void depart( int version ) {
+        readIndicators[ version ].depart();
+    }
+
+    private Repo<KEY, ITEM> reading() {
+        return sides[ active ];
+    }
+
+
+    /**
+     * Applies the change to the idle side, publishes it, waits for the readers of the
+     * other side to drain and applies the change there too. A change that fails is
+     * still repeated on the second side so that both sides stay the same.
+     */
+    private <T> T write( Function<Repo<KEY, ITEM>, T> change ) {
+        synchronized ( writeLock ) {
+            int idle = 1 - active;
+            T result = null;
+            RuntimeException failure = null;
+
+            try {
+                result = change.apply( sides[ idle ] );
+            } catch ( RuntimeException ex ) {
+                failure = ex;
+            }
+
+            active = idle;
+            waitForReaders();
+
+            try {
+                change.apply( sides[ 1 - idle ] );
+            } catch ( RuntimeException ex ) {
+                if ( failure == null ) {
+                    failure = ex;
+                }
+            }
+
+            if ( failure != null ) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+
+    private void waitForReaders() {
+        int previous = versionIndex;
+        int next = 1 - previous;
+
+        while ( !readIndicators[ next ].isEmpty() ) {
+            Thread.yield();
+        }
+        versionIndex = next;
+        while ( !readIndicators[ previous ].isEmpty() ) {
+            Thread.yield();
+        }
+    }
+
+
+    private Object stripe( KEY key ) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= ( hash >>> 16 );
+        return stripes[ hash & ( STRIPES - 1 ) ];
+    }
+
+    private ITEM current( KEY key ) {
+        ITEM item = get( key );
+        if ( item == null ) {
+            throw new IllegalStateException(
+                    String.format( "An original item was not in the repo at this key %s", key ) );
+        }
+        return item;
+    }
+
+
+    /** Swaps the new version in, unless another writer replaced expected first. */
+    private boolean replace( KEY key, ITEM expected, ITEM version ) {
+        synchronized ( writeLock ) {
+            if ( sides[ active ].get( key ) != expected ) {
+                return false;
+            }
+            write( change( Collections.singletonList( version ), Collections.<KEY>emptyList() ) );
+            return true;
+        }
+    }
+
+    private void set( KEY key, String property, Object value ) {
+        synchronized ( stripe( key ) ) {
+            while ( true ) {
+                ITEM current = current( key );
+                ITEM version = copy( current );
+                BeanUtils.idx( version, property, value );
+                rehash( version );
+                if ( replace( key, current, version ) ) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean compareAndSet( KEY key, String property, Object compare, Object value ) {
+        synchronized ( stripe( key ) ) {
+            while ( true ) {
+                ITEM current = current( key );
+                if ( !matches( BeanUtils.idx( current, property ), compare ) ) {
+                    return false;
+                }
+                ITEM version = copy( current );
+                BeanUtils.idx( version, property, value );
+                rehash( version );
+                if ( replace( key, current, version ) ) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void set( KEY key, Update... values ) {
+        synchronized ( stripe( key ) ) {
+            while ( true ) {
+                ITEM current = current( key );
+                Detached<KEY, ITEM> detached = new Detached<>();
+                ITEM version = detached.apply( copy( current ), values );
+
+                synchronized ( writeLock ) {
+                    if ( sides[ active ].get( key ) != current ) {
+                        continue;
+                    }
+                    if ( detached.deleted ) {
+                        write( change( Collections.<ITEM>emptyList(), Collections.singletonList( key ) ) );
+                    } else {
+                        write( change( Collections.singletonList( version ), Collections.<KEY>emptyList() ) );
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean matches( Object actual, Object compare ) {
+        if ( actual == null || compare == null ) {
+            return actual == compare;
+        }
+        if ( actual instanceof Number && compare instanceof Number ) {
+            return ( ( Number ) actual ).doubleValue() == ( ( Number ) compare ).doubleValue();
+        }
+        return actual.equals( compare );
+    }
+
+    /** Field updates bypass the editor, so redo what its hash code optimization would. */
+    private static void rehash( Object item ) {
+        FieldAccess hashCode = BeanUtils.getFieldsFromObject( item ).get( "_hashCode" );
+        if ( hashCode != null ) {
+            hashCode.setInt( item, -1 );
+            hashCode.setInt( item, item.hashCode() );
+        }
+    }
+
+
+    private List<ITEM> versions( Collection<? extends ITEM> items ) {
+        List<ITEM> versions = new ArrayList<>( items.size() );
+        for ( ITEM item : items ) {
+            versions.add( copy( item ) );
+        }
+        return versions;
+    }
+
+    private List<KEY> keys( Collection<?> items ) {
+        List<KEY> keys = new ArrayList<>( items.size() );
+        for ( Object item : items ) {
+            keys.add( getKey( ( ITEM ) item ) );
+        }
+        return keys;
+    }
+
+
+    private Function<Repo<KEY, ITEM>, Boolean> insert( final List<ITEM> versions ) {
+        return new Function<Repo<KEY, ITEM>, Boolean>() {
+            @Override
+            public Boolean apply( Repo<KEY, ITEM> side ) {
+                boolean added = true;
+                for ( ITEM version : versions ) {
+                    added &= side.add( version );
+                }
+                return added;
+            }
+        };
+    }
+
+    /** Puts the new versions in place of the stored ones and drops the removed keys. */
+    private Function<Repo<KEY, ITEM>, Boolean> change( final List<ITEM> versions, final List<KEY> removed ) {
+        return new Function<Repo<KEY, ITEM>, Boolean>() {
+            @Override
+            public Boolean apply( Repo<KEY, ITEM> side ) {
+                for ( ITEM version : versions ) {
+                    if ( side.get( side.getKey( version ) ) == null ) {
+                        side.add( version );
+                    } else {
+                        side.modify( version );
+                    }
+                }
+                for ( KEY key : removed ) {
+                    if ( side.get( key ) != null ) {
+                        side.removeByKey( key );
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    private Function<Repo<KEY, ITEM>, Boolean> clearAll() {
+        return new Function<Repo<KEY, ITEM>, Boolean>() {
+            @Override
+            public Boolean apply( Repo<KEY, ITEM> side ) {
+                side.clear();
+                return true;
+            }
+        };
+    }
+
+
+    /**
+     * Editor that Update objects are run against. It sets fields on a copy that is not
+     * in the repo yet and remembers whether the update asked for a delete.
+     */
+    private static final class Detached<KEY, ITEM> extends ObjectEditorDecoratorBase<KEY, ITEM> {
+
+        boolean deleted;
+
+        ITEM apply( ITEM version, Update... values ) {
+            for ( Update value : values ) {
+                value.doSet( this, version );
+            }
+            rehash( version );
+            return version;
+        }
+
+        @Override
+        public boolean delete( ITEM item ) {
+            deleted = true;
+            return true;
+        }
+
+        @Override
+        public void modifyByValue( ITEM item, String property, String value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, Object value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, int value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, long value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, char value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, short value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, byte value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, float value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public void modify( ITEM item, String property, double value ) {
+            BeanUtils.idx( item, property, value );
+        }
+
+        @Override
+        public int getInt( ITEM item, String property ) {
+            return Conversions.toInt( BeanUtils.idx( item, property ) );
+        }
+    }
+
+
+    /* Writes. */
+
+    @Override
+    public Repo init( List<ITEM> items ) {
+        this.addAll( items );
+        return this;
+    }
+
+    @Override
+    public void updateByFilter( String property, Object value, Criteria... expressions ) {
+        updateByFilter( Collections.singletonList( Update.set( property, value ) ), expressions );
+    }
+
+    @Override
+    public void updateByFilterUsingValue( String property, String value, Criteria... expressions ) {
+        updateByFilter( Collections.singletonList( Update.set( property, value ) ), expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, int value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, long value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, char value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, short value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, byte value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, float value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    @Override
+    public void updateByFilter( String property, double value, Criteria... expressions ) {
+        updateByFilter( property, ( Object ) value, expressions );
+    }
+
+    /** The whole filter is updated in one write, so readers see all of it or none of it. */
+    @Override
+    public void updateByFilter( List<Update> values, Criteria... expressions ) {
+        Update[] updates = values.toArray( new Update[ values.size() ] );
+        synchronized ( writeLock ) {
+            List<ITEM> versions = new ArrayList<>();
+            List<KEY> deleted = new ArrayList<>();
+            for ( ITEM item : sides[ active ].query( expressions ) ) {
+                Detached<KEY, ITEM> detached = new Detached<>();
+                ITEM version = detached.apply( copy( item ), updates );
+                if ( detached.deleted ) {
+                    deleted.add( getKey( item ) );
+                } else {
+                    versions.add( version );
+                }
+            }
+            write( change( versions, deleted ) );
+        }
+    }
+
+    @Override
+    public void invalidateIndex( String property, ITEM item ) {
+    }
+
+    @Override
+    public void validateIndex( String property, ITEM item ) {
+        set( getKey( item ), property, BeanUtils.idx( item, property ) );
+    }
+
+    @Override
+    public void validateIndexes( ITEM item ) {
+        modify( item );
+    }
+
+    @Override
+    public void put( ITEM item ) {
+        if ( !this.add( item ) ) {
+            throw new DataRepoException( "Unable to addObject item " + item );
+        }
+    }
+
+    @Override
+    public boolean add( ITEM item ) {
+        ITEM version = copy( item );
+        synchronized ( writeLock ) {
+            if ( sides[ active ].get( getKey( version ) ) != null ) {
+                return false;
+            }
+            return write( insert( Collections.singletonList( version ) ) );
+        }
+    }
+
+    @Override
+    public void addAll( ITEM... items ) {
+        addAll( Arrays.asList( items ) );
+    }
+
+    @Override
+    public void addAllAsync( Collection<ITEM> items ) {
+        addAll( items );
+    }
+
+    @Override
+    public void addAll( List<ITEM> items ) {
+        write( insert( versions( items ) ) );
+    }
+
+    @Override
+    public boolean addAll( Collection<? extends ITEM> items ) {
+        write( insert( versions( items ) ) );
+        return true;
+    }
+
+    @Override
+    public void modifyAll( ITEM... items ) {
+        modifyAll( Arrays.asList( items ) );
+    }
+
+    @Override
+    public void modifyAll( Collection<ITEM> items ) {
+        write( change( versions( items ), Collections.<KEY>emptyList() ) );
+    }
+
+    @Override
+    public void modify( ITEM item ) {
+        write( change( Collections.singletonList( copy( item ) ), Collections.<KEY>emptyList() ) );
+    }
+
+    @Override
+    public void update( ITEM item ) {
+        ITEM version = copy( item );
+        synchronized ( writeLock ) {
+            if ( sides[ active ].get( getKey( version ) ) == null ) {
+                throw new DataRepoException( "Unable to perform update, the object does not exist" );
+            }
+            write( change( Collections.singletonList( version ), Collections.<KEY>emptyList() ) );
+        }
+    }
+
+    @Override
+    public void modifyByValue( ITEM item, String property, String value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, Object value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, int value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, long value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, char value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, short value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, byte value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, float value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, String property, double value ) {
+        set( getKey( item ), property, value );
+    }
+
+    @Override
+    public void modify( ITEM item, Update... values ) {
+        set( getKey( item ), values );
+    }
+
+    @Override
+    public void updateByValue( KEY key, String property, String value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, Object value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, int value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, long value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, char value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, short value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, byte value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, float value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, String property, double value ) {
+        set( key, property, value );
+    }
+
+    @Override
+    public void update( KEY key, Update... values ) {
+        set( key, values );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, Object compare, Object value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, int compare, int value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, long compare, long value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, char compare, char value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, short compare, short value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, byte compare, byte value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, float compare, float value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndUpdate( KEY key, String property, double compare, double value ) {
+        return compareAndSet( key, property, compare, value );
+    }
+
+    @Override
+    public boolean compareAndIncrement( KEY key, String property, int compare ) {
+        return compareAndSet( key, property, compare, compare + 1 );
+    }
+
+    @Override
+    public boolean compareAndIncrement( KEY key, String property, long compare ) {
+        return compareAndSet( key, property, compare, compare + 1 );
+    }
+
+    @Override
+    public boolean compareAndIncrement( KEY key, String property, short compare ) {
+        return compareAndSet( key, property, compare, ( short ) ( compare + 1 ) );
+    }
+
+    @Override
+    public boolean compareAndIncrement( KEY key, String property, byte compare ) {
+        return compareAndSet( key, property, compare, ( byte ) ( compare + 1 ) );
+    }
+
+    @Override
+    public void removeByKey( KEY key ) {
+        write( change( Collections.<ITEM>emptyList(), Collections.singletonList( key ) ) );
+    }
+
+    @Override
+    public void removeAll( ITEM... items ) {
+        write( change( Collections.<ITEM>emptyList(), keys( Arrays.asList( items ) ) ) );
+    }
+
+    @Override
+    public void removeAllAsync( Collection<ITEM> items ) {
+        write( change( Collections.<ITEM>emptyList(), keys( items ) ) );
+    }
+
+    @Override
+    public boolean removeAll( Collection<?> items ) {
+        write( change( Collections.<ITEM>emptyList(), keys( items ) ) );
+        return true;
+    }
+
+    @Override
+    public boolean remove( Object o ) {
+        removeByKey( getKey( ( ITEM ) o ) );
+        return true;
+    }
+
+    @Override
+    public boolean delete( ITEM item ) {
+        removeByKey( getKey( item ) );
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        write( clearAll() );
+    }
+
+    @Override
+    public void addSearchIndex( String name, SearchIndex<?, ?> si ) {
+        throw new DataRepoException( "Indexes of a concurrent repo are set up by the RepoBuilder" );
+    }
+
+    @Override
+    public void addLookupIndex( String name, LookupIndex<?, ?> si ) {
+        throw new DataRepoException( "Indexes of a concurrent repo are set up by the RepoBuilder" );
+    }
+
+
+    /* Reads. */
+
+    @Override
+    public ITEM get( KEY key ) {
+        int version = arrive();
+        try {
+            return reading().get( key );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public KEY getKey( ITEM item ) {
+        return sides[ 0 ].getKey( item );
+    }
+
+    @Override
+    public Object readObject( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readObject( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public <T> T readValue( KEY key, String property, Class<T> type ) {
+        int version = arrive();
+        try {
+            return reading().readValue( key, property, type );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int readInt( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readInt( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public long readLong( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readLong( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public char readChar( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readChar( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public short readShort( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readShort( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public byte readByte( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readByte( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public float readFloat( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readFloat( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public double readDouble( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().readDouble( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public Object readNestedValue( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedValue( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int readNestedInt( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedInt( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public short readNestedShort( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedShort( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public char readNestedChar( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedChar( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public byte readNestedByte( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedByte( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public double readNestedDouble( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedDouble( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public float readNestedFloat( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedFloat( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public long readNestedLong( KEY key, String... properties ) {
+        int version = arrive();
+        try {
+            return reading().readNestedLong( key, properties );
+        } finally {
+            depart( version );
+        }
+    }
+
+    /* The getX( item ) readers only look at the item they are handed. */
+
+    @Override
+    public Object getObject( ITEM item, String property ) {
+        return sides[ 0 ].getObject( item, property );
+    }
+
+    @Override
+    public <T> T getValue( ITEM item, String property, Class<T> type ) {
+        return sides[ 0 ].getValue( item, property, type );
+    }
+
+    @Override
+    public int getInt( ITEM item, String property ) {
+        return sides[ 0 ].getInt( item, property );
+    }
+
+    @Override
+    public long getLong( ITEM item, String property ) {
+        return sides[ 0 ].getLong( item, property );
+    }
+
+    @Override
+    public char getChar( ITEM item, String property ) {
+        return sides[ 0 ].getChar( item, property );
+    }
+
+    @Override
+    public short getShort( ITEM item, String property ) {
+        return sides[ 0 ].getShort( item, property );
+    }
+
+    @Override
+    public byte getByte( ITEM item, String property ) {
+        return sides[ 0 ].getByte( item, property );
+    }
+
+    @Override
+    public float getFloat( ITEM item, String property ) {
+        return sides[ 0 ].getFloat( item, property );
+    }
+
+    @Override
+    public double getDouble( ITEM item, String property ) {
+        return sides[ 0 ].getDouble( item, property );
+    }
+
+    @Override
+    public int count( KEY key, String property, int value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, short value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, byte value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, long value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, char value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, float value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, double value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int count( KEY key, String property, Object value ) {
+        int version = arrive();
+        try {
+            return reading().count( key, property, value );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public <T> T max( KEY key, String property, Class<T> type ) {
+        int version = arrive();
+        try {
+            return reading().max( key, property, type );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public String maxString( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().maxString( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public Number maxNumber( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().maxNumber( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int maxInt( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().maxInt( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public long maxLong( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().maxLong( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public double maxDouble( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().maxDouble( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public <T> T min( KEY key, String property, Class<T> type ) {
+        int version = arrive();
+        try {
+            return reading().min( key, property, type );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public String minString( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().minString( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public Number minNumber( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().minNumber( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int minInt( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().minInt( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public long minLong( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().minLong( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public double minDouble( KEY key, String property ) {
+        int version = arrive();
+        try {
+            return reading().minDouble( key, property );
+        } finally {
+            depart( version );
+        }
+    }
+
+    /* Index results can be backed by the index itself, so they are copied before the reader leaves. */
+
+    @Override
+    public ResultSet<ITEM> results( Criteria... expressions ) {
+        return new ResultSetImpl<>( query( expressions ) );
+    }
+
+    @Override
+    public List<ITEM> query( Criteria... expressions ) {
+        int version = arrive();
+        try {
+            return new ArrayList<>( reading().query( expressions ) );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<ITEM> query( List<Criteria> expressions ) {
+        int version = arrive();
+        try {
+            return new ArrayList<>( reading().query( expressions ) );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( String sortBy, Criteria... expressions ) {
+        return sortedQuery( Sort.asc( sortBy ), expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( Sort sortBy, Criteria... expressions ) {
+        List<ITEM> results = query( expressions );
+        sortBy.sort( results );
+        return results;
+    }
+
+    /**
+     * The matches are collected while this reader is on its side, a cursor cannot stay there after it returns.
+     */
+    @Override
+    public Iterator<ITEM> cursor( Criteria... expressions ) {
+        return query( expressions ).iterator();
+    }
+
+    @Override
+    public ResultSet<ITEM> results( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return new ResultSetImpl<>( page( start, size, sortBy, expressions ) );
+    }
+
+    @Override
+    public List<ITEM> query( int start, int size, Criteria... expressions ) {
+        return page( start, size, null, expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( String sortBy, int start, int size, Criteria... expressions ) {
+        return page( start, size, Sort.asc( sortBy ), expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return page( start, size, sortBy, expressions );
+    }
+
+    private List<ITEM> page( int start, int size, Sort sortBy, Criteria... expressions ) {
+        int version = arrive();
+        try {
+            return new ArrayList<>( reading().results( sortBy, start, size, expressions ).asList() );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> queryAsMaps( Criteria... expressions ) {
+        int version = arrive();
+        try {
+            return reading().queryAsMaps( expressions );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> query( List<Selector> selectors, Criteria... expressions ) {
+        int version = arrive();
+        try {
+            return reading().query( selectors, expressions );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> sortedQuery( String sortBy, List<Selector> selectors, Criteria... expressions ) {
+        return sortedQuery( Sort.asc( sortBy ), selectors, expressions );
+    }
+
+    @Override
+    public List<Map<String, Object>> sortedQuery( Sort sortBy, List<Selector> selectors, Criteria... expressions ) {
+        List<Map<String, Object>> results = query( selectors, expressions );
+        sortBy.sort( results );
+        return results;
+    }
+
+    @Override
+    public void query( Visitor<KEY, ITEM> visitor, Criteria... expressions ) {
+        int version = arrive();
+        try {
+            reading().query( visitor, expressions );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public void sortedQuery( Visitor<KEY, ITEM> visitor, String sortBy, Criteria... expressions ) {
+        int version = arrive();
+        try {
+            reading().sortedQuery( visitor, sortBy, expressions );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public void sortedQuery( Visitor<KEY, ITEM> visitor, Sort sortBy, Criteria... expressions ) {
+        int version = arrive();
+        try {
+            reading().sortedQuery( visitor, sortBy, expressions );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public List<ITEM> all() {
+        int version = arrive();
+        try {
+            return new ArrayList<>( reading().all() );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public int size() {
+        int version = arrive();
+        try {
+            return reading().size();
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        int version = arrive();
+        try {
+            return reading().isEmpty();
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public boolean contains( Object o ) {
+        int version = arrive();
+        try {
+            return reading().contains( o );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public boolean containsAll( Collection<?> c ) {
+        int version = arrive();
+        try {
+            return reading().containsAll( c );
+        } finally {
+            depart( version );
+        }
+    }
+
+    @Override
+    public boolean retainAll( Collection<?> c ) {
+        int version = arrive();
+        try {
+            return reading().retainAll( c );
+        } finally {
+            depart( version );
+        }
+    }
+
+    /* Iterating and collection views work on a snapshot of the items. */
+
+    @Override
+    public Iterator<ITEM> iterator() {
+        return all().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return all().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray( T[] a ) {
+        return all().toArray( a );
+    }
+
+    @Override
+    public Collection<ITEM> toCollection() {
+        return all();
+    }
+}
@@ -386,6 +386,31 @@ public class RepoDefault<KEY, ITEM> implements Repo<KEY, ITEM>, RepoComposer<KEY
         return query.sortedQuery( sortBy, expressions );
     }
 
+    @Override
+    public Iterator<ITEM> cursor( Criteria... expressions ) {
+        return query.cursor( expressions );
+    }
+
+    @Override
+    public ResultSet<ITEM> results( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return query.results( sortBy, start, size, expressions );
+    }
+
+    @Override
+    public List<ITEM> query( int start, int size, Criteria... expressions ) {
+        return query.query( start, size, expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( String sortBy, int start, int size, Criteria... expressions ) {
+        return query.sortedQuery( sortBy, start, size, expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return query.sortedQuery( sortBy, start, size, expressions );
+    }
+
     @Override
     public List<Map<String, Object>> queryAsMaps( Criteria... expressions ) {
         return query.queryAsMaps( expressions );
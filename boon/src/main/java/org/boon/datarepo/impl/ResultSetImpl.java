@@ -55,6 +55,8 @@ public class ResultSetImpl<T> implements ResultSetInternal<T> {
 
     private List<T> lastList;
 
+    private List<PlanStep> plan;
+
     private Map<String, FieldAccess> fields;
 
 
@@ -382,7 +384,15 @@ public class ResultSetImpl<T> implements ResultSetInternal<T> {
 
     @Override
     public List<PlanStep> queryPlan() {
-        throw new RuntimeException( "NOT IMPLEMENTED" );
+        return plan == null ? Collections.<PlanStep>emptyList() : plan;
+    }
+
+    @Override
+    public void addPlanStep( PlanStep step ) {
+        if ( plan == null ) {
+            plan = new ArrayList<>();
+        }
+        plan.add( step );
     }
 
     @Override
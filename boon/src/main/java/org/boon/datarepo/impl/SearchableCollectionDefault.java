@@ -404,7 +404,8 @@ public class SearchableCollectionDefault<KEY, ITEM> implements SearchableCollect
 
     @Override
     public List<ITEM> sortedQuery( Sort sortBy, Criteria... expressions ) {
-        List<ITEM> results = this.query( expressions );
+        /* The query can hand back a list owned by an index, so sort a copy. */
+        List<ITEM> results = new ArrayList<>( this.query( expressions ) );
         sortBy.sort( results );
         return results;
     }
@@ -510,6 +511,31 @@ public class SearchableCollectionDefault<KEY, ITEM> implements SearchableCollect
         }
     }
 
+    @Override
+    public Iterator<ITEM> cursor( Criteria... expressions ) {
+        return this.filter.cursor( expressions );
+    }
+
+    @Override
+    public ResultSet<ITEM> results( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return this.filter.page( sortBy, start, size, expressions );
+    }
+
+    @Override
+    public List<ITEM> query( int start, int size, Criteria... expressions ) {
+        return this.results( null, start, size, expressions ).asList();
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( String sortBy, int start, int size, Criteria... expressions ) {
+        return sortedQuery( Sort.asc( sortBy ), start, size, expressions );
+    }
+
+    @Override
+    public List<ITEM> sortedQuery( Sort sortBy, int start, int size, Criteria... expressions ) {
+        return this.results( sortBy, start, size, expressions ).asList();
+    }
+
     @Override
     public List<Map<String, Object>> query( List<Selector> selectors, Criteria... expressions ) {
 
@@ -622,6 +648,7 @@ public class SearchableCollectionDefault<KEY, ITEM> implements SearchableCollect
             fc.setFields( fields );
             fc.setLookupIndexMap( this.lookupIndexMap );
             fc.setSearchIndexMap( this.searchIndexMap );
+            fc.setPrimaryKeyName( this.primaryKeyName );
             fc.setSearchableCollection( this );
             fc.init();
         }
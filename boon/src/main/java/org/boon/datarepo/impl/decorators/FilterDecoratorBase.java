@@ -31,6 +31,9 @@ package org.boon.datarepo.impl.decorators;
 import org.boon.criteria.internal.Criteria;
 import org.boon.datarepo.Filter;
 import org.boon.datarepo.ResultSet;
+import org.boon.sort.Sort;
+
+import java.util.Iterator;
 
 /**
  * Checking
@@ -48,6 +51,16 @@ public class FilterDecoratorBase implements Filter {
         return delegate.filter( expressions );
     }
 
+    @Override
+    public Iterator cursor( Criteria... expressions ) {
+        return delegate.cursor( expressions );
+    }
+
+    @Override
+    public ResultSet page( Sort sort, int start, int size, Criteria... expressions ) {
+        return delegate.page( sort, start, size, expressions );
+    }
+
     @Override
     public void invalidate() {
         delegate.invalidate();
@@ -33,6 +33,7 @@ import org.boon.core.Function;
 
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 
@@ -136,6 +137,11 @@ public abstract class BaseIndexWrapper implements SearchIndex {
         index.setComparator( collator );
     }
 
+    @Override
+    public Iterator walk( boolean ascending ) {
+        return index.walk( ascending );
+    }
+
     @Override
     public Object get( Object o ) {
         return index.get( o );
@@ -189,6 +195,11 @@ public abstract class BaseIndexWrapper implements SearchIndex {
         return index.size();
     }
 
+    @Override
+    public int itemCount() {
+        return index.itemCount();
+    }
+
     @Override
     public Collection toCollection() {
         return index.toCollection();
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.datarepo.impl.indexes;
+
+import org.boon.Exceptions;
+import org.boon.core.Function;
+import org.boon.datarepo.LookupIndex;
+
+import java.util.*;
+
+/**
+ * Lookup index for properties with few distinct values, like a status or a region.
+ * <p/>
+ * Instead of a list of items per key it keeps one bitmap per key, with a bit set for the
+ * ordinal of every item filed under the key. The filter answers equality, in, not and
+ * and/or groups over bitmap indexes by combining bitmaps and only turns the final bitmap
+ * into items.
+ * <p/>
+ * Every item gets an ordinal, items with a null key too, so the bitmaps can also answer not.
+ *
+ * @param <KEY>  key to lookup
+ * @param <ITEM> value
+ * @see Ordinals
+ */
+public class BitmapIndex<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
+
+    private final Ordinals ordinals;
+
+    private Function<ITEM, KEY> keyGetter;
+
+    private Function<Object, KEY> keyTransformer;
+
+    private final Map<Object, BitSet> bitmaps = new HashMap<>();
+
+    /**
+     * Ordinals this index holds.
+     */
+    private final BitSet held = new BitSet();
+
+    /**
+     * Key each held ordinal was filed under, so a delete still finds it after the item changed in place.
+     */
+    private final List<Object> keys = new ArrayList<>();
+
+    private int itemCount;
+
+
+    public BitmapIndex( Ordinals ordinals ) {
+        this.ordinals = ordinals;
+    }
+
+
+    @Override
+    public boolean add( ITEM item ) {
+        int ordinal = ordinals.acquire( item );
+
+        if ( held.get( ordinal ) ) {
+            unfile( ordinal );
+            ordinals.release( ordinal );
+        }
+
+        KEY key = getKey( keyGetter.apply( item ) );
+        if ( key instanceof Collection ) {
+            key = ( KEY ) new ArrayList( ( Collection ) key );
+        }
+
+        while ( keys.size() <= ordinal ) {
+            keys.add( null );
+        }
+        keys.set( ordinal, key );
+        held.set( ordinal );
+        file( ordinal, key );
+        return true;
+    }
+
+    @Override
+    public boolean delete( ITEM item ) {
+        int ordinal = ordinals.ordinal( item );
+
+        if ( ordinal == -1 || !held.get( ordinal ) ) {
+            return false;
+        }
+
+        unfile( ordinal );
+        ordinals.release( ordinal );
+        return true;
+    }
+
+    private void file( int ordinal, Object key ) {
+        if ( key instanceof Collection ) {
+            for ( Object component : ( Collection ) key ) {
+                file( ordinal, component );
+            }
+            return;
+        }
+
+        BitSet bitmap = bitmaps.get( key );
+        if ( bitmap == null ) {
+            bitmap = new BitSet();
+            bitmaps.put( key, bitmap );
+        }
+        bitmap.set( ordinal );
+        itemCount++;
+    }
+
+    private void unfile( int ordinal ) {
+        remove( ordinal, keys.get( ordinal ) );
+        keys.set( ordinal, null );
+        held.clear( ordinal );
+    }
+
+    private void remove( int ordinal, Object key ) {
+        if ( key instanceof Collection ) {
+            for ( Object component : ( Collection ) key ) {
+                remove( ordinal, component );
+            }
+            return;
+        }
+
+        BitSet bitmap = bitmaps.get( key );
+        if ( bitmap != null && bitmap.get( ordinal ) ) {
+            bitmap.clear( ordinal );
+            itemCount--;
+            if ( bitmap.isEmpty() ) {
+                bitmaps.remove( key );
+            }
+        }
+    }
+
+    /**
+     * Bitmap of the items filed under the key. The caller gets its own copy.
+     */
+    public BitSet bitmap( Object key ) {
+        BitSet bitmap = key == null ? null : bitmaps.get( getKey( ( KEY ) key ) );
+        return bitmap == null ? new BitSet() : ( BitSet ) bitmap.clone();
+    }
+
+    public Ordinals ordinals() {
+        return ordinals;
+    }
+
+    @Override
+    public ITEM get( KEY key ) {
+        BitSet bitmap = key == null ? null : bitmaps.get( getKey( key ) );
+        return bitmap == null ? null : ( ITEM ) ordinals.item( bitmap.nextSetBit( 0 ) );
+    }
+
+    @Override
+    public List<ITEM> getAll( KEY key ) {
+        BitSet bitmap = key == null ? null : bitmaps.get( getKey( key ) );
+        return bitmap == null ? null : ordinals.<ITEM>items( bitmap );
+    }
+
+    @Override
+    public boolean deleteByKey( KEY key ) {
+        BitSet bitmap = bitmaps.get( getKey( key ) );
+        if ( bitmap == null ) {
+            return true;
+        }
+
+        bitmap = ( BitSet ) bitmap.clone();
+        for ( int ordinal = bitmap.nextSetBit( 0 ); ordinal >= 0; ordinal = bitmap.nextSetBit( ordinal + 1 ) ) {
+            unfile( ordinal );
+            ordinals.release( ordinal );
+        }
+        return true;
+    }
+
+    @Override
+    public boolean has( KEY key ) {
+        return key != null && bitmaps.containsKey( getKey( key ) );
+    }
+
+    @Override
+    public List<ITEM> all() {
+        return ordinals.items( held );
+    }
+
+    @Override
+    public int size() {
+        return bitmaps.size();
+    }
+
+    @Override
+    public int itemCount() {
+        return itemCount;
+    }
+
+    @Override
+    public Collection<ITEM> toCollection() {
+        return all();
+    }
+
+    @Override
+    public void clear() {
+        for ( int ordinal = held.nextSetBit( 0 ); ordinal >= 0; ordinal = held.nextSetBit( ordinal + 1 ) ) {
+            ordinals.release( ordinal );
+        }
+        held.clear();
+        keys.clear();
+        bitmaps.clear();
+        itemCount = 0;
+    }
+
+    @Override
+    public void setKeyGetter( Function<ITEM, KEY> keyGetter ) {
+        Exceptions.requireNonNull( keyGetter, "keyGetter cannot be null" );
+        this.keyGetter = keyGetter;
+    }
+
+    @Override
+    public void setInputKeyTransformer( Function<Object, KEY> func ) {
+        this.keyTransformer = func;
+    }
+
+    private KEY getKey( KEY key ) {
+        if ( keyTransformer != null && key != null ) {
+            key = this.keyTransformer.apply( key );
+        }
+        return key;
+    }
+
+    @Override
+    public boolean isPrimaryKeyOnly() {
+        return false;
+    }
+
+    @Override
+    public void setBucketSize( int size ) {
+    }
+
+    @Override
+    public void init() {
+    }
+}
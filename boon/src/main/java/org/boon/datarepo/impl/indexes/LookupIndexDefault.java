@@ -57,6 +57,11 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
 
     protected int keyBucketSize = 3;
 
+    /**
+     * Items held across all keys, kept for the query planner.
+     */
+    protected int itemCount;
+
 
     public LookupIndexDefault( Class<?> keyType ) {
 
@@ -123,6 +128,7 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
                     mv = map.get(keyComponent);
                     mv = mvCreateOrAddToMV(mv, item);
                     map.put((KEY) keyComponent, mv);
+                    itemCount++;
                 }
                 return;
             }
@@ -138,6 +144,7 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
             }
 
             map.put(key, mv);
+            itemCount++;
 
         }catch (Exception ex) {
              Exceptions.handle(ex, "Problem putting item in lookupWithDefault index, item=", item, "key=", key, "mv=", mv,
@@ -186,10 +193,14 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
                 return false;
             }
 
+            int before = mv.size();
             mv = MultiValue.remove( mv, item );
 
             if ( mv == null ) {
                 map.remove( key );
+                itemCount -= before;
+            } else {
+                itemCount -= before - mv.size();
             }
         }
         return true;
@@ -269,7 +280,10 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
     public boolean deleteByKey( KEY key ) {
         key = getKey( key );
 
-        this.map.remove( key );
+        MultiValue mv = this.map.remove( key );
+        if ( mv != null ) {
+            itemCount -= mv.size();
+        }
         return true;
     }
 
@@ -300,6 +314,11 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
         return this.map.containsKey( key );
     }
 
+    @Override
+    public int itemCount() {
+        return itemCount;
+    }
+
 
     @Override
     public void clear() {
@@ -308,6 +327,7 @@ public class LookupIndexDefault<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
             log.fine( "clear called" );
         }
         this.map.clear();
+        this.itemCount = 0;
     }
 
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.datarepo.impl.indexes;
+
+import org.boon.core.Function;
+
+import java.util.*;
+
+/**
+ * Hands out a small dense number, an ordinal, to every item the bitmap indexes of a repo hold.
+ * All bitmap indexes of one repo share the same Ordinals so their bitmaps can be combined.
+ * <p/>
+ * Items are tracked by primary key, so an item changed in place or replaced by a copy keeps
+ * its ordinal. An ordinal is freed when the last bitmap index lets go of the item and the
+ * lowest free ordinal is reused first, which keeps the bitmaps short.
+ */
+public class Ordinals {
+
+    private final Function<Object, Object> primaryKeyGetter;
+
+    private final Map<Object, Integer> ordinals = new HashMap<>();
+
+    private final List<Object> items = new ArrayList<>();
+
+    private int[] references = new int[ 16 ];
+
+    private final BitSet live = new BitSet();
+
+
+    public Ordinals( Function primaryKeyGetter ) {
+        this.primaryKeyGetter = primaryKeyGetter;
+    }
+
+    /**
+     * Ordinal of the item, giving it one if it has none. The latest instance added is the one handed back by item.
+     */
+    int acquire( Object item ) {
+        Object key = primaryKeyGetter.apply( item );
+        Integer ordinal = ordinals.get( key );
+
+        if ( ordinal == null ) {
+            ordinal = live.nextClearBit( 0 );
+            live.set( ordinal );
+            ordinals.put( key, ordinal );
+            if ( ordinal == items.size() ) {
+                items.add( item );
+            }
+            if ( ordinal == references.length ) {
+                references = Arrays.copyOf( references, references.length * 2 );
+            }
+        }
+
+        items.set( ordinal, item );
+        references[ ordinal ]++;
+        return ordinal;
+    }
+
+    /**
+     * Ordinal of the item, or -1 when no bitmap index holds it.
+     */
+    int ordinal( Object item ) {
+        Integer ordinal = ordinals.get( primaryKeyGetter.apply( item ) );
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    void release( int ordinal ) {
+        if ( --references[ ordinal ] == 0 ) {
+            ordinals.remove( primaryKeyGetter.apply( items.get( ordinal ) ) );
+            items.set( ordinal, null );
+            live.clear( ordinal );
+        }
+    }
+
+    Object item( int ordinal ) {
+        return items.get( ordinal );
+    }
+
+    /**
+     * Every ordinal in use. The caller gets its own copy.
+     */
+    public BitSet live() {
+        return ( BitSet ) live.clone();
+    }
+
+    /**
+     * Items for the ordinals set in the bitmap, in ordinal order.
+     */
+    public <T> List<T> items( BitSet bitmap ) {
+        List<T> results = new ArrayList<>( bitmap.cardinality() );
+        for ( int ordinal = bitmap.nextSetBit( 0 ); ordinal >= 0; ordinal = bitmap.nextSetBit( ordinal + 1 ) ) {
+            results.add( ( T ) items.get( ordinal ) );
+        }
+        return results;
+    }
+
+    /**
+     * Items for the ordinals set in the bitmap, in ordinal order, looked up as the caller steps through them.
+     */
+    public <T> Iterator<T> iterator( final BitSet bitmap ) {
+        return new Iterator<T>() {
+            int ordinal = bitmap.nextSetBit( 0 );
+
+            @Override
+            public boolean hasNext() {
+                return ordinal >= 0;
+            }
+
+            @Override
+            public T next() {
+                if ( ordinal < 0 ) {
+                    throw new NoSuchElementException();
+                }
+                T item = ( T ) items.get( ordinal );
+                ordinal = bitmap.nextSetBit( ordinal + 1 );
+                return item;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,666 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.datarepo.impl.indexes;
+
+import org.boon.Exceptions;
+import org.boon.core.Conversions;
+import org.boon.core.Function;
+import org.boon.core.Typ;
+import org.boon.datarepo.spi.SearchIndex;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Search index for int, long, short, byte, float and double properties.
+ * <p/>
+ * Keys are kept as primitive longs in a sorted run, two parallel arrays of keys and items,
+ * with a small sorted delta buffer in front of it that new items go into. The delta is merged
+ * into the run once it holds about the square root of the run's size. Deleting an item from
+ * the run leaves a hole that the next merge closes. Floats and doubles are stored as their
+ * bits flipped so that they sort like the numbers they stand for.
+ * <p/>
+ * Compared to a TreeMap of boxed keys and MultiValue lists this costs a long and a reference
+ * per item, and range queries are a binary search and a copy.
+ *
+ * @param <KEY>  Key we are indexing on.
+ * @param <ITEM> The items we are indexing.
+ */
+public class PrimitiveSearchIndex<KEY, ITEM> implements SearchIndex<KEY, ITEM> {
+
+    private static final int MIN_DELTA = 64;
+
+    private final Class<?> keyType;
+    private final boolean floating;
+
+    private Function<ITEM, KEY> keyGetter;
+    private Function<Object, KEY> keyTransformer;
+
+    private long[] runKeys = new long[ 16 ];
+    private Object[] runItems = new Object[ 16 ];
+    private int runSize;
+    private int runDead;
+
+    private long[] deltaKeys = new long[ MIN_DELTA ];
+    private Object[] deltaItems = new Object[ MIN_DELTA ];
+    private int deltaSize;
+
+    private int itemCount;
+    private int distinct;
+
+
+    public PrimitiveSearchIndex( Class<?> keyType ) {
+        this.keyType = keyType;
+        this.floating = keyType == Typ.dbl || keyType == Typ.doubleWrapper
+                || keyType == Typ.flt || keyType == Typ.floatWrapper;
+    }
+
+    /**
+     * True for the property types this index can hold.
+     */
+    public static boolean handles( Class<?> type ) {
+        return type == Typ.intgr || type == Typ.integer
+                || type == Typ.lng || type == Typ.longWrapper
+                || type == Typ.shrt || type == Typ.shortWrapper
+                || type == Typ.bt || type == Typ.byteWrapper
+                || type == Typ.dbl || type == Typ.doubleWrapper
+                || type == Typ.flt || type == Typ.floatWrapper;
+    }
+
+
+    @Override
+    public boolean add( ITEM item ) {
+        Object value = getKey( keyGetter.apply( item ) );
+        if ( value == null ) {
+            return false;
+        }
+
+        long key = encode( toNumber( value ) );
+
+        if ( !has( key ) ) {
+            distinct++;
+        }
+
+        int position = upperBound( deltaKeys, deltaSize, key );
+        if ( deltaSize == deltaKeys.length ) {
+            deltaKeys = Arrays.copyOf( deltaKeys, deltaSize * 2 );
+            deltaItems = Arrays.copyOf( deltaItems, deltaSize * 2 );
+        }
+        System.arraycopy( deltaKeys, position, deltaKeys, position + 1, deltaSize - position );
+        System.arraycopy( deltaItems, position, deltaItems, position + 1, deltaSize - position );
+        deltaKeys[ position ] = key;
+        deltaItems[ position ] = item;
+        deltaSize++;
+        itemCount++;
+
+        if ( deltaSize >= Math.max( MIN_DELTA, ( int ) Math.sqrt( runSize ) ) ) {
+            merge();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean delete( ITEM item ) {
+        Object value = getKey( keyGetter.apply( item ) );
+        if ( value == null ) {
+            return false;
+        }
+
+        long key = encode( toNumber( value ) );
+        boolean removed = false;
+
+        int end = upperBound( deltaKeys, deltaSize, key );
+        for ( int index = lowerBound( deltaKeys, deltaSize, key ); index < end; index++ ) {
+            if ( same( deltaItems[ index ], item ) ) {
+                removeDelta( index, index + 1 );
+                removed = true;
+                break;
+            }
+        }
+
+        if ( !removed ) {
+            end = upperBound( runKeys, runSize, key );
+            for ( int index = lowerBound( runKeys, runSize, key ); index < end; index++ ) {
+                if ( runItems[ index ] != null && same( runItems[ index ], item ) ) {
+                    runItems[ index ] = null;
+                    runDead++;
+                    itemCount--;
+                    removed = true;
+                    break;
+                }
+            }
+        }
+
+        if ( removed ) {
+            afterRemove( key );
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean deleteByKey( KEY value ) {
+        value = getKey( value );
+        if ( value == null ) {
+            return false;
+        }
+
+        long key = encode( toNumber( value ) );
+        if ( !has( key ) ) {
+            return true;
+        }
+
+        removeDelta( lowerBound( deltaKeys, deltaSize, key ), upperBound( deltaKeys, deltaSize, key ) );
+
+        int end = upperBound( runKeys, runSize, key );
+        for ( int index = lowerBound( runKeys, runSize, key ); index < end; index++ ) {
+            if ( runItems[ index ] != null ) {
+                runItems[ index ] = null;
+                runDead++;
+                itemCount--;
+            }
+        }
+
+        afterRemove( key );
+        return true;
+    }
+
+    private static boolean same( Object stored, Object item ) {
+        return stored == item || stored.equals( item );
+    }
+
+    private void removeDelta( int start, int end ) {
+        System.arraycopy( deltaKeys, end, deltaKeys, start, deltaSize - end );
+        System.arraycopy( deltaItems, end, deltaItems, start, deltaSize - end );
+        Arrays.fill( deltaItems, deltaSize - ( end - start ), deltaSize, null );
+        deltaSize -= end - start;
+        itemCount -= end - start;
+    }
+
+    private void afterRemove( long key ) {
+        if ( !has( key ) ) {
+            distinct--;
+        }
+        if ( runDead > MIN_DELTA && runDead > runSize / 2 ) {
+            merge();
+        }
+    }
+
+    /**
+     * Folds the delta into the run and closes the holes left by deletes.
+     */
+    private void merge() {
+        int size = runSize - runDead + deltaSize;
+        long[] keys = new long[ Math.max( 16, size + ( size >> 2 ) ) ];
+        Object[] items = new Object[ keys.length ];
+
+        int run = 0;
+        int delta = 0;
+        int index = 0;
+
+        while ( run < runSize || delta < deltaSize ) {
+            if ( run < runSize && runItems[ run ] == null ) {
+                run++;
+            } else if ( delta >= deltaSize || ( run < runSize && runKeys[ run ] <= deltaKeys[ delta ] ) ) {
+                keys[ index ] = runKeys[ run ];
+                items[ index++ ] = runItems[ run++ ];
+            } else {
+                keys[ index ] = deltaKeys[ delta ];
+                items[ index++ ] = deltaItems[ delta++ ];
+            }
+        }
+
+        runKeys = keys;
+        runItems = items;
+        runSize = index;
+        runDead = 0;
+
+        Arrays.fill( deltaItems, 0, deltaSize, null );
+        deltaSize = 0;
+    }
+
+
+    /**
+     * Items whose keys are between from and to, in key order. A null bound is open.
+     */
+    private List<ITEM> range( Object from, boolean fromInclusive, Object to, boolean toInclusive ) {
+
+        int runStart = from == null ? 0 : start( runKeys, runSize, from, fromInclusive );
+        int runEnd = to == null ? runSize : end( runKeys, runSize, to, toInclusive );
+        int deltaStart = from == null ? 0 : start( deltaKeys, deltaSize, from, fromInclusive );
+        int deltaEnd = to == null ? deltaSize : end( deltaKeys, deltaSize, to, toInclusive );
+
+        int size = Math.max( 0, runEnd - runStart ) + Math.max( 0, deltaEnd - deltaStart );
+        if ( size == 0 ) {
+            return Collections.EMPTY_LIST;
+        }
+
+        List<ITEM> results = new ArrayList<>( size );
+        int run = runStart;
+        int delta = deltaStart;
+
+        while ( run < runEnd || delta < deltaEnd ) {
+            if ( delta >= deltaEnd || ( run < runEnd && runKeys[ run ] <= deltaKeys[ delta ] ) ) {
+                Object item = runItems[ run++ ];
+                if ( item != null ) {
+                    results.add( ( ITEM ) item );
+                }
+            } else {
+                results.add( ( ITEM ) deltaItems[ delta++ ] );
+            }
+        }
+        return results;
+    }
+
+    /**
+     * First position whose key is at or above, or only above, the value.
+     */
+    private int start( long[] keys, int size, Object value, boolean inclusive ) {
+        Number number = toNumber( getKey( ( KEY ) value ) );
+        if ( !floating && !isWhole( number ) ) {
+            return lowerBound( keys, size, saturate( Math.ceil( number.doubleValue() ) ) );
+        }
+        long key = encode( number );
+        return inclusive ? lowerBound( keys, size, key ) : upperBound( keys, size, key );
+    }
+
+    /**
+     * Position just past the last key at or below, or only below, the value.
+     */
+    private int end( long[] keys, int size, Object value, boolean inclusive ) {
+        Number number = toNumber( getKey( ( KEY ) value ) );
+        if ( !floating && !isWhole( number ) ) {
+            return upperBound( keys, size, saturate( Math.floor( number.doubleValue() ) ) );
+        }
+        long key = encode( number );
+        return inclusive ? upperBound( keys, size, key ) : lowerBound( keys, size, key );
+    }
+
+    private static int lowerBound( long[] keys, int size, long key ) {
+        int low = 0;
+        int high = size;
+        while ( low < high ) {
+            int middle = ( low + high ) >>> 1;
+            if ( keys[ middle ] < key ) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound( long[] keys, int size, long key ) {
+        int low = 0;
+        int high = size;
+        while ( low < high ) {
+            int middle = ( low + high ) >>> 1;
+            if ( keys[ middle ] <= key ) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean has( long key ) {
+        if ( lowerBound( deltaKeys, deltaSize, key ) < upperBound( deltaKeys, deltaSize, key ) ) {
+            return true;
+        }
+        int end = upperBound( runKeys, runSize, key );
+        for ( int index = lowerBound( runKeys, runSize, key ); index < end; index++ ) {
+            if ( runItems[ index ] != null ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private Number toNumber( Object value ) {
+        if ( value instanceof Number ) {
+            return ( Number ) value;
+        }
+        return Conversions.toDouble( value );
+    }
+
+    private static boolean isWhole( Number number ) {
+        if ( number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte || number instanceof BigInteger ) {
+            return true;
+        }
+        double value = number.doubleValue();
+        return value == Math.rint( value );
+    }
+
+    private static long saturate( double value ) {
+        return ( long ) value;
+    }
+
+    private long encode( Number number ) {
+        if ( !floating ) {
+            return isWhole( number ) && !( number instanceof Double || number instanceof Float )
+                    ? number.longValue() : saturate( number.doubleValue() );
+        }
+
+        double value = keyType == Typ.flt || keyType == Typ.floatWrapper
+                ? ( double ) number.floatValue() : number.doubleValue();
+        long bits = Double.doubleToLongBits( value );
+        return bits ^ ( ( bits >> 63 ) & Long.MAX_VALUE );
+    }
+
+    private Object decode( long key ) {
+        if ( floating ) {
+            double value = Double.longBitsToDouble( key ^ ( ( key >> 63 ) & Long.MAX_VALUE ) );
+            return keyType == Typ.flt || keyType == Typ.floatWrapper ? ( Object ) ( float ) value : ( Object ) value;
+        }
+        if ( keyType == Typ.intgr || keyType == Typ.integer ) {
+            return ( int ) key;
+        } else if ( keyType == Typ.shrt || keyType == Typ.shortWrapper ) {
+            return ( short ) key;
+        } else if ( keyType == Typ.bt || keyType == Typ.byteWrapper ) {
+            return ( byte ) key;
+        }
+        return key;
+    }
+
+    private KEY getKey( KEY key ) {
+        if ( keyTransformer != null && key != null ) {
+            key = this.keyTransformer.apply( key );
+        }
+        return key;
+    }
+
+
+    /**
+     * Position in the merged order of the first or last live item, run positions first then delta positions
+     * offset by the run size, or -1 when the index is empty.
+     */
+    private int edge( boolean first ) {
+        int run = -1;
+        if ( first ) {
+            for ( int index = 0; index < runSize && run == -1; index++ ) {
+                run = runItems[ index ] != null ? index : -1;
+            }
+        } else {
+            for ( int index = runSize - 1; index >= 0 && run == -1; index-- ) {
+                run = runItems[ index ] != null ? index : -1;
+            }
+        }
+
+        int delta = deltaSize == 0 ? -1 : ( first ? 0 : deltaSize - 1 );
+
+        if ( run == -1 ) {
+            return delta == -1 ? -1 : runSize + delta;
+        }
+        if ( delta == -1 ) {
+            return run;
+        }
+        if ( first ) {
+            return runKeys[ run ] <= deltaKeys[ delta ] ? run : runSize + delta;
+        }
+        return deltaKeys[ delta ] >= runKeys[ run ] ? runSize + delta : run;
+    }
+
+    private ITEM itemAt( int position ) {
+        if ( position == -1 ) {
+            return null;
+        }
+        return ( ITEM ) ( position < runSize ? runItems[ position ] : deltaItems[ position - runSize ] );
+    }
+
+    private KEY keyAt( int position ) {
+        if ( position == -1 ) {
+            return null;
+        }
+        return ( KEY ) decode( position < runSize ? runKeys[ position ] : deltaKeys[ position - runSize ] );
+    }
+
+
+    @Override
+    public ITEM findFirst() {
+        return itemAt( edge( true ) );
+    }
+
+    @Override
+    public ITEM findLast() {
+        return itemAt( edge( false ) );
+    }
+
+    @Override
+    public KEY findFirstKey() {
+        return keyAt( edge( true ) );
+    }
+
+    @Override
+    public KEY findLastKey() {
+        return keyAt( edge( false ) );
+    }
+
+    @Override
+    public ITEM min() {
+        return findFirst();
+    }
+
+    @Override
+    public ITEM max() {
+        return findLast();
+    }
+
+    @Override
+    public List<ITEM> findEquals( KEY key ) {
+        if ( key == null ) {
+            return null;
+        }
+        List<ITEM> results = range( key, true, key, true );
+        return results.size() == 0 ? null : results;
+    }
+
+    @Override
+    public List<ITEM> findStartsWith( KEY keyFrag ) {
+        return Collections.EMPTY_LIST;
+    }
+
+    @Override
+    public List<ITEM> findEndsWith( KEY keyFrag ) {
+        return Collections.EMPTY_LIST;
+    }
+
+    @Override
+    public List<ITEM> findContains( KEY keyFrag ) {
+        return Collections.EMPTY_LIST;
+    }
+
+    @Override
+    public List<ITEM> findBetween( KEY start, KEY end ) {
+        return range( start, true, end, false );
+    }
+
+    @Override
+    public List<ITEM> findGreaterThan( KEY key ) {
+        return range( key, false, null, false );
+    }
+
+    @Override
+    public List<ITEM> findLessThan( KEY key ) {
+        return range( null, false, key, false );
+    }
+
+    @Override
+    public List<ITEM> findGreaterThanEqual( KEY key ) {
+        return range( key, true, null, false );
+    }
+
+    @Override
+    public List<ITEM> findLessThanEqual( KEY key ) {
+        return range( null, false, key, true );
+    }
+
+    @Override
+    public int count( KEY key ) {
+        if ( key == null ) {
+            return 0;
+        }
+        if ( runDead == 0 ) {
+            return Math.max( 0, end( runKeys, runSize, key, true ) - start( runKeys, runSize, key, true ) )
+                    + Math.max( 0, end( deltaKeys, deltaSize, key, true ) - start( deltaKeys, deltaSize, key, true ) );
+        }
+        return range( key, true, key, true ).size();
+    }
+
+    @Override
+    public ITEM get( KEY key ) {
+        List<ITEM> results = findEquals( key );
+        return results == null ? null : results.get( 0 );
+    }
+
+    @Override
+    public List<ITEM> getAll( KEY key ) {
+        return findEquals( key );
+    }
+
+    @Override
+    public boolean has( KEY key ) {
+        return count( key ) > 0;
+    }
+
+    @Override
+    public List<ITEM> all() {
+        return range( null, false, null, false );
+    }
+
+    @Override
+    public int size() {
+        return distinct;
+    }
+
+    @Override
+    public int itemCount() {
+        return itemCount;
+    }
+
+    @Override
+    public Collection<ITEM> toCollection() {
+        return all();
+    }
+
+    @Override
+    public void clear() {
+        runKeys = new long[ 16 ];
+        runItems = new Object[ 16 ];
+        runSize = 0;
+        runDead = 0;
+        deltaKeys = new long[ MIN_DELTA ];
+        deltaItems = new Object[ MIN_DELTA ];
+        deltaSize = 0;
+        itemCount = 0;
+        distinct = 0;
+    }
+
+    @Override
+    public void setComparator( Comparator collator ) {
+    }
+
+    /**
+     * Merges the run and the delta as it goes, in either direction, stepping over holes in the run.
+     */
+    @Override
+    public Iterator<ITEM> walk( final boolean ascending ) {
+
+        final long[] runKeys = this.runKeys;
+        final Object[] runItems = this.runItems;
+        final long[] deltaKeys = this.deltaKeys;
+        final Object[] deltaItems = this.deltaItems;
+        final int runSize = this.runSize;
+        final int deltaSize = this.deltaSize;
+
+        return new Iterator<ITEM>() {
+            int run = ascending ? 0 : runSize - 1;
+            int delta = ascending ? 0 : deltaSize - 1;
+
+            @Override
+            public boolean hasNext() {
+                while ( run >= 0 && run < runSize && runItems[ run ] == null ) {
+                    run += ascending ? 1 : -1;
+                }
+                return ( run >= 0 && run < runSize ) || ( delta >= 0 && delta < deltaSize );
+            }
+
+            @Override
+            public ITEM next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+
+                boolean hasRun = run >= 0 && run < runSize;
+                boolean hasDelta = delta >= 0 && delta < deltaSize;
+                boolean fromRun = hasRun && ( !hasDelta
+                        || ( ascending ? runKeys[ run ] <= deltaKeys[ delta ] : runKeys[ run ] >= deltaKeys[ delta ] ) );
+
+                if ( fromRun ) {
+                    ITEM item = ( ITEM ) runItems[ run ];
+                    run += ascending ? 1 : -1;
+                    return item;
+                }
+                ITEM item = ( ITEM ) deltaItems[ delta ];
+                delta += ascending ? 1 : -1;
+                return item;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public void setKeyGetter( Function<ITEM, KEY> keyGetter ) {
+        Exceptions.requireNonNull( keyGetter, "keyGetter cannot be null" );
+        this.keyGetter = keyGetter;
+    }
+
+    @Override
+    public void setInputKeyTransformer( Function<Object, KEY> func ) {
+        this.keyTransformer = func;
+    }
+
+    @Override
+    public boolean isPrimaryKeyOnly() {
+        return false;
+    }
+
+    @Override
+    public void setBucketSize( int size ) {
+    }
+
+    @Override
+    public void init() {
+    }
+}
@@ -79,6 +79,7 @@ public class SearchIndexDefault<KEY, ITEM> extends LookupIndexDefault<KEY, ITEM>
         super.keyGetter = keyGetter;
         super.map = SPIFactory.getMapCreatorFactory().get().createNavigableMap( keyType, collator );
         this.navigableMap = ( NavigableMap<KEY, MultiValue> ) super.map;
+        this.collator = collator;
 
         for ( ITEM item : items ) {
             add( item );
@@ -334,7 +335,7 @@ public class SearchIndexDefault<KEY, ITEM> extends LookupIndexDefault<KEY, ITEM>
     public List<ITEM> findLessThanEqual( KEY key ) {
         key = getKey( key );
 
-        SortedMap<KEY, MultiValue> keyMultiValueSortedMap = this.navigableMap.headMap( key );
+        SortedMap<KEY, MultiValue> keyMultiValueSortedMap = this.navigableMap.headMap( key, true );
         return getResults( keyMultiValueSortedMap );
     }
 
@@ -351,7 +352,8 @@ public class SearchIndexDefault<KEY, ITEM> extends LookupIndexDefault<KEY, ITEM>
 
     @Override
     public int count( KEY key ) {
-        return this.navigableMap.get( key ).size();
+        MultiValue items = this.navigableMap.get( getKey( key ) );
+        return items == null ? 0 : items.size();
     }
 
 
@@ -360,4 +362,39 @@ public class SearchIndexDefault<KEY, ITEM> extends LookupIndexDefault<KEY, ITEM>
         return this.navigableMap.size();
     }
 
+    @Override
+    public Iterator<ITEM> walk( boolean ascending ) {
+        if ( this.collator != null ) {
+            return null;
+        }
+
+        final Iterator<MultiValue> keys = ( ascending ? this.navigableMap : this.navigableMap.descendingMap() )
+                .values().iterator();
+
+        return new Iterator<ITEM>() {
+            Iterator<ITEM> items = Collections.<ITEM>emptyList().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while ( !items.hasNext() && keys.hasNext() ) {
+                    items = ( ( MultiValue<ITEM> ) keys.next() ).getValues().iterator();
+                }
+                return items.hasNext();
+            }
+
+            @Override
+            public ITEM next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                return items.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
 }
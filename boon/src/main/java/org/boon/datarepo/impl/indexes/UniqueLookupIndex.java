@@ -131,6 +131,13 @@ public class UniqueLookupIndex<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
         return new HashSet( this.map.values() );
     }
 
+    /**
+     * The items as the index holds them, not a copy. Changes to the index show through.
+     */
+    public Collection<ITEM> values() {
+        return Collections.unmodifiableCollection( this.map.values() );
+    }
+
     @Override
     public void clear() {
         this.map.clear();
@@ -160,6 +167,11 @@ public class UniqueLookupIndex<KEY, ITEM> implements LookupIndex<KEY, ITEM> {
         return this.map.containsKey( key );
     }
 
+    @Override
+    public int itemCount() {
+        return this.map.size();
+    }
+
 
     @Override
     public void setInputKeyTransformer( Function<Object, KEY> func ) {
@@ -195,7 +195,7 @@ public class UniqueSearchIndex<KEY, ITEM> extends UniqueLookupIndex<KEY, ITEM> i
     @Override
     public List<ITEM> findLessThanEqual( KEY key ) {
         key = getKey( key );
-        SortedMap<KEY, ITEM> keyMultiValueSortedMap = this.navigableMap.headMap( key );
+        SortedMap<KEY, ITEM> keyMultiValueSortedMap = this.navigableMap.headMap( key, true );
         return new ArrayList<>( keyMultiValueSortedMap.values() );
     }
 
@@ -225,5 +225,14 @@ public class UniqueSearchIndex<KEY, ITEM> extends UniqueLookupIndex<KEY, ITEM> i
         return this.navigableMap.containsKey( key ) ? 1 : 0;
     }
 
+    @Override
+    public Iterator<ITEM> walk( boolean ascending ) {
+        if ( this.collator != null ) {
+            return null;
+        }
+        return Collections.unmodifiableCollection(
+                ( ascending ? this.navigableMap : this.navigableMap.descendingMap() ).values() ).iterator();
+    }
+
 
 }
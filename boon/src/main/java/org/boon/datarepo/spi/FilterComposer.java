@@ -45,5 +45,7 @@ public interface FilterComposer {
 
     public void setLookupIndexMap( Map<String, LookupIndex> lookupIndexMap );
 
+    public void setPrimaryKeyName( String primaryKeyName );
+
     public void init();
 }
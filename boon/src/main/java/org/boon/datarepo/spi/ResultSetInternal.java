@@ -29,6 +29,7 @@
 package org.boon.datarepo.spi;
 
 import org.boon.criteria.internal.Criteria;
+import org.boon.datarepo.PlanStep;
 import org.boon.datarepo.ResultSet;
 
 import java.util.List;
@@ -43,4 +44,6 @@ public interface ResultSetInternal<T> extends ResultSet<T> {
     int lastSize();
 
     void andResults();
+
+    void addPlanStep( PlanStep step );
 }
@@ -34,6 +34,7 @@ import org.boon.datarepo.LookupIndex;
 import org.boon.datarepo.RepoBuilder;
 import org.boon.datarepo.impl.*;
 import org.boon.datarepo.impl.indexes.LookupIndexDefault;
+import org.boon.datarepo.impl.indexes.PrimitiveSearchIndex;
 import org.boon.datarepo.impl.indexes.SearchIndexDefault;
 import org.boon.datarepo.impl.indexes.UniqueLookupIndex;
 import org.boon.datarepo.impl.indexes.UniqueSearchIndex;
@@ -118,6 +119,9 @@ public class SPIFactory {
                     if ( keyType == Typ.string ) {
                         return new SearchIndexDefault( keyType );
                     }
+                    else if ( PrimitiveSearchIndex.handles( keyType ) ) {
+                        return new PrimitiveSearchIndex( keyType );
+                    }
                     else{
                         return new SearchIndexDefault( keyType );
                     }
@@ -31,6 +31,7 @@ package org.boon.datarepo.spi;
 import org.boon.datarepo.LookupIndex;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -75,6 +76,14 @@ public interface SearchIndex<KEY, ITEM> extends LookupIndex<KEY, ITEM> {
 
     void setComparator( Comparator<KEY> collator );
 
+    /**
+     * Walks the items in key order without copying them out. Items without a key are not in the walk.
+     *
+     * @param ascending smallest key first when true
+     * @return the items, or null when the index does not keep its keys in their natural order
+     */
+    Iterator<ITEM> walk( boolean ascending );
+
 
 //      List <ITEM> findEquals (KEY key, int start, int length);
 //      List <ITEM> findStartsWith(KEY keyFrag, int start, int length);
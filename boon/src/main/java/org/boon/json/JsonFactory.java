@@ -48,6 +48,17 @@ public class JsonFactory {
         return new ObjectMapperImpl(jsonParserFactory,  new JsonSerializerFactory());
     }
 
+    /**
+     * Like create, but each thread reuses one parser and one serializer across calls
+     * instead of building new ones every time.
+     */
+    public static ObjectMapper createPooled () {
+        JsonParserFactory jsonParserFactory = new JsonParserFactory();
+        jsonParserFactory.lax();
+
+        return new ObjectMapperImpl(jsonParserFactory,  new JsonSerializerFactory(), true);
+    }
+
     public static String toJson(Object value) {
          return json.toJson( value );
     }
@@ -77,6 +88,10 @@ public class JsonFactory {
         return new ObjectMapperImpl(parserFactory, serializerFactory);
     }
 
+    public static ObjectMapper createPooled (JsonParserFactory parserFactory, JsonSerializerFactory serializerFactory) {
+        return new ObjectMapperImpl(parserFactory, serializerFactory, true);
+    }
+
     public static ObjectMapper createUseProperties (boolean useJsonDates) {
         JsonParserFactory jpf = new JsonParserFactory();
         jpf.usePropertiesFirst();
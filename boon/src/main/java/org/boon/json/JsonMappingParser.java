@@ -76,6 +76,12 @@ public class JsonMappingParser implements JsonParserAndMapper {
     public JsonMappingParser(       Mapper mapper, Charset charset,
                                     boolean lax,
                                     boolean chop, boolean lazyChop ) {
+        this( mapper, charset, lax, chop, lazyChop, null );
+    }
+
+    public JsonMappingParser(       Mapper mapper, Charset charset,
+                                    boolean lax,
+                                    boolean chop, boolean lazyChop, JsonKeyTable keyTable ) {
 
 
         this.charset = charset;
@@ -85,8 +91,12 @@ public class JsonMappingParser implements JsonParserAndMapper {
            this.basicParser = new BaseJsonParserAndMapper( new JsonParserLax ( false, chop, lazyChop ), mapper);
            this.objectParser = new BaseJsonParserAndMapper(new JsonParserLax ( true ), mapper);
         } else {
-            this.basicParser = new BaseJsonParserAndMapper( new JsonFastParser ( false, chop, lazyChop ), mapper);
-            this.objectParser = new BaseJsonParserAndMapper(new JsonFastParser ( true ), mapper);
+            JsonFastParser basic = new JsonFastParser ( false, chop, lazyChop );
+            JsonFastParser object = new JsonFastParser ( true );
+            basic.setKeyTable( keyTable );
+            object.setKeyTable( keyTable );
+            this.basicParser = new BaseJsonParserAndMapper( basic, mapper);
+            this.objectParser = new BaseJsonParserAndMapper( object, mapper);
         }
 
         ( (BaseJsonParserAndMapper ) basicParser).setCharset ( charset );
@@ -97,6 +107,10 @@ public class JsonMappingParser implements JsonParserAndMapper {
 
     }
 
+    public void setStreamBufferSize( int streamBufferSize ) {
+        ( (BaseJsonParserAndMapper ) objectParser).setStreamBufferSize( streamBufferSize );
+    }
+
 
     @Override
     public Map<String, Object> parseMap( String value ) {
@@ -189,6 +203,26 @@ public class JsonMappingParser implements JsonParserAndMapper {
         return objectParser.parseListFromFile( componentType, fileName);
     }
 
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, Reader reader ) {
+        return objectParser.iterateList( componentType, reader );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, InputStream input ) {
+        return objectParser.iterateList( componentType, input );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, InputStream input, Charset charset ) {
+        return objectParser.iterateList( componentType, input, charset );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, JsonTokenReader tokenReader ) {
+        return objectParser.iterateList( componentType, tokenReader );
+    }
+
     @Override
     public final <T> T parse( Class<T> type, String value ) {
 
@@ -694,6 +728,26 @@ public class JsonMappingParser implements JsonParserAndMapper {
         return basicParser.parseLongArray( jsonString );
     }
 
+    @Override
+    public int parseIntArray( String jsonString, int[] into ) {
+        return basicParser.parseIntArray( jsonString, into );
+    }
+
+    @Override
+    public int parseFloatArray( String jsonString, float[] into ) {
+        return basicParser.parseFloatArray( jsonString, into );
+    }
+
+    @Override
+    public int parseDoubleArray( String jsonString, double[] into ) {
+        return basicParser.parseDoubleArray( jsonString, into );
+    }
+
+    @Override
+    public int parseLongArray( String jsonString, long[] into ) {
+        return basicParser.parseLongArray( jsonString, into );
+    }
+
     @Override
     public Object parse( String jsonString ) {
         return basicParser.parse( jsonString );
@@ -794,6 +848,19 @@ public class JsonMappingParser implements JsonParserAndMapper {
     }
 
 
+    /**
+     * Lets go of the buffers the last Reader, stream or file was read into, keeping only the
+     * fixed size copy buffer. Parsed values can point into the read buffers, so a parser that
+     * is pooled for reuse calls this each time it is handed back. It also keeps one large
+     * document from pinning its buffer for the life of the parser.
+     */
+    public void releaseBuffers() {
+        charBuf = null;
+        ( ( BaseJsonParserAndMapper ) basicParser ).releaseBuffers();
+        ( ( BaseJsonParserAndMapper ) objectParser ).releaseBuffers();
+    }
+
+
     @Override
     public final <T> T parse( Class<T> type, InputStream input ) {
         if (copyBuf==null) {
@@ -60,6 +60,11 @@ public interface JsonParserAndMapper extends JsonParser {
     <T> List<T>  parseList(  Class<T> componentType, CharSequence jsonSeq );
     <T> List<T>  parseListFromFile(  Class<T> componentType, String fileName );
 
+    <T> JsonArrayIterator<T>  iterateList(  Class<T> componentType, Reader reader );
+    <T> JsonArrayIterator<T>  iterateList(  Class<T> componentType, InputStream input );
+    <T> JsonArrayIterator<T>  iterateList(  Class<T> componentType, InputStream input, Charset charset );
+    <T> JsonArrayIterator<T>  iterateList(  Class<T> componentType, JsonTokenReader tokenReader );
+
     <T> T parse( Class<T> type, String jsonString );
     <T> T parse( Class<T> type, byte[] bytes );
     <T> T parse( Class<T> type, byte[] bytes, Charset charset );
@@ -165,6 +170,12 @@ public interface JsonParserAndMapper extends JsonParser {
     public double   [] parseDoubleArray ( String jsonString );
     public long     [] parseLongArray   ( String jsonString );
 
+    /** Fills the given array from its start and returns the number of elements parsed. */
+    public int parseIntArray    ( String jsonString, int[] into );
+    public int parseFloatArray  ( String jsonString, float[] into );
+    public int parseDoubleArray ( String jsonString, double[] into );
+    public int parseLongArray   ( String jsonString, long[] into );
+
 
     Object parse(  String jsonString );
     Object parse(  byte[] bytes );
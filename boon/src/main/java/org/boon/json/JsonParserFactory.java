@@ -35,9 +35,13 @@ import org.boon.core.reflection.MapperSimple;
 import org.boon.core.reflection.fields.*;
 import org.boon.json.implementation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 public class JsonParserFactory {
 
@@ -57,6 +61,10 @@ public class JsonParserFactory {
 
     private boolean checkDates=true;
 
+    private int streamBufferSize = 8192;
+
+    private JsonKeyTable keyTable;
+
 
     public FieldAccessMode getFieldAccessType() {
         return fieldAccessType;
@@ -81,6 +89,14 @@ public class JsonParserFactory {
         return this;
     }
 
+    public boolean isLax() {
+        return lax;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
     public JsonParserFactory lax() {
         lax = true;
         return this;
@@ -105,16 +121,21 @@ public class JsonParserFactory {
 
     public JsonParserAndMapper createFastParser() {
         BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper(
-                new JsonFastParser (  false, chop, lazyChop, checkDates ),
+                keys( new JsonFastParser (  false, chop, lazyChop, checkDates ) ),
                 createMapper());
         jsonParser.setCharset ( charset );
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
-    private Mapper createMapper() {
-        if (useAnnotations && !caseInsensitiveFields &&
+    private boolean isSimpleMapping() {
+        return useAnnotations && !caseInsensitiveFields &&
                          !acceptSingleValueAsArray && ignoreSet == null
-                && Str.isEmpty(view) && respectIgnore) {
+                && Str.isEmpty(view) && respectIgnore;
+    }
+
+    private Mapper createMapper() {
+        if (isSimpleMapping()) {
             return new MapperSimple(fieldAccessType.create(true));
         }
         return new MapperComplex(fieldAccessType, useAnnotations,
@@ -125,9 +146,10 @@ public class JsonParserFactory {
 
     public JsonParserAndMapper createFastObjectMapperParser() {
         BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper(
-                new JsonFastParser (  true ),
+                keys( new JsonFastParser (  true ) ),
                 createMapper());
         jsonParser.setCharset ( charset );
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
@@ -136,22 +158,62 @@ public class JsonParserFactory {
 
     public JsonParserAndMapper createUTF8DirectByteParser() {
         BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper(
-                new JsonUTF8Parser (  ),
+                keys( new JsonUTF8Parser (  ) ),
+                createMapper()
+        );
+
+        jsonParser.setCharset ( StandardCharsets.UTF_8 );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
+        return jsonParser;
+
+    }
+
+    /**
+     * Creates a two stage UTF-8 parser. A word at a time pre-pass indexes the string
+     * quotes and the backslashes that start escapes, then the parser walks that index,
+     * which pays off on large, string heavy documents. Brackets, colons and commas are
+     * not indexed, the parser reads them as it goes. It builds the same maps and lists as
+     * createUTF8DirectByteParser().
+     */
+    public JsonParserAndMapper createUTF8StructuralParser() {
+        BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper(
+                keys( new JsonStructuralParser (  ) ),
                 createMapper()
         );
 
         jsonParser.setCharset ( StandardCharsets.UTF_8 );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
 
     }
 
+    /**
+     * Creates a UTF-8 parser that binds JSON straight onto the fields of the target class
+     * while scanning, without building the intermediate map. Views, ignore sets and the
+     * other options that need MapperComplex are not supported by the binder, so when any
+     * of them is set this falls back to the UTF-8 direct byte parser.
+     */
+    public JsonParserAndMapper createDirectBindingParser() {
+        if ( !isSimpleMapping() ) {
+            return createUTF8DirectByteParser();
+        }
+        JsonBindingParserAndMapper jsonParser =
+                new JsonBindingParserAndMapper( keys( new JsonBindingParser( fieldAccessType ) ), createMapper() );
+        jsonParser.setStreamBufferSize( streamBufferSize );
+        return jsonParser;
+    }
+
     public JsonParserAndMapper createASCIIParser() {
         BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper(
-                new JsonAsciiParser (  ),
+                keys( new JsonAsciiParser (  ) ),
                 createMapper()
         );
 
         jsonParser.setCharset ( StandardCharsets.US_ASCII );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
 
     }
@@ -163,6 +225,8 @@ public class JsonParserFactory {
                 createMapper());
 
         jsonParser.setCharset ( charset );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
@@ -175,6 +239,8 @@ public class JsonParserFactory {
          );
 
         jsonParser.setCharset ( charset );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
@@ -184,14 +250,18 @@ public class JsonParserFactory {
                 createMapper());
 
         jsonParser.setCharset ( charset );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
     public JsonParserAndMapper createJsonCharArrayParser() {
-        BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper( new JsonParserCharArray( ),
+        BaseJsonParserAndMapper jsonParser = new BaseJsonParserAndMapper( keys( new JsonParserCharArray( ) ),
                 createMapper());
 
         jsonParser.setCharset ( charset );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
@@ -206,9 +276,43 @@ public class JsonParserFactory {
         );
 
         jsonParser.setCharset ( charset );
+
+        jsonParser.setStreamBufferSize( streamBufferSize );
         return jsonParser;
     }
 
+    public JsonTokenReader createTokenReader( Reader reader ) {
+        return new JsonStreamTokenReader( reader, streamBufferSize );
+    }
+
+    public JsonTokenReader createTokenReader( InputStream inputStream ) {
+        return createTokenReader( new InputStreamReader( inputStream, charset ) );
+    }
+
+    public NdJsonParser createNdJsonParser() {
+        return createNdJsonParser( NdJsonParserImpl.defaultPool(), NdJsonParserImpl.DEFAULT_CHUNK_SIZE );
+    }
+
+    public NdJsonParser createNdJsonParser( ForkJoinPool pool, int chunkSize ) {
+        return new NdJsonParserImpl( this, pool, chunkSize );
+    }
+
+    /**
+     * Indexes the document without decoding it. Reading a few paths out of a large payload
+     * then only decodes those values.
+     */
+    public JsonDocument createDocument( byte[] json ) {
+        return new JsonTapeDocument( json );
+    }
+
+    public JsonDocument createDocument( byte[] json, int start, int end ) {
+        return new JsonTapeDocument( json, start, end );
+    }
+
+    public JsonDocument createDocument( String json ) {
+        return new JsonTapeDocument( json.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
     public JsonParserAndMapper createLazyFinalParser() {
         return createFastParser();
     }
@@ -225,9 +329,35 @@ public class JsonParserFactory {
             charset = StandardCharsets.UTF_8;
         }
 
-        return new JsonMappingParser (
+        JsonMappingParser jsonParser = new JsonMappingParser (
                 createMapper(), charset,
-                 lax,  chop, lazyChop );
+                 lax,  chop, lazyChop, keyTable );
+        jsonParser.setStreamBufferSize( streamBufferSize );
+        return jsonParser;
+    }
+
+
+    private <T extends BaseJsonParser> T keys( T parser ) {
+        parser.setKeyTable( keyTable );
+        return parser;
+    }
+
+
+    /**
+     * Resolve object field names through a bounded table shared by every parser this
+     * factory creates, so repeated keys come back as the same String without a copy.
+     */
+    public JsonParserFactory internKeys () {
+        return internKeys( JsonKeyTable.DEFAULT_MAX_KEYS );
+    }
+
+    public JsonParserFactory internKeys ( int maxKeys ) {
+        this.keyTable = new JsonKeyTable( maxKeys );
+        return this;
+    }
+
+    public boolean isInternKeys() {
+        return keyTable != null;
     }
 
 
@@ -260,6 +390,14 @@ public class JsonParserFactory {
 
 
 
+    /** Set fields through MethodHandles instead of Unsafe or reflection. */
+    public JsonParserFactory useFieldHandles () {
+        this.fieldAccessType  = FieldAccessMode.FIELD_HANDLE;
+        return this;
+    }
+
+
+
     public JsonParserFactory usePropertyOnly () {
         this.fieldAccessType  = FieldAccessMode.PROPERTY;
         return this;
@@ -352,4 +490,14 @@ public class JsonParserFactory {
     public boolean isCheckDatesSet() {
         return checkDates;
     }
+
+    public int getStreamBufferSize() {
+        return streamBufferSize;
+    }
+
+    /** Size in chars of the buffer a token reader refills from its stream. */
+    public JsonParserFactory setStreamBufferSize( int streamBufferSize ) {
+        this.streamBufferSize = streamBufferSize;
+        return this;
+    }
 }
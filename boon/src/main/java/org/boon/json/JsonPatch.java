@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.json.implementation.JsonPatchApplier;
+import org.boon.json.implementation.JsonPatchProducer;
+import org.boon.primitive.CharBuf;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON Patch (RFC 6902) support. diff compares two object graphs and returns only the
+ * operations needed to get from one to the other, so a changed object can be sent as
+ * a handful of paths instead of being serialized again in full. apply plays a patch
+ * onto Maps, Lists and plain objects.
+ */
+public class JsonPatch {
+
+
+    public static List<Map<String, Object>> diff( Object source, Object target ) {
+        return new JsonPatchProducer().diff( source, target );
+    }
+
+    public static String diffAsJson( Object source, Object target ) {
+        return toJson( diff( source, target ) );
+    }
+
+
+    public static String toJson( List<Map<String, Object>> patch ) {
+        return toJson( patch, new JsonSerializerFactory().create() );
+    }
+
+    public static String toJson( List<Map<String, Object>> patch, JsonSerializer serializer ) {
+        CharBuf buf = CharBuf.create( 64 * patch.size() + 2 );
+        buf.addChar( '[' );
+        for ( int index = 0; index < patch.size(); index++ ) {
+            if ( index > 0 ) {
+                buf.addChar( ',' );
+            }
+            buf.addChar( '{' );
+            boolean first = true;
+            for ( Map.Entry<String, Object> entry : patch.get( index ).entrySet() ) {
+                if ( !first ) {
+                    buf.addChar( ',' );
+                }
+                first = false;
+                buf.asJsonString( entry.getKey(), false );
+                buf.addChar( ':' );
+                if ( entry.getValue() == null ) {
+                    buf.add( "null" );
+                } else {
+                    serializer.serialize( buf, entry.getValue() );
+                }
+            }
+            buf.addChar( '}' );
+        }
+        buf.addChar( ']' );
+        return buf.toString();
+    }
+
+
+    /**
+     * Applies the patch in place where it can and returns the document, which is a new
+     * object only when the patch replaces the root.
+     */
+    public static <T> T apply( T document, List<Map<String, Object>> patch ) {
+        return ( T ) new JsonPatchApplier().apply( document, patch );
+    }
+
+    public static <T> T apply( T document, String patch ) {
+        return apply( document, ( List<Map<String, Object>> ) JsonFactory.fromJson( patch ) );
+    }
+}
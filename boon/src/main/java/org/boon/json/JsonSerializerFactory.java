@@ -35,6 +35,7 @@ import org.boon.json.serializers.impl.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Created by rick on 12/26/13.
@@ -56,20 +57,49 @@ public class JsonSerializerFactory {
     private boolean serializeAsSupport = true;
     private boolean asciiOnly = true;
     private String view;
+    private int parallelThreshold = 0;
+    private ForkJoinPool parallelPool;
+    private boolean generateSerializers = false;
+    private InstanceWriters instanceWriters;
 
     private List<FieldFilter> filterProperties = null;
     private List<CustomFieldSerializer> customFieldSerializers = null;
     private Map<Class, CustomObjectSerializer> customObjectSerializers = null;
 
 
-    public JsonSerializer create() {
-
-        if ( !outputType && !includeEmpty && !includeNulls && !useAnnotations &&
+    /**
+     * True when create() hands out a JsonSimpleSerializerImpl, which can also write
+     * UTF-8 bytes directly, see JsonSimpleSerializerImpl.serializeUTF8.
+     */
+    public boolean isSimpleSerializer() {
+        return !outputType && !includeEmpty && !includeNulls && !useAnnotations &&
                 !jsonFormatForDates && handleSimpleBackReference &&
                 !handleComplexBackReference && !includeDefault && filterProperties == null
                 && customFieldSerializers == null && customObjectSerializers == null &&
-                fieldAccessType == FieldAccessMode.FIELD) {
-            return new JsonSimpleSerializerImpl (view, encodeStrings, serializeAsSupport, asciiOnly);
+                fieldAccessType == FieldAccessMode.FIELD;
+    }
+
+    public JsonSerializer create() {
+        return create( parallelThreshold > 0 );
+    }
+
+    private JsonSerializer create( boolean parallel ) {
+
+        /* Complex back references track every instance written in the graph, which slices
+           written by separate serializers cannot share, so those graphs stay sequential. */
+        CollectionSliceSerializer slices = null;
+        if ( parallel && !handleComplexBackReference ) {
+            slices = new CollectionSliceSerializer( parallelThreshold, parallelPool ) {
+                @Override
+                protected JsonSerializerInternal createWorker() {
+                    return ( JsonSerializerInternal ) create( false );
+                }
+            };
+        }
+
+        if ( isSimpleSerializer() ) {
+            return new JsonSimpleSerializerImpl (view, encodeStrings, serializeAsSupport, asciiOnly, slices,
+                    generateSerializers ? instanceWriters() : null);
         } else {
 
             InstanceSerializer instanceSerializer;
@@ -113,7 +143,7 @@ public class JsonSerializerFactory {
             } else {
                 fieldSerializer = new FieldSerializerImpl ();
             }
-            collectionSerializer = new CollectionSerializerImpl ();
+            collectionSerializer = new CollectionSerializerImpl ( slices );
             arraySerializer = ( ArraySerializer ) collectionSerializer;
             unknownSerializer = new UnknownSerializerImpl ();
 
@@ -138,6 +168,9 @@ public class JsonSerializerFactory {
                 case PROPERTY_THEN_FIELD:
                     fieldsAccessor = new FieldsAccessorsPropertyThenField( useAnnotations );
                     break;
+                case FIELD_HANDLE:
+                    fieldsAccessor = new FieldFieldsAccessor( useAnnotations, false, true );
+                    break;
                 default:
                     fieldsAccessor = new FieldFieldsAccessor( useAnnotations );
 
@@ -161,6 +194,48 @@ public class JsonSerializerFactory {
     }
 
 
+    private synchronized InstanceWriters instanceWriters () {
+        if ( instanceWriters == null || !instanceWriters.isFor ( view, serializeAsSupport ) ) {
+            instanceWriters = new InstanceWriters ( view, serializeAsSupport );
+        }
+        return instanceWriters;
+    }
+
+
+    /**
+     * Work out once per class how its instances are written, which fields in which order
+     * and how each is written, instead of deciding it for every field of every instance.
+     * Applies to the simple serializer configuration, see isSimpleSerializer().
+     */
+    public JsonSerializerFactory generateSerializers () {
+        this.generateSerializers = true;
+        return this;
+    }
+
+    public boolean isGenerateSerializers () {
+        return generateSerializers;
+    }
+
+
+    /**
+     * Serialize collections of DEFAULT_THRESHOLD or more elements in slices on a shared pool.
+     * The output is the same as without it. Ignored when complex back references are handled.
+     */
+    public JsonSerializerFactory parallelCollections () {
+        return parallelCollections ( CollectionSliceSerializer.DEFAULT_THRESHOLD, CollectionSliceSerializer.defaultPool () );
+    }
+
+    public JsonSerializerFactory parallelCollections ( int threshold, ForkJoinPool pool ) {
+        this.parallelThreshold = threshold;
+        this.parallelPool = pool;
+        return this;
+    }
+
+    public boolean isParallelCollections () {
+        return parallelThreshold > 0;
+    }
+
+
     public JsonSerializerFactory addFilter ( FieldFilter filter ) {
         if ( filterProperties == null ) {
             filterProperties = new CopyOnWriteArrayList<> ();
@@ -231,6 +306,12 @@ public class JsonSerializerFactory {
 
 
 
+    /** Read fields through MethodHandles instead of Unsafe or reflection. */
+    public JsonSerializerFactory useFieldHandles () {
+        this.fieldAccessType  = FieldAccessMode.FIELD_HANDLE;
+        return this;
+    }
+
     public JsonSerializerFactory usePropertyOnly () {
         this.fieldAccessType  = FieldAccessMode.PROPERTY;
         return this;
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json;
+
+import java.io.Closeable;
+
+/**
+ * Pull style JSON reader.
+ *
+ * Unlike the parsers, which read the whole document into memory and then build a
+ * tree, a token reader hands out one token at a time from a fixed size buffer that is
+ * refilled from the underlying Reader or InputStream. Memory use is bounded by the buffer
+ * size plus the size of the largest single string or number, not by the document size.
+ *
+ * The read methods return the value of the current token, they do not advance.
+ *
+ * <pre>
+ *     JsonTokenReader reader = new JsonParserFactory().createTokenReader( inputStream );
+ *     while ( reader.nextToken() != null ) {
+ *         if ( reader.currentToken() == JsonToken.FIELD_NAME && reader.readString().equals( "id" ) ) {
+ *             reader.nextToken();
+ *             long id = reader.readLong();
+ *         }
+ *     }
+ * </pre>
+ */
+public interface JsonTokenReader extends Closeable {
+
+    /**
+     * Advances to the next token.
+     * @return the next token or null once the end of the input is reached.
+     */
+    JsonToken nextToken();
+
+    /** The token the last call to nextToken returned. */
+    JsonToken currentToken();
+
+    /**
+     * If the current token is START_OBJECT or START_ARRAY skips to the matching
+     * END_OBJECT or END_ARRAY which becomes the current token. Does nothing for any other token.
+     * Skipped content is not decoded.
+     */
+    void skipChildren();
+
+    /** The current FIELD_NAME, STRING or NUMBER as a String, null for a NULL token. */
+    String readString();
+
+    long readLong();
+
+    int readInt();
+
+    double readDouble();
+
+    boolean readBoolean();
+
+    /** The current NUMBER as an Integer, Long or Double, whichever fits. */
+    Number readNumber();
+
+    /**
+     * Reads the value starting at the current token into the same Maps, Lists and
+     * basic types the parsers produce. For START_OBJECT and START_ARRAY the matching
+     * end token becomes the current token.
+     */
+    Object readValue();
+
+    /** Number of open objects and arrays. */
+    int depth();
+
+    /** Number of characters consumed so far. */
+    long location();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json;
+
+import java.util.List;
+
+/**
+ * Parses newline delimited JSON (one JSON value per line) such as log files.
+ *
+ * Input is handled as bytes: it is split into chunks at newline boundaries and the
+ * chunks are parsed in parallel. Strict UTF-8 lines are parsed where they lie in the
+ * chunk, no String is built per line; lax lines and other charsets are copied and
+ * decoded first. Blank lines are skipped. Results are returned in line order, and a
+ * malformed line is reported by its byte offset in the input.
+ */
+public interface NdJsonParser {
+
+    List<Object> parse( byte[] bytes );
+
+    <T> List<T> parse( Class<T> type, byte[] bytes );
+
+    /** Memory maps the file instead of reading it onto the heap. */
+    List<Object> parseFile( String fileName );
+
+    <T> List<T> parseFile( Class<T> type, String fileName );
+}
@@ -30,6 +30,7 @@ package org.boon.json;
 
 
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.Collection;
 
@@ -192,6 +193,22 @@ public interface ObjectMapper {
      */
     <T extends Collection<C>, C> T readValue(InputStream src, Charset charset, Class<T> valueType, Class<C> componentType);
 
+    /**
+     * Method to read a large JSON array one element at a time.
+     *<p>
+     * Elements are mapped to componentType as they are read, so memory use does not
+     * grow with the length of the array. Close the iterator when done with it.
+     */
+    <C> JsonArrayIterator<C> readValues(Reader src, Class<C> componentType);
+
+    /**
+     * Method to read a large JSON array one element at a time.
+     *<p>
+     * Elements are mapped to componentType as they are read, so memory use does not
+     * grow with the length of the array. Close the iterator when done with it.
+     */
+    <C> JsonArrayIterator<C> readValues(InputStream src, Class<C> componentType);
+
     /**
      * Method that can be used to serialize any Java value as
      * JSON output, written to File provided.
@@ -201,13 +218,24 @@ public interface ObjectMapper {
     /**
      * Method that can be used to serialize any Java value as
      * JSON output, using output stream provided (using encoding
-     * UTF8.
+     * UTF8. Output is encoded and written in fixed size chunks as it is
+     * produced, so large values are never held in memory as a whole.
      *<p>
      * Note: method does not close the underlying stream explicitly
      * here.
      */
     public void writeValue(OutputStream dest, Object value);
 
+    /**
+     * Method that can be used to serialize any Java value as
+     * JSON output, written to the channel provided (using encoding
+     * UTF8). Output is encoded and written in fixed size chunks as it is
+     * produced, so large values are never held in memory as a whole.
+     *<p>
+     * Note: method does not close the channel.
+     */
+    public void writeValue(WritableByteChannel dest, Object value);
+
 
     /**
      * Method that can be used to serialize any Java value as
@@ -81,6 +81,9 @@ public abstract class BaseJsonParser implements JsonParser {
 
         protected Charset charset  = StandardCharsets.UTF_8;
 
+        /** Shared field name table, set by JsonParserFactory.internKeys(). */
+        protected JsonKeyTable keyTable;
+
 
         protected int bufSize  = 1024;
 
@@ -121,6 +124,10 @@ public abstract class BaseJsonParser implements JsonParser {
             this.charset = charset;
         }
 
+        public void setKeyTable( JsonKeyTable keyTable ) {
+            this.keyTable = keyTable;
+        }
+
 
         @Override
         public Object parse ( String jsonString ) {
@@ -170,6 +177,11 @@ public abstract class BaseJsonParser implements JsonParser {
         private CharBuf fileInputBuf;
 
 
+        public void releaseBuffers() {
+            fileInputBuf = null;
+        }
+
+
 
         int[] indexHolder = new int[1];
 
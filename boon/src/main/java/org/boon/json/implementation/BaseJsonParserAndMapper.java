@@ -34,10 +34,13 @@ import org.boon.core.Conversions;
 import org.boon.core.Typ;
 import org.boon.core.TypeType;
 import org.boon.core.Value;
+import org.boon.core.reflection.FastStringUtils;
 import org.boon.core.reflection.MapObjectConversion;
 import org.boon.core.reflection.Mapper;
+import org.boon.json.JsonArrayIterator;
 import org.boon.json.JsonParser;
 import org.boon.json.JsonParserAndMapper;
+import org.boon.json.JsonTokenReader;
 import org.boon.primitive.CharBuf;
 import org.boon.primitive.InMemoryInputStream;
 
@@ -62,6 +65,9 @@ public class BaseJsonParserAndMapper implements JsonParserAndMapper {
 
     protected Charset charset  = StandardCharsets.UTF_8;
 
+    /** Characters read from a Reader at a time by iterateList. */
+    protected int streamBufferSize = 8192;
+
 
     protected int bufSize  = 1024;
     private char[] copyBuf;
@@ -121,6 +127,10 @@ public class BaseJsonParserAndMapper implements JsonParserAndMapper {
         this.charset = charset;
     }
 
+    public void setStreamBufferSize( int streamBufferSize ) {
+        this.streamBufferSize = streamBufferSize;
+    }
+
 
     @Override
     public Map<String, Object> parseMap ( String jsonString ) {
@@ -189,6 +199,27 @@ public class BaseJsonParserAndMapper implements JsonParserAndMapper {
     }
 
 
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, Reader reader ) {
+        return iterateList( componentType, new JsonStreamTokenReader( reader, streamBufferSize ) );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, InputStream input ) {
+        return iterateList( componentType, input, charset );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, InputStream input, Charset charset ) {
+        return iterateList( componentType, new InputStreamReader( input, charset ) );
+    }
+
+    @Override
+    public <T> JsonArrayIterator<T> iterateList( Class<T> componentType, JsonTokenReader tokenReader ) {
+        return new JsonArrayIteratorImpl<>( tokenReader, this, componentType );
+    }
+
+
     @Override
     public <T> T parse( Class<T> type, String jsonString ) {
         return convert( type, parse( jsonString ) );
@@ -247,28 +278,100 @@ public class BaseJsonParserAndMapper implements JsonParserAndMapper {
 
     @Override
     public float[] parseFloatArray ( String jsonString ) {
+        float[] array = JsonNumberArrayScanner.floats ( FastStringUtils.toCharArray ( jsonString ) );
+        if ( array != null ) {
+            return array;
+        }
         List<Object> list = (List <Object> ) parse ( jsonString );
         return Conversions.farray ( list );
     }
 
     @Override
     public double[] parseDoubleArray ( String jsonString ) {
+        double[] array = JsonNumberArrayScanner.doubles ( FastStringUtils.toCharArray ( jsonString ) );
+        if ( array != null ) {
+            return array;
+        }
         List<Object> list = (List <Object> ) parse ( jsonString );
         return Conversions.darray ( list );
     }
 
     @Override
     public long[] parseLongArray ( String jsonString ) {
+        long[] array = JsonNumberArrayScanner.longs ( FastStringUtils.toCharArray ( jsonString ) );
+        if ( array != null ) {
+            return array;
+        }
         List<Object> list = (List <Object> ) parse ( jsonString );
         return Conversions.larray ( list );
     }
 
     @Override
     public int [] parseIntArray ( String jsonString ) {
+        int[] array = JsonNumberArrayScanner.ints ( FastStringUtils.toCharArray ( jsonString ) );
+        if ( array != null ) {
+            return array;
+        }
         List<Object> list = (List <Object> ) parse ( jsonString );
         return Conversions.iarray ( list );
     }
 
+    @Override
+    public int parseIntArray ( String jsonString, int[] into ) {
+        int count = JsonNumberArrayScanner.ints ( FastStringUtils.toCharArray ( jsonString ), into );
+        if ( count != JsonNumberArrayScanner.NOT_SIMPLE ) {
+            return count;
+        }
+        int[] array = Conversions.iarray ( (List <Object> ) parse ( jsonString ) );
+        if ( array.length > into.length ) {
+            throw JsonNumberArrayScanner.tooMany ( into.length );
+        }
+        System.arraycopy ( array, 0, into, 0, array.length );
+        return array.length;
+    }
+
+    @Override
+    public int parseFloatArray ( String jsonString, float[] into ) {
+        int count = JsonNumberArrayScanner.floats ( FastStringUtils.toCharArray ( jsonString ), into );
+        if ( count != JsonNumberArrayScanner.NOT_SIMPLE ) {
+            return count;
+        }
+        float[] array = Conversions.farray ( (List <Object> ) parse ( jsonString ) );
+        if ( array.length > into.length ) {
+            throw JsonNumberArrayScanner.tooMany ( into.length );
+        }
+        System.arraycopy ( array, 0, into, 0, array.length );
+        return array.length;
+    }
+
+    @Override
+    public int parseDoubleArray ( String jsonString, double[] into ) {
+        int count = JsonNumberArrayScanner.doubles ( FastStringUtils.toCharArray ( jsonString ), into );
+        if ( count != JsonNumberArrayScanner.NOT_SIMPLE ) {
+            return count;
+        }
+        double[] array = Conversions.darray ( (List <Object> ) parse ( jsonString ) );
+        if ( array.length > into.length ) {
+            throw JsonNumberArrayScanner.tooMany ( into.length );
+        }
+        System.arraycopy ( array, 0, into, 0, array.length );
+        return array.length;
+    }
+
+    @Override
+    public int parseLongArray ( String jsonString, long[] into ) {
+        int count = JsonNumberArrayScanner.longs ( FastStringUtils.toCharArray ( jsonString ), into );
+        if ( count != JsonNumberArrayScanner.NOT_SIMPLE ) {
+            return count;
+        }
+        long[] array = Conversions.larray ( (List <Object> ) parse ( jsonString ) );
+        if ( array.length > into.length ) {
+            throw JsonNumberArrayScanner.tooMany ( into.length );
+        }
+        System.arraycopy ( array, 0, into, 0, array.length );
+        return array.length;
+    }
+
     @Override
     public <T extends Enum> T  parseEnum (  Class<T> type, String jsonString ) {
         Object obj = parse ( jsonString );
@@ -667,6 +770,18 @@ public class BaseJsonParserAndMapper implements JsonParserAndMapper {
 
     private CharBuf fileInputBuf;
 
+
+    /**
+     * Lets go of the buffer the last Reader, stream or file was read into. Parsed values can
+     * point into it, so a parser kept for reuse starts its next read on a new one.
+     */
+    public void releaseBuffers() {
+        fileInputBuf = null;
+        if ( parser instanceof BaseJsonParser ) {
+            ( ( BaseJsonParser ) parser ).releaseBuffers();
+        }
+    }
+
     @Override
     public  <T> T parse( Class<T> type, Reader reader ) {
 
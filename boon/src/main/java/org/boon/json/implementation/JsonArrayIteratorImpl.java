@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json.implementation;
+
+import org.boon.json.JsonArrayIterator;
+import org.boon.json.JsonException;
+import org.boon.json.JsonToken;
+import org.boon.json.JsonTokenReader;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the elements of a top level JSON array one at a time from a JsonTokenReader and
+ * hands each one to the mapper of the BaseJsonParserAndMapper that created it.
+ */
+public class JsonArrayIteratorImpl<T> implements JsonArrayIterator<T> {
+
+    private final JsonTokenReader reader;
+    private final BaseJsonParserAndMapper mapper;
+    private final Class<T> componentType;
+
+    private boolean ready;
+    private boolean done;
+
+
+    public JsonArrayIteratorImpl( JsonTokenReader reader, BaseJsonParserAndMapper mapper, Class<T> componentType ) {
+        this.reader = reader;
+        this.mapper = mapper;
+        this.componentType = componentType;
+
+        JsonToken token = reader.currentToken() == JsonToken.START_ARRAY ? JsonToken.START_ARRAY : reader.nextToken();
+        if ( token != JsonToken.START_ARRAY ) {
+            reader.close();
+            throw new JsonException( "expecting a JSON array but got " + token );
+        }
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        if ( ready ) {
+            return true;
+        }
+        if ( done ) {
+            return false;
+        }
+
+        if ( reader.nextToken() == JsonToken.END_ARRAY ) {
+            done = true;
+            reader.close();
+            return false;
+        }
+
+        ready = true;
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if ( !hasNext() ) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        return mapper.convert( componentType, reader.readValue() );
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException( "remove" );
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        ready = false;
+        reader.close();
+    }
+}
@@ -69,7 +69,7 @@ public class JsonAsciiParser extends JsonBaseByteArrayParser {
             value = new String( array, startIndex, ( index - startIndex ) );
         }
 
-        if ( index < charArray.length ) {
+        if ( index <= lastIndex ) {
             index++;
         }
         __index = index;
@@ -168,7 +168,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     protected int lastIndex;
 
-    private Object decode( byte[] cs ) {
+    protected Object decode( byte[] cs ) {
 
         lastIndex = cs.length -1;
         charArray = cs;
@@ -177,6 +177,25 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
     }
 
 
+    /**
+     * Parses the JSON value held in bytes from start up to but not including end,
+     * so a slice of a larger buffer (one line of a log file say) can be parsed
+     * without copying it.
+     */
+    public Object parse( byte[] bytes, int start, int end ) {
+
+        lastIndex = end -1;
+        charArray = bytes;
+        __index = start;
+        Object value = decodeValue();
+
+        if ( __index > end ) {
+            complain( "JSON value runs past the end of its range" );
+        }
+        return value;
+    }
+
+
     public <T> T parse( Class<T> type, String str ) {
         return this.parse( type, str.getBytes( charset ) );
     }
@@ -228,7 +247,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
         LazyMap map = new LazyMap ();
 
-        for (; __index < this.charArray.length; __index++ ) {
+        for (; __index <= lastIndex; __index++ ) {
 
             skipWhiteSpaceIfNeeded ();
 
@@ -236,7 +255,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
             if ( __currentChar == DOUBLE_QUOTE ) {
 
                 String key =
-                        decodeString();
+                        decodeKey();
 
                 if ( internKeys ) {
                     String keyPrime = internedKeysCache.get( key );
@@ -287,7 +306,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
         Object value = null;
 
         done:
-        for (; __index < this.charArray.length; __index++ ) {
+        for (; __index <= lastIndex; __index++ ) {
             __currentChar = charArray[ __index ];
 
 
@@ -360,7 +379,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     private final Object decodeNumber() {
 
-        Number num =  ByteScanner.parseJsonNumber( charArray, __index, charArray.length, endIndex );
+        Number num =  ByteScanner.parseJsonNumber( charArray, __index, lastIndex + 1, endIndex );
         __index = endIndex[0];
 
         return num;
@@ -372,7 +391,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     protected final Object decodeNull() {
 
-        if ( __index + NULL.length <= charArray.length ) {
+        if ( __index + NULL.length <= lastIndex + 1 ) {
             if ( charArray[ __index ] == LETTER_N &&
                     charArray[ ++__index ] == LETTER_U &&
                     charArray[ ++__index ] == LETTER_L &&
@@ -388,7 +407,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     protected final boolean decodeTrue() {
 
-        if ( __index + TRUE.length <= charArray.length ) {
+        if ( __index + TRUE.length <= lastIndex + 1 ) {
             if ( charArray[ __index ] == LETTER_T &&
                     charArray[ ++__index ] == LETTER_R &&
                     charArray[ ++__index ] == LETTER_U &&
@@ -408,7 +427,7 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     protected final boolean decodeFalse() {
 
-        if ( __index + FALSE.length <= charArray.length ) {
+        if ( __index + FALSE.length <= lastIndex + 1 ) {
             if ( charArray[ __index ] == LETTER_F &&
                     charArray[ ++__index ] == LETTER_A &&
                     charArray[ ++__index ] == LETTER_L &&
@@ -425,6 +444,38 @@ public abstract class JsonBaseByteArrayParser extends BaseJsonParser {
 
     protected abstract String decodeString();
 
+    /**
+     * Decodes an object key, through the key table when there is one and the key has no escapes.
+     */
+    protected final String decodeKey() {
+
+        if ( keyTable == null ) {
+            return decodeString();
+        }
+
+        byte[] array = charArray;
+        int index = __index;
+
+        if ( index < array.length && array[ index ] == DOUBLE_QUOTE ) {
+            index++;
+        }
+
+        final int startIndex = index;
+
+        if ( ByteScanner.hasEscapeCharUTF8( array, index, indexHolder ) ) {
+            return decodeString();
+        }
+        index = indexHolder[0];
+
+        String value = keyTable.get( array, startIndex, index );
+
+        if ( index <= lastIndex ) {
+            index++;
+        }
+        __index = index;
+        return value;
+    }
+
 
 
     protected final List decodeJsonArray() {
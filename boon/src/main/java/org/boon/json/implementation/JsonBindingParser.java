@@ -0,0 +1,422 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.core.Conversions;
+import org.boon.core.reflection.BindingPlan;
+import org.boon.core.reflection.BindingPlan.FieldBinding;
+import org.boon.core.reflection.ClassMeta;
+import org.boon.core.reflection.MapperSimple;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.core.reflection.fields.FieldAccessMode;
+import org.boon.json.JsonException;
+import org.boon.primitive.ByteScanner;
+import org.boon.primitive.CharScanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binds UTF-8 JSON straight onto the fields of a class while it is scanned, so parsing
+ * into a POJO does not build a LazyMap/Value tree first and then walk it with the mapper.
+ *
+ * Primitives, wrappers, strings, nested objects and collections of objects are set through
+ * the FieldAccess setters (UnsafeField when Reflection can use Unsafe). Any other field
+ * (maps, arrays, dates, abstract types and so on) is decoded as usual and handed to
+ * MapperSimple for that one field, so the result matches the two pass path.
+ *
+ * Field names are looked up in the BindingPlan cached on the ClassMeta of each class,
+ * straight from the bytes of the input, so no key String is created unless the name
+ * has escapes in it.
+ */
+public class JsonBindingParser extends JsonUTF8Parser {
+
+    private final FieldAccessMode mode;
+    private final MapperSimple mapper;
+
+    /** End of the number found by scanInteger or scanNumber. */
+    private int numberEnd;
+
+
+    public JsonBindingParser( FieldAccessMode mode ) {
+        this.mode = mode;
+        this.mapper = new MapperSimple( mode.create( true ) );
+    }
+
+
+    @Override
+    public <T> T parse( Class<T> type, byte[] bytes ) {
+        if ( !BindingPlan.isBindable( type ) ) {
+            return super.parse( type, bytes );
+        }
+        return parse( type, bytes, 0, bytes.length );
+    }
+
+
+    /**
+     * Binds the JSON object held in bytes from start up to but not including end.
+     */
+    public <T> T parse( Class<T> type, byte[] bytes, int start, int end ) {
+
+        begin( bytes, start, end );
+
+        Object object = null;
+        if ( __currentChar == OPEN_CURLY ) {
+            object = bindObject( ClassMeta.classMeta( type ).bindingPlan( mode ) );
+        } else if ( __currentChar == LETTER_N ) {
+            decodeNull();
+        } else {
+            complain( "expecting a JSON object to bind to " + type.getName() );
+        }
+        return ( T ) object;
+    }
+
+
+    /**
+     * Binds a JSON array of objects into a list of componentType.
+     */
+    public <T> List<T> parseList( Class<T> componentType, byte[] bytes ) {
+
+        begin( bytes, 0, bytes.length );
+
+        if ( __currentChar != OPEN_BRACKET ) {
+            complain( "expecting a JSON array to bind to a list of " + componentType.getName() );
+        }
+        List<Object> list = new ArrayList<>();
+        bindArray( ClassMeta.classMeta( componentType ).bindingPlan( mode ), list );
+        return ( List<T> ) list;
+    }
+
+
+    private void begin( byte[] bytes, int start, int end ) {
+        if ( start >= end ) {
+            throw new JsonException( "no JSON to parse" );
+        }
+        charArray = bytes;
+        lastIndex = end - 1;
+        __index = start;
+        skipWhiteSpaceIfNeeded();
+    }
+
+
+    private Object bindObject( final BindingPlan plan ) {
+
+        final Object instance = plan.newInstance();
+
+        __index++;
+
+        for (; __index <= lastIndex; __index++ ) {
+
+            skipWhiteSpaceIfNeeded();
+
+            if ( __currentChar == DOUBLE_QUOTE ) {
+
+                FieldBinding binding = findField( plan );
+
+                skipWhiteSpaceIfNeeded();
+
+                if ( __currentChar != COLON ) {
+                    complain( "expecting current character to be ':' but got " + charDescription( __currentChar ) + "\n" );
+                }
+                __index++;
+
+                skipWhiteSpaceIfNeeded();
+
+                if ( binding == null ) {
+                    decodeValue();
+                } else {
+                    bindField( instance, binding );
+                }
+
+                skipWhiteSpaceIfNeeded();
+            }
+
+            if ( __currentChar == CLOSED_CURLY ) {
+                __index++;
+                return instance;
+            } else if ( __currentChar != COMMA ) {
+                complain( "expecting '}' or ',' but got current char " + charDescription( __currentChar ) );
+            }
+        }
+
+        complain( "Did not find end of JSON object" );
+        return instance;
+    }
+
+
+    /**
+     * Reads the quoted field name at the current index and looks it up in the plan.
+     */
+    private FieldBinding findField( final BindingPlan plan ) {
+
+        final int start = __index + 1;
+
+        if ( ByteScanner.hasEscapeCharUTF8( charArray, start, indexHolder ) ) {
+            return plan.find( decodeString() );
+        }
+
+        final int end = indexHolder[ 0 ];
+        if ( end > lastIndex ) {
+            complain( "Did not find end of field name" );
+        }
+        __index = end + 1;
+        return plan.find( charArray, start, end );
+    }
+
+
+    private void bindArray( final BindingPlan plan, Collection<Object> collection ) {
+
+        __index++;
+
+        skipWhiteSpaceIfNeeded();
+
+        if ( __currentChar == CLOSED_BRACKET ) {
+            __index++;
+            return;
+        }
+
+        for (; __index <= lastIndex; __index++ ) {
+
+            skipWhiteSpaceIfNeeded();
+
+            if ( __currentChar == OPEN_CURLY ) {
+                collection.add( bindObject( plan ) );
+            } else {
+                collection.add( Conversions.coerce( plan.type(), decodeValue() ) );
+            }
+
+            skipWhiteSpaceIfNeeded();
+
+            if ( __currentChar == CLOSED_BRACKET ) {
+                __index++;
+                return;
+            } else if ( __currentChar != COMMA ) {
+                complain( String.format( "expecting a ',' or a ']', " +
+                        " but got \nthe current character of  %s " +
+                        " on array index of %s \n", charDescription( __currentChar ), collection.size() ) );
+            }
+        }
+
+        complain( "Did not find end of Json Array" );
+    }
+
+
+    private void bindField( final Object instance, final FieldBinding binding ) {
+
+        final FieldAccess field = binding.field;
+        final int c = __currentChar;
+
+        if ( c == LETTER_N ) {
+            /* Same as MapperSimple, a null cannot go into a primitive. */
+            if ( field.isPrimitive() ) {
+                complain( String.format( "null can not be bound to the primitive field %s of %s",
+                        field.name(), field.declaringParent().getName() ) );
+            }
+            decodeNull();
+            field.setObject( instance, null );
+            return;
+        }
+
+        switch ( binding.type ) {
+
+            case INT:
+                if ( scanInteger() ) {
+                    field.setInt( instance, ( int ) readInteger() );
+                    return;
+                }
+                break;
+
+            case LONG:
+                if ( scanInteger() ) {
+                    field.setLong( instance, readInteger() );
+                    return;
+                }
+                break;
+
+            case SHORT:
+                if ( scanInteger() ) {
+                    field.setShort( instance, ( short ) readInteger() );
+                    return;
+                }
+                break;
+
+            case BYTE:
+                if ( scanInteger() ) {
+                    field.setByte( instance, ( byte ) readInteger() );
+                    return;
+                }
+                break;
+
+            case INTEGER_WRAPPER:
+                if ( scanInteger() ) {
+                    field.setObject( instance, ( int ) readInteger() );
+                    return;
+                }
+                break;
+
+            case LONG_WRAPPER:
+                if ( scanInteger() ) {
+                    field.setObject( instance, readInteger() );
+                    return;
+                }
+                break;
+
+            case DOUBLE:
+                if ( scanNumber() ) {
+                    field.setDouble( instance, readDouble() );
+                    return;
+                }
+                break;
+
+            case FLOAT:
+                if ( scanNumber() ) {
+                    field.setFloat( instance, ( float ) readDouble() );
+                    return;
+                }
+                break;
+
+            case DOUBLE_WRAPPER:
+                if ( scanNumber() ) {
+                    field.setObject( instance, readDouble() );
+                    return;
+                }
+                break;
+
+            case BOOLEAN:
+            case BOOLEAN_WRAPPER:
+                if ( c == LETTER_T ) {
+                    field.setValue( instance, decodeTrue() );
+                    return;
+                } else if ( c == LETTER_F ) {
+                    field.setValue( instance, decodeFalse() );
+                    return;
+                }
+                break;
+
+            case STRING:
+                if ( c == DOUBLE_QUOTE ) {
+                    field.setObject( instance, decodeString() );
+                    return;
+                }
+                break;
+
+            case INSTANCE:
+                if ( c == OPEN_CURLY && binding.bindable ) {
+                    field.setObject( instance, bindObject( binding.plan() ) );
+                    return;
+                }
+                break;
+
+            case LIST:
+            case SET:
+            case COLLECTION:
+                if ( c == OPEN_BRACKET && binding.componentBindable ) {
+                    Collection<Object> collection = Conversions.createCollection( field.type(), 16 );
+                    bindArray( binding.plan(), collection );
+                    field.setObject( instance, collection );
+                    return;
+                }
+                break;
+        }
+
+        mapper.setFieldValue( instance, field, decodeValue() );
+    }
+
+
+    /**
+     * Looks for a plain integer at the current index, one that is short enough
+     * to be sure it fits in a long and has no fraction or exponent.
+     */
+    private boolean scanInteger() {
+
+        final byte[] array = charArray;
+        final int limit = lastIndex + 1;
+        int index = __index;
+
+        if ( index < limit && array[ index ] == MINUS ) {
+            index++;
+        }
+
+        final int digitsStart = index;
+        while ( index < limit && CharScanner.isDigit( array[ index ] ) ) {
+            index++;
+        }
+
+        final int digits = index - digitsStart;
+        if ( digits == 0 || digits > 18 ) {
+            return false;
+        }
+
+        if ( index < limit ) {
+            int ch = array[ index ];
+            if ( ch == '.' || ch == 'e' || ch == 'E' ) {
+                return false;
+            }
+        }
+
+        numberEnd = index;
+        return true;
+    }
+
+
+    private long readInteger() {
+        long value = ByteScanner.parseLongFromTo( charArray, __index, numberEnd );
+        __index = numberEnd;
+        return value;
+    }
+
+
+    private boolean scanNumber() {
+
+        final byte[] array = charArray;
+        final int limit = lastIndex + 1;
+        int index = __index;
+
+        if ( index >= limit || !( array[ index ] == MINUS || CharScanner.isDigit( array[ index ] ) ) ) {
+            return false;
+        }
+
+        for (; index < limit; index++ ) {
+            if ( !CharScanner.isDecimalDigit( array[ index ] ) ) {
+                break;
+            }
+        }
+
+        numberEnd = index;
+        return true;
+    }
+
+
+    private double readDouble() {
+        double value = ByteScanner.parseDouble( charArray, __index, numberEnd );
+        __index = numberEnd;
+        return value;
+    }
+
+}
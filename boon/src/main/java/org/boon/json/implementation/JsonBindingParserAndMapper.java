@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.core.reflection.BindingPlan;
+import org.boon.core.reflection.Mapper;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Parser and mapper that binds straight onto POJOs with a JsonBindingParser instead of
+ * building a map and converting it. Untyped parses, maps, lists of basic types and
+ * so on behave exactly like the plain UTF-8 parser.
+ */
+public class JsonBindingParserAndMapper extends BaseJsonParserAndMapper {
+
+    private final JsonBindingParser bindingParser;
+
+    public JsonBindingParserAndMapper( JsonBindingParser parser, Mapper mapper ) {
+        super( parser, mapper );
+        this.bindingParser = parser;
+        this.charset = StandardCharsets.UTF_8;
+    }
+
+
+    @Override
+    public <T> T parse( Class<T> type, byte[] bytes ) {
+        if ( BindingPlan.isBindable( type ) ) {
+            return bindingParser.parse( type, bytes, 0, bytes.length );
+        }
+        return super.parse( type, bytes );
+    }
+
+    @Override
+    public <T> T parse( Class<T> type, byte[] bytes, Charset charset ) {
+        if ( StandardCharsets.UTF_8.equals( charset ) ) {
+            return parse( type, bytes );
+        }
+        return parse( type, new String( bytes, charset ) );
+    }
+
+    @Override
+    public <T> T parse( Class<T> type, String jsonString ) {
+        return parse( type, jsonString.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Override
+    public <T> T parse( Class<T> type, char[] chars ) {
+        return parse( type, new String( chars ) );
+    }
+
+
+    @Override
+    public <T> List<T> parseList( Class<T> componentType, byte[] jsonBytes ) {
+        if ( BindingPlan.isBindable( componentType ) ) {
+            return bindingParser.parseList( componentType, jsonBytes );
+        }
+        return super.parseList( componentType, jsonBytes );
+    }
+
+    @Override
+    public <T> List<T> parseList( Class<T> componentType, String jsonString ) {
+        return parseList( componentType, jsonString.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Override
+    public <T> List<T> parseList( Class<T> componentType, char[] chars ) {
+        return parseList( componentType, new String( chars ) );
+    }
+}
@@ -94,7 +94,13 @@ public class JsonFastParser extends JsonParserCharArray {
             switch ( __currentChar ) {
 
                 case '"':
-                    Value key = decodeStringOverlay ();
+                    String internedKey = null;
+                    Value key = null;
+                    if ( keyTable != null ) {
+                        internedKey = decodeKey ();
+                    } else {
+                        key = decodeStringOverlay ();
+                    }
                     skipWhiteSpaceIfNeeded ();
 
                     if ( __currentChar != ':' ) {
@@ -108,7 +114,8 @@ public class JsonFastParser extends JsonParserCharArray {
                     skipWhiteSpaceIfNeeded ();
 
 
-                    MapItemValue miv = new MapItemValue ( key, item );
+                    MapItemValue miv = key == null ? new MapItemValue ( internedKey, item )
+                            : new MapItemValue ( key, item );
 
                     map.add ( miv );
             }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.core.reflection.FastStringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded table of object field names shared by the parsers of one JsonParserFactory.
+ *
+ * Keys are looked up straight from the char[] or UTF-8 byte[] slice being parsed, by hash
+ * and then content, so a key seen before costs no allocation and comes back as the same
+ * String instance every time. That String also has its hash code cached already, which
+ * makes the map puts and the lookups in the mappers cheaper.
+ *
+ * The table never grows. Each key has a few slots to land in, and when all of them are
+ * taken the first one is replaced, so payloads with unbounded key sets cannot fill memory
+ * and the hot keys win their slots back. Entries are immutable and are published by a
+ * plain array store. A reader that races with a writer at worst misses and builds a new
+ * String, so no locking is needed.
+ */
+public final class JsonKeyTable {
+
+    public static final int DEFAULT_MAX_KEYS = 2048;
+
+    /* Keys longer than this are rarely repeated and are not worth the compare. */
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final int PROBES = 4;
+
+    private static final class Entry {
+        final String key;
+        final char[] chars;
+        final byte[] bytes;
+        final int hash;
+
+        Entry( String key, char[] chars, byte[] bytes, int hash ) {
+            this.key = key;
+            this.chars = chars;
+            this.bytes = bytes;
+            this.hash = hash;
+        }
+    }
+
+    private final Entry[] charEntries;
+    private final Entry[] byteEntries;
+    private final int mask;
+
+
+    public JsonKeyTable() {
+        this( DEFAULT_MAX_KEYS );
+    }
+
+    public JsonKeyTable( int maxKeys ) {
+        int size = Integer.highestOneBit( Math.max( 16, maxKeys ) * 2 - 1 ) << 1;
+        this.charEntries = new Entry[ size ];
+        this.byteEntries = new Entry[ size ];
+        this.mask = size - 1;
+    }
+
+
+    private static int slot( int hash ) {
+        return hash ^ ( hash >>> 16 );
+    }
+
+
+    /**
+     * Returns the String for chars[start, end), which must not contain escapes.
+     */
+    public String get( final char[] chars, final int start, final int end ) {
+
+        final int length = end - start;
+        if ( length > MAX_KEY_LENGTH ) {
+            return new String( chars, start, length );
+        }
+
+        int hash = 0;
+        for ( int index = start; index < end; index++ ) {
+            hash = 31 * hash + chars[ index ];
+        }
+
+        final Entry[] entries = charEntries;
+        final int home = slot( hash ) & mask;
+        int free = -1;
+
+        for ( int probe = 0; probe < PROBES; probe++ ) {
+            final int index = ( home + probe ) & mask;
+            final Entry entry = entries[ index ];
+            if ( entry == null ) {
+                free = index;
+                break;
+            }
+            if ( entry.hash == hash && entry.chars.length == length && matches( entry.chars, chars, start ) ) {
+                return entry.key;
+            }
+        }
+
+        final String key = new String( chars, start, length );
+        entries[ free == -1 ? home : free ] = new Entry( key, FastStringUtils.toCharArray( key ), null, hash );
+        return key;
+    }
+
+
+    /**
+     * Returns the String for the UTF-8 bytes[start, end), which must not contain escapes.
+     * Byte and char lookups of the same name give the same String.
+     */
+    public String get( final byte[] bytes, final int start, final int end ) {
+
+        final int length = end - start;
+        if ( length > MAX_KEY_LENGTH ) {
+            return new String( bytes, start, length, StandardCharsets.UTF_8 );
+        }
+
+        int hash = 0;
+        for ( int index = start; index < end; index++ ) {
+            hash = 31 * hash + bytes[ index ];
+        }
+
+        final Entry[] entries = byteEntries;
+        final int home = slot( hash ) & mask;
+        int free = -1;
+
+        for ( int probe = 0; probe < PROBES; probe++ ) {
+            final int index = ( home + probe ) & mask;
+            final Entry entry = entries[ index ];
+            if ( entry == null ) {
+                free = index;
+                break;
+            }
+            if ( entry.hash == hash && entry.bytes.length == length && matches( entry.bytes, bytes, start ) ) {
+                return entry.key;
+            }
+        }
+
+        final String decoded = new String( bytes, start, length, StandardCharsets.UTF_8 );
+        final char[] chars = FastStringUtils.toCharArray( decoded );
+        final String key = get( chars, 0, chars.length );
+        entries[ free == -1 ? home : free ] = new Entry( key, null, Arrays.copyOfRange( bytes, start, end ), hash );
+        return key;
+    }
+
+
+    private static boolean matches( final char[] key, final char[] chars, final int start ) {
+        for ( int index = 0; index < key.length; index++ ) {
+            if ( key[ index ] != chars[ start + index ] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches( final byte[] key, final byte[] bytes, final int start ) {
+        for ( int index = 0; index < key.length; index++ ) {
+            if ( key[ index ] != bytes[ start + index ] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
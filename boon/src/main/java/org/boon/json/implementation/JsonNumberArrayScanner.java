@@ -0,0 +1,267 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.collections.DoubleList;
+import org.boon.collections.FloatList;
+import org.boon.collections.IntList;
+import org.boon.collections.LongList;
+import org.boon.json.JsonException;
+import org.boon.primitive.CharScanner;
+
+/**
+ * Scans a JSON array of plain numbers straight into primitives, with no boxing and no
+ * intermediate list.
+ *
+ * Every method gives up, returning null or NOT_SIMPLE, as soon as the input is anything
+ * else: nested values, strings, nulls, or an int element with a fraction or too many
+ * digits. The caller then takes the generic parse and convert path, so the results and
+ * the conversions stay exactly as before.
+ */
+final class JsonNumberArrayScanner {
+
+    static final int NOT_SIMPLE = -1;
+
+    /* first() and after() return these instead of an element start. */
+    private static final int DONE = -2;
+    private static final int MALFORMED = -1;
+
+    /* Digit counts that can never overflow, longer values take the generic path. */
+    private static final int INT_DIGITS = 9;
+    private static final int LONG_DIGITS = 18;
+
+
+    static int[] ints( final char[] chars ) {
+        final IntList list = new IntList();
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = integerEnd( chars, start, INT_DIGITS );
+            if ( end < 0 ) {
+                return null;
+            }
+            list.add( CharScanner.parseInt( chars, start, end ) );
+            start = after( chars, end );
+        }
+        return start == DONE ? list.toValueArray() : null;
+    }
+
+    static long[] longs( final char[] chars ) {
+        final LongList list = new LongList();
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = integerEnd( chars, start, LONG_DIGITS );
+            if ( end < 0 ) {
+                return null;
+            }
+            list.add( CharScanner.parseLong( chars, start, end ) );
+            start = after( chars, end );
+        }
+        return start == DONE ? list.toValueArray() : null;
+    }
+
+    static double[] doubles( final char[] chars ) {
+        final DoubleList list = new DoubleList();
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = numberEnd( chars, start );
+            if ( end < 0 ) {
+                return null;
+            }
+            list.add( CharScanner.parseDouble( chars, start, end ) );
+            start = after( chars, end );
+        }
+        return start == DONE ? list.toValueArray() : null;
+    }
+
+    static float[] floats( final char[] chars ) {
+        final FloatList list = new FloatList();
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = numberEnd( chars, start );
+            if ( end < 0 ) {
+                return null;
+            }
+            list.add( CharScanner.parseFloat( chars, start, end ) );
+            start = after( chars, end );
+        }
+        return start == DONE ? list.toValueArray() : null;
+    }
+
+
+    /** Fills into from its start and returns the element count. */
+    static int ints( final char[] chars, final int[] into ) {
+        int count = 0;
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = integerEnd( chars, start, INT_DIGITS );
+            if ( end < 0 ) {
+                return NOT_SIMPLE;
+            }
+            into[ room( count, into.length ) ] = CharScanner.parseInt( chars, start, end );
+            count++;
+            start = after( chars, end );
+        }
+        return start == DONE ? count : NOT_SIMPLE;
+    }
+
+    static int longs( final char[] chars, final long[] into ) {
+        int count = 0;
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = integerEnd( chars, start, LONG_DIGITS );
+            if ( end < 0 ) {
+                return NOT_SIMPLE;
+            }
+            into[ room( count, into.length ) ] = CharScanner.parseLong( chars, start, end );
+            count++;
+            start = after( chars, end );
+        }
+        return start == DONE ? count : NOT_SIMPLE;
+    }
+
+    static int doubles( final char[] chars, final double[] into ) {
+        int count = 0;
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = numberEnd( chars, start );
+            if ( end < 0 ) {
+                return NOT_SIMPLE;
+            }
+            into[ room( count, into.length ) ] = CharScanner.parseDouble( chars, start, end );
+            count++;
+            start = after( chars, end );
+        }
+        return start == DONE ? count : NOT_SIMPLE;
+    }
+
+    static int floats( final char[] chars, final float[] into ) {
+        int count = 0;
+        int start = first( chars );
+        while ( start >= 0 ) {
+            final int end = numberEnd( chars, start );
+            if ( end < 0 ) {
+                return NOT_SIMPLE;
+            }
+            into[ room( count, into.length ) ] = CharScanner.parseFloat( chars, start, end );
+            count++;
+            start = after( chars, end );
+        }
+        return start == DONE ? count : NOT_SIMPLE;
+    }
+
+
+    static int room( final int count, final int length ) {
+        if ( count == length ) {
+            throw tooMany( length );
+        }
+        return count;
+    }
+
+    static JsonException tooMany( final int length ) {
+        return new JsonException( "JSON array has more than the " + length + " elements the array can hold" );
+    }
+
+
+    /** Start of the first element, DONE for an empty array, MALFORMED when this is not an array. */
+    private static int first( final char[] chars ) {
+        int index = skip( chars, 0 );
+        if ( index == chars.length || chars[ index ] != '[' ) {
+            return MALFORMED;
+        }
+        index = skip( chars, index + 1 );
+        if ( index < chars.length && chars[ index ] == ']' ) {
+            return skip( chars, index + 1 ) == chars.length ? DONE : MALFORMED;
+        }
+        return index;
+    }
+
+    /** Start of the element after the one ending at end, DONE after the last one, or MALFORMED. */
+    private static int after( final char[] chars, final int end ) {
+        int index = skip( chars, end );
+        if ( index == chars.length ) {
+            return MALFORMED;
+        }
+        if ( chars[ index ] == ',' ) {
+            return skip( chars, index + 1 );
+        }
+        if ( chars[ index ] == ']' ) {
+            return skip( chars, index + 1 ) == chars.length ? DONE : MALFORMED;
+        }
+        return MALFORMED;
+    }
+
+    /** End of an optionally signed run of at most maxDigits digits, or -1. */
+    private static int integerEnd( final char[] chars, final int start, final int maxDigits ) {
+        int index = start;
+        if ( index < chars.length && chars[ index ] == '-' ) {
+            index++;
+        }
+        final int digits = index;
+        while ( index < chars.length && chars[ index ] >= '0' && chars[ index ] <= '9' ) {
+            index++;
+        }
+        if ( index == digits || index - digits > maxDigits ) {
+            return -1;
+        }
+        return endsToken( chars, index ) ? index : -1;
+    }
+
+    /** End of a JSON number, or -1. */
+    private static int numberEnd( final char[] chars, final int start ) {
+        int index = start;
+        if ( index < chars.length && chars[ index ] == '-' ) {
+            index++;
+        }
+        final int digits = index;
+        for ( ; index < chars.length; index++ ) {
+            final char c = chars[ index ];
+            if ( !( ( c >= '0' && c <= '9' ) || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-' ) ) {
+                break;
+            }
+        }
+        if ( index == digits || chars[ digits ] < '0' || chars[ digits ] > '9' ) {
+            return -1;
+        }
+        return endsToken( chars, index ) ? index : -1;
+    }
+
+    private static boolean endsToken( final char[] chars, final int index ) {
+        if ( index == chars.length ) {
+            return true;
+        }
+        final char c = chars[ index ];
+        return c == ',' || c == ']' || c <= ' ';
+    }
+
+    private static int skip( final char[] chars, int index ) {
+        while ( index < chars.length && chars[ index ] <= ' ' ) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -143,7 +143,7 @@ public class JsonParserCharArray extends BaseJsonParser  {
             if ( __currentChar == '"' ) {
 
                 String key =
-                        decodeString();
+                        decodeKey();
 
                 if ( internKeys ) {
                     String keyPrime = internedKeysCache.get( key );
@@ -383,6 +383,38 @@ public class JsonParserCharArray extends BaseJsonParser  {
 //    }
 
 
+    /**
+     * Decodes an object key, through the key table when there is one and the key has no escapes.
+     */
+    protected final String decodeKey() {
+
+        if ( keyTable == null ) {
+            return decodeString();
+        }
+
+        char[] array = charArray;
+        int index = __index;
+
+        if ( index < array.length && array[ index ] == '"' ) {
+            index++;
+        }
+
+        final int startIndex = index;
+
+        if ( CharScanner.hasEscapeChar ( array, index, indexHolder ) ) {
+            return decodeString();
+        }
+        index = indexHolder[0];
+
+        String value = keyTable.get( array, startIndex, index );
+
+        if ( index < array.length ) {
+            index++;
+        }
+        __index = index;
+        return value;
+    }
+
     private String decodeString() {
 
         char[] array = charArray;
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.Str;
+import org.boon.core.Conversions;
+import org.boon.core.TypeType;
+import org.boon.core.reflection.BeanUtils;
+import org.boon.core.reflection.Reflection;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.json.JsonException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Applies JSON Patch (RFC 6902) operations to a document made of Maps, Lists, arrays
+ * and plain objects. Object fields are set through their FieldAccess, which converts
+ * patch values (parsed JSON or objects) into the field type the same way the mapper does.
+ * Arrays can have their elements replaced but cannot grow or shrink.
+ * Map keys in a path are converted to the map's key type, taken from the field's generic
+ * type or from a key already in the map, so maps keyed by numbers or enums work too.
+ */
+public class JsonPatchApplier {
+
+    /** Component class of the list or array the last resolve ended on, when a field told us. */
+    private Class<?> componentClass;
+
+    /** Key class of the map the last resolve ended on, when a field told us. */
+    private Class<?> keyClass;
+
+
+    public Object apply( Object document, List<Map<String, Object>> patch ) {
+        for ( Map<String, Object> operation : patch ) {
+            document = applyOperation( document, operation );
+        }
+        return document;
+    }
+
+
+    private Object applyOperation( Object document, Map<String, Object> operation ) {
+
+        String op = member( operation, "op" );
+        String path = member( operation, "path" );
+        List<String> tokens = tokens( path );
+
+        switch ( op ) {
+            case "add":
+                return add( document, tokens, value( operation ) );
+            case "remove":
+                remove( document, tokens );
+                return document;
+            case "replace":
+                return replace( document, tokens, value( operation ) );
+            case "move": {
+                String from = member( operation, "from" );
+                if ( path.startsWith( from + '/' ) ) {
+                    throw new JsonException( "Cannot move " + from + " into its own child " + path );
+                }
+                Object value = remove( document, tokens( from ) );
+                return add( document, tokens, value );
+            }
+            case "copy":
+                return add( document, tokens, copy( get( document, tokens( member( operation, "from" ) ) ) ) );
+            case "test":
+                if ( !Objects.equals( normalize( get( document, tokens ) ), normalize( value( operation ) ) ) ) {
+                    throw new JsonException( "Test failed at " + path );
+                }
+                return document;
+            default:
+                throw new JsonException( "Unknown patch operation " + op );
+        }
+    }
+
+
+    private Object add( Object document, List<String> tokens, Object value ) {
+        if ( tokens.isEmpty() ) {
+            return root( document, value );
+        }
+        Object parent = resolve( document, tokens.subList( 0, tokens.size() - 1 ) );
+        String token = tokens.get( tokens.size() - 1 );
+
+        if ( parent instanceof Map ) {
+            Map<Object, Object> map = ( Map<Object, Object> ) parent;
+            map.put( key( map, token, keyClass ), value );
+        } else if ( parent instanceof List ) {
+            List<Object> list = ( List<Object> ) parent;
+            value = element( list, value );
+            if ( token.equals( "-" ) ) {
+                list.add( value );
+            } else {
+                list.add( index( token, list.size() + 1 ), value );
+            }
+        } else if ( parent.getClass().isArray() ) {
+            throw new JsonException( "Cannot add to a fixed size array at " + token );
+        } else {
+            field( parent, token ).setValue( parent, value );
+        }
+        return document;
+    }
+
+
+    private Object remove( Object document, List<String> tokens ) {
+        if ( tokens.isEmpty() ) {
+            throw new JsonException( "Cannot remove the whole document" );
+        }
+        Object parent = resolve( document, tokens.subList( 0, tokens.size() - 1 ) );
+        String token = tokens.get( tokens.size() - 1 );
+
+        if ( parent instanceof Map ) {
+            Map<Object, Object> map = ( Map<Object, Object> ) parent;
+            Object key = key( map, token, keyClass );
+            if ( !map.containsKey( key ) ) {
+                throw new JsonException( "No member " + token + " to remove" );
+            }
+            return map.remove( key );
+        } else if ( parent instanceof List ) {
+            List<Object> list = ( List<Object> ) parent;
+            return list.remove( index( token, list.size() ) );
+        } else if ( parent.getClass().isArray() ) {
+            throw new JsonException( "Cannot remove from a fixed size array at " + token );
+        } else {
+            FieldAccess field = field( parent, token );
+            Object old = field.getValue( parent );
+            if ( field.isPrimitive() ) {
+                field.setValue( parent, Conversions.coerce( field.type(), null ) );
+            } else {
+                field.setObject( parent, null );
+            }
+            return old;
+        }
+    }
+
+
+    private Object replace( Object document, List<String> tokens, Object value ) {
+        if ( tokens.isEmpty() ) {
+            return root( document, value );
+        }
+        Object parent = resolve( document, tokens.subList( 0, tokens.size() - 1 ) );
+        String token = tokens.get( tokens.size() - 1 );
+
+        if ( parent instanceof Map ) {
+            Map<Object, Object> map = ( Map<Object, Object> ) parent;
+            Object key = key( map, token, keyClass );
+            if ( !map.containsKey( key ) ) {
+                throw new JsonException( "No member " + token + " to replace" );
+            }
+            map.put( key, value );
+        } else if ( parent instanceof List ) {
+            List<Object> list = ( List<Object> ) parent;
+            list.set( index( token, list.size() ), element( list, value ) );
+        } else if ( parent.getClass().isArray() ) {
+            Array.set( parent, index( token, Array.getLength( parent ) ),
+                    Conversions.coerce( parent.getClass().getComponentType(), value ) );
+        } else {
+            field( parent, token ).setValue( parent, value );
+        }
+        return document;
+    }
+
+
+    private Object get( Object document, List<String> tokens ) {
+        return resolve( document, tokens );
+    }
+
+
+    private Object resolve( Object document, List<String> tokens ) {
+        Object current = document;
+        componentClass = null;
+        keyClass = null;
+
+        for ( String token : tokens ) {
+            if ( current == null ) {
+                throw new JsonException( "Path runs into a null value at " + token );
+            }
+            final Class<?> mapKeyClass = keyClass;
+            componentClass = null;
+            keyClass = null;
+
+            if ( current instanceof Map ) {
+                Map<?, ?> map = ( Map<?, ?> ) current;
+                Object key = key( map, token, mapKeyClass );
+                if ( !map.containsKey( key ) ) {
+                    throw new JsonException( "No member " + token );
+                }
+                current = map.get( key );
+            } else if ( current instanceof List ) {
+                List<?> list = ( List<?> ) current;
+                current = list.get( index( token, list.size() ) );
+            } else if ( current.getClass().isArray() ) {
+                current = Array.get( current, index( token, Array.getLength( current ) ) );
+            } else if ( TypeType.getInstanceType( current ) == TypeType.INSTANCE ) {
+                FieldAccess field = field( current, token );
+                componentClass = field.getComponentClass();
+                keyClass = keyClass( field );
+                current = field.getValue( current );
+            } else {
+                throw new JsonException( "Cannot navigate into " + current.getClass().getName() + " at " + token );
+            }
+        }
+        return current;
+    }
+
+
+    private Object root( Object document, Object value ) {
+        if ( document != null && value != null && !document.getClass().isInstance( value ) &&
+                TypeType.getInstanceType( document ) == TypeType.INSTANCE ) {
+            return Conversions.coerce( document.getClass(), value );
+        }
+        return value;
+    }
+
+
+    /**
+     * Turns parsed JSON objects into the list's element class, taken from the field the
+     * list hangs off or, failing that, from an element already in the list.
+     */
+    private Object element( List<Object> list, Object value ) {
+        if ( !( value instanceof Map ) ) {
+            return value;
+        }
+        Class<?> elementClass = componentClass;
+        if ( elementClass == null ) {
+            for ( Object item : list ) {
+                if ( item != null ) {
+                    elementClass = item.getClass();
+                    break;
+                }
+            }
+        }
+        if ( elementClass != null && TypeType.getType( elementClass ) == TypeType.INSTANCE ) {
+            return Conversions.coerce( elementClass, value );
+        }
+        return value;
+    }
+
+
+    /**
+     * The map key a path token names. Tokens are strings, so for maps keyed by anything
+     * else the token is converted to the key class the field declares or, failing that,
+     * to the class of a key already in the map.
+     */
+    private static Object key( Map<?, ?> map, String token, Class<?> keyClass ) {
+        if ( keyClass == null ) {
+            for ( Object key : map.keySet() ) {
+                if ( key != null ) {
+                    keyClass = key.getClass();
+                    break;
+                }
+            }
+        }
+        if ( keyClass == null || keyClass == Object.class || CharSequence.class.isAssignableFrom( keyClass ) ) {
+            return token;
+        }
+        return Conversions.coerce( keyClass, token );
+    }
+
+
+    private static Class<?> keyClass( FieldAccess field ) {
+        ParameterizedType type = field.getParameterizedType();
+        if ( type == null || !Map.class.isAssignableFrom( field.type() ) ) {
+            return null;
+        }
+        Type[] arguments = type.getActualTypeArguments();
+        return arguments.length == 2 && arguments[ 0 ] instanceof Class ? ( Class<?> ) arguments[ 0 ] : null;
+    }
+
+
+    /* Copied JSON containers must not share structure with the originals. */
+    private static Object copy( Object value ) {
+        if ( value instanceof Map ) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for ( Map.Entry<?, ?> entry : ( ( Map<?, ?> ) value ).entrySet() ) {
+                map.put( Str.toString( entry.getKey() ), copy( entry.getValue() ) );
+            }
+            return map;
+        } else if ( value instanceof List ) {
+            List<Object> list = new ArrayList<>( ( ( List<?> ) value ).size() );
+            for ( Object item : ( List<?> ) value ) {
+                list.add( copy( item ) );
+            }
+            return list;
+        }
+        return value;
+    }
+
+
+    private static FieldAccess field( Object parent, String token ) {
+        FieldAccess field = BeanUtils.getFieldsFromObject( parent ).get( token );
+        if ( field == null ) {
+            throw new JsonException( "No field " + token + " on " + parent.getClass().getName() );
+        }
+        return field;
+    }
+
+
+    private static int index( String token, int size ) {
+        int index;
+        try {
+            index = Integer.parseInt( token );
+        } catch ( NumberFormatException ex ) {
+            throw new JsonException( "Not an array index " + token );
+        }
+        if ( index < 0 || index >= size || ( token.length() > 1 && token.charAt( 0 ) == '0' ) ) {
+            throw new JsonException( "Array index " + token + " out of range" );
+        }
+        return index;
+    }
+
+
+    private static String member( Map<String, Object> operation, String name ) {
+        Object value = operation.get( name );
+        if ( value == null ) {
+            throw new JsonException( "Patch operation is missing " + name + ": " + operation );
+        }
+        return Str.toString( value );
+    }
+
+
+    private static Object value( Map<String, Object> operation ) {
+        if ( !operation.containsKey( "value" ) ) {
+            throw new JsonException( "Patch operation is missing value: " + operation );
+        }
+        return operation.get( "value" );
+    }
+
+
+    static List<String> tokens( String path ) {
+        if ( path.isEmpty() ) {
+            return Collections.emptyList();
+        }
+        if ( path.charAt( 0 ) != '/' ) {
+            throw new JsonException( "JSON pointer must start with /: " + path );
+        }
+        String[] parts = path.substring( 1 ).split( "/", -1 );
+        List<String> tokens = new ArrayList<>( parts.length );
+        for ( String part : parts ) {
+            tokens.add( part.indexOf( '~' ) == -1 ? part : part.replace( "~1", "/" ).replace( "~0", "~" ) );
+        }
+        return tokens;
+    }
+
+
+    /**
+     * The JSON model of a value, so test compares what would be written rather than
+     * the Java types that happen to hold it.
+     */
+    private static Object normalize( Object value ) {
+
+        if ( value == null ) {
+            return null;
+        }
+        if ( value instanceof Number ) {
+            try {
+                return new BigDecimal( value.toString() ).stripTrailingZeros();
+            } catch ( NumberFormatException ex ) {
+                return value.toString();
+            }
+        }
+        if ( value instanceof Boolean ) {
+            return value;
+        }
+        if ( value instanceof CharSequence || value instanceof Character || value instanceof Enum ) {
+            return value.toString();
+        }
+        if ( value instanceof Date ) {
+            return normalize( ( ( Date ) value ).getTime() );
+        }
+        if ( value instanceof Map ) {
+            Map<String, Object> map = new HashMap<>();
+            for ( Map.Entry<?, ?> entry : ( ( Map<?, ?> ) value ).entrySet() ) {
+                if ( entry.getValue() != null ) {
+                    map.put( Str.toString( entry.getKey() ), normalize( entry.getValue() ) );
+                }
+            }
+            return map;
+        }
+        if ( value instanceof Collection || value.getClass().isArray() ) {
+            List<Object> list = new ArrayList<>();
+            for ( Object item : value instanceof Collection ? ( Collection<?> ) value : JsonPatchProducer.asList( value ) ) {
+                list.add( normalize( item ) );
+            }
+            return list;
+        }
+        if ( TypeType.getInstanceType( value ) == TypeType.INSTANCE ) {
+            Map<String, Object> map = new HashMap<>();
+            for ( FieldAccess field : Reflection.getPropertyFieldAccessMapFieldFirstForSerializer( value.getClass() ).values() ) {
+                Object written = field.isWriteOnly() ? null : JsonPatchProducer.written( field, value );
+                if ( written != null ) {
+                    map.put( field.name(), normalize( written ) );
+                }
+            }
+            return map;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.Str;
+import org.boon.core.TypeType;
+import org.boon.core.reflection.Reflection;
+import org.boon.core.reflection.fields.FieldAccess;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Walks two object graphs side by side and records the JSON Patch (RFC 6902) operations
+ * that turn the first into the second. Instances are compared field by field through
+ * their FieldAccess metadata, using the same rules the simple serializer uses to decide
+ * which fields get written, so the patch only names paths that show up in the JSON.
+ * Lists and arrays are compared by position; sets, which have no positions, are
+ * replaced as a whole when they differ.
+ */
+public class JsonPatchProducer {
+
+    private final List<Map<String, Object>> patch = new ArrayList<>();
+
+
+    public List<Map<String, Object>> diff( Object source, Object target ) {
+        diff( "", source, target );
+        return patch;
+    }
+
+
+    private void diff( String path, Object source, Object target ) {
+
+        if ( source == target ) {
+            return;
+        }
+
+        if ( source == null || target == null ) {
+            operation( "replace", path, target );
+            return;
+        }
+
+        if ( source instanceof Map && target instanceof Map ) {
+            diffMaps( path, ( Map ) source, ( Map ) target );
+        } else if ( source instanceof List && target instanceof List ) {
+            diffSequences( path, ( List<?> ) source, ( List<?> ) target );
+        } else if ( source.getClass().isArray() && target.getClass().isArray() ) {
+            /* Arrays cannot grow or shrink in place, so a new length replaces the lot. */
+            if ( Array.getLength( source ) == Array.getLength( target ) ) {
+                diffSequences( path, asList( source ), asList( target ) );
+            } else {
+                operation( "replace", path, target );
+            }
+        } else if ( source.getClass() == target.getClass() &&
+                TypeType.getInstanceType( source ) == TypeType.INSTANCE ) {
+            diffInstances( path, source, target );
+        } else if ( !source.equals( target ) ) {
+            operation( "replace", path, target );
+        }
+    }
+
+
+    private void diffInstances( String path, Object source, Object target ) {
+
+        for ( FieldAccess field : Reflection.getPropertyFieldAccessMapFieldFirstForSerializer( source.getClass() ).values() ) {
+
+            if ( field.isWriteOnly() ) {
+                continue;
+            }
+
+            Object sourceValue = written( field, source );
+            Object targetValue = written( field, target );
+            String fieldPath = path + '/' + escape( field.name() );
+
+            if ( sourceValue == null ) {
+                if ( targetValue != null ) {
+                    operation( "add", fieldPath, targetValue );
+                }
+            } else if ( targetValue == null ) {
+                operation( "remove", fieldPath, null );
+            } else {
+                diff( fieldPath, sourceValue, targetValue );
+            }
+        }
+    }
+
+
+    private void diffMaps( String path, Map<Object, Object> source, Map<Object, Object> target ) {
+
+        for ( Map.Entry<Object, Object> entry : source.entrySet() ) {
+            if ( entry.getValue() == null ) {
+                continue;
+            }
+            String entryPath = path + '/' + escape( Str.toString( entry.getKey() ) );
+            Object targetValue = target.get( entry.getKey() );
+            if ( targetValue == null ) {
+                operation( "remove", entryPath, null );
+            } else {
+                diff( entryPath, entry.getValue(), targetValue );
+            }
+        }
+
+        for ( Map.Entry<Object, Object> entry : target.entrySet() ) {
+            if ( entry.getValue() != null && source.get( entry.getKey() ) == null ) {
+                operation( "add", path + '/' + escape( Str.toString( entry.getKey() ) ), entry.getValue() );
+            }
+        }
+    }
+
+
+    private void diffSequences( String path, List<?> source, List<?> target ) {
+
+        int common = Math.min( source.size(), target.size() );
+
+        for ( int index = 0; index < common; index++ ) {
+            diff( path + '/' + index, source.get( index ), target.get( index ) );
+        }
+
+        for ( int index = common; index < target.size(); index++ ) {
+            operation( "add", path + '/' + index, target.get( index ) );
+        }
+
+        /* Remove from the end so the earlier indexes stay put. */
+        for ( int index = source.size() - 1; index >= common; index-- ) {
+            operation( "remove", path + '/' + index, null );
+        }
+    }
+
+
+    private void operation( String op, String path, Object value ) {
+        Map<String, Object> operation = new LinkedHashMap<>( 4 );
+        operation.put( "op", op );
+        operation.put( "path", path );
+        if ( !op.equals( "remove" ) ) {
+            operation.put( "value", value );
+        }
+        patch.add( operation );
+    }
+
+
+    /**
+     * The value the simple serializer would write for this field, or null when it would
+     * leave the field out.
+     */
+    static Object written( FieldAccess field, Object parent ) {
+
+        Object value = field.getValue( parent );
+
+        if ( value == null || value == parent ) {
+            return null;
+        }
+
+        if ( field.isPrimitive() ) {
+            if ( value instanceof Boolean ) {
+                return ( Boolean ) value ? value : null;
+            } else if ( value instanceof Character ) {
+                return ( Character ) value != 0 ? value : null;
+            } else {
+                return ( ( Number ) value ).doubleValue() != 0 ? value : null;
+            }
+        }
+
+        switch ( field.typeEnum() ) {
+            case SYSTEM:
+                return null;
+            case NUMBER:
+                return ( ( Number ) value ).intValue() != 0 ? value : null;
+            case COLLECTION:
+            case LIST:
+            case SET:
+                return ( ( Collection ) value ).size() > 0 ? value : null;
+            case MAP:
+                return ( ( Map ) value ).size() > 0 ? value : null;
+        }
+
+        if ( value.getClass().isArray() && Array.getLength( value ) == 0 ) {
+            return null;
+        }
+        return value;
+    }
+
+
+    static List<?> asList( Object value ) {
+        if ( value instanceof List ) {
+            return ( List<?> ) value;
+        }
+        int length = Array.getLength( value );
+        List<Object> list = new ArrayList<>( length );
+        for ( int index = 0; index < length; index++ ) {
+            list.add( Array.get( value, index ) );
+        }
+        return list;
+    }
+
+
+    static String escape( String token ) {
+        if ( token.indexOf( '~' ) == -1 && token.indexOf( '/' ) == -1 ) {
+            return token;
+        }
+        return token.replace( "~", "~0" ).replace( "/", "~1" );
+    }
+}
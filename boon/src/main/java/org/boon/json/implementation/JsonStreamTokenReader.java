@@ -0,0 +1,588 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json.implementation;
+
+import org.boon.collections.LazyMap;
+import org.boon.json.JsonException;
+import org.boon.json.JsonToken;
+import org.boon.json.JsonTokenReader;
+import org.boon.primitive.CharBuf;
+import org.boon.primitive.CharScanner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JsonTokenReader over a Reader.
+ *
+ * The reader is consumed through a single fixed size char buffer which is refilled as
+ * tokens are pulled. The text of the current string or number token is collected in a
+ * CharBuf that is recycled for every token.
+ *
+ * Several root values separated by white space are read one after the other, so a stream
+ * of newline delimited documents can be read with one token reader.
+ */
+public class JsonStreamTokenReader implements JsonTokenReader {
+
+    private static final int ROOT = 0;
+    private static final int OBJECT_START = 1;
+    private static final int OBJECT_AFTER_NAME = 2;
+    private static final int OBJECT_AFTER_VALUE = 3;
+    private static final int ARRAY_START = 4;
+    private static final int ARRAY_AFTER_VALUE = 5;
+
+
+    private final Reader reader;
+
+    private final char[] buffer;
+    private int index;
+    private int length;
+    private boolean done;
+
+    /** Characters read by previous buffer loads. */
+    private long consumed;
+
+    private int[] states = new int[ 16 ];
+    private int depth;
+
+    private JsonToken token;
+
+    private final CharBuf text = CharBuf.create( 64 );
+
+
+    public JsonStreamTokenReader( Reader reader, int bufferSize ) {
+        this.reader = reader;
+        this.buffer = new char[ bufferSize ];
+    }
+
+    public JsonStreamTokenReader( Reader reader ) {
+        this( reader, 8192 );
+    }
+
+
+    @Override
+    public final JsonToken nextToken() {
+
+        int ch = nextNonWhiteSpace();
+
+        switch ( depth == 0 ? ROOT : states[ depth - 1 ] ) {
+
+            case ROOT:
+                if ( ch == -1 ) {
+                    return token = null;
+                }
+                return token = startValue( ch );
+
+            case OBJECT_START:
+                if ( ch == '}' ) {
+                    return token = endContainer( JsonToken.END_OBJECT );
+                }
+                return token = fieldName( ch );
+
+            case OBJECT_AFTER_NAME:
+                if ( ch != ':' ) {
+                    complain( "expecting ':' but got " + describe( ch ) );
+                }
+                states[ depth - 1 ] = OBJECT_AFTER_VALUE;
+                return token = startValue( nextNonWhiteSpace() );
+
+            case OBJECT_AFTER_VALUE:
+                if ( ch == '}' ) {
+                    return token = endContainer( JsonToken.END_OBJECT );
+                } else if ( ch != ',' ) {
+                    complain( "expecting '}' or ',' but got " + describe( ch ) );
+                }
+                return token = fieldName( nextNonWhiteSpace() );
+
+            case ARRAY_START:
+                if ( ch == ']' ) {
+                    return token = endContainer( JsonToken.END_ARRAY );
+                }
+                states[ depth - 1 ] = ARRAY_AFTER_VALUE;
+                return token = startValue( ch );
+
+            case ARRAY_AFTER_VALUE:
+                if ( ch == ']' ) {
+                    return token = endContainer( JsonToken.END_ARRAY );
+                } else if ( ch != ',' ) {
+                    complain( "expecting ']' or ',' but got " + describe( ch ) );
+                }
+                return token = startValue( nextNonWhiteSpace() );
+
+            default:
+                throw new IllegalStateException( "unknown state " + states[ depth - 1 ] );
+        }
+    }
+
+    @Override
+    public final JsonToken currentToken() {
+        return token;
+    }
+
+    @Override
+    public final void skipChildren() {
+
+        if ( token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY ) {
+            return;
+        }
+
+        int nesting = 1;
+        int ch = 0;
+
+        while ( nesting > 0 ) {
+            ch = read();
+            switch ( ch ) {
+                case -1:
+                    complain( "unexpected end of input while skipping" );
+                    break;
+                case '"':
+                    skipString();
+                    break;
+                case '{':
+                case '[':
+                    nesting++;
+                    break;
+                case '}':
+                case ']':
+                    nesting--;
+                    break;
+            }
+        }
+
+        depth--;
+        token = ch == '}' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public final String readString() {
+        switch ( token ) {
+            case FIELD_NAME:
+            case STRING:
+            case NUMBER:
+                return new String( text.toCharArray(), 0, text.len() );
+            case NULL:
+                return null;
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            default:
+                return complain( String.class, "current token " + token + " is not a value" );
+        }
+    }
+
+    @Override
+    public final long readLong() {
+        expectNumber();
+        char[] chars = text.toCharArray();
+        int len = text.len();
+        if ( isWholeNumber( chars, len ) && CharScanner.isLong( chars, 0, len ) ) {
+            return CharScanner.parseLong( chars, 0, len );
+        }
+        return ( long ) CharScanner.parseDouble( chars, 0, len );
+    }
+
+    @Override
+    public final int readInt() {
+        expectNumber();
+        char[] chars = text.toCharArray();
+        int len = text.len();
+        if ( isWholeNumber( chars, len ) && CharScanner.isInteger( chars, 0, len ) ) {
+            return CharScanner.parseInt( chars, 0, len );
+        }
+        return ( int ) readLong();
+    }
+
+    @Override
+    public final double readDouble() {
+        expectNumber();
+        return CharScanner.parseDouble( text.toCharArray(), 0, text.len() );
+    }
+
+    @Override
+    public final boolean readBoolean() {
+        if ( token == JsonToken.TRUE ) {
+            return true;
+        } else if ( token == JsonToken.FALSE ) {
+            return false;
+        }
+        return complain( boolean.class, "current token " + token + " is not a boolean" );
+    }
+
+    @Override
+    public final Number readNumber() {
+        expectNumber();
+        return CharScanner.parseJsonNumber( text.toCharArray(), 0, text.len() );
+    }
+
+    @Override
+    public final Object readValue() {
+        if ( token == null ) {
+            return complain( Object.class, "no current token" );
+        }
+        switch ( token ) {
+            case START_OBJECT:
+                LazyMap map = new LazyMap();
+                while ( nextToken() == JsonToken.FIELD_NAME ) {
+                    String key = readString();
+                    nextToken();
+                    map.put( key, readValue() );
+                }
+                return map;
+
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while ( nextToken() != JsonToken.END_ARRAY ) {
+                    list.add( readValue() );
+                }
+                return list;
+
+            case STRING:
+                return readString();
+
+            case NUMBER:
+                return readNumber();
+
+            case TRUE:
+                return Boolean.TRUE;
+
+            case FALSE:
+                return Boolean.FALSE;
+
+            case NULL:
+                return null;
+
+            default:
+                return complain( Object.class, "current token " + token + " does not start a value" );
+        }
+    }
+
+    @Override
+    public final int depth() {
+        return depth;
+    }
+
+    @Override
+    public final long location() {
+        return consumed + index;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch ( IOException ex ) {
+            throw new JsonException( "unable to close reader", ex );
+        }
+    }
+
+
+    private JsonToken startValue( int ch ) {
+        switch ( ch ) {
+            case '{':
+                push( OBJECT_START );
+                return JsonToken.START_OBJECT;
+
+            case '[':
+                push( ARRAY_START );
+                return JsonToken.START_ARRAY;
+
+            case '"':
+                readStringContent();
+                return JsonToken.STRING;
+
+            case 't':
+                expectWord( "rue" );
+                return JsonToken.TRUE;
+
+            case 'f':
+                expectWord( "alse" );
+                return JsonToken.FALSE;
+
+            case 'n':
+                expectWord( "ull" );
+                return JsonToken.NULL;
+
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                readNumberContent( ch );
+                return JsonToken.NUMBER;
+
+            case -1:
+                return complain( JsonToken.class, "unexpected end of input, expecting a value" );
+
+            default:
+                return complain( JsonToken.class, "Unable to determine the current character, " +
+                        "it is not a string, number, array, or object " + describe( ch ) );
+        }
+    }
+
+    private JsonToken fieldName( int ch ) {
+        if ( ch != '"' ) {
+            complain( "expecting '\"' to start a field name but got " + describe( ch ) );
+        }
+        readStringContent();
+        states[ depth - 1 ] = OBJECT_AFTER_NAME;
+        return JsonToken.FIELD_NAME;
+    }
+
+    private JsonToken endContainer( JsonToken end ) {
+        depth--;
+        return end;
+    }
+
+    private void push( int state ) {
+        if ( depth == states.length ) {
+            int[] newStates = new int[ states.length * 2 ];
+            System.arraycopy( states, 0, newStates, 0, states.length );
+            states = newStates;
+        }
+        states[ depth++ ] = state;
+    }
+
+
+    /** Reads the characters of a string after the opening quote into text. */
+    private void readStringContent() {
+        text.recycle();
+
+        while ( true ) {
+
+            if ( index >= length && !fill() ) {
+                complain( "unterminated string" );
+            }
+
+            /* Copy runs of plain characters in bulk. */
+            final char[] chars = buffer;
+            final int limit = length;
+            int start = index;
+            int ix = start;
+            char ch = 0;
+            for (; ix < limit; ix++ ) {
+                ch = chars[ ix ];
+                if ( ch == '"' || ch == '\\' ) {
+                    break;
+                }
+            }
+            if ( ix > start ) {
+                text.add( chars, start, ix );
+            }
+            index = ix;
+
+            if ( ix == limit ) {
+                continue;
+            }
+
+            index++;
+            if ( ch == '"' ) {
+                return;
+            }
+            readEscape();
+        }
+    }
+
+    private void readEscape() {
+        int ch = read();
+        switch ( ch ) {
+            case '"':
+            case '\\':
+            case '/':
+                text.add( ( char ) ch );
+                break;
+            case 'b':
+                text.add( '\b' );
+                break;
+            case 'f':
+                text.add( '\f' );
+                break;
+            case 'n':
+                text.add( '\n' );
+                break;
+            case 'r':
+                text.add( '\r' );
+                break;
+            case 't':
+                text.add( '\t' );
+                break;
+            case 'u':
+                int value = 0;
+                for ( int i = 0; i < 4; i++ ) {
+                    value = ( value << 4 ) | hexValue( read() );
+                }
+                text.add( ( char ) value );
+                break;
+            default:
+                complain( "illegal escape " + describe( ch ) );
+        }
+    }
+
+    private int hexValue( int ch ) {
+        if ( ch >= '0' && ch <= '9' ) {
+            return ch - '0';
+        } else if ( ch >= 'a' && ch <= 'f' ) {
+            return ch - 'a' + 10;
+        } else if ( ch >= 'A' && ch <= 'F' ) {
+            return ch - 'A' + 10;
+        }
+        return complain( int.class, "illegal hex digit in unicode escape " + describe( ch ) );
+    }
+
+    private void skipString() {
+        while ( true ) {
+            int ch = read();
+            if ( ch == '"' ) {
+                return;
+            } else if ( ch == '\\' ) {
+                read();
+            } else if ( ch == -1 ) {
+                complain( "unterminated string" );
+            }
+        }
+    }
+
+    private void readNumberContent( int first ) {
+        text.recycle();
+        text.add( ( char ) first );
+
+        while ( true ) {
+            int ch = peek();
+            if ( CharScanner.isNumberDigit( ch ) || ch == '.' || ch == 'e' || ch == 'E' || ch == '-' || ch == '+' ) {
+                text.add( ( char ) ch );
+                index++;
+            } else {
+                break;
+            }
+        }
+
+        if ( first == '-' && text.len() == 1 ) {
+            complain( "expecting digits after '-'" );
+        }
+    }
+
+    private void expectWord( String rest ) {
+        for ( int i = 0; i < rest.length(); i++ ) {
+            int ch = read();
+            if ( ch != rest.charAt( i ) ) {
+                complain( "unexpected " + describe( ch ) + " while reading literal" );
+            }
+        }
+    }
+
+    private void expectNumber() {
+        if ( token != JsonToken.NUMBER ) {
+            complain( "current token " + token + " is not a number" );
+        }
+    }
+
+    private static boolean isWholeNumber( char[] chars, int len ) {
+        for ( int i = 0; i < len; i++ ) {
+            char ch = chars[ i ];
+            if ( ch == '.' || ch == 'e' || ch == 'E' ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private int nextNonWhiteSpace() {
+        while ( true ) {
+            if ( index >= length && !fill() ) {
+                return -1;
+            }
+            char ch = buffer[ index++ ];
+            if ( ch > 32 ) {
+                return ch;
+            }
+        }
+    }
+
+    private int read() {
+        if ( index >= length && !fill() ) {
+            return -1;
+        }
+        return buffer[ index++ ];
+    }
+
+    private int peek() {
+        if ( index >= length && !fill() ) {
+            return -1;
+        }
+        return buffer[ index ];
+    }
+
+    private boolean fill() {
+        if ( done ) {
+            return false;
+        }
+        try {
+            int count;
+            do {
+                count = reader.read( buffer, 0, buffer.length );
+            } while ( count == 0 );
+
+            consumed += length;
+            index = 0;
+            if ( count == -1 ) {
+                done = true;
+                length = 0;
+                return false;
+            }
+            length = count;
+            return true;
+        } catch ( IOException ex ) {
+            throw new JsonException( "unable to read JSON input at character " + location(), ex );
+        }
+    }
+
+
+    private String describe( int ch ) {
+        return ch == -1 ? "end of input" : CharScanner.debugCharDescription( ch );
+    }
+
+    private void complain( String complaint ) {
+        complain( Object.class, complaint );
+    }
+
+    private <T> T complain( Class<T> type, String complaint ) {
+        int errorIndex = index > 0 ? index - 1 : 0;
+        throw new JsonException( CharScanner.errorDetails( complaint + " at character " + location(),
+                buffer, errorIndex, errorIndex < length ? buffer[ errorIndex ] : ' ' ) );
+    }
+}
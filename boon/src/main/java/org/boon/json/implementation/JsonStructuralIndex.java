@@ -0,0 +1,276 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.core.reflection.FastStringUtils;
+import sun.misc.Unsafe;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Stage one of the two stage UTF-8 parser: indexes the string boundaries of a JSON document
+ * 64 bytes at a time.
+ *
+ * Each 64 byte block is read as eight longs, and the quotes and backslashes are picked out
+ * with SWAR (SIMD within a register) arithmetic, eight bytes per operation with no branches,
+ * into one 64 bit mask per byte class. Escaped quotes are removed by tracking odd runs of
+ * backslashes. A prefix XOR over the quote bits then marks which bytes are inside strings,
+ * and the result is a sorted list of positions:
+ * <ul>
+ *     <li>the opening and closing quote of every string,</li>
+ *     <li>the backslash that starts each escape sequence inside a string.</li>
+ * </ul>
+ * So stage two knows where a string ends, and whether it has escapes, without reading its
+ * bytes. The same pass keeps a bitmap of the non-ASCII bytes in the current window. With it,
+ * stage two can build ASCII strings without going through a UTF-8 decoder.
+ *
+ * The brackets, colons and commas are left out on purpose. Stage two has to read the byte
+ * after each value anyway, and classifying four more byte values here halved the
+ * throughput of this pass for no gain.
+ *
+ * The document is indexed one window at a time, so memory stays fixed however large the
+ * input is. Backslash and string state carry over from one block to the next.
+ */
+public final class JsonStructuralIndex {
+
+    /** Bytes indexed per refill, a multiple of the 64 byte block. */
+    static final int WINDOW = 64 * 1024;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH = 0x8080808080808080L;
+
+    private static final long QUOTES = ONES * '"';
+    private static final long BACKSLASHES = ONES * '\\';
+
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final long ODD_BITS = ~EVEN_BITS;
+
+    private static final Unsafe UNSAFE =
+            ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? FastStringUtils.UNSAFE : null;
+    private static final long BYTE_ARRAY_OFFSET = UNSAFE == null ? 0 : UNSAFE.arrayBaseOffset( byte[].class );
+
+
+    private byte[] bytes;
+    private int end;
+    private int scanned;
+
+    private long inString;
+    private long oddBackslash;
+
+    private final int window;
+    private final int[] positions;
+    private int count;
+    private int cursor;
+
+    private final long[] nonAscii;
+    private int windowStart;
+
+    private final byte[] tail = new byte[ 64 ];
+
+
+    public JsonStructuralIndex() {
+        this( WINDOW );
+    }
+
+    /** The window is rounded up to whole 64 byte blocks; smaller windows suit small documents. */
+    public JsonStructuralIndex( int window ) {
+        this.window = Math.max( 64, ( window + 63 ) & ~63 );
+        this.positions = new int[ this.window ];
+        this.nonAscii = new long[ this.window / 64 ];
+    }
+
+
+    public JsonStructuralIndex reset( byte[] bytes, int start, int end ) {
+        this.bytes = bytes;
+        this.end = end;
+        this.scanned = start;
+        this.inString = 0;
+        this.oddBackslash = 0;
+        this.count = 0;
+        this.cursor = 0;
+        return this;
+    }
+
+
+    /** Returns the next indexed position, or -1 at the end of the document. */
+    public int next() {
+        if ( cursor == count && !fill() ) {
+            return -1;
+        }
+        return positions[ cursor++ ];
+    }
+
+
+    /**
+     * True when bytes[start, end) are all ASCII. The range must end at or before the last
+     * position returned; a range that starts in an earlier window reports false.
+     */
+    public boolean ascii( final int start, final int end ) {
+        if ( start < windowStart ) {
+            return false;
+        }
+        if ( end <= start ) {
+            return true;
+        }
+        final int from = start - windowStart;
+        final int to = end - windowStart - 1;
+
+        int word = from >>> 6;
+        final int lastWord = to >>> 6;
+        long bits = nonAscii[ word ] & ( -1L << from );
+        while ( word < lastWord ) {
+            if ( bits != 0 ) {
+                return false;
+            }
+            bits = nonAscii[ ++word ];
+        }
+        return ( bits & ( -1L >>> ( 63 - ( to & 63 ) ) ) ) == 0;
+    }
+
+
+    private boolean fill() {
+        count = 0;
+        cursor = 0;
+
+        while ( count == 0 && scanned < end ) {
+            final int limit = Math.min( end, scanned + window );
+            int block = scanned;
+            windowStart = block;
+            for ( ; block + 64 <= limit; block += 64 ) {
+                index( bytes, block, block );
+            }
+            if ( block < limit ) {
+                Arrays.fill( tail, ( byte ) ' ' );
+                System.arraycopy( bytes, block, tail, 0, limit - block );
+                index( tail, 0, block );
+                block = limit;
+            }
+            scanned = block;
+        }
+        return count > 0;
+    }
+
+
+    private void index( final byte[] array, final int offset, final int base ) {
+
+        long quoteBits = 0;
+        long backslashBits = 0;
+        long highBits = 0;
+
+        for ( int word = 0; word < 8; word++ ) {
+            final long w = load( array, offset + ( word << 3 ) );
+            final int shift = word << 3;
+            quoteBits |= gather( equal( w, QUOTES ) ) << shift;
+            backslashBits |= gather( equal( w, BACKSLASHES ) ) << shift;
+            highBits |= gather( w & HIGH ) << shift;
+        }
+
+        nonAscii[ ( base - windowStart ) >>> 6 ] = highBits;
+
+        long escapeStarts = 0;
+        if ( backslashBits != 0 || oddBackslash != 0 ) {
+            final long escaped = escapedBytes( backslashBits );
+            quoteBits &= ~escaped;
+            escapeStarts = backslashBits & ~escaped;
+        }
+
+        final long stringMask = prefixXor( quoteBits ) ^ inString;
+        inString = stringMask >> 63;
+
+        emit( quoteBits | ( escapeStarts & stringMask ), base );
+    }
+
+
+    /** Marks the bytes escaped by an odd run of backslashes, carrying runs across blocks. */
+    private long escapedBytes( final long backslashBits ) {
+        final long startEdges = backslashBits & ~( backslashBits << 1 );
+        final long evenStartMask = EVEN_BITS ^ oddBackslash;
+        final long evenStarts = startEdges & evenStartMask;
+        final long oddStarts = startEdges & ~evenStartMask;
+
+        final long evenCarries = backslashBits + evenStarts;
+        long oddCarries = backslashBits + oddStarts;
+        /* Unsigned oddCarries < backslashBits, the add overflowed. The sign flip keeps this Java 7. */
+        final boolean endsOdd = oddCarries + Long.MIN_VALUE < backslashBits + Long.MIN_VALUE;
+        oddCarries |= oddBackslash;
+        oddBackslash = endsOdd ? 1L : 0L;
+
+        final long evenCarryEnds = evenCarries & ~backslashBits;
+        final long oddCarryEnds = oddCarries & ~backslashBits;
+        return ( evenCarryEnds & ODD_BITS ) | ( oddCarryEnds & EVEN_BITS );
+    }
+
+
+    private void emit( long bits, final int base ) {
+        final int[] positions = this.positions;
+        int count = this.count;
+        while ( bits != 0 ) {
+            positions[ count++ ] = base + Long.numberOfTrailingZeros( bits );
+            bits &= bits - 1;
+        }
+        this.count = count;
+    }
+
+
+    /** High bit of each byte set where the byte equals the pattern byte, with no false hits. */
+    private static long equal( final long word, final long pattern ) {
+        final long x = word ^ pattern;
+        return ~( ( ( x & LOW7 ) + LOW7 ) | x ) & HIGH;
+    }
+
+    /** Moves the high bit of byte i to bit i. */
+    private static long gather( final long highBits ) {
+        return ( ( highBits >>> 7 ) * 0x0102040810204080L ) >>> 56;
+    }
+
+    private static long prefixXor( long bits ) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+
+    private static long load( final byte[] array, final int index ) {
+        if ( UNSAFE != null ) {
+            return UNSAFE.getLong( array, BYTE_ARRAY_OFFSET + index );
+        }
+        return ( array[ index ] & 0xFFL )
+                | ( array[ index + 1 ] & 0xFFL ) << 8
+                | ( array[ index + 2 ] & 0xFFL ) << 16
+                | ( array[ index + 3 ] & 0xFFL ) << 24
+                | ( array[ index + 4 ] & 0xFFL ) << 32
+                | ( array[ index + 5 ] & 0xFFL ) << 40
+                | ( array[ index + 6 ] & 0xFFL ) << 48
+                | ( array[ index + 7 ] & 0xFFL ) << 56;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.collections.LazyMap;
+import org.boon.primitive.ByteScanner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Two stage UTF-8 parser. Stage one, JsonStructuralIndex, finds the string boundaries with
+ * word wide scans. This class is stage two: it walks the tokens and takes each string's
+ * end from the index, building the same maps and lists JsonUTF8Parser builds. String
+ * bodies, which make up most of a typical document, are never scanned byte by byte. Only
+ * the punctuation, the short gaps between tokens and the scalar values are read here.
+ */
+public class JsonStructuralParser extends JsonUTF8Parser {
+
+    private final JsonStructuralIndex index = new JsonStructuralIndex();
+
+    /* Set by closingQuote() when the string it found has escape sequences. */
+    private boolean escaped;
+
+
+    @Override
+    protected Object decode( byte[] cs ) {
+        return parse( cs, 0, cs.length );
+    }
+
+
+    @Override
+    public Object parse( byte[] bytes, int start, int end ) {
+
+        lastIndex = end - 1;
+        charArray = bytes;
+        __index = start;
+        index.reset( bytes, start, end );
+
+        skipGap( );
+        if ( __index > lastIndex ) {
+            return null;
+        }
+        return value( );
+    }
+
+
+    private void skipGap( ) {
+        final byte[] array = charArray;
+        int ix = __index;
+        while ( ix <= lastIndex && ( array[ ix ] & 0xFF ) <= 32 ) {
+            ix++;
+        }
+        __index = ix;
+        __currentChar = ix <= lastIndex ? array[ ix ] : 0;
+    }
+
+
+
+    private Object value( ) {
+
+        switch ( __currentChar ) {
+            case DOUBLE_QUOTE:
+                return string( );
+
+            case OPEN_CURLY:
+                return object( );
+
+            case OPEN_BRACKET:
+                return array( );
+
+            case LETTER_T:
+                return decodeTrue( );
+
+            case LETTER_F:
+                return decodeFalse( );
+
+            case LETTER_N:
+                return decodeNull( );
+
+            case ALPHA_0:
+            case ALPHA_1:
+            case ALPHA_2:
+            case ALPHA_3:
+            case ALPHA_4:
+            case ALPHA_5:
+            case ALPHA_6:
+            case ALPHA_7:
+            case ALPHA_8:
+            case ALPHA_9:
+            case MINUS:
+                Number number = ByteScanner.parseJsonNumber( charArray, __index, lastIndex + 1, endIndex );
+                __index = endIndex[ 0 ];
+                return number;
+
+            default:
+                complain( "Unable to determine the " +
+                        "current character, it is not a string, number, array, or object" );
+                return null;
+        }
+    }
+
+
+    /** Returns the position of the closing quote of the string opening at the current byte. */
+    private int closingQuote( ) {
+        if ( index.next( ) != __index ) {
+            complain( "unexpected character " + charDescription( __currentChar ) );
+        }
+
+        int close = index.next( );
+        if ( close >= 0 && charArray[ close ] == ESCAPE ) {
+            do {
+                close = index.next( );
+            } while ( close >= 0 && charArray[ close ] != DOUBLE_QUOTE );
+            escaped = true;
+        } else {
+            escaped = false;
+        }
+
+        if ( close < 0 ) {
+            complain( "unterminated string" );
+        }
+        return close;
+    }
+
+
+    private String string( ) {
+        final int start = __index + 1;
+        final int close = closingQuote( );
+
+        String value;
+        if ( escaped ) {
+            value = builder.decodeJsonString( charArray, start, close ).toString( );
+            builder.recycle( );
+        } else {
+            value = newString( start, close );
+        }
+        __index = close + 1;
+        return value;
+    }
+
+
+    @SuppressWarnings( "deprecation" )
+    private String newString( final int start, final int end ) {
+        if ( index.ascii( start, end ) ) {
+            /* Widens each byte to a char, no decoder needed. */
+            return new String( charArray, 0, start, end - start );
+        }
+        return new String( charArray, start, end - start, StandardCharsets.UTF_8 );
+    }
+
+
+    private String key( ) {
+        final int start = __index + 1;
+        final int close = closingQuote( );
+
+        String key;
+        if ( escaped ) {
+            key = builder.decodeJsonString( charArray, start, close ).toString( );
+            builder.recycle( );
+        } else if ( keyTable != null ) {
+            key = keyTable.get( charArray, start, close );
+        } else {
+            key = newString( start, close );
+        }
+        __index = close + 1;
+
+        if ( internKeys ) {
+            String keyPrime = internedKeysCache.get( key );
+            if ( keyPrime == null ) {
+                key = key.intern( );
+                internedKeysCache.put( key, key );
+            } else {
+                key = keyPrime;
+            }
+        }
+        return key;
+    }
+
+
+    private Object object( ) {
+
+        __index++;
+        LazyMap map = new LazyMap( );
+
+        skipGap( );
+        while ( __currentChar == DOUBLE_QUOTE ) {
+
+            String key = key( );
+
+            skipGap( );
+            if ( __currentChar != COLON ) {
+                complain( "expecting current character to be " + charDescription( __currentChar ) + "\n" );
+            }
+            __index++;
+
+            skipGap( );
+            map.put( key, value( ) );
+
+            skipGap( );
+            if ( __currentChar != COMMA ) {
+                break;
+            }
+            __index++;
+            skipGap( );
+        }
+
+        if ( __currentChar != CLOSED_CURLY ) {
+            complain( "expecting '}' or ',' but got current char " + charDescription( __currentChar ) );
+        }
+        __index++;
+        return map;
+    }
+
+
+    private List<Object> array( ) {
+
+        __index++;
+
+        skipGap( );
+        if ( __currentChar == CLOSED_BRACKET ) {
+            __index++;
+            return Collections.EMPTY_LIST;
+        }
+
+        List<Object> list = new ArrayList<>( );
+        for ( ; ; ) {
+            list.add( value( ) );
+
+            skipGap( );
+            if ( __currentChar == COMMA ) {
+                __index++;
+                skipGap( );
+                continue;
+            }
+            if ( __currentChar == CLOSED_BRACKET ) {
+                __index++;
+                return list;
+            }
+            complain( String.format( "expecting a ',' or a ']', " +
+                    " but got \nthe current character of  %s " +
+                    " on array index of %s \n", charDescription( __currentChar ), list.size( ) ) );
+        }
+    }
+}
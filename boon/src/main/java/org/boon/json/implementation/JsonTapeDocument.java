@@ -0,0 +1,514 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.implementation;
+
+import org.boon.StringScanner;
+import org.boon.collections.LazyMap;
+import org.boon.json.JsonDocument;
+import org.boon.json.JsonException;
+import org.boon.primitive.ByteScanner;
+import org.boon.primitive.CharBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonDocument over a tape of value offsets into the original UTF-8 bytes.
+ *
+ * Building the tape is one pass that allocates nothing per value. String ends come from
+ * JsonStructuralIndex. The tape has two ints per entry, the byte offset where the entry
+ * starts and then:
+ * <ul>
+ *     <li>for <code>{</code> and <code>[</code>, the entry index of the matching close, so a
+ *     whole subtree is skipped in one step,</li>
+ *     <li>for the closing <code>}</code> and <code>]</code>, the entry index of the open,</li>
+ *     <li>for strings, numbers and literals, the end offset; strings with escapes also
+ *     carry the ESCAPED bit.</li>
+ * </ul>
+ * Object members are a key entry followed by a value entry. Field names are compared as
+ * bytes, so a lookup only allocates for the value it returns.
+ *
+ * The document never changes after it is built and is safe to read from many threads.
+ */
+public class JsonTapeDocument implements JsonDocument {
+
+    private static final int ESCAPED = Integer.MIN_VALUE;
+
+    /* Window for the string index; tape documents are usually small, so keep it cheap. */
+    private static final int INDEX_WINDOW = 1024;
+
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private static final ConcurrentHashMap<String, Path> paths = new ConcurrentHashMap<>();
+
+    private final byte[] bytes;
+    private final int[] tape;
+    private final int entries;
+
+
+    public JsonTapeDocument( byte[] bytes ) {
+        this( bytes, 0, bytes.length );
+    }
+
+    public JsonTapeDocument( byte[] bytes, int start, int end ) {
+        this.bytes = bytes;
+        TapeBuilder builder = new TapeBuilder( bytes, start, end );
+        this.tape = builder.tape;
+        this.entries = builder.entries;
+    }
+
+
+    @Override
+    public Object atIndex( String path ) {
+        return entries == 0 ? null : value( 0, path( path ), 0 );
+    }
+
+    @Override
+    public boolean has( String path ) {
+        return entries != 0 && has( 0, path( path ), 0 );
+    }
+
+    @Override
+    public Object toValue() {
+        return entries == 0 ? null : decode( 0 );
+    }
+
+
+    private Object value( int entry, Path path, int segment ) {
+
+        for ( ; segment < path.names.length; segment++ ) {
+            final int c = bytes[ tape[ entry << 1 ] ];
+
+            if ( c == '{' ) {
+                entry = member( entry, path, segment );
+            } else if ( c == '[' ) {
+                final int element = path.indexes[ segment ];
+                if ( element < 0 ) {
+                    List<Object> list = new ArrayList<>();
+                    for ( int item = entry + 1; item < link( entry ); item = next( item ) ) {
+                        list.add( value( item, path, segment ) );
+                    }
+                    return list;
+                }
+                entry = element( entry, element );
+            } else {
+                return null;
+            }
+
+            if ( entry < 0 ) {
+                return null;
+            }
+        }
+        return decode( entry );
+    }
+
+
+    private boolean has( int entry, Path path, int segment ) {
+
+        for ( ; segment < path.names.length; segment++ ) {
+            final int c = bytes[ tape[ entry << 1 ] ];
+
+            if ( c == '{' ) {
+                entry = member( entry, path, segment );
+            } else if ( c == '[' ) {
+                final int element = path.indexes[ segment ];
+                if ( element < 0 ) {
+                    for ( int item = entry + 1; item < link( entry ); item = next( item ) ) {
+                        if ( has( item, path, segment ) ) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                entry = element( entry, element );
+            } else {
+                return false;
+            }
+
+            if ( entry < 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private int link( int entry ) {
+        return tape[ ( entry << 1 ) + 1 ];
+    }
+
+    private int end( int entry ) {
+        return tape[ ( entry << 1 ) + 1 ] & ~ESCAPED;
+    }
+
+    /** Index of the entry after this one's value, stepping over whole containers. */
+    private int next( int entry ) {
+        final int c = bytes[ tape[ entry << 1 ] ];
+        return c == '{' || c == '[' ? link( entry ) + 1 : entry + 1;
+    }
+
+
+    /** Value entry of the named member, or -1. */
+    private int member( int object, Path path, int segment ) {
+        final byte[] name = path.utf8[ segment ];
+        final int close = link( object );
+
+        for ( int key = object + 1; key < close; key = next( key + 1 ) ) {
+            final int start = tape[ key << 1 ] + 1;
+            final int slot = tape[ ( key << 1 ) + 1 ];
+
+            if ( ( slot & ESCAPED ) != 0 ) {
+                if ( string( key ).equals( path.names[ segment ] ) ) {
+                    return key + 1;
+                }
+            } else if ( slot - 1 - start == name.length && matches( name, start ) ) {
+                return key + 1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches( final byte[] name, final int start ) {
+        final byte[] array = bytes;
+        for ( int index = 0; index < name.length; index++ ) {
+            if ( array[ start + index ] != name[ index ] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int element( int array, int element ) {
+        final int close = link( array );
+        for ( int item = array + 1; item < close; item = next( item ) ) {
+            if ( element-- == 0 ) {
+                return item;
+            }
+        }
+        return -1;
+    }
+
+
+    private Object decode( int entry ) {
+
+        final int start = tape[ entry << 1 ];
+
+        switch ( bytes[ start ] ) {
+            case '{': {
+                final int close = link( entry );
+                LazyMap map = new LazyMap();
+                for ( int key = entry + 1; key < close; key = next( key + 1 ) ) {
+                    map.put( string( key ), decode( key + 1 ) );
+                }
+                return map;
+            }
+
+            case '[': {
+                final int close = link( entry );
+                if ( close == entry + 1 ) {
+                    return Collections.EMPTY_LIST;
+                }
+                List<Object> list = new ArrayList<>();
+                for ( int item = entry + 1; item < close; item = next( item ) ) {
+                    list.add( decode( item ) );
+                }
+                return list;
+            }
+
+            case '"':
+                return string( entry );
+
+            case 't':
+                return Boolean.TRUE;
+
+            case 'f':
+                return Boolean.FALSE;
+
+            case 'n':
+                return null;
+
+            default:
+                return ByteScanner.parseJsonNumber( bytes, start, end( entry ) );
+        }
+    }
+
+
+    private String string( int entry ) {
+        final int start = tape[ entry << 1 ] + 1;
+        final int slot = tape[ ( entry << 1 ) + 1 ];
+        final int end = ( slot & ~ESCAPED ) - 1;
+
+        if ( ( slot & ESCAPED ) != 0 ) {
+            return CharBuf.create( end - start ).decodeJsonString( bytes, start, end ).toString();
+        }
+        return new String( bytes, start, end - start, StandardCharsets.UTF_8 );
+    }
+
+
+    private static Path path( String path ) {
+        Path parsed = paths.get( path );
+        if ( parsed == null ) {
+            parsed = new Path( path );
+            if ( paths.size() < MAX_CACHED_PATHS ) {
+                paths.put( path, parsed );
+            }
+        }
+        return parsed;
+    }
+
+
+    /** A split property path with each name pre-encoded and array indexes pre-parsed. */
+    private static final class Path {
+        final String[] names;
+        final byte[][] utf8;
+        final int[] indexes;
+
+        Path( String path ) {
+            names = StringScanner.splitByCharsNoneEmpty( path, '.', '[', ']', '/' );
+            utf8 = new byte[ names.length ][];
+            indexes = new int[ names.length ];
+            for ( int index = 0; index < names.length; index++ ) {
+                utf8[ index ] = names[ index ].getBytes( StandardCharsets.UTF_8 );
+                indexes[ index ] = arrayIndex( names[ index ] );
+            }
+        }
+
+        private static int arrayIndex( String name ) {
+            if ( name.isEmpty() || name.length() > 9 ) {
+                return -1;
+            }
+            for ( int index = 0; index < name.length(); index++ ) {
+                char c = name.charAt( index );
+                if ( c < '0' || c > '9' ) {
+                    return -1;
+                }
+            }
+            return Integer.parseInt( name );
+        }
+    }
+
+
+    /** One pass over the bytes that records the tape. */
+    private static final class TapeBuilder {
+
+        private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+        private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+        private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+
+        private final byte[] bytes;
+        private final int end;
+        private final JsonStructuralIndex index;
+
+        int[] tape;
+        int entries;
+
+        private int[] open = new int[ 16 ];
+        private int depth;
+
+
+        TapeBuilder( byte[] bytes, int start, int end ) {
+            this.bytes = bytes;
+            this.end = end;
+            this.index = new JsonStructuralIndex( Math.min( INDEX_WINDOW, end - start ) ).reset( bytes, start, end );
+            this.tape = new int[ Math.max( 16, ( end - start ) / 4 ) ];
+
+            int position = skip( start );
+            if ( position < end ) {
+                build( position );
+            }
+        }
+
+
+        private void build( int position ) {
+
+            final byte[] array = bytes;
+            boolean key = false;
+
+            for ( ; ; ) {
+
+                if ( key ) {
+                    if ( position >= end || array[ position ] != '"' ) {
+                        complain( "expecting a field name", position );
+                    }
+                    position = skip( string( position ) );
+                    if ( position >= end || array[ position ] != ':' ) {
+                        complain( "expecting ':'", position );
+                    }
+                    position = skip( position + 1 );
+                }
+
+                if ( position >= end ) {
+                    complain( "unexpected end of document", position );
+                }
+
+                final int c = array[ position ];
+                switch ( c ) {
+                    case '{':
+                    case '[':
+                        push( add( position, 0 ) );
+                        position = skip( position + 1 );
+                        if ( position < end && array[ position ] == c + 2 ) {
+                            break;
+                        }
+                        key = c == '{';
+                        continue;
+
+                    case '"':
+                        position = string( position );
+                        break;
+
+                    case 't':
+                        position = literal( position, TRUE );
+                        break;
+
+                    case 'f':
+                        position = literal( position, FALSE );
+                        break;
+
+                    case 'n':
+                        position = literal( position, NULL );
+                        break;
+
+                    default:
+                        position = number( position );
+                }
+
+                /* After a value: close containers until a comma or the end of the root. */
+                for ( ; ; ) {
+                    position = skip( position );
+                    if ( depth == 0 ) {
+                        return;
+                    }
+                    if ( position >= end ) {
+                        complain( "unexpected end of document", position );
+                    }
+
+                    final int container = open[ depth - 1 ];
+                    final int opener = array[ tape[ container << 1 ] ];
+                    final int current = array[ position ];
+
+                    if ( current == ',' ) {
+                        position = skip( position + 1 );
+                        key = opener == '{';
+                        break;
+                    }
+                    if ( current == opener + 2 ) {
+                        final int close = add( position, container );
+                        tape[ ( container << 1 ) + 1 ] = close;
+                        depth--;
+                        position++;
+                        continue;
+                    }
+                    complain( opener == '{' ? "expecting '}' or ','" : "expecting ']' or ','", position );
+                }
+            }
+        }
+
+
+        private int string( int position ) {
+            if ( index.next() != position ) {
+                complain( "unexpected character", position );
+            }
+            int close = index.next();
+            int escaped = 0;
+            while ( close >= 0 && bytes[ close ] == '\\' ) {
+                escaped = ESCAPED;
+                close = index.next();
+            }
+            if ( close < 0 ) {
+                complain( "unterminated string", position );
+            }
+            add( position, ( close + 1 ) | escaped );
+            return close + 1;
+        }
+
+        private int literal( int position, byte[] literal ) {
+            if ( position + literal.length > end ) {
+                complain( "unexpected end of document", position );
+            }
+            for ( int index = 0; index < literal.length; index++ ) {
+                if ( bytes[ position + index ] != literal[ index ] ) {
+                    complain( "expecting " + new String( literal, StandardCharsets.US_ASCII ), position );
+                }
+            }
+            add( position, position + literal.length );
+            return position + literal.length;
+        }
+
+        private int number( int position ) {
+            int index = position;
+            for ( ; index < end; index++ ) {
+                final int c = bytes[ index ];
+                if ( ( c >= '0' && c <= '9' ) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' ) {
+                    continue;
+                }
+                break;
+            }
+            if ( index == position ) {
+                complain( "Unable to determine the current character, it is not a string, number, array, or object",
+                        position );
+            }
+            add( position, index );
+            return index;
+        }
+
+
+        private int add( int start, int slot ) {
+            final int at = entries << 1;
+            if ( at + 2 > tape.length ) {
+                tape = Arrays.copyOf( tape, tape.length << 1 );
+            }
+            tape[ at ] = start;
+            tape[ at + 1 ] = slot;
+            return entries++;
+        }
+
+        private void push( int entry ) {
+            if ( depth == open.length ) {
+                open = Arrays.copyOf( open, depth << 1 );
+            }
+            open[ depth++ ] = entry;
+        }
+
+        private int skip( int position ) {
+            while ( position < end && ( bytes[ position ] & 0xFF ) <= 32 ) {
+                position++;
+            }
+            return position;
+        }
+
+        private void complain( String message, int position ) {
+            final int at = Math.min( position, bytes.length - 1 );
+            throw new JsonException( ByteScanner.errorDetails( message, bytes, at, at < 0 ? 0 : bytes[ at ] ) );
+        }
+    }
+}
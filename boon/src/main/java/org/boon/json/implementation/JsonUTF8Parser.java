@@ -66,7 +66,7 @@ public class JsonUTF8Parser extends JsonBaseByteArrayParser {
             value = new String( array, startIndex, ( index - startIndex ) );
         }
 
-        if ( index < charArray.length ) {
+        if ( index <= lastIndex ) {
             index++;
         }
         __index = index;
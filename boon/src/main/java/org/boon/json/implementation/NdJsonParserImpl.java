@@ -0,0 +1,308 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json.implementation;
+
+import org.boon.IO;
+import org.boon.core.Value;
+import org.boon.json.JsonException;
+import org.boon.json.JsonParserAndMapper;
+import org.boon.json.JsonParserFactory;
+import org.boon.json.NdJsonParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * NdJsonParser that splits its input into chunks of about chunkSize bytes, always
+ * ending a chunk after a newline, and parses the chunks on a ForkJoinPool.
+ *
+ * Every pool thread keeps its own parser, made by the factory the first time the thread
+ * parses a line, so interned keys and the mapping options set on the factory apply to
+ * every line. For strict UTF-8 input that is the factory's UTF-8 byte parser, and each
+ * line is parsed where it lies in the chunk. Lax parsing and other charsets need the
+ * factory's create() parser, which is handed a copy of each line. For memory mapped files
+ * each thread also keeps the buffer the chunk is copied into. Files are mapped in windows so files larger than
+ * 2 GB can be read; a single line may not be longer than a window.
+ */
+public class NdJsonParserImpl implements NdJsonParser {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+
+    private static final int WINDOW_SIZE = 512 * 1024 * 1024;
+
+    private final JsonParserFactory factory;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /* The UTF-8 byte parser has no lax mode, and only reads UTF-8. */
+    private final boolean inPlace;
+
+    private final ThreadLocal<Worker> workers = new ThreadLocal<Worker>() {
+        @Override
+        protected Worker initialValue() {
+            return inPlace ? new Worker( ( BaseJsonParserAndMapper ) factory.createUTF8DirectByteParser() )
+                    : new Worker( factory.create() );
+        }
+    };
+
+
+    public NdJsonParserImpl( JsonParserFactory factory, ForkJoinPool pool, int chunkSize ) {
+        this.factory = factory;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+
+        final Charset charset = factory.getCharset();
+        this.inPlace = !factory.isLax() && ( charset == null || StandardCharsets.UTF_8.equals( charset ) );
+    }
+
+
+    @Override
+    public List<Object> parse( byte[] bytes ) {
+        return parse( Object.class, bytes );
+    }
+
+    @Override
+    public <T> List<T> parse( final Class<T> type, final byte[] bytes ) {
+
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+
+        int start = 0;
+        while ( start < bytes.length ) {
+            final int chunkStart = start;
+            final int chunkEnd = chunkEnd( bytes, start );
+
+            tasks.add( pool.submit( new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    return parseLines( type, bytes, chunkStart, chunkEnd, chunkStart );
+                }
+            } ) );
+
+            start = chunkEnd;
+        }
+
+        return join( tasks, new ArrayList<T>() );
+    }
+
+    @Override
+    public List<Object> parseFile( String fileName ) {
+        return parseFile( Object.class, fileName );
+    }
+
+    @Override
+    public <T> List<T> parseFile( final Class<T> type, String fileName ) {
+
+        List<T> results = new ArrayList<>();
+
+        try ( FileChannel channel = FileChannel.open( IO.path( fileName ), StandardOpenOption.READ ) ) {
+
+            final long size = channel.size();
+            long position = 0;
+
+            while ( position < size ) {
+
+                final long windowPosition = position;
+                final MappedByteBuffer window = channel.map( FileChannel.MapMode.READ_ONLY,
+                        position, Math.min( WINDOW_SIZE, size - position ) );
+                final int windowLength = windowEnd( window, position + window.limit() == size );
+
+                List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+
+                int start = 0;
+                while ( start < windowLength ) {
+                    final int chunkStart = start;
+                    final int chunkEnd = chunkEnd( window, start, windowLength );
+
+                    tasks.add( pool.submit( new Callable<List<T>>() {
+                        @Override
+                        public List<T> call() {
+                            Worker worker = workers.get();
+                            byte[] buffer = worker.buffer( chunkEnd - chunkStart );
+                            ByteBuffer chunk = window.duplicate();
+                            chunk.position( chunkStart );
+                            chunk.get( buffer, 0, chunkEnd - chunkStart );
+                            return parseLines( type, buffer, 0, chunkEnd - chunkStart, windowPosition + chunkStart );
+                        }
+                    } ) );
+
+                    start = chunkEnd;
+                }
+
+                join( tasks, results );
+                position += windowLength;
+            }
+
+        } catch ( IOException ex ) {
+            throw new JsonException( "unable to read " + fileName, ex );
+        }
+
+        return results;
+    }
+
+
+    private <T> List<T> parseLines( Class<T> type, byte[] bytes, int start, int end, long offset ) {
+
+        Worker worker = workers.get();
+        List<T> results = new ArrayList<>();
+
+        int lineStart = start;
+        while ( lineStart < end ) {
+
+            int lineEnd = lineStart;
+            while ( lineEnd < end && bytes[ lineEnd ] != '\n' ) {
+                lineEnd++;
+            }
+
+            int valueStart = lineStart;
+            while ( valueStart < lineEnd && bytes[ valueStart ] <= 32 && bytes[ valueStart ] >= 0 ) {
+                valueStart++;
+            }
+
+            if ( valueStart < lineEnd ) {
+                try {
+                    results.add( worker.parse( type, bytes, valueStart, lineEnd ) );
+                } catch ( JsonException ex ) {
+                    throw new JsonException( "unable to parse the line starting at byte "
+                            + ( offset + lineStart - start ), ex );
+                }
+            }
+
+            lineStart = lineEnd + 1;
+        }
+
+        return results;
+    }
+
+    /** A line holding only a string or number comes back from the parser as a lazy Value. */
+    private static Object value( Object object ) {
+        return object instanceof Value ? ( ( Value ) object ).toValue() : object;
+    }
+
+    private int chunkEnd( byte[] bytes, int start ) {
+        int end = ( int ) Math.min( ( long ) start + chunkSize, bytes.length );
+        while ( end < bytes.length && bytes[ end - 1 ] != '\n' ) {
+            end++;
+        }
+        return end;
+    }
+
+    private int chunkEnd( MappedByteBuffer window, int start, int limit ) {
+        int end = ( int ) Math.min( ( long ) start + chunkSize, limit );
+        while ( end < limit && window.get( end - 1 ) != '\n' ) {
+            end++;
+        }
+        return end;
+    }
+
+    /** The window ends after its last newline unless it is the end of the file. */
+    private int windowEnd( MappedByteBuffer window, boolean endOfFile ) {
+        int end = window.limit();
+        if ( endOfFile ) {
+            return end;
+        }
+        while ( end > 0 && window.get( end - 1 ) != '\n' ) {
+            end--;
+        }
+        if ( end == 0 ) {
+            throw new JsonException( "line longer than " + WINDOW_SIZE + " bytes" );
+        }
+        return end;
+    }
+
+    private static <T> List<T> join( List<ForkJoinTask<List<T>>> tasks, List<T> results ) {
+        for ( ForkJoinTask<List<T>> task : tasks ) {
+            results.addAll( task.join() );
+        }
+        return results;
+    }
+
+
+    /**
+     * Pool used when the caller does not bring one, created the first time it is asked for.
+     */
+    public static ForkJoinPool defaultPool() {
+        return DefaultPool.POOL;
+    }
+
+    private static class DefaultPool {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+
+    private static class Worker {
+
+        /* Set when lines are parsed in place, with the mapper that converts them. */
+        final JsonBaseByteArrayParser lines;
+        final BaseJsonParserAndMapper mapper;
+
+        /* Set when each line is copied and parsed on its own. */
+        final JsonParserAndMapper parser;
+
+        Worker( BaseJsonParserAndMapper mapper ) {
+            this.lines = ( JsonBaseByteArrayParser ) mapper.parser;
+            this.mapper = mapper;
+            this.parser = null;
+        }
+
+        Worker( JsonParserAndMapper parser ) {
+            this.lines = null;
+            this.mapper = null;
+            this.parser = parser;
+        }
+
+        <T> T parse( Class<T> type, byte[] bytes, int start, int end ) {
+            if ( lines != null ) {
+                Object value = lines.parse( bytes, start, end );
+                return type == Object.class ? ( T ) value( value ) : mapper.convert( type, value );
+            }
+            byte[] line = Arrays.copyOfRange( bytes, start, end );
+            return type == Object.class ? ( T ) value( parser.parse( line ) ) : parser.parse( type, line );
+        }
+
+        private byte[] buffer = new byte[ DEFAULT_CHUNK_SIZE ];
+
+        byte[] buffer( int size ) {
+            if ( buffer.length < size ) {
+                buffer = new byte[ size ];
+            }
+            return buffer;
+        }
+    }
+}
@@ -31,23 +31,69 @@ package org.boon.json.implementation;
 import org.boon.Exceptions;
 import org.boon.IO;
 import org.boon.json.*;
+import org.boon.json.serializers.impl.JsonSimpleSerializerImpl;
+import org.boon.primitive.CharBuf;
+import org.boon.primitive.JsonByteBuf;
+import org.boon.primitive.StreamingCharBuf;
 
 import java.io.*;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 
+/**
+ * ObjectMapper over a parser factory and a serializer factory.
+ *
+ * By default every call gets a new parser or serializer from its factory. In pooled mode each
+ * thread keeps one parser and one serializer and hands them out again, so a call does not
+ * rebuild the parser stack and its scratch buffers. A call made while the
+ * thread's instance is still in use, say from inside a custom serializer, gets a new one as
+ * before. A pooled parser drops its read buffers each time it is handed back, since parsed
+ * values can point into them. A pooled serializer whose output buffer grew past the retain
+ * limit is dropped, so one large message does not pin its buffer for the life of the thread.
+ */
 public class ObjectMapperImpl implements ObjectMapper {
 
+    /** Largest serializer buffer, in chars or bytes, a pooled serializer keeps. */
+    public static final int DEFAULT_RETAIN_SIZE = 64 * 1024;
+
 
     private final JsonParserFactory parserFactory;
     private final JsonSerializerFactory serializerFactory;
 
+    private final ThreadLocal<Pooled> pool;
+    private final int retainSize;
+
+
     public ObjectMapperImpl (JsonParserFactory parserFactory, JsonSerializerFactory serializerFactory) {
 
         this.parserFactory = parserFactory;
         this.serializerFactory = serializerFactory;
+        this.pool = null;
+        this.retainSize = 0;
+
+    }
+
+    public ObjectMapperImpl (JsonParserFactory parserFactory, JsonSerializerFactory serializerFactory,
+                             boolean pooled) {
+        this( parserFactory, serializerFactory, pooled, DEFAULT_RETAIN_SIZE );
+    }
+
+    public ObjectMapperImpl (JsonParserFactory parserFactory, JsonSerializerFactory serializerFactory,
+                             boolean pooled, int retainSize) {
+
+        this.parserFactory = parserFactory;
+        this.serializerFactory = serializerFactory;
+        this.pool = pooled ? new ThreadLocal<Pooled>() {
+            @Override
+            protected Pooled initialValue() {
+                return new Pooled();
+            }
+        } : null;
+        this.retainSize = retainSize;
 
     }
 
@@ -55,172 +101,300 @@ public class ObjectMapperImpl implements ObjectMapper {
 
         this.parserFactory = new JsonParserFactory();
         this.serializerFactory = new JsonSerializerFactory();
+        this.pool = null;
+        this.retainSize = 0;
 
         this.serializerFactory.useFieldsOnly();
 
     }
 
 
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+
+    /** The instances one thread has out of the pool, and whether each is in use. */
+    private static final class Pooled {
+
+        private JsonParserAndMapper parser;
+        private boolean parserInUse;
+
+        private JsonSerializer serializer;
+        private boolean serializerInUse;
+    }
+
+
+    private JsonParserAndMapper borrowParser() {
+        if ( pool == null ) {
+            return parserFactory.create();
+        }
+
+        final Pooled pooled = pool.get();
+        if ( pooled.parserInUse ) {
+            return parserFactory.create();
+        }
+        if ( pooled.parser == null ) {
+            pooled.parser = parserFactory.create();
+        }
+        pooled.parserInUse = true;
+        return pooled.parser;
+    }
+
+    private void giveBack( JsonParserAndMapper parser ) {
+        if ( pool == null ) {
+            return;
+        }
+
+        final Pooled pooled = pool.get();
+        if ( pooled.parser == parser ) {
+            if ( parser instanceof JsonMappingParser ) {
+                ( ( JsonMappingParser ) parser ).releaseBuffers();
+            } else {
+                pooled.parser = null;
+            }
+            pooled.parserInUse = false;
+        }
+    }
+
+    private JsonSerializer borrowSerializer() {
+        if ( pool == null ) {
+            return serializerFactory.create();
+        }
+
+        final Pooled pooled = pool.get();
+        if ( pooled.serializerInUse ) {
+            return serializerFactory.create();
+        }
+        if ( pooled.serializer == null ) {
+            pooled.serializer = serializerFactory.create();
+        }
+        pooled.serializerInUse = true;
+        return pooled.serializer;
+    }
+
+    /** Hands the serializer back, with the buffer it serialized into or null if none. */
+    private void giveBack( JsonSerializer serializer, CharBuf used ) {
+        giveBack( serializer, used != null && used.capacity() > retainSize );
+    }
+
+    private void giveBack( JsonSerializer serializer, JsonByteBuf used ) {
+        giveBack( serializer, used != null && used.capacity() > retainSize );
+    }
+
+    /** Hands the serializer back, dropping it from the pool if its buffer grew too large to keep. */
+    private void giveBack( JsonSerializer serializer, boolean drop ) {
+        if ( pool == null ) {
+            return;
+        }
+
+        final Pooled pooled = pool.get();
+        if ( pooled.serializer == serializer ) {
+            if ( drop ) {
+                pooled.serializer = null;
+            }
+            pooled.serializerInUse = false;
+        }
+    }
+
+
     @Override
     public <T> T readValue( final String src, final Class<T> valueType ) {
-
-        return this.parserFactory.create().parse( valueType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( valueType, src );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public <T> T readValue( File src, Class<T> valueType ) {
-
-        return this.parserFactory.create().parseFile( valueType, src.toString() );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parseFile( valueType, src.toString() );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public <T> T readValue( byte[] src, Class<T> valueType ) {
-        return this.parserFactory.create().parse( valueType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( valueType, src );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public <T> T readValue( char[] src, Class<T> valueType ) {
-        return this.parserFactory.create().parse( valueType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( valueType, src );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public <T> T readValue( Reader src, Class<T> valueType ) {
-        return this.parserFactory.create().parse( valueType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( valueType, src );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public <T> T readValue( InputStream src, Class<T> valueType ) {
-        return this.parserFactory.create().parse( valueType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( valueType, src );
+        } finally {
+            giveBack( parser );
+        }
     }
 
-    @Override
-    public <T extends Collection<C>, C> T readValue( String src, Class<T> valueType, Class<C> componentType ) {
 
+    private static <T extends Collection<C>, C> T collection( Class<T> valueType, List<C> list ) {
         Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src ));
+        if ( type == Set.class ) {
+            return ( T ) new HashSet<>( list );
+        } else if ( type == LinkedHashSet.class ) {
+            return ( T ) new LinkedHashSet<>( list );
         } else {
-            return(T) this.parserFactory.create().parseList( componentType, src );
+            return ( T ) list;
+        }
+    }
+
+    @Override
+    public <T extends Collection<C>, C> T readValue( String src, Class<T> valueType, Class<C> componentType ) {
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( File src, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseListFromFile( componentType, src.toString() );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseListFromFile( componentType, src.toString() ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseListFromFile( componentType, src.toString() ));
-        } else {
-            return(T) this.parserFactory.create().parseListFromFile( componentType, src.toString() );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseListFromFile( componentType, src.toString() ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( byte[] src, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( char[] src, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( Reader src, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( InputStream src, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( byte[] src, Charset charset, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src, charset );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src, charset ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src, charset ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src, charset );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src, charset ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
     @Override
     public <T extends Collection<C>, C> T readValue( InputStream src, Charset charset, Class<T> valueType, Class<C> componentType ) {
-        Class<?> type = valueType;
-        if (type == List.class) {
-            return(T) this.parserFactory.create().parseList( componentType, src, charset );
-        } else if (type == Set.class) {
-            return (T) new HashSet(this.parserFactory.create().parseList( componentType, src, charset ));
-        } else if (type == LinkedHashSet.class) {
-            return (T) new LinkedHashSet<>(this.parserFactory.create().parseList( componentType, src, charset ));
-        } else {
-            return(T) this.parserFactory.create().parseList( componentType, src, charset );
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return collection( valueType, parser.parseList( componentType, src, charset ) );
+        } finally {
+            giveBack( parser );
         }
     }
 
+    /* The iterators keep reading after the call returns, so they get a parser of their own. */
+
+    @Override
+    public <C> JsonArrayIterator<C> readValues( Reader src, Class<C> componentType ) {
+        return this.parserFactory.create().iterateList( componentType, this.parserFactory.createTokenReader( src ) );
+    }
+
+    @Override
+    public <C> JsonArrayIterator<C> readValues( InputStream src, Class<C> componentType ) {
+        return this.parserFactory.create().iterateList( componentType, this.parserFactory.createTokenReader( src ) );
+    }
+
     @Override
     public void writeValue( File dest, Object value ) {
-        IO.write( IO.path( dest.toString() ), serializerFactory.create().serialize( value ).toString());
+        try ( OutputStream outputStream = Files.newOutputStream( IO.path( dest.toString() ) ) ) {
+            writeValue( outputStream, value );
+        } catch ( IOException e ) {
+            Exceptions.handle( e );
+        }
     }
 
     @Override
     public void writeValue( OutputStream dest, Object value ) {
+        write( StreamingCharBuf.create( dest ), value );
+    }
 
-        IO.writeNoClose( dest, serializerFactory.create().serialize( value ).toString() );
+    @Override
+    public void writeValue( WritableByteChannel dest, Object value ) {
+        write( StreamingCharBuf.create( dest ), value );
+    }
+
+    private void write( StreamingCharBuf out, Object value ) {
+        final JsonSerializer serializer = borrowSerializer();
+        try {
+            serializer.serialize( out, value );
+        } finally {
+            giveBack( serializer, false );
+            out.close();
+        }
     }
 
     @Override
     public void writeValue( Writer dest, Object value ) {
 
-        char [] chars =  serializerFactory.create().serialize( value ).toCharArray();
+        char [] chars =  writeValueAsCharArray( value );
 
         try {
             dest.write( chars );
@@ -231,22 +405,46 @@ public class ObjectMapperImpl implements ObjectMapper {
 
     @Override
     public String writeValueAsString( Object value ) {
-        return serializerFactory.create().serialize( value ).toString();
+        final JsonSerializer serializer = borrowSerializer();
+        CharBuf buf = null;
+        try {
+            buf = serializer.serialize( value );
+            return buf.toString();
+        } finally {
+            giveBack( serializer, buf );
+        }
     }
 
     @Override
     public char[] writeValueAsCharArray( Object value ) {
-        return serializerFactory.create().serialize( value ).toCharArray();
+        final JsonSerializer serializer = borrowSerializer();
+        CharBuf buf = null;
+        try {
+            buf = serializer.serialize( value );
+            return buf.toCharArray();
+        } finally {
+            giveBack( serializer, buf );
+        }
     }
 
     @Override
     public byte[] writeValueAsBytes( Object value ) {
-        return serializerFactory.create().serialize( value ).toString().getBytes( StandardCharsets.UTF_8 );
+        if ( serializerFactory.isSimpleSerializer() ) {
+            final JsonSimpleSerializerImpl serializer = ( JsonSimpleSerializerImpl ) borrowSerializer();
+            JsonByteBuf buf = null;
+            try {
+                buf = serializer.serializeUTF8( value );
+                return buf.toBytes();
+            } finally {
+                giveBack( serializer, buf );
+            }
+        }
+        return writeValueAsString( value ).getBytes( StandardCharsets.UTF_8 );
     }
 
     @Override
     public byte[] writeValueAsBytes( Object value, Charset charset ) {
-        return serializerFactory.create().serialize( value ).toString().getBytes( charset );
+        return writeValueAsString( value ).getBytes( charset );
     }
 
     @Override
@@ -300,26 +498,51 @@ public class ObjectMapperImpl implements ObjectMapper {
 
     @Override
     public Object fromJson( String json ) {
-        return parser().parse(json);
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( json );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public Object fromJson( Reader reader ) {
-        return parser().parse(reader);
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( reader );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public Object fromJson( byte[] bytes ) {
-        return parser().parse(bytes);
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( bytes );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public Object fromJson( char[] chars ) {
-        return parser().parse(chars);
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( chars );
+        } finally {
+            giveBack( parser );
+        }
     }
 
     @Override
     public Object fromJson( InputStream reader ) {
-        return parser().parse(reader);
+        final JsonParserAndMapper parser = borrowParser();
+        try {
+            return parser.parse( reader );
+        } finally {
+            giveBack( parser );
+        }
     }
 }
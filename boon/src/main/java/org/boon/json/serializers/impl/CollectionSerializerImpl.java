@@ -40,6 +40,17 @@ public class CollectionSerializerImpl implements CollectionSerializer, ArraySeri
 
     private static final char [] EMPTY_LIST_CHARS = {'[', ']'};
 
+    private final CollectionSliceSerializer slices;
+
+
+    public CollectionSerializerImpl () {
+        this.slices = null;
+    }
+
+    public CollectionSerializerImpl ( CollectionSliceSerializer slices ) {
+        this.slices = slices;
+    }
+
 
     @Override
     public final void serializeCollection ( JsonSerializerInternal serializer, Collection<?> collection, CharBuf builder ) {
@@ -48,9 +59,14 @@ public class CollectionSerializerImpl implements CollectionSerializer, ArraySeri
             return;
         }
 
+        if ( slices != null && slices.serializeCollection ( collection, builder ) ) {
+            return;
+        }
+
         builder.addChar( '[' );
         for ( Object o : collection ) {
             serializer.serializeObject ( o, builder );
+            builder.flushIfFull ();
             builder.addChar ( ',' );
         }
         builder.removeLastChar ();
@@ -69,6 +85,7 @@ public class CollectionSerializerImpl implements CollectionSerializer, ArraySeri
         final int length = Array.getLength ( array );
         for ( int index = 0; index < length; index++ ) {
             serializer.serializeObject ( Array.get ( array, index ), builder );
+            builder.flushIfFull ();
             builder.addChar ( ',' );
         }
         builder.removeLastChar ();
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.serializers.impl;
+
+import org.boon.json.serializers.JsonSerializerInternal;
+import org.boon.primitive.CharBuf;
+import org.boon.primitive.JsonOutput;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Serializes large collections in slices on a ForkJoinPool.
+ *
+ * Each slice is written by a serializer that belongs to the pool thread, into a buffer of its
+ * own, and the slices are then copied into the output in order. The worker serializers run the
+ * same code as the sequential path, so the output is the same. Slice buffers are handed back
+ * once they have been copied and reused by the next slice, unless they grew past the retain size.
+ */
+public abstract class CollectionSliceSerializer {
+
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    private static final int MIN_SLICE_SIZE = 1_000;
+
+    private static final int RETAIN_SIZE = 256 * 1024;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    private final Queue<CharBuf> buffers = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<JsonSerializerInternal> workers = new ThreadLocal<JsonSerializerInternal>() {
+        @Override
+        protected JsonSerializerInternal initialValue() {
+            return createWorker();
+        }
+    };
+
+
+    public CollectionSliceSerializer( int threshold, ForkJoinPool pool ) {
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+
+    /** Creates the sequential serializer one pool thread uses for its slices. */
+    protected abstract JsonSerializerInternal createWorker();
+
+
+    /**
+     * Writes the collection as a JSON array if it has at least threshold elements.
+     * Returns false, having written nothing, for smaller collections.
+     */
+    public boolean serializeCollection( Collection<?> collection, JsonOutput builder ) {
+
+        final int size = collection.size();
+        if ( size < threshold ) {
+            return false;
+        }
+
+        final List<?> list = collection instanceof List && collection instanceof RandomAccess
+                ? ( List<?> ) collection : Arrays.asList( collection.toArray() );
+
+        final int sliceSize = Math.max( MIN_SLICE_SIZE, ( size + slices() - 1 ) / slices() );
+
+        final List<ForkJoinTask<CharBuf>> tasks = new ArrayList<>();
+        for ( int start = 0; start < size; start += sliceSize ) {
+            final List<?> slice = list.subList( start, Math.min( start + sliceSize, size ) );
+            tasks.add( new RecursiveTask<CharBuf>() {
+                @Override
+                protected CharBuf compute() {
+                    return serializeSlice( slice );
+                }
+            } );
+        }
+
+        /* Fork from inside our own pool only, a caller running in some other pool still submits. */
+        if ( ForkJoinTask.getPool() == pool ) {
+            ForkJoinTask.invokeAll( tasks );
+        } else {
+            for ( ForkJoinTask<CharBuf> task : tasks ) {
+                pool.execute( task );
+            }
+        }
+
+        builder.addChar( '[' );
+        for ( int index = 0; index < tasks.size(); index++ ) {
+            final CharBuf slice = tasks.get( index ).join();
+
+            /* The worker wrote the slice as an array of its own, so leave out its brackets. */
+            if ( index > 0 ) {
+                builder.addChar( ',' );
+            }
+            builder.add( slice.toCharArray(), 1, slice.len() - 1 );
+            builder.flushIfFull();
+
+            giveBack( slice );
+        }
+        builder.addChar( ']' );
+
+        return true;
+    }
+
+
+    /**
+     * Pool used when the caller does not bring one, created the first time it is asked for.
+     */
+    public static ForkJoinPool defaultPool() {
+        return DefaultPool.POOL;
+    }
+
+    private static class DefaultPool {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+
+    private int slices() {
+        return pool.getParallelism() * 4;
+    }
+
+    private CharBuf serializeSlice( List<?> slice ) {
+        CharBuf buf = buffers.poll();
+        if ( buf == null ) {
+            buf = CharBuf.create( slice.size() * 16 );
+        }
+        buf.recycle();
+        workers.get().serializeCollection( slice, buf );
+        return buf;
+    }
+
+    private void giveBack( CharBuf buf ) {
+        if ( buf.capacity() <= RETAIN_SIZE ) {
+            buffers.offer( buf );
+        }
+    }
+}
@@ -29,7 +29,6 @@
 package org.boon.json.serializers.impl;
 
 import org.boon.core.TypeType;
-import org.boon.core.reflection.FastStringUtils;
 import org.boon.core.reflection.fields.FieldAccess;
 import org.boon.json.serializers.FieldSerializer;
 import org.boon.json.serializers.JsonSerializerInternal;
@@ -49,14 +48,14 @@ import java.util.TimeZone;
 public class FieldSerializerImpl implements FieldSerializer {
 
 
-    private void serializeFieldName ( String name, CharBuf builder ) {
-        builder.addJsonFieldName ( FastStringUtils.toCharArray ( name ) );
+    private void serializeFieldName ( char[] name, CharBuf builder ) {
+        builder.addChars ( name );
     }
 
     @Override
     public final boolean serializeField ( JsonSerializerInternal serializer, Object parent, FieldAccess fieldAccess, CharBuf builder ) {
 
-        final String fieldName = fieldAccess.name();
+        final char[] fieldName = fieldAccess.jsonName();
         final TypeType typeEnum = fieldAccess.typeEnum ();
         switch ( typeEnum ) {
             case INT:
@@ -30,7 +30,6 @@ package org.boon.json.serializers.impl;
 
 import org.boon.Sets;
 import org.boon.core.TypeType;
-import org.boon.core.reflection.FastStringUtils;
 import org.boon.core.reflection.fields.FieldAccess;
 import org.boon.json.serializers.*;
 import org.boon.primitive.Arry;
@@ -92,14 +91,24 @@ public class FieldSerializerUseAnnotationsImpl implements FieldSerializer {
 
     }
 
-    private void serializeFieldName ( String name, CharBuf builder ) {
-        builder.addJsonFieldName ( FastStringUtils.toCharArray ( name ) );
+    /**
+     * Forgets the instances written so far. Called at the start of each object graph, so a
+     * serializer that is reused does not skip instances it wrote for an earlier graph.
+     */
+    public void reset () {
+        if ( idMap != null ) {
+            idMap.clear ();
+        }
+    }
+
+    private void serializeFieldName ( char[] name, CharBuf builder ) {
+        builder.addChars ( name );
     }
 
     @Override
     public final boolean serializeField ( JsonSerializerInternal serializer, Object parent, FieldAccess fieldAccess, CharBuf builder ) {
 
-        final String fieldName = fieldAccess.alias();
+        final char[] fieldName = fieldAccess.jsonAlias();
         final TypeType typeEnum = fieldAccess.typeEnum();
 
         if ( useAnnotations && fieldAccess.ignore() )  {
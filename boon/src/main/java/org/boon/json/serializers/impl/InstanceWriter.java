@@ -0,0 +1,528 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.serializers.impl;
+
+import org.boon.Maps;
+import org.boon.core.TypeType;
+import org.boon.core.reflection.Invoker;
+import org.boon.core.reflection.Reflection;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.primitive.JsonOutput;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Writes the fields of one class for JsonSimpleSerializerImpl.
+ *
+ * Everything that only depends on the class is settled when the writer is built: which fields
+ * are written and in what order, the view, whether the class has serializeAs, and which write
+ * each field needs for its type. Serializing an instance is then a loop over one writer per
+ * field, each of which reads its field, skips defaults and writes the value. The output is the
+ * same as JsonSimpleSerializerImpl.serializeField gives.
+ */
+public final class InstanceWriter {
+
+    private final FieldWriter[] fields;
+    private final boolean serializeAs;
+
+
+    private InstanceWriter( FieldWriter[] fields, boolean serializeAs ) {
+        this.fields = fields;
+        this.serializeAs = serializeAs;
+    }
+
+
+    public static InstanceWriter create( Class<?> type, String view, boolean serializeAsSupport ) {
+
+        if ( serializeAsSupport && Reflection.respondsTo( type, "serializeAs" ) ) {
+            return new InstanceWriter( new FieldWriter[ 0 ], true );
+        }
+
+        List<FieldWriter> writers = new ArrayList<>();
+        /* Copied the way JsonSimpleSerializerImpl copies it, so the fields come in the same order. */
+        Map<String, FieldAccess> fieldMap = Maps.copy( Reflection.getPropertyFieldAccessMapFieldFirstForSerializer( type ) );
+        for ( FieldAccess field : fieldMap.values() ) {
+            if ( field.isWriteOnly() ) {
+                continue;
+            }
+            if ( view != null && !field.isViewActive( view ) ) {
+                continue;
+            }
+            FieldWriter writer = writer( field );
+            if ( writer != null ) {
+                writers.add( writer );
+            }
+        }
+        return new InstanceWriter( writers.toArray( new FieldWriter[ writers.size() ] ), false );
+    }
+
+
+    public void serialize( JsonSimpleSerializerImpl serializer, Object instance, JsonOutput builder ) {
+
+        if ( serializeAs ) {
+            serializer.serializeObject( Invoker.invoke( instance, "serializeAs" ), builder );
+            return;
+        }
+
+        builder.addChar( '{' );
+
+        final FieldWriter[] fields = this.fields;
+        boolean any = false;
+        for ( int index = 0; index < fields.length; index++ ) {
+            if ( fields[ index ].write( serializer, instance, builder ) ) {
+                builder.addChar( ',' );
+                any = true;
+            }
+        }
+        if ( any ) {
+            builder.removeLastChar();
+        }
+        builder.addChar( '}' );
+    }
+
+
+    /** Writes one field, or nothing if the field holds a default, and says which it did. */
+    abstract static class FieldWriter {
+
+        final FieldAccess field;
+        final char[] name;
+        final byte[] nameUTF8;
+
+        FieldWriter( FieldAccess field ) {
+            this.field = field;
+            this.name = field.jsonName();
+            this.nameUTF8 = field.jsonNameUTF8();
+        }
+
+        abstract boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder );
+    }
+
+    /** A writer for a field that holds an object, which is skipped when null or the parent itself. */
+    abstract static class ObjectFieldWriter extends FieldWriter {
+
+        ObjectFieldWriter( FieldAccess field ) {
+            super( field );
+        }
+
+        @Override
+        final boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+            final Object value = field.getObject( parent );
+            if ( value == null || value == parent ) {
+                return false;
+            }
+            return writeValue( serializer, value, builder );
+        }
+
+        abstract boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder );
+    }
+
+
+    private static FieldWriter writer( final FieldAccess field ) {
+
+        switch ( field.typeEnum() ) {
+
+            case INT:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final int value = field.getInt( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( value );
+                        return true;
+                    }
+                };
+
+            case BOOLEAN:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        if ( !field.getBoolean( parent ) ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addBoolean( true );
+                        return true;
+                    }
+                };
+
+            case BYTE:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final byte value = field.getByte( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( value );
+                        return true;
+                    }
+                };
+
+            case LONG:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final long value = field.getLong( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addLong( value );
+                        return true;
+                    }
+                };
+
+            case DOUBLE:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final double value = field.getDouble( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addDouble( value );
+                        return true;
+                    }
+                };
+
+            case FLOAT:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final float value = field.getFloat( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addFloat( value );
+                        return true;
+                    }
+                };
+
+            case SHORT:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final short value = field.getShort( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( value );
+                        return true;
+                    }
+                };
+
+            case CHAR:
+                return new FieldWriter( field ) {
+                    @Override
+                    boolean write( JsonSimpleSerializerImpl serializer, Object parent, JsonOutput builder ) {
+                        final char value = field.getChar( parent );
+                        if ( value == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addQuoted( "" + value );
+                        return true;
+                    }
+                };
+
+            case BIG_DECIMAL:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addBigDecimal( ( BigDecimal ) value );
+                        return true;
+                    }
+                };
+
+            case NUMBER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        if ( ( ( Number ) value ).intValue() == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addString( value.toString() );
+                        return true;
+                    }
+                };
+
+            case BIG_INT:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addBigInteger( ( BigInteger ) value );
+                        return true;
+                    }
+                };
+
+            case DATE:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeDate( ( Date ) value, builder );
+                        return true;
+                    }
+                };
+
+            case STRING:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeString( ( String ) value, builder );
+                        return true;
+                    }
+                };
+
+            case CLASS:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addQuoted( ( ( Class ) value ).getName() );
+                        return true;
+                    }
+                };
+
+            case CHAR_SEQUENCE:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeString( value.toString(), builder );
+                        return true;
+                    }
+                };
+
+            case INTEGER_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( ( Integer ) value );
+                        return true;
+                    }
+                };
+
+            case LONG_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addLong( ( Long ) value );
+                        return true;
+                    }
+                };
+
+            case FLOAT_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addFloat( ( Float ) value );
+                        return true;
+                    }
+                };
+
+            case DOUBLE_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addDouble( ( Double ) value );
+                        return true;
+                    }
+                };
+
+            case SHORT_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( ( Short ) value );
+                        return true;
+                    }
+                };
+
+            case BYTE_WRAPPER:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addInt( ( Byte ) value );
+                        return true;
+                    }
+                };
+
+            case CHAR_WRAPPER:
+            case ENUM:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addQuoted( value.toString() );
+                        return true;
+                    }
+                };
+
+            case COLLECTION:
+            case LIST:
+            case SET:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        final Collection<?> collection = ( Collection<?> ) value;
+                        if ( collection.size() == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeCollection( collection, builder );
+                        return true;
+                    }
+                };
+
+            case MAP:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        final Map map = ( Map ) value;
+                        if ( map.size() == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeMap( map, builder );
+                        return true;
+                    }
+                };
+
+            case ARRAY:
+            case ARRAY_INT:
+            case ARRAY_BYTE:
+            case ARRAY_SHORT:
+            case ARRAY_FLOAT:
+            case ARRAY_DOUBLE:
+            case ARRAY_LONG:
+            case ARRAY_STRING:
+            case ARRAY_OBJECT:
+                final TypeType componentType = field.componentType();
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        if ( !value.getClass().isArray() || Array.getLength( value ) == 0 ) {
+                            return false;
+                        }
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeArray( componentType, value, builder );
+                        return true;
+                    }
+                };
+
+            case INTERFACE:
+            case ABSTRACT:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeSubtypeInstance( value, builder );
+                        return true;
+                    }
+                };
+
+            case OBJECT:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        if ( TypeType.getInstanceType( value ) == TypeType.INSTANCE ) {
+                            serializer.serializeSubtypeInstance( value, builder );
+                        } else {
+                            serializer.serializeObject( value, builder );
+                        }
+                        return true;
+                    }
+                };
+
+            case INSTANCE:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeInstance( value, builder );
+                        return true;
+                    }
+                };
+
+            case SYSTEM:
+                return null;
+
+            case TIME_ZONE:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        builder.addQuoted( ( ( TimeZone ) value ).getID() );
+                        return true;
+                    }
+                };
+
+            case CURRENCY:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeCurrency( ( Currency ) value, builder );
+                        return true;
+                    }
+                };
+
+            default:
+                return new ObjectFieldWriter( field ) {
+                    @Override
+                    boolean writeValue( JsonSimpleSerializerImpl serializer, Object value, JsonOutput builder ) {
+                        builder.addEncoded( name, nameUTF8 );
+                        serializer.serializeUnknown( value, builder );
+                        return true;
+                    }
+                };
+        }
+    }
+}
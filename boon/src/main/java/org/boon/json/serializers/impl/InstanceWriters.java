@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json.serializers.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The InstanceWriters built for one serializer configuration, shared by every serializer
+ * a JsonSerializerFactory creates so each class is only worked out once.
+ */
+public final class InstanceWriters {
+
+    private final ConcurrentHashMap<Class<?>, InstanceWriter> writers = new ConcurrentHashMap<>();
+
+    private final String view;
+    private final boolean serializeAsSupport;
+
+
+    public InstanceWriters( String view, boolean serializeAsSupport ) {
+        this.view = view;
+        this.serializeAsSupport = serializeAsSupport;
+    }
+
+
+    public InstanceWriter get( Class<?> type ) {
+        InstanceWriter writer = writers.get( type );
+        if ( writer == null ) {
+            writer = InstanceWriter.create( type, view, serializeAsSupport );
+            writers.putIfAbsent( type, writer );
+        }
+        return writer;
+    }
+
+    public boolean isFor( String view, boolean serializeAsSupport ) {
+        return this.serializeAsSupport == serializeAsSupport &&
+                ( this.view == null ? view == null : this.view.equals( view ) );
+    }
+}
@@ -167,6 +167,7 @@ public class JsonSerializerImpl implements JsonSerializerInternal {
     public final CharBuf serialize( Object obj ) {
 
         builder.readForRecycle ();
+        startGraph ();
         try {
             serializeObject( obj, builder );
         } catch ( Exception ex ) {
@@ -176,6 +177,14 @@ public class JsonSerializerImpl implements JsonSerializerInternal {
     }
 
 
+    /* Back reference tracking is per object graph, not per serializer. */
+    private void startGraph () {
+        if ( fieldSerializer instanceof FieldSerializerUseAnnotationsImpl ) {
+            ( ( FieldSerializerUseAnnotationsImpl ) fieldSerializer ).reset ();
+        }
+    }
+
+
     public final boolean serializeField ( Object parent, FieldAccess fieldAccess, CharBuf builder )  {
 
         return fieldSerializer.serializeField ( this, parent, fieldAccess, builder );
@@ -248,6 +257,7 @@ public class JsonSerializerImpl implements JsonSerializerInternal {
     @Override
     public void serialize(CharBuf builder, Object obj) {
 
+        startGraph ();
         try {
             serializeObject( obj, builder );
         } catch ( Exception ex ) {
@@ -35,12 +35,13 @@ import org.boon.Maps;
 import org.boon.Str;
 import org.boon.cache.SimpleCache;
 import org.boon.core.TypeType;
-import org.boon.core.reflection.FastStringUtils;
 import org.boon.core.reflection.Invoker;
 import org.boon.core.reflection.Reflection;
 import org.boon.core.reflection.fields.FieldAccess;
 import org.boon.json.serializers.JsonSerializerInternal;
 import org.boon.primitive.CharBuf;
+import org.boon.primitive.JsonByteBuf;
+import org.boon.primitive.JsonOutput;
 
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
@@ -48,7 +49,6 @@ import java.math.BigInteger;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static org.boon.Boon.sputs;
 import static org.boon.Exceptions.die;
 import static org.boon.Exceptions.handle;
 
@@ -57,6 +57,9 @@ import static org.boon.Exceptions.handle;
  * This is a simple fast serializer.
  * It excludes default values, i.e., int v by default is 0.
  * It excludes nulls and empties as well.
+ *
+ * It writes to a JsonOutput, so the same walk gives chars into a CharBuf or UTF-8 bytes
+ * into a JsonByteBuf, see serializeUTF8.
  */
 public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
     private final Map <Class<?>,  Map<String, FieldAccess>> fieldMap = new ConcurrentHashMap<>( );
@@ -68,16 +71,24 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
     private final CharBuf builder;
 
+    private JsonByteBuf bytes;
+
     private int level;
 
     private boolean asciiOnly;
 
+    private final CollectionSliceSerializer slices;
+
+    private final InstanceWriters writers;
+
     public JsonSimpleSerializerImpl() {
 
         this.view = null;
         this.encodeStrings = true;
         serializeAsSupport = true;
         builder = CharBuf.create( 4000 );
+        slices = null;
+        writers = null;
 
 
     }
@@ -90,6 +101,8 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
         serializeAsSupport = true;
         builder = CharBuf.create( 4000 );
+        slices = null;
+        writers = null;
 
 
     }
@@ -100,11 +113,35 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
     public JsonSimpleSerializerImpl(String view, boolean encodeStrings,
                                     boolean serializeAsSupport, boolean asciiOnly) {
 
+        this( view, encodeStrings, serializeAsSupport, asciiOnly, null );
+
+    }
+
+
+    public JsonSimpleSerializerImpl(String view, boolean encodeStrings,
+                                    boolean serializeAsSupport, boolean asciiOnly,
+                                    CollectionSliceSerializer slices) {
+
+        this( view, encodeStrings, serializeAsSupport, asciiOnly, slices, null );
+
+    }
+
+
+    /**
+     * With writers set, instances are written by the InstanceWriter for their class
+     * instead of going through serializeField for each field.
+     */
+    public JsonSimpleSerializerImpl(String view, boolean encodeStrings,
+                                    boolean serializeAsSupport, boolean asciiOnly,
+                                    CollectionSliceSerializer slices, InstanceWriters writers) {
+
         this.encodeStrings = encodeStrings;
         this.serializeAsSupport = serializeAsSupport;
         this.view = view;
         builder = CharBuf.create( 4000 );
         this.asciiOnly = asciiOnly;
+        this.slices = slices;
+        this.writers = writers;
 
     }
 
@@ -114,6 +151,10 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
     CharBuf encodedJsonChars;
 
     public final void serializeString( String str, CharBuf builder ) {
+        serializeString( str, ( JsonOutput ) builder );
+    }
+
+    public final void serializeString( String str, JsonOutput builder ) {
 
 
 
@@ -135,7 +176,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                   stringCache.put(str, encodedString);
               }
 
-              builder.add(encodedString);
+              builder.addString(encodedString);
 
           } else {
               builder.addQuoted(str);
@@ -156,8 +197,31 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
         return builder;
     }
 
+    /**
+     * Serializes into a JsonByteBuf this serializer keeps and reuses, the UTF-8 counterpart
+     * of serialize(Object).
+     */
+    public JsonByteBuf serializeUTF8( Object obj ) {
+        level=0;
+
+        if ( bytes == null ) {
+            bytes = JsonByteBuf.create( 4000 );
+        }
+        bytes.readForRecycle ();
+        try {
+            serializeObject( obj, bytes );
+        } catch ( Exception ex ) {
+            return handle(JsonByteBuf.class, "unable to serializeObject", ex);
+        }
+        return bytes;
+    }
+
     @Override
     public void serialize(CharBuf builder, Object obj) {
+        serialize( ( JsonOutput ) builder, obj );
+    }
+
+    public void serialize(JsonOutput builder, Object obj) {
         level = 0;
 
         try {
@@ -169,10 +233,13 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
 
     public final boolean serializeField ( Object parent, FieldAccess fieldAccess, CharBuf builder ) {
+        return serializeField( parent, fieldAccess, ( JsonOutput ) builder );
+    }
+
+    public final boolean serializeField ( Object parent, FieldAccess fieldAccess, JsonOutput builder ) {
 
 
 
-        final String fieldName = fieldAccess.name();
         final TypeType typeEnum = fieldAccess.typeEnum ();
 
 
@@ -190,7 +257,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case INT:
                     int value = fieldAccess.getInt ( parent );
                     if (value !=0) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addInt ( value  );
                         return true;
                     }
@@ -198,7 +265,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case BOOLEAN:
                     boolean bvalue = fieldAccess.getBoolean ( parent );
                     if ( bvalue ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addBoolean ( bvalue  );
                         return true;
                     }
@@ -207,15 +274,15 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case BYTE:
                     byte byvalue = fieldAccess.getByte ( parent );
                     if ( byvalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
-                        builder.addByte ( byvalue  );
+                        serializeFieldName ( fieldAccess, builder );
+                        builder.addInt ( byvalue  );
                         return true;
                     }
                     return false;
                 case LONG:
                     long lvalue = fieldAccess.getLong ( parent );
                     if ( lvalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addLong ( lvalue  );
                         return true;
                     }
@@ -224,7 +291,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case DOUBLE:
                     double dvalue = fieldAccess.getDouble ( parent );
                     if ( dvalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addDouble ( dvalue  );
                         return true;
                     }
@@ -232,7 +299,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case FLOAT:
                     float fvalue = fieldAccess.getFloat ( parent );
                     if ( fvalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addFloat ( fvalue  );
                         return true;
                     }
@@ -240,15 +307,15 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case SHORT:
                     short svalue = fieldAccess.getShort( parent );
                     if ( svalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
-                        builder.addShort ( svalue  );
+                        serializeFieldName ( fieldAccess, builder );
+                        builder.addInt ( svalue  );
                         return true;
                     }
                     return false;
                 case CHAR:
                     char cvalue = fieldAccess.getChar( parent );
                     if ( cvalue != 0 ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addQuoted( "" + cvalue  );
                         return true;
                     }
@@ -269,68 +336,68 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
             switch ( typeEnum )  {
                 case BIG_DECIMAL:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addBigDecimal ( (BigDecimal) value );
                     return true;
                 case NUMBER:
                     Number nvalue = (Number) fieldAccess.getObject(parent);
                     if ( nvalue.intValue() != 0 ) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         builder.addString(nvalue.toString());
                         return true;
                     }
                     return false;
                 case BIG_INT:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addBigInteger((BigInteger) value);
                     return true;
                 case DATE:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeDate((Date) value, builder);
                     return true;
                 case STRING:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeString((String) value, builder);
                     return true;
                 case CLASS:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addQuoted ( (( Class ) value).getName());
                     return true;
 
                 case CHAR_SEQUENCE:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeString ( value.toString (), builder );
                     return true;
                 case INTEGER_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addInt ( ( Integer ) value );
                     return true;
                 case LONG_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addLong ( ( Long ) value );
                     return true;
                 case FLOAT_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addFloat ( ( Float ) value );
                     return true;
                 case DOUBLE_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addDouble ( ( Double ) value );
                     return true;
                 case SHORT_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
-                    builder.addShort ( ( Short ) value );
+                    serializeFieldName ( fieldAccess, builder );
+                    builder.addInt ( ( Short ) value );
                     return true;
                 case BYTE_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
-                    builder.addByte ( ( Byte ) value );
+                    serializeFieldName ( fieldAccess, builder );
+                    builder.addInt ( ( Byte ) value );
                     return true;
                 case CHAR_WRAPPER:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addQuoted ( (( Character ) value).toString() );
                     return true;
                 case ENUM:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     builder.addQuoted ( value.toString () );
                     return true;
                 case COLLECTION:
@@ -338,7 +405,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case SET:
                     Collection collection = (Collection) value;
                     if ( collection.size () > 0) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         this.serializeCollection ( collection, builder );
                         return true;
                     }
@@ -346,7 +413,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case MAP:
                     Map map = (Map) value;
                     if ( map.size () > 0) {
-                        serializeFieldName ( fieldName, builder );
+                        serializeFieldName ( fieldAccess, builder );
                         this.serializeMap ( map, builder );
                         return true;
                     }
@@ -364,7 +431,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 case ARRAY_OBJECT:
                     if (value.getClass().isArray()) {
                         if ( Array.getLength (value) > 0) {
-                            serializeFieldName ( fieldName, builder );
+                            serializeFieldName ( fieldAccess, builder );
                             this.serializeArray ( fieldAccess.componentType(), value, builder );
                             return true;
                         }
@@ -373,12 +440,12 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
                 case INTERFACE:
                 case ABSTRACT:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeSubtypeInstance ( value, builder );
                     return true;
 
                 case OBJECT:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     final TypeType instanceType = TypeType.getInstanceType(value);
                     if (instanceType== TypeType.INSTANCE) {
                         serializeSubtypeInstance(value, builder);
@@ -388,7 +455,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                     return true;
 
                 case INSTANCE:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeInstance ( value, builder );
                     return true;
 
@@ -398,19 +465,19 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
                 case TIME_ZONE:
 
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     TimeZone zone = (TimeZone) value;
 
                     builder.addQuoted ( zone.getID() );
                     return true;
 
                 case CURRENCY:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeCurrency ( (Currency) value, builder );
                     return true;
 
                 default:
-                    serializeFieldName ( fieldName, builder );
+                    serializeFieldName ( fieldAccess, builder );
                     serializeUnknown(value, builder);
                     return true;
             }
@@ -426,17 +493,25 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
 
     public final void serializeDate ( Date date, CharBuf builder ) {
+        serializeDate( date, ( JsonOutput ) builder );
+    }
+
+    public final void serializeDate ( Date date, JsonOutput builder ) {
         builder.addLong(date.getTime ());
     }
 
 
-    public final void serializeCurrency ( Currency currency, CharBuf builder ) {
+    public final void serializeCurrency ( Currency currency, JsonOutput builder ) {
         builder.addChar ( '"' );
         builder.addString(currency.getCurrencyCode());
         builder.addChar ( '"' );
     }
 
     public final void serializeObject( Object obj, CharBuf builder )  {
+        serializeObject( obj, ( JsonOutput ) builder );
+    }
+
+    public final void serializeObject( Object obj, JsonOutput builder )  {
 
 
         TypeType type = TypeType.getInstanceType(obj);
@@ -452,7 +527,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 builder.addBoolean ( boolean.class.cast ( obj ) );
                 return;
             case BYTE:
-                builder.addByte ( byte.class.cast ( obj ) );
+                builder.addInt ( byte.class.cast ( obj ) );
                 return;
             case LONG:
                 builder.addLong ( long.class.cast ( obj ) );
@@ -464,7 +539,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 builder.addFloat ( float.class.cast ( obj ) );
                 return;
             case SHORT:
-                builder.addShort ( short.class.cast ( obj ) );
+                builder.addInt ( short.class.cast ( obj ) );
                 return;
             case CHAR:
                 builder.addChar ( char.class.cast ( obj ) );
@@ -504,10 +579,10 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 builder.addDouble ( (Double) obj);
                 return;
             case SHORT_WRAPPER:
-                builder.addShort ( (Short) obj);
+                builder.addInt ( (Short) obj);
                 return;
             case BYTE_WRAPPER:
-                builder.addByte ( (Byte) obj);
+                builder.addInt ( (Byte) obj);
                 return;
             case CHAR_WRAPPER:
                 builder.addChar ( (Character) obj);
@@ -567,6 +642,10 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
 
     public void serializeUnknown ( Object obj, CharBuf builder ) {
+        serializeUnknown( obj, ( JsonOutput ) builder );
+    }
+
+    public void serializeUnknown ( Object obj, JsonOutput builder ) {
         //try {
             builder.addQuoted ( obj.toString () );
         //} catch (Exception ex) {
@@ -578,6 +657,10 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
 
     public final void serializeInstance ( Object instance, CharBuf builder )  {
+        serializeInstance( instance, ( JsonOutput ) builder );
+    }
+
+    public final void serializeInstance ( Object instance, JsonOutput builder )  {
 
         try {
 
@@ -587,6 +670,11 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 die("Detected circular dependency", builder.toString());
             }
 
+            if (writers != null) {
+                writers.get(instance.getClass()).serialize(this, instance, builder);
+                return;
+            }
+
             if (serializeAsSupport && Reflection.respondsTo(instance, "serializeAs")) {
                 serializeObject(Invoker.invoke(instance, "serializeAs"), builder);
                 return;
@@ -600,7 +688,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
             int index = 0;
             for ( FieldAccess fieldAccess : fields ) {
                  if (serializeField ( instance, fieldAccess, builder ) ) {
-                     builder.add(',');
+                     builder.addChar(',');
                      index++;
                  }
             }
@@ -657,12 +745,17 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
 
     private static final char [] EMPTY_MAP_CHARS = {'{', '}'};
+    private static final byte [] EMPTY_MAP_BYTES = {'{', '}'};
 
     public final void serializeMap( Map<Object, Object> smap, CharBuf builder )  {
+        serializeMap( smap, ( JsonOutput ) builder );
+    }
+
+    public final void serializeMap( Map<Object, Object> smap, JsonOutput builder )  {
 
         Map map = smap;
         if ( map.size () == 0 ) {
-            builder.addChars ( EMPTY_MAP_CHARS );
+            builder.addEncoded ( EMPTY_MAP_CHARS, EMPTY_MAP_BYTES );
             return;
         }
 
@@ -675,6 +768,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
             if (entry.getValue ()!=null ) {
                 serializeFieldName ( Str.toString(entry.getKey()), builder );
                 serializeObject( entry.getValue(), builder );
+                builder.flushIfFull ();
                 builder.addChar ( ',' );
                 index++;
             }
@@ -686,7 +780,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
     }
 
 
-    public final void serializeArray ( TypeType componentType, Object objectArray, CharBuf builder ) {
+    public final void serializeArray ( TypeType componentType, Object objectArray, JsonOutput builder ) {
 
 
         switch (componentType) {
@@ -697,6 +791,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
                 builder.addChar( '[' );
                 for ( int index = 0; index < length; index++ ) {
                         serializeString( array[index], builder );
+                        builder.flushIfFull ();
                         builder.addChar ( ',' );
                 }
                 builder.removeLastChar ();
@@ -708,9 +803,13 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
     }
     @Override
     public final void serializeArray ( Object array, CharBuf builder ) {
+        serializeArray( array, ( JsonOutput ) builder );
+    }
+
+    public final void serializeArray ( Object array, JsonOutput builder ) {
 
         if ( Array.getLength (array) == 0 ) {
-            builder.addChars ( EMPTY_LIST_CHARS );
+            builder.addEncoded ( EMPTY_LIST_CHARS, EMPTY_LIST_BYTES );
             return;
         }
 
@@ -718,6 +817,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
         final int length = Array.getLength( array );
         for ( int index = 0; index < length; index++ ) {
             serializeObject( Array.get( array, index ), builder );
+            builder.flushIfFull ();
             builder.addChar ( ',' );
         }
         builder.removeLastChar ();
@@ -725,20 +825,33 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
     }
 
-    private void serializeFieldName ( String name, CharBuf builder ) {
-            builder.addJsonFieldName ( FastStringUtils.toCharArray ( name ) );
+    private void serializeFieldName ( String name, JsonOutput builder ) {
+            builder.addJsonFieldName ( name );
+    }
+
+    private void serializeFieldName ( FieldAccess fieldAccess, JsonOutput builder ) {
+            builder.addEncoded ( fieldAccess.jsonName (), fieldAccess.jsonNameUTF8 () );
     }
 
 
     private static final char [] EMPTY_LIST_CHARS = {'[', ']'};
+    private static final byte [] EMPTY_LIST_BYTES = {'[', ']'};
 
     public final void serializeCollection( Collection<?> collection, CharBuf builder )  {
+        serializeCollection( collection, ( JsonOutput ) builder );
+    }
+
+    public final void serializeCollection( Collection<?> collection, JsonOutput builder )  {
 
         if ( collection.size () == 0 ) {
-             builder.addChars ( EMPTY_LIST_CHARS );
+             builder.addEncoded ( EMPTY_LIST_CHARS, EMPTY_LIST_BYTES );
              return;
         }
 
+        if ( slices != null && slices.serializeCollection ( collection, builder ) ) {
+            return;
+        }
+
         builder.addChar( '[' );
         for ( Object o : collection ) {
             if (o == null) {
@@ -746,6 +859,7 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
             } else {
                 serializeObject(o, builder);
             }
+            builder.flushIfFull ();
             builder.addChar ( ',' );
 
         }
@@ -760,6 +874,10 @@ public class JsonSimpleSerializerImpl implements JsonSerializerInternal {
 
     @Override
     public void serializeSubtypeInstance( Object instance, CharBuf builder ) {
+        serializeSubtypeInstance( instance, ( JsonOutput ) builder );
+    }
+
+    public void serializeSubtypeInstance( Object instance, JsonOutput builder ) {
 
         level++;
 
@@ -71,6 +71,7 @@ public class MapSerializerImpl implements MapSerializer {
                 if (entry.getValue() != null) {
                     serializeFieldName(entry.getKey().toString(), builder);
                     serializer.serializeObject(entry.getValue(), builder);
+                    builder.flushIfFull();
                     builder.addChar(',');
                     index++;
                 }
@@ -79,6 +80,7 @@ public class MapSerializerImpl implements MapSerializer {
             for (Map.Entry<Object, Object> entry : entrySet) {
                     serializeFieldName(entry.getKey().toString(), builder);
                     serializer.serializeObject(entry.getValue(), builder);
+                    builder.flushIfFull();
                     builder.addChar(',');
                     index++;
 
@@ -286,6 +286,10 @@ public class ByteBuf implements Output {
         return length;
     }
 
+    public int capacity() {
+        return capacity;
+    }
+
     public ByteBuf addUrlEncodedByteArray( byte[] value ) {
 
 
@@ -577,7 +577,6 @@ public class ByteScanner {
     public static Number parseJsonNumber( byte[] buffer, int from, int max, int size[] ) {
         Number value = null;
         boolean simple = true;
-        int digitsPastPoint = 0;
 
         int index = from;
 
@@ -590,10 +589,7 @@ public class ByteScanner {
         for (;index<max; index++)  {
             int ch = buffer[ index ];
             if ( CharScanner.isNumberDigit(ch) ) {
-
-                if (foundDot==true) {
-                    digitsPastPoint++;
-                }
+                continue;
             } else if ( ch <= 32 || CharScanner.isDelimiter(ch) ) { break;}
             else if ( ch == '.' ) {
                 foundDot = true;
@@ -606,11 +602,6 @@ public class ByteScanner {
         }
 
 
-        if ( digitsPastPoint >= powersOf10.length-1 ) {
-            simple = false;
-        }
-
-
         final int length = index -from;
 
         if (!foundDot && simple) {
@@ -620,29 +611,8 @@ public class ByteScanner {
                 value = parseLongFromTo( buffer, from, index );
             }
         }
-        else if ( foundDot && simple ) {
-            long lvalue;
-
-
-            if ( length < powersOf10.length ) {
-
-                if ( isInteger( buffer, from, length ) ) {
-                    lvalue = parseIntFromToIgnoreDot( buffer, from, index );
-                } else {
-                    lvalue = parseLongFromToIgnoreDot( buffer, from, index );
-                }
-
-                double power = powersOf10[ digitsPastPoint ];
-                value = lvalue / power;
-
-            } else {
-                value =  Double.parseDouble( new String( buffer, from, length ) );
-
-            }
-
-
-        } else {
-            value =  Double.parseDouble( new String( buffer, from, index - from ) );
+        else {
+            value = DoubleScanner.parseDouble( buffer, from, index );
         }
 
 
@@ -741,7 +711,7 @@ public class ByteScanner {
 
 
     public static float parseFloat( byte[] buffer, int from, int to ) {
-        return (float) parseDouble( buffer, from , to );
+        return DoubleScanner.parseFloat( buffer, from, to );
     }
 
 
@@ -750,129 +720,11 @@ public class ByteScanner {
     }
 
     public static double parseDouble( byte[] buffer, int from, int to ) {
-        double value;
-        boolean simple = true;
-        int digitsPastPoint = 0;
-
-        int index = from;
-
-
-        if (buffer[index] == '-') {
-            index++;
-        }
-
-        boolean foundDot = false;
-        for (;index<to; index++)  {
-            int ch = buffer[ index ];
-            if ( CharScanner.isNumberDigit(ch) ) {
-
-                if (foundDot==true) {
-                    digitsPastPoint++;
-                }
-            } else if ( ch == '.' ) {
-                foundDot = true;
-            }
-            else if (ch == 'E' || ch == 'e' || ch == '-' || ch == '+') {
-                simple = false;
-            } else {
-                die ("unexpected character " + ch);
-            }
-        }
-
-
-        if ( digitsPastPoint >= powersOf10.length-1 ) {
-            simple = false;
-        }
-
-
-        final int length = index -from;
-
-        if (!foundDot && simple) {
-            if ( isInteger( buffer, from, length ) ) {
-                value = parseIntFromTo( buffer, from, index );
-            } else {
-                value = parseLongFromTo( buffer, from, index );
-            }
-        }
-        else if ( foundDot && simple ) {
-            long lvalue;
-
-
-            if ( length < powersOf10.length ) {
-
-                if ( isInteger( buffer, from, length ) ) {
-                    lvalue = parseIntFromToIgnoreDot( buffer, from, index );
-                } else {
-                    lvalue = parseLongFromToIgnoreDot( buffer, from, index );
-                }
-
-                double power = powersOf10[ digitsPastPoint ];
-                value = lvalue / power;
-
-            } else {
-                value =  Double.parseDouble( new String( buffer, from, length ) );
-
-            }
-
-
-        } else {
-            value =  Double.parseDouble( new String( buffer, from, index - from ) );
-        }
-
-
-
-        return value;
+        return DoubleScanner.parseDouble( buffer, from, to );
     }
 
-    private static double powersOf10[] = {
-            1.0,
-            10.0,
-            100.0,
-            1_000.0,
-            10_000.0,
-            100_000.0,
-            1_000_000.0,
-            10_000_000.0,
-            100_000_000.0,
-            1_000_000_000.0,
-            10_000_000_000.0,
-            100_000_000_000.0,
-            1_000_000_000_000.0,
-            10_000_000_000_000.0,
-            100_000_000_000_000.0,
-            1_000_000_000_000_000.0,
-            10_000_000_000_000_000.0,
-            100_000_000_000_000_000.0,
-            1_000_000_000_000_000_000.0,
-
-    };
-
-
     public static double simpleDouble( byte[] buffer, boolean simple,  int digitsPastPoint, int startIndex, int endIndex ) {
-
-        double sign;
-
-
-
-        if ( simple ) {
-            long value;
-            final int length = endIndex - startIndex;
-
-            if ( isInteger( buffer, startIndex, length ) ) {
-                value = parseIntIgnoreDot( buffer, startIndex, length );
-            } else {
-                value = parseLongIgnoreDot( buffer, startIndex, length );
-            }
-            if ( digitsPastPoint < powersOf10.length ) {
-                double power = powersOf10[ digitsPastPoint ];
-                return value / power;
-
-            }
-
-
-        }
-
-        return Double.parseDouble( new String( buffer, startIndex, ( endIndex - startIndex ) ) );
+        return DoubleScanner.parseDouble( buffer, startIndex, endIndex );
     }
 
 
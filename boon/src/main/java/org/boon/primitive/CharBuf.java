@@ -62,7 +62,7 @@ import static org.boon.primitive.CharScanner.*;
  * But to remove any doubt, the comments in question have been deleted.
  *
  */
-public class CharBuf extends PrintWriter implements CharSequence {
+public class CharBuf extends PrintWriter implements CharSequence, JsonOutput {
     protected int capacity = 16;
     protected int location = 0;
 
@@ -150,6 +150,14 @@ public class CharBuf extends PrintWriter implements CharSequence {
     public void close()  {
     }
 
+    /**
+     * Called by serializers between the elements of arrays, collections and maps.
+     * Plain buffers ignore it. Buffers that write through to a stream drain what they
+     * hold once it is large enough, see StreamingCharBuf.
+     */
+    public void flushIfFull() {
+    }
+
     public void init() {
         buffer = new char[ capacity ];
     }
@@ -276,67 +284,46 @@ public class CharBuf extends PrintWriter implements CharSequence {
 
 
     public final  CharBuf add( double d ) {
-        add ( Double.toString ( d ) );
+        addDouble( d );
         return this;
     }
 
 
-    private Cache <Double, char[]> dcache;
-
-
-
     public final  CharBuf addDouble( double d ) {
-        addDouble( Double.valueOf( d ) );
+        int sizeNeeded = DoubleFormatter.MAX_DOUBLE_CHARS + location;
+        if (  sizeNeeded > capacity ) {
+            buffer = Chr.grow( buffer, sizeNeeded * 2  );
+            capacity = buffer.length;
+        }
+        location = DoubleFormatter.write( d, buffer, location );
         return this;
     }
 
     public final  CharBuf addDouble( Double key ) {
-
-        if (dcache == null) {
-            dcache = new SimpleCache<> ( 100, CacheType.LRU );
-        }
-        char [] chars = dcache.get ( key );
-
-        if ( chars ==  null ) {
-            String str = Double.toString ( key );
-            chars = FastStringUtils.toCharArray ( str );
-            dcache.put ( key, chars );
-        }
-
-        add ( chars );
+        addDouble( key.doubleValue() );
         return this;
     }
 
 
     public final  CharBuf add( float d ) {
-        add ( Float.toString ( d ));
+        addFloat( d );
         return this;
     }
 
 
-    private Cache <Float, char[]> fcache;
-
     public final  CharBuf addFloat( float d ) {
-        addFloat( Float.valueOf( d ) );
+        int sizeNeeded = DoubleFormatter.MAX_FLOAT_CHARS + location;
+        if (  sizeNeeded > capacity ) {
+            buffer = Chr.grow( buffer, sizeNeeded * 2  );
+            capacity = buffer.length;
+        }
+        location = DoubleFormatter.write( d, buffer, location );
         return this;
     }
 
 
     public final  CharBuf addFloat( Float key ) {
-
-        if (fcache == null) {
-            fcache = new SimpleCache<> ( 100, CacheType.LRU );
-        }
-        char [] chars = fcache.get ( key );
-
-        if ( chars ==  null ) {
-            String str = Float.toString ( key );
-            chars = FastStringUtils.toCharArray ( str );
-            fcache.put ( key, chars );
-        }
-
-        add ( chars );
-
+        addFloat( key.floatValue() );
         return this;
     }
 
@@ -445,6 +432,11 @@ public class CharBuf extends PrintWriter implements CharSequence {
         return this;
     }
 
+    @Override
+    public final void addEncoded( char[] chars, byte[] utf8 ) {
+        addChars( chars );
+    }
+
 
     public final CharBuf addQuoted( char[] chars ) {
 
@@ -832,6 +824,18 @@ public class CharBuf extends PrintWriter implements CharSequence {
         return addJsonFieldName ( FastStringUtils.toCharArray ( str ) );
     }
 
+    /**
+     * The name as a JSON object key followed by its colon, "name":, with the escapes a string
+     * value would get apart from non-ASCII characters, which addJsonFieldName writes as is too.
+     * Serializers keep these per field and copy them in with addChars.
+     */
+    public static char[] jsonFieldName( String name ) {
+        CharBuf buf = new CharBuf( name.length() + 8 );
+        buf.addJsonEscapedString( FastStringUtils.toCharArray( name ), false );
+        buf.addChar( ':' );
+        return Arrays.copyOf( buf.buffer, buf.location );
+    }
+
     public final CharBuf addJsonFieldName( char[] chars ) {
             int sizeNeeded = chars.length + 4 + location;
             if (  sizeNeeded > capacity ) {
@@ -898,6 +902,18 @@ public class CharBuf extends PrintWriter implements CharSequence {
     }
 
 
+    public CharBuf add( char[] chars, int start, int end ) {
+        int charsLength =  end - start ;
+        if ( charsLength + location > capacity ) {
+            buffer = Chr.grow( buffer, buffer.length * 2 + charsLength );
+            capacity = buffer.length;
+        }
+        System.arraycopy( chars, start, buffer, location, charsLength );
+        location += charsLength;
+        return this;
+    }
+
+
     public CharBuf add( String string, int start, int end ) {
         int charsLength =  end - start ;
         if ( charsLength + location > capacity ) {
@@ -946,6 +962,10 @@ public class CharBuf extends PrintWriter implements CharSequence {
         return location;
     }
 
+    public int capacity() {
+        return capacity;
+    }
+
     public char[] toCharArray() {
         return this.buffer;
     }
@@ -1009,7 +1009,6 @@ public class CharScanner {
     public static Number parseJsonNumber( char[] buffer, int from, int max, int size[] ) {
         Number value = null;
         boolean simple = true;
-        int digitsPastPoint = 0;
 
         int index = from;
 
@@ -1022,10 +1021,7 @@ public class CharScanner {
         for (;index<max; index++)  {
             char ch = buffer[ index ];
             if ( isNumberDigit(ch) ) {
-
-                if (foundDot==true) {
-                    digitsPastPoint++;
-                }
+                continue;
             } else if ( ch <= 32 || isDelimiter( ch ) ) { break;}
             else if ( ch == '.' ) {
                 foundDot = true;
@@ -1038,11 +1034,6 @@ public class CharScanner {
         }
 
 
-        if ( digitsPastPoint >= powersOf10.length-1 ) {
-            simple = false;
-        }
-
-
         final int length = index -from;
 
         if (!foundDot && simple) {
@@ -1052,29 +1043,8 @@ public class CharScanner {
                 value = parseLong(buffer, from, index);
             }
         }
-        else if ( foundDot && simple ) {
-            long lvalue;
-
-
-            if ( length < powersOf10.length ) {
-
-                if ( isInteger( buffer, from, length ) ) {
-                    lvalue = parseIntFromToIgnoreDot( buffer, from, index );
-                } else {
-                    lvalue = parseLongFromToIgnoreDot( buffer, from, index );
-                }
-
-                double power = powersOf10[ digitsPastPoint ];
-                value = lvalue / power;
-
-            } else {
-                value =  Double.parseDouble( new String( buffer, from, length ) );
-
-            }
-
-
-        } else {
-            value =  Double.parseDouble( new String( buffer, from, index - from ) );
+        else {
+            value = DoubleScanner.parseDouble( buffer, from, index );
         }
 
 
@@ -1087,11 +1057,11 @@ public class CharScanner {
 
 
     public static float parseFloat( char[] buffer, int from, int to ) {
-        return (float) parseDouble( buffer, from , to );
+        return DoubleScanner.parseFloat( buffer, from, to );
     }
 
     public static float parseFloat( char[] buffer ) {
-        return (float) parseDouble( buffer, 0 , buffer.length );
+        return DoubleScanner.parseFloat( buffer, 0, buffer.length );
     }
 
 
@@ -1100,110 +1070,8 @@ public class CharScanner {
     }
 
     public static double parseDouble( char[] buffer, int from, int to ) {
-        double value;
-        boolean simple = true;
-        int digitsPastPoint = 0;
-
-        int index = from;
-        boolean negative=false;
-
-
-
-        if (buffer[index] == '-') {
-            index++;
-            negative=true;
-        }
-
-        boolean foundDot = false;
-        for (;index<to; index++)  {
-            char ch = buffer[ index ];
-            if ( isNumberDigit(ch) ) {
-
-                if (foundDot==true) {
-                    digitsPastPoint++;
-                }
-            } else if ( ch == '.' ) {
-                foundDot = true;
-            }
-            else if (ch == 'E' || ch == 'e' || ch == '-' || ch == '+') {
-                simple = false;
-            } else {
-                die ("unexpected character " + ch);
-            }
-        }
-
-
-        if ( digitsPastPoint >= powersOf10.length-1 ) {
-            simple = false;
-        }
-
-
-        final int length = index -from;
-
-        if (!foundDot && simple) {
-            if ( isInteger( buffer, from, length ) ) {
-                value = parseInt(buffer, from, index);
-            } else {
-                value = parseLong(buffer, from, index);
-            }
-        }
-        else if ( foundDot && simple ) {
-            long lvalue;
-
-
-            if ( length < powersOf10.length ) {
-
-                if ( isInteger( buffer, from, length ) ) {
-                    lvalue = parseIntFromToIgnoreDot( buffer, from, index );
-                } else {
-                    lvalue = parseLongFromToIgnoreDot( buffer, from, index );
-                }
-
-                double power = powersOf10[ digitsPastPoint ];
-                value = lvalue / power;
-
-            } else {
-                value =  Double.parseDouble( new String( buffer, from, length ) );
-
-            }
-
-
-        } else {
-            value =  Double.parseDouble( new String( buffer, from, index - from ) );
-        }
-
-
-
-        if (value==0.0 && negative) {
-            return -0.0;
-        } else {
-            return value;
-        }
-    }
-
-    private static double powersOf10[] = {
-                              1.0,
-                             10.0,
-                            100.0,
-                          1_000.0,
-                         10_000.0,
-                        100_000.0,
-                      1_000_000.0,
-                     10_000_000.0,
-                    100_000_000.0,
-                  1_000_000_000.0,
-                 10_000_000_000.0,
-                100_000_000_000.0,
-              1_000_000_000_000.0,
-             10_000_000_000_000.0,
-            100_000_000_000_000.0,
-          1_000_000_000_000_000.0,
-         10_000_000_000_000_000.0,
-        100_000_000_000_000_000.0,
-      1_000_000_000_000_000_000.0,
-
-    };
-
+        return DoubleScanner.parseDouble( buffer, from, to );
+    }
 
     public static int skipWhiteSpace( char [] array) {
         int c;
@@ -0,0 +1,663 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest round trip double and float output, written straight into char and byte arrays.
+ *
+ * Uses Giulietti's Schubfach algorithm. The rounding interval of the value is scaled by a
+ * 126 bit power of ten with round to odd multiplies, and that interval decides whether a
+ * decimal one digit shorter still reads back as the same value. The digits come out as one
+ * long, with no BigInteger arithmetic and no String. The text has the same layout as
+ * Double.toString and Float.toString: plain notation for 10^-3 <= |v| < 10^7, otherwise
+ * d.dddEn, and always at least one digit after the point. Since the digits are the shortest
+ * that round trip, a few values print shorter than the JDK 8 toString prints them.
+ */
+public final class DoubleFormatter {
+
+    /** Longest output, as in -2.2250738585072014E-308. */
+    public static final int MAX_DOUBLE_CHARS = 24;
+
+    /** Longest output, as in -1.17549435E-38. */
+    public static final int MAX_FLOAT_CHARS = 15;
+
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << 52;
+    private static final int DOUBLE_C_TINY = 3;
+
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << 23;
+    private static final int FLOAT_C_TINY = 8;
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /** s * DIVIDE_BY_10 >> 64 is s / 10 for the s of a double. */
+    private static final long DIVIDE_BY_10 = 115_292_150_460_684_698L << 4;
+
+    private static final long MASK_63 = ( 1L << 63 ) - 1;
+    private static final long MASK_32 = ( 1L << 32 ) - 1;
+
+    /** 10^-k for K_MIN <= k <= K_MAX, as a 126 bit g split into the high and low 63 bits. */
+    private static final long[] G = powersOfTen();
+
+    /** 10^n for 0 <= n <= 18. */
+    private static final long[] POWERS_OF_TEN = new long[ 19 ];
+
+    /** The two ASCII digits of 0 to 99. */
+    private static final byte[] PAIRS = new byte[ 200 ];
+
+    static {
+        POWERS_OF_TEN[ 0 ] = 1;
+        for ( int n = 1; n < POWERS_OF_TEN.length; n++ ) {
+            POWERS_OF_TEN[ n ] = POWERS_OF_TEN[ n - 1 ] * 10;
+        }
+        for ( int n = 0; n < 100; n++ ) {
+            PAIRS[ n << 1 ] = ( byte ) ( '0' + n / 10 );
+            PAIRS[ n << 1 | 1 ] = ( byte ) ( '0' + n % 10 );
+        }
+    }
+
+    private static final char[] NAN = "NaN".toCharArray();
+    private static final char[] INFINITY = "Infinity".toCharArray();
+    private static final char[] NEGATIVE_INFINITY = "-Infinity".toCharArray();
+
+
+    private DoubleFormatter() {
+    }
+
+
+    public static String toString( double value ) {
+        char[] chars = new char[ MAX_DOUBLE_CHARS ];
+        return new String( chars, 0, write( value, chars, 0 ) );
+    }
+
+    public static String toString( float value ) {
+        char[] chars = new char[ MAX_FLOAT_CHARS ];
+        return new String( chars, 0, write( value, chars, 0 ) );
+    }
+
+
+    /**
+     * Writes the value at index, which needs room for MAX_DOUBLE_CHARS, and returns the index
+     * after the last char written.
+     */
+    public static int write( double value, char[] out, int index ) {
+        final long bits = Double.doubleToRawLongBits( value );
+        final long t = bits & ( DOUBLE_C_MIN - 1 );
+        final int bq = ( int ) ( bits >>> 52 ) & 0x7FF;
+
+        if ( bq == 0x7FF ) {
+            return special( t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, index );
+        }
+        if ( bits < 0 ) {
+            out[ index++ ] = '-';
+        }
+
+        return chars( significand( t, bq ), exponent( t, bq ), out, index );
+    }
+
+    public static int write( double value, byte[] out, int index ) {
+        final long bits = Double.doubleToRawLongBits( value );
+        final long t = bits & ( DOUBLE_C_MIN - 1 );
+        final int bq = ( int ) ( bits >>> 52 ) & 0x7FF;
+
+        if ( bq == 0x7FF ) {
+            return special( t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, index );
+        }
+        if ( bits < 0 ) {
+            out[ index++ ] = '-';
+        }
+
+        return bytes( significand( t, bq ), exponent( t, bq ), out, index );
+    }
+
+    /**
+     * Writes the value at index, which needs room for MAX_FLOAT_CHARS, and returns the index
+     * after the last char written.
+     */
+    public static int write( float value, char[] out, int index ) {
+        final int bits = Float.floatToRawIntBits( value );
+        final int t = bits & ( FLOAT_C_MIN - 1 );
+        final int bq = ( bits >>> 23 ) & 0xFF;
+
+        if ( bq == 0xFF ) {
+            return special( t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, index );
+        }
+        if ( bits < 0 ) {
+            out[ index++ ] = '-';
+        }
+
+        return chars( significand( t, bq ), exponent( t, bq ), out, index );
+    }
+
+    public static int write( float value, byte[] out, int index ) {
+        final int bits = Float.floatToRawIntBits( value );
+        final int t = bits & ( FLOAT_C_MIN - 1 );
+        final int bq = ( bits >>> 23 ) & 0xFF;
+
+        if ( bq == 0xFF ) {
+            return special( t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, index );
+        }
+        if ( bits < 0 ) {
+            out[ index++ ] = '-';
+        }
+
+        return bytes( significand( t, bq ), exponent( t, bq ), out, index );
+    }
+
+
+    /*
+     * A finite value comes out as the decimal f * 10^e, f of at most 17 digits. The two halves
+     * are worked out separately, as they do not fit one long together; e only takes a log.
+     */
+
+    private static long significand( long t, int bq ) {
+        if ( bq != 0 ) {
+            final int mq = -DOUBLE_Q_MIN + 1 - bq;
+            final long c = DOUBLE_C_MIN | t;
+            /* Integers below 2^53 print as themselves. */
+            if ( 0 < mq && mq < 53 && ( c >> mq ) << mq == c ) {
+                return c >> mq;
+            }
+            return toDecimal( -mq, c );
+        }
+        if ( t != 0 ) {
+            return t < DOUBLE_C_TINY ? toDecimal( DOUBLE_Q_MIN, 10 * t ) : toDecimal( DOUBLE_Q_MIN, t );
+        }
+        return 0;
+    }
+
+    private static int exponent( long t, int bq ) {
+        if ( bq != 0 ) {
+            final int mq = -DOUBLE_Q_MIN + 1 - bq;
+            final long c = DOUBLE_C_MIN | t;
+            if ( 0 < mq && mq < 53 && ( c >> mq ) << mq == c ) {
+                return 0;
+            }
+            return c != DOUBLE_C_MIN | -mq == DOUBLE_Q_MIN ? flog10pow2( -mq ) : flog10threeQuartersPow2( -mq );
+        }
+        if ( t != 0 ) {
+            return t < DOUBLE_C_TINY ? flog10pow2( DOUBLE_Q_MIN ) - 1 : flog10pow2( DOUBLE_Q_MIN );
+        }
+        return 0;
+    }
+
+    private static long toDecimal( int q, long c ) {
+        final int out = ( int ) c & 1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+
+        /* The interval is asymmetric at the powers of two. */
+        if ( c != DOUBLE_C_MIN | q == DOUBLE_Q_MIN ) {
+            cbl = cb - 2;
+            k = flog10pow2( q );
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2( q );
+        }
+        final int h = q + flog2pow10( -k ) + 2;
+
+        final int index = ( k - K_MIN ) << 1;
+        final long g1 = G[ index ];
+        final long g0 = G[ index + 1 ];
+
+        final long vb = rop( g1, g0, cb << h );
+        final long vbl = rop( g1, g0, cbl << h );
+        final long vbr = rop( g1, g0, cbr << h );
+
+        final long s = vb >> 2;
+        if ( s >= 100 ) {
+            /* One digit shorter, if the interval holds exactly one such decimal. */
+            final long sp10 = 10 * DoubleScanner.multiplyHigh( s, DIVIDE_BY_10 );
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = ( tp10 << 2 ) + out <= vbr;
+            if ( upin != wpin ) {
+                return upin ? sp10 : tp10;
+            }
+        }
+
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = ( t << 2 ) + out <= vbr;
+        if ( uin != win ) {
+            return uin ? s : t;
+        }
+
+        /* Both are in the interval: take the closer one, or the even one on a tie. */
+        final long cmp = vb - ( s + t << 1 );
+        return cmp < 0 || cmp == 0 && ( s & 1 ) == 0 ? s : t;
+    }
+
+    private static long significand( int t, int bq ) {
+        if ( bq != 0 ) {
+            final int mq = -FLOAT_Q_MIN + 1 - bq;
+            final int c = FLOAT_C_MIN | t;
+            if ( 0 < mq && mq < 24 && ( c >> mq ) << mq == c ) {
+                return c >> mq;
+            }
+            return toDecimal( -mq, c );
+        }
+        if ( t != 0 ) {
+            return t < FLOAT_C_TINY ? toDecimal( FLOAT_Q_MIN, 10 * t ) : toDecimal( FLOAT_Q_MIN, t );
+        }
+        return 0;
+    }
+
+    private static int exponent( int t, int bq ) {
+        if ( bq != 0 ) {
+            final int mq = -FLOAT_Q_MIN + 1 - bq;
+            final int c = FLOAT_C_MIN | t;
+            if ( 0 < mq && mq < 24 && ( c >> mq ) << mq == c ) {
+                return 0;
+            }
+            return c != FLOAT_C_MIN | -mq == FLOAT_Q_MIN ? flog10pow2( -mq ) : flog10threeQuartersPow2( -mq );
+        }
+        if ( t != 0 ) {
+            return t < FLOAT_C_TINY ? flog10pow2( FLOAT_Q_MIN ) - 1 : flog10pow2( FLOAT_Q_MIN );
+        }
+        return 0;
+    }
+
+    private static long toDecimal( int q, int c ) {
+        final int out = c & 1;
+        final long cb = ( long ) c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+
+        if ( c != FLOAT_C_MIN | q == FLOAT_Q_MIN ) {
+            cbl = cb - 2;
+            k = flog10pow2( q );
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2( q );
+        }
+        final int h = q + flog2pow10( -k ) + 33;
+
+        /* A float only needs the high half of the power, rounded up. */
+        final long g = G[ ( k - K_MIN ) << 1 ] + 1;
+
+        final int vb = rop( g, cb << h );
+        final int vbl = rop( g, cbl << h );
+        final int vbr = rop( g, cbr << h );
+
+        final int s = vb >> 2;
+        if ( s >= 100 ) {
+            final int sp10 = 10 * ( s / 10 );
+            final int tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = ( tp10 << 2 ) + out <= vbr;
+            if ( upin != wpin ) {
+                return upin ? sp10 : tp10;
+            }
+        }
+
+        final int t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = ( t << 2 ) + out <= vbr;
+        if ( uin != win ) {
+            return uin ? s : t;
+        }
+
+        final int cmp = vb - ( s + t << 1 );
+        return cmp < 0 || cmp == 0 && ( s & 1 ) == 0 ? s : t;
+    }
+
+
+    /** Round to odd of g * cp / 2^127, for the double interval. */
+    private static long rop( long g1, long g0, long cp ) {
+        final long x1 = DoubleScanner.multiplyHigh( g0, cp );
+        final long y0 = g1 * cp;
+        final long y1 = DoubleScanner.multiplyHigh( g1, cp );
+        final long z = ( y0 >>> 1 ) + x1;
+        final long vbp = y1 + ( z >>> 63 );
+        return vbp | ( z & MASK_63 ) + MASK_63 >>> 63;
+    }
+
+    /** Round to odd of g * cp / 2^95, for the float interval. */
+    private static int rop( long g, long cp ) {
+        final long x1 = DoubleScanner.multiplyHigh( g, cp );
+        final long vbp = x1 >>> 31;
+        return ( int ) ( vbp | ( x1 & MASK_32 ) + MASK_32 >>> 32 );
+    }
+
+
+    /** floor(e * log10(2)) */
+    private static int flog10pow2( int e ) {
+        return ( int ) ( e * 661_971_961_083L >> 41 );
+    }
+
+    /** floor(e * log10(2) + log10(3 / 4)) */
+    private static int flog10threeQuartersPow2( int e ) {
+        return ( int ) ( e * 661_971_961_083L + -274_743_187_321L >> 41 );
+    }
+
+    /** floor(e * log2(10)) */
+    private static int flog2pow10( int e ) {
+        return ( int ) ( e * 913_124_641_741L >> 38 );
+    }
+
+
+    /**
+     * Lays out f * 10^e as Double.toString does. The trailing zeros are dropped eight, four,
+     * two and one at a time, then the digits go in and the point is opened up among them,
+     * which is at most a 17 char move.
+     */
+    private static int chars( long f, int e, char[] out, int index ) {
+        if ( f == 0 ) {
+            out[ index ] = '0';
+            out[ index + 1 ] = '.';
+            out[ index + 2 ] = '0';
+            return index + 3;
+        }
+
+        final int full = digitCount( f );
+        f = stripZeros( f );
+        final int length = digitCount( f );
+        e += full - length;
+        final int exponent = length + e - 1;
+
+        if ( exponent >= 0 && exponent < 7 ) {
+            if ( length <= exponent + 1 ) {
+                digits( f, length, out, index );
+                index += length;
+                for ( int zeros = exponent + 1 - length; zeros > 0; zeros-- ) {
+                    out[ index++ ] = '0';
+                }
+                out[ index ] = '.';
+                out[ index + 1 ] = '0';
+                return index + 2;
+            }
+            digits( f, length, out, index + 1 );
+            System.arraycopy( out, index + 1, out, index, exponent + 1 );
+            out[ index + exponent + 1 ] = '.';
+            return index + length + 1;
+        }
+
+        if ( exponent < 0 && exponent >= -3 ) {
+            out[ index++ ] = '0';
+            out[ index++ ] = '.';
+            for ( int zeros = -exponent - 1; zeros > 0; zeros-- ) {
+                out[ index++ ] = '0';
+            }
+            digits( f, length, out, index );
+            return index + length;
+        }
+
+        digits( f, length, out, index + 1 );
+        out[ index ] = out[ index + 1 ];
+        out[ index + 1 ] = '.';
+        if ( length == 1 ) {
+            out[ index + 2 ] = '0';
+            index += 3;
+        } else {
+            index += length + 1;
+        }
+        out[ index++ ] = 'E';
+        int power = exponent;
+        if ( power < 0 ) {
+            out[ index++ ] = '-';
+            power = -power;
+        }
+        if ( power >= 100 ) {
+            out[ index++ ] = ( char ) ( '0' + power / 100 );
+            power %= 100;
+            out[ index++ ] = ( char ) ( '0' + power / 10 );
+        } else if ( power >= 10 ) {
+            out[ index++ ] = ( char ) ( '0' + power / 10 );
+        }
+        out[ index++ ] = ( char ) ( '0' + power % 10 );
+        return index;
+    }
+
+    private static int bytes( long f, int e, byte[] out, int index ) {
+        if ( f == 0 ) {
+            out[ index ] = '0';
+            out[ index + 1 ] = '.';
+            out[ index + 2 ] = '0';
+            return index + 3;
+        }
+
+        final int full = digitCount( f );
+        f = stripZeros( f );
+        final int length = digitCount( f );
+        e += full - length;
+        final int exponent = length + e - 1;
+
+        if ( exponent >= 0 && exponent < 7 ) {
+            if ( length <= exponent + 1 ) {
+                digits( f, length, out, index );
+                index += length;
+                for ( int zeros = exponent + 1 - length; zeros > 0; zeros-- ) {
+                    out[ index++ ] = '0';
+                }
+                out[ index ] = '.';
+                out[ index + 1 ] = '0';
+                return index + 2;
+            }
+            digits( f, length, out, index + 1 );
+            System.arraycopy( out, index + 1, out, index, exponent + 1 );
+            out[ index + exponent + 1 ] = '.';
+            return index + length + 1;
+        }
+
+        if ( exponent < 0 && exponent >= -3 ) {
+            out[ index++ ] = '0';
+            out[ index++ ] = '.';
+            for ( int zeros = -exponent - 1; zeros > 0; zeros-- ) {
+                out[ index++ ] = '0';
+            }
+            digits( f, length, out, index );
+            return index + length;
+        }
+
+        digits( f, length, out, index + 1 );
+        out[ index ] = out[ index + 1 ];
+        out[ index + 1 ] = '.';
+        if ( length == 1 ) {
+            out[ index + 2 ] = '0';
+            index += 3;
+        } else {
+            index += length + 1;
+        }
+        out[ index++ ] = 'E';
+        int power = exponent;
+        if ( power < 0 ) {
+            out[ index++ ] = '-';
+            power = -power;
+        }
+        if ( power >= 100 ) {
+            out[ index++ ] = ( byte ) ( '0' + power / 100 );
+            power %= 100;
+            out[ index++ ] = ( byte ) ( '0' + power / 10 );
+        } else if ( power >= 10 ) {
+            out[ index++ ] = ( byte ) ( '0' + power / 10 );
+        }
+        out[ index++ ] = ( byte ) ( '0' + power % 10 );
+        return index;
+    }
+
+
+    private static int digitCount( long f ) {
+        final int length = flog10pow2( 64 - Long.numberOfLeadingZeros( f ) );
+        return f >= POWERS_OF_TEN[ length ] ? length + 1 : length;
+    }
+
+    /** f without its trailing zeros, stripped from the two eight digit int halves of f. */
+    private static long stripZeros( long f ) {
+        final long high = divideBy10to8( f );
+        int low = ( int ) ( f - high * 100_000_000L );
+        if ( low == 0 ) {
+            int value = ( int ) high;
+            while ( value % 10 == 0 ) {
+                value /= 10;
+            }
+            return value;
+        }
+        int dropped = 0;
+        while ( low % 10 == 0 ) {
+            low /= 10;
+            dropped++;
+        }
+        return high * POWERS_OF_TEN[ 8 - dropped ] + low;
+    }
+
+    /** f / 10^8, exact for f < 10^17. */
+    private static long divideBy10to8( long f ) {
+        return DoubleScanner.multiplyHigh( f, 193_428_131_138_340_668L ) >>> 20;
+    }
+
+    /** Writes the length digits of f, which is below 10^17, ending before index + length. */
+    private static void digits( long f, int length, char[] out, int index ) {
+        int pos = index + length;
+        if ( f >= 100_000_000L ) {
+            final long q = divideBy10to8( f );
+            pos -= 8;
+            eight( ( int ) ( f - q * 100_000_000L ), out, pos );
+            f = q;
+        }
+        int r = ( int ) f;
+        while ( r >= 100 ) {
+            final int pair = r % 100;
+            r /= 100;
+            out[ --pos ] = ( char ) PAIRS[ pair << 1 | 1 ];
+            out[ --pos ] = ( char ) PAIRS[ pair << 1 ];
+        }
+        out[ --pos ] = ( char ) PAIRS[ r << 1 | 1 ];
+        if ( r >= 10 ) {
+            out[ --pos ] = ( char ) PAIRS[ r << 1 ];
+        }
+    }
+
+    private static void digits( long f, int length, byte[] out, int index ) {
+        int pos = index + length;
+        if ( f >= 100_000_000L ) {
+            final long q = divideBy10to8( f );
+            pos -= 8;
+            eight( ( int ) ( f - q * 100_000_000L ), out, pos );
+            f = q;
+        }
+        int r = ( int ) f;
+        while ( r >= 100 ) {
+            final int pair = r % 100;
+            r /= 100;
+            out[ --pos ] = PAIRS[ pair << 1 | 1 ];
+            out[ --pos ] = PAIRS[ pair << 1 ];
+        }
+        out[ --pos ] = PAIRS[ r << 1 | 1 ];
+        if ( r >= 10 ) {
+            out[ --pos ] = PAIRS[ r << 1 ];
+        }
+    }
+
+
+    /**
+     * Writes eight digits of r at pos. The halves and quarters are split apart first so the
+     * divisions do not wait on each other.
+     */
+    private static void eight( int r, char[] out, int pos ) {
+        final int high = r / 10_000;
+        final int low = r - high * 10_000;
+        final int a = high / 100;
+        final int b = high - a * 100;
+        final int c = low / 100;
+        final int d = low - c * 100;
+        out[ pos ] = ( char ) PAIRS[ a << 1 ];
+        out[ pos + 1 ] = ( char ) PAIRS[ a << 1 | 1 ];
+        out[ pos + 2 ] = ( char ) PAIRS[ b << 1 ];
+        out[ pos + 3 ] = ( char ) PAIRS[ b << 1 | 1 ];
+        out[ pos + 4 ] = ( char ) PAIRS[ c << 1 ];
+        out[ pos + 5 ] = ( char ) PAIRS[ c << 1 | 1 ];
+        out[ pos + 6 ] = ( char ) PAIRS[ d << 1 ];
+        out[ pos + 7 ] = ( char ) PAIRS[ d << 1 | 1 ];
+    }
+
+    private static void eight( int r, byte[] out, int pos ) {
+        final int high = r / 10_000;
+        final int low = r - high * 10_000;
+        final int a = high / 100;
+        final int b = high - a * 100;
+        final int c = low / 100;
+        final int d = low - c * 100;
+        out[ pos ] = PAIRS[ a << 1 ];
+        out[ pos + 1 ] = PAIRS[ a << 1 | 1 ];
+        out[ pos + 2 ] = PAIRS[ b << 1 ];
+        out[ pos + 3 ] = PAIRS[ b << 1 | 1 ];
+        out[ pos + 4 ] = PAIRS[ c << 1 ];
+        out[ pos + 5 ] = PAIRS[ c << 1 | 1 ];
+        out[ pos + 6 ] = PAIRS[ d << 1 ];
+        out[ pos + 7 ] = PAIRS[ d << 1 | 1 ];
+    }
+
+
+    private static int special( char[] text, char[] out, int index ) {
+        System.arraycopy( text, 0, out, index, text.length );
+        return index + text.length;
+    }
+
+    private static int special( char[] text, byte[] out, int index ) {
+        for ( char c : text ) {
+            out[ index++ ] = ( byte ) c;
+        }
+        return index;
+    }
+
+
+    /**
+     * g = floor(10^-k * 2^-r) + 1, with r chosen so that 2^125 <= g < 2^126, as the rounding
+     * proofs of Schubfach assume.
+     */
+    private static long[] powersOfTen() {
+        final long[] table = new long[ 2 * ( K_MAX - K_MIN + 1 ) ];
+        final BigInteger mask = BigInteger.ONE.shiftLeft( 63 ).subtract( BigInteger.ONE );
+
+        for ( int k = K_MIN; k <= K_MAX; k++ ) {
+            BigInteger g;
+            if ( k <= 0 ) {
+                BigInteger power = BigInteger.TEN.pow( -k );
+                int shift = 126 - power.bitLength();
+                g = shift >= 0 ? power.shiftLeft( shift ) : power.shiftRight( -shift );
+            } else {
+                BigInteger power = BigInteger.TEN.pow( k );
+                g = BigInteger.ONE.shiftLeft( 125 + power.bitLength() ).divide( power );
+            }
+            g = g.add( BigInteger.ONE );
+
+            int index = ( k - K_MIN ) << 1;
+            table[ index ] = g.shiftRight( 63 ).longValue();
+            table[ index + 1 ] = g.and( mask ).longValue();
+        }
+        return table;
+    }
+}
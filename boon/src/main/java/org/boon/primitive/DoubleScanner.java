@@ -0,0 +1,416 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.boon.Exceptions.die;
+
+/**
+ * Correctly rounded decimal to double and float conversion, without going through a String.
+ *
+ * The digits are read into a 64 bit significand w and a decimal exponent q, so the value is
+ * w * 10^q. Small cases are done exactly with one double multiply or divide (Clinger's fast
+ * path). The rest use the Eisel-Lemire algorithm: w is multiplied by a 128 bit truncated power
+ * of five, and the top bits of the product, with the power of two worked out from q, are the
+ * binary significand. The product is exact enough to round correctly for any w of up to 19
+ * digits. In the one case where the truncated product is ambiguous, BigDecimal decides.
+ *
+ * Numbers with more than 19 significant digits, or text that is not a plain decimal number,
+ * go to Double.parseDouble as before.
+ */
+public final class DoubleScanner {
+
+    /** Significant digits that fit in an unsigned 64 bit significand. */
+    private static final int MAX_DIGITS = 19;
+
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+
+    /** 5^q for SMALLEST_POWER_OF_FIVE <= q <= LARGEST_POWER_OF_FIVE, as high and low longs. */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+
+    private DoubleScanner() {
+    }
+
+
+    public static double parseDouble( char[] buffer, int from, int to ) {
+        return parse( buffer, from, to, false );
+    }
+
+    public static float parseFloat( char[] buffer, int from, int to ) {
+        return ( float ) parse( buffer, from, to, true );
+    }
+
+    public static double parseDouble( byte[] buffer, int from, int to ) {
+        return parse( buffer, from, to, false );
+    }
+
+    public static float parseFloat( byte[] buffer, int from, int to ) {
+        return ( float ) parse( buffer, from, to, true );
+    }
+
+
+    /**
+     * Returns the double nearest to significand * 10^exponent, with the significand read as
+     * an unsigned long.
+     */
+    public static double toDouble( boolean negative, long significand, int exponent ) {
+        double value;
+
+        if ( significand == 0 || exponent < SMALLEST_POWER_OF_FIVE ) {
+            value = 0.0;
+        } else if ( exponent > LARGEST_POWER_OF_FIVE ) {
+            value = Double.POSITIVE_INFINITY;
+        } else if ( exponent >= -22 && exponent <= 22 && compareUnsigned( significand, 1L << 53 ) <= 0 ) {
+            value = exponent < 0 ? significand / DOUBLE_POWERS_OF_TEN[ -exponent ]
+                    : significand * DOUBLE_POWERS_OF_TEN[ exponent ];
+        } else {
+            long bits = eiselLemire( significand, exponent, 52, -1023, 0x7FF, -4, 23 );
+            value = bits < 0 ? exact( significand, exponent ).doubleValue() : Double.longBitsToDouble( bits );
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the float nearest to significand * 10^exponent, with the significand read as
+     * an unsigned long.
+     */
+    public static float toFloat( boolean negative, long significand, int exponent ) {
+        float value;
+
+        if ( significand == 0 || exponent < -65 ) {
+            value = 0.0f;
+        } else if ( exponent > 38 ) {
+            value = Float.POSITIVE_INFINITY;
+        } else if ( exponent >= -10 && exponent <= 10 && compareUnsigned( significand, 1L << 24 ) <= 0 ) {
+            value = exponent < 0 ? significand / FLOAT_POWERS_OF_TEN[ -exponent ]
+                    : significand * FLOAT_POWERS_OF_TEN[ exponent ];
+        } else {
+            long bits = eiselLemire( significand, exponent, 23, -127, 0xFF, -17, 10 );
+            value = bits < 0 ? exact( significand, exponent ).floatValue() : Float.intBitsToFloat( ( int ) bits );
+        }
+
+        return negative ? -value : value;
+    }
+
+
+    private static double parse( char[] buffer, int from, int to, boolean single ) {
+        int index = from;
+        boolean negative = false;
+
+        if ( index < to && buffer[ index ] == '-' ) {
+            negative = true;
+            index++;
+        }
+
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        boolean dot = false;
+
+        for ( ; index < to; index++ ) {
+            int ch = buffer[ index ];
+            if ( ch >= '0' && ch <= '9' ) {
+                any = true;
+                if ( dot ) {
+                    exponent--;
+                }
+                if ( digits == 0 && ch == '0' ) {
+                    continue;
+                }
+                if ( digits == MAX_DIGITS ) {
+                    return slow( buffer, from, to, single );
+                }
+                significand = significand * 10 + ( ch - '0' );
+                digits++;
+            } else if ( ch == '.' && !dot ) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+
+        if ( index < to && ( buffer[ index ] == 'e' || buffer[ index ] == 'E' ) ) {
+            index++;
+            boolean negativeExponent = false;
+            if ( index < to && ( buffer[ index ] == '-' || buffer[ index ] == '+' ) ) {
+                negativeExponent = buffer[ index ] == '-';
+                index++;
+            }
+            int start = index;
+            int power = 0;
+            for ( ; index < to && buffer[ index ] >= '0' && buffer[ index ] <= '9'; index++ ) {
+                if ( power < 100_000 ) {
+                    power = power * 10 + ( buffer[ index ] - '0' );
+                }
+            }
+            if ( index == start ) {
+                return slow( buffer, from, to, single );
+            }
+            exponent += negativeExponent ? -power : power;
+        }
+
+        if ( index != to || !any ) {
+            return slow( buffer, from, to, single );
+        }
+
+        return single ? toFloat( negative, significand, exponent ) : toDouble( negative, significand, exponent );
+    }
+
+
+    private static double parse( byte[] buffer, int from, int to, boolean single ) {
+        int index = from;
+        boolean negative = false;
+
+        if ( index < to && buffer[ index ] == '-' ) {
+            negative = true;
+            index++;
+        }
+
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        boolean dot = false;
+
+        for ( ; index < to; index++ ) {
+            int ch = buffer[ index ];
+            if ( ch >= '0' && ch <= '9' ) {
+                any = true;
+                if ( dot ) {
+                    exponent--;
+                }
+                if ( digits == 0 && ch == '0' ) {
+                    continue;
+                }
+                if ( digits == MAX_DIGITS ) {
+                    return slow( buffer, from, to, single );
+                }
+                significand = significand * 10 + ( ch - '0' );
+                digits++;
+            } else if ( ch == '.' && !dot ) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+
+        if ( index < to && ( buffer[ index ] == 'e' || buffer[ index ] == 'E' ) ) {
+            index++;
+            boolean negativeExponent = false;
+            if ( index < to && ( buffer[ index ] == '-' || buffer[ index ] == '+' ) ) {
+                negativeExponent = buffer[ index ] == '-';
+                index++;
+            }
+            int start = index;
+            int power = 0;
+            for ( ; index < to && buffer[ index ] >= '0' && buffer[ index ] <= '9'; index++ ) {
+                if ( power < 100_000 ) {
+                    power = power * 10 + ( buffer[ index ] - '0' );
+                }
+            }
+            if ( index == start ) {
+                return slow( buffer, from, to, single );
+            }
+            exponent += negativeExponent ? -power : power;
+        }
+
+        if ( index != to || !any ) {
+            return slow( buffer, from, to, single );
+        }
+
+        return single ? toFloat( negative, significand, exponent ) : toDouble( negative, significand, exponent );
+    }
+
+
+    private static double slow( char[] buffer, int from, int to, boolean single ) {
+        for ( int index = from; index < to; index++ ) {
+            check( buffer[ index ] );
+        }
+        String text = new String( buffer, from, to - from );
+        return single ? Float.parseFloat( text ) : Double.parseDouble( text );
+    }
+
+    private static double slow( byte[] buffer, int from, int to, boolean single ) {
+        for ( int index = from; index < to; index++ ) {
+            check( buffer[ index ] );
+        }
+        String text = new String( buffer, from, to - from );
+        return single ? Float.parseFloat( text ) : Double.parseDouble( text );
+    }
+
+    private static void check( int ch ) {
+        if ( !( ch >= '0' && ch <= '9' ) && ch != '.' && ch != 'e' && ch != 'E' && ch != '-' && ch != '+' ) {
+            die( "unexpected character " + ch );
+        }
+    }
+
+
+    /**
+     * Eisel-Lemire: the IEEE bits, without the sign, of the value nearest to w * 10^q for a
+     * format with the given explicit significand bits and exponent bias, or -1 when the
+     * truncated power of five cannot decide the rounding.
+     */
+    private static long eiselLemire( long w, int q, int mantissaBits, int minExponent,
+                                     int infinitePower, int evenMin, int evenMax ) {
+
+        final int lz = Long.numberOfLeadingZeros( w );
+        w <<= lz;
+
+        final int index = 2 * ( q - SMALLEST_POWER_OF_FIVE );
+        long high = multiplyHigh( w, POWERS_OF_FIVE[ index ] );
+        long low = w * POWERS_OF_FIVE[ index ];
+
+        /* Only when the bits below the significand are all ones can the second half of the
+           power change the result. */
+        final long precisionMask = -1L >>> ( mantissaBits + 3 );
+        if ( ( high & precisionMask ) == precisionMask ) {
+            long secondHigh = multiplyHigh( w, POWERS_OF_FIVE[ index + 1 ] );
+            low += secondHigh;
+            if ( compareUnsigned( secondHigh, low ) > 0 ) {
+                high++;
+            }
+        }
+
+        if ( low == -1L && ( q < -27 || q > 55 ) ) {
+            return -1;
+        }
+
+        final int upperBit = ( int ) ( high >>> 63 );
+        final int shift = upperBit + 64 - mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = ( ( ( 152170 + 65536 ) * q ) >> 16 ) + 63 + upperBit - lz - minExponent;
+
+        if ( power2 <= 0 ) {
+            /* Subnormal. */
+            if ( -power2 + 1 >= 64 ) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < ( 1L << mantissaBits ) ? 0 : 1;
+            return mantissa | ( ( long ) power2 << mantissaBits );
+        }
+
+        /* Exactly halfway between two values: round to even instead of up. */
+        if ( compareUnsigned( low, 1 ) <= 0 && q >= evenMin && q <= evenMax && ( mantissa & 3 ) == 1
+                && ( mantissa << shift ) == high ) {
+            mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if ( mantissa >= ( 2L << mantissaBits ) ) {
+            mantissa = 1L << mantissaBits;
+            power2++;
+        }
+        mantissa &= ~( 1L << mantissaBits );
+
+        if ( power2 >= infinitePower ) {
+            power2 = infinitePower;
+            mantissa = 0;
+        }
+        return mantissa | ( ( long ) power2 << mantissaBits );
+    }
+
+
+    private static BigDecimal exact( long significand, int exponent ) {
+        return new BigDecimal( unsigned( significand ), -exponent );
+    }
+
+
+    private static BigInteger unsigned( long value ) {
+        if ( value >= 0 ) {
+            return BigInteger.valueOf( value );
+        }
+        return BigInteger.valueOf( value >>> 1 ).shiftLeft( 1 ).add( BigInteger.valueOf( value & 1 ) );
+    }
+
+
+    /** Long.compareUnsigned without Java 8: flipping the sign bit orders unsigned values as signed ones. */
+    static int compareUnsigned( long x, long y ) {
+        return Long.compare( x + Long.MIN_VALUE, y + Long.MIN_VALUE );
+    }
+
+
+    /** High 64 bits of the unsigned 128 bit product of x and y. */
+    static long multiplyHigh( long x, long y ) {
+        final long x0 = x & 0xFFFFFFFFL;
+        final long x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL;
+        final long y1 = y >>> 32;
+
+        final long t = x1 * y0 + ( ( x0 * y0 ) >>> 32 );
+        final long w1 = x0 * y1 + ( t & 0xFFFFFFFFL );
+        return x1 * y1 + ( t >>> 32 ) + ( w1 >>> 32 );
+    }
+
+
+    /**
+     * 5^q scaled into [2^127, 2^128) and truncated, or for negative q the reciprocal rounded
+     * up, which is what the rounding proofs of Eisel-Lemire assume.
+     */
+    private static long[] powersOfFive() {
+        final long[] table = new long[ 2 * ( LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1 ) ];
+        final BigInteger five = BigInteger.valueOf( 5 );
+
+        for ( int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++ ) {
+            BigInteger power;
+            if ( q < 0 ) {
+                BigInteger divisor = five.pow( -q );
+                int z = divisor.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft( b ).divide( divisor ).add( BigInteger.ONE );
+            } else {
+                power = five.pow( q );
+            }
+            int bits = power.bitLength();
+            power = bits > 128 ? power.shiftRight( bits - 128 ) : power.shiftLeft( 128 - bits );
+
+            int index = 2 * ( q - SMALLEST_POWER_OF_FIVE );
+            table[ index ] = power.shiftRight( 64 ).longValue();
+            table[ index + 1 ] = power.longValue();
+        }
+        return table;
+    }
+}
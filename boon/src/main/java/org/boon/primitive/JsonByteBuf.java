@@ -0,0 +1,291 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import org.boon.core.reflection.FastStringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ByteBuf that writes JSON text as UTF-8 bytes, the byte counterpart of CharBuf for
+ * JsonSimpleSerializerImpl.
+ *
+ * ASCII is copied straight into the buffer and multi-byte sequences are written inline as
+ * they are found, so nothing needs to be encoded again afterwards. The output is byte for
+ * byte what CharBuf produces encoded as UTF-8.
+ */
+public class JsonByteBuf extends ByteBuf implements JsonOutput {
+
+    private static final byte[] TRUE = "true".getBytes( StandardCharsets.US_ASCII );
+    private static final byte[] FALSE = "false".getBytes( StandardCharsets.US_ASCII );
+    private static final byte[] NULL = "null".getBytes( StandardCharsets.US_ASCII );
+
+
+    protected JsonByteBuf( int capacity ) {
+        super( capacity );
+    }
+
+    public static JsonByteBuf create( int capacity ) {
+        return new JsonByteBuf( capacity );
+    }
+
+
+    private void ensure( final int needed ) {
+        if ( length + needed > capacity ) {
+            buffer = Byt.grow( buffer, buffer.length + needed );
+            capacity = buffer.length;
+        }
+    }
+
+
+    /**
+     * Adds a single char, which is a one byte write for the ASCII structural chars.
+     */
+    public final JsonByteBuf addChar( final char c ) {
+        ensure( 4 );
+        if ( c < 0x80 ) {
+            buffer[ length++ ] = ( byte ) c;
+        } else {
+            length = encode( c, buffer, length );
+        }
+        return this;
+    }
+
+    public final JsonByteBuf addBoolean( final boolean value ) {
+        add( value ? TRUE : FALSE );
+        return this;
+    }
+
+    public final void addNull() {
+        add( NULL );
+    }
+
+    public final JsonByteBuf addInt( int value ) {
+        if ( value == Integer.MIN_VALUE ) {
+            return addAscii( Integer.toString( value ) );
+        }
+
+        ensure( 11 );
+        if ( value < 0 ) {
+            buffer[ length++ ] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for ( int limit = 10; digits < 10 && value >= limit; limit *= 10 ) {
+            digits++;
+        }
+
+        int pos = length + digits;
+        length = pos;
+        do {
+            buffer[ --pos ] = ( byte ) ( '0' + value % 10 );
+            value /= 10;
+        } while ( value != 0 );
+        return this;
+    }
+
+    public final JsonByteBuf addLong( long value ) {
+        if ( value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ) {
+            return addInt( ( int ) value );
+        }
+        if ( value == Long.MIN_VALUE ) {
+            return addAscii( Long.toString( value ) );
+        }
+
+        ensure( 20 );
+        if ( value < 0 ) {
+            buffer[ length++ ] = '-';
+            value = -value;
+        }
+
+        int digits = 10;
+        for ( long limit = 10_000_000_000L; digits < 19 && value >= limit; limit *= 10 ) {
+            digits++;
+        }
+
+        int pos = length + digits;
+        length = pos;
+        do {
+            buffer[ --pos ] = ( byte ) ( '0' + value % 10 );
+            value /= 10;
+        } while ( value != 0 );
+        return this;
+    }
+
+    public final JsonByteBuf addDouble( final double value ) {
+        ensure( DoubleFormatter.MAX_DOUBLE_CHARS );
+        length = DoubleFormatter.write( value, buffer, length );
+        return this;
+    }
+
+    public final JsonByteBuf addFloat( final float value ) {
+        ensure( DoubleFormatter.MAX_FLOAT_CHARS );
+        length = DoubleFormatter.write( value, buffer, length );
+        return this;
+    }
+
+    public final JsonByteBuf addBigDecimal( final BigDecimal value ) {
+        return addAscii( value.toString() );
+    }
+
+    public final JsonByteBuf addBigInteger( final BigInteger value ) {
+        return addAscii( value.toString() );
+    }
+
+
+    /**
+     * Adds a string known to be ASCII, such as a formatted number.
+     */
+    public final JsonByteBuf addAscii( final String str ) {
+        final int count = str.length();
+        ensure( count );
+        final byte[] out = buffer;
+        int pos = length;
+        for ( int index = 0; index < count; index++ ) {
+            out[ pos++ ] = ( byte ) str.charAt( index );
+        }
+        length = pos;
+        return this;
+    }
+
+    /**
+     * Adds the string as UTF-8 without quotes or escaping.
+     */
+    public final JsonByteBuf addString( final String str ) {
+        addUtf8( FastStringUtils.toCharArray( str ) );
+        return this;
+    }
+
+    /**
+     * Adds the string in quotes without escaping it.
+     */
+    public final JsonByteBuf addQuoted( final String str ) {
+        addChar( '"' );
+        addUtf8( FastStringUtils.toCharArray( str ) );
+        addChar( '"' );
+        return this;
+    }
+
+    public final JsonByteBuf addJsonFieldName( final String name ) {
+        addChar( '"' );
+        addUtf8( FastStringUtils.toCharArray( name ) );
+        ensure( 2 );
+        buffer[ length++ ] = '"';
+        buffer[ length++ ] = ':';
+        return this;
+    }
+
+    /**
+     * Adds chars start to end as UTF-8.
+     */
+    public final JsonByteBuf add( final char[] chars, final int start, final int end ) {
+        addUtf8( chars, start, end );
+        return this;
+    }
+
+    public final void addEncoded( final char[] chars, final byte[] utf8 ) {
+        add( utf8 );
+    }
+
+    /* Only ever called to drop a trailing comma, which is one byte. */
+    public final void removeLastChar() {
+        if ( length > 0 ) {
+            length--;
+        }
+    }
+
+    public final void flushIfFull() {
+    }
+
+
+    private void addUtf8( final char[] chars ) {
+        addUtf8( chars, 0, chars.length );
+    }
+
+    private void addUtf8( final char[] chars, final int start, final int end ) {
+        ensure( end - start );
+
+        byte[] out = buffer;
+        int pos = length;
+        int index = start;
+        for ( ; index < end; index++ ) {
+            final char c = chars[ index ];
+            if ( c > 127 ) {
+                break;
+            }
+            out[ pos++ ] = ( byte ) c;
+        }
+        length = pos;
+
+        for ( ; index < end; index++ ) {
+            ensure( 4 + end - index );
+            out = buffer;
+            final char c = chars[ index ];
+            if ( c < 0x80 ) {
+                out[ length++ ] = ( byte ) c;
+            } else if ( Character.isHighSurrogate( c ) && index + 1 < end && Character.isLowSurrogate( chars[ index + 1 ] ) ) {
+                length = encodeCodePoint( Character.toCodePoint( c, chars[ ++index ] ), out, length );
+            } else {
+                length = encode( c, out, length );
+            }
+        }
+    }
+
+
+    /* Encodes a char that is not part of a surrogate pair. A lone surrogate becomes '?', as String.getBytes does. */
+    private static int encode( final char c, final byte[] out, int pos ) {
+        if ( c < 0x800 ) {
+            out[ pos++ ] = ( byte ) ( 0xC0 | ( c >> 6 ) );
+            out[ pos++ ] = ( byte ) ( 0x80 | ( c & 0x3F ) );
+        } else if ( Character.isSurrogate( c ) ) {
+            out[ pos++ ] = '?';
+        } else {
+            out[ pos++ ] = ( byte ) ( 0xE0 | ( c >> 12 ) );
+            out[ pos++ ] = ( byte ) ( 0x80 | ( ( c >> 6 ) & 0x3F ) );
+            out[ pos++ ] = ( byte ) ( 0x80 | ( c & 0x3F ) );
+        }
+        return pos;
+    }
+
+    private static int encodeCodePoint( final int codePoint, final byte[] out, int pos ) {
+        out[ pos++ ] = ( byte ) ( 0xF0 | ( codePoint >> 18 ) );
+        out[ pos++ ] = ( byte ) ( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+        out[ pos++ ] = ( byte ) ( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+        out[ pos++ ] = ( byte ) ( 0x80 | ( codePoint & 0x3F ) );
+        return pos;
+    }
+
+
+    @Override
+    public String toString() {
+        return new String( buffer, 0, length, StandardCharsets.UTF_8 );
+    }
+}
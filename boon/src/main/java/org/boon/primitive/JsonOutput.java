@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.primitive;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The writes JsonSimpleSerializerImpl makes while it walks an object graph.
+ *
+ * CharBuf writes them as chars and JsonByteBuf as UTF-8 bytes, so the one serializer
+ * produces either form.
+ */
+public interface JsonOutput {
+
+    JsonOutput addChar( char ch );
+
+    JsonOutput addBoolean( boolean value );
+
+    void addNull();
+
+    JsonOutput addInt( int value );
+
+    JsonOutput addLong( long value );
+
+    JsonOutput addDouble( double value );
+
+    JsonOutput addFloat( float value );
+
+    JsonOutput addBigDecimal( BigDecimal value );
+
+    JsonOutput addBigInteger( BigInteger value );
+
+    /** Adds the string as is, without quotes or escaping. */
+    JsonOutput addString( String str );
+
+    /** Adds the string in quotes without escaping it. */
+    JsonOutput addQuoted( String str );
+
+    /** Adds the name in quotes followed by a colon, without escaping it. */
+    JsonOutput addJsonFieldName( String name );
+
+    /** Adds chars start to end of JSON text that is already escaped. */
+    JsonOutput add( char[] chars, int start, int end );
+
+    /**
+     * Adds JSON text that was encoded ahead of time, such as a field name with its colon,
+     * taking whichever of the two forms this output holds.
+     */
+    void addEncoded( char[] chars, byte[] utf8 );
+
+    void removeLastChar();
+
+    /** Called between the elements of arrays, collections and maps, see CharBuf.flushIfFull(). */
+    void flushIfFull();
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import org.boon.Exceptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CharBuf that writes through to an OutputStream or WritableByteChannel.
+ *
+ * Serializers call flushIfFull between elements. Once the buffer holds more than a few
+ * thousand chars, they are encoded to UTF-8 into a pooled ByteBuffer that is written out
+ * whenever it fills. Serializing a large collection this way never holds more than one
+ * element plus the two buffers, instead of the whole document as chars, then a String,
+ * then bytes.
+ *
+ * Call close when done. It writes out what is left and returns the ByteBuffer to the pool.
+ * The underlying stream or channel is left open.
+ */
+public class StreamingCharBuf extends CharBuf {
+
+    private static final int CHAR_THRESHOLD = 8 * 1024;
+
+    private static final int BYTE_BUFFER_SIZE = 32 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 32;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger pooled = new AtomicInteger();
+
+
+    private final OutputStream outputStream;
+
+    private final WritableByteChannel channel;
+
+    private ByteBuffer bytes;
+
+
+    private StreamingCharBuf( OutputStream outputStream, WritableByteChannel channel ) {
+        super( CHAR_THRESHOLD + 1024 );
+        this.outputStream = outputStream;
+        this.channel = channel;
+        this.bytes = borrow();
+    }
+
+    public static StreamingCharBuf create( OutputStream outputStream ) {
+        return new StreamingCharBuf( outputStream, null );
+    }
+
+    public static StreamingCharBuf create( WritableByteChannel channel ) {
+        return new StreamingCharBuf( null, channel );
+    }
+
+
+    private static ByteBuffer borrow() {
+        ByteBuffer buffer = pool.poll();
+        if ( buffer == null ) {
+            return ByteBuffer.allocate( BYTE_BUFFER_SIZE );
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    private static void giveBack( ByteBuffer buffer ) {
+        if ( pooled.incrementAndGet() <= MAX_POOLED_BUFFERS ) {
+            pool.offer( buffer );
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+
+    @Override
+    public void flushIfFull() {
+        if ( location >= CHAR_THRESHOLD ) {
+            encode( false );
+        }
+    }
+
+    @Override
+    public void flush() {
+        if ( bytes == null ) {
+            return;
+        }
+        encode( true );
+        writeBytes();
+        if ( outputStream != null ) {
+            try {
+                outputStream.flush();
+            } catch ( IOException e ) {
+                Exceptions.handle( e );
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if ( bytes == null ) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            giveBack( bytes );
+            bytes = null;
+        }
+    }
+
+
+    /**
+     * Encodes the chars held so far as UTF-8. Unless this is the final drain, a trailing
+     * high surrogate stays in the char buffer until its low half arrives.
+     */
+    private void encode( final boolean all ) {
+
+        final char[] chars = buffer;
+        int end = location;
+
+        if ( !all && end > 0 && Character.isHighSurrogate( chars[ end - 1 ] ) ) {
+            end--;
+        }
+
+        final byte[] out = bytes.array();
+        final int limit = out.length - 4;
+        int pos = bytes.position();
+
+        int index = 0;
+        while ( index < end ) {
+
+            if ( pos > limit ) {
+                bytes.position( pos );
+                writeBytes();
+                pos = 0;
+            }
+
+            char c = chars[ index++ ];
+
+            if ( c < 0x80 ) {
+                out[ pos++ ] = ( byte ) c;
+            } else if ( c < 0x800 ) {
+                out[ pos++ ] = ( byte ) ( 0xC0 | ( c >> 6 ) );
+                out[ pos++ ] = ( byte ) ( 0x80 | ( c & 0x3F ) );
+            } else if ( Character.isSurrogate( c ) ) {
+                if ( Character.isHighSurrogate( c ) && index < end && Character.isLowSurrogate( chars[ index ] ) ) {
+                    int codePoint = Character.toCodePoint( c, chars[ index++ ] );
+                    out[ pos++ ] = ( byte ) ( 0xF0 | ( codePoint >> 18 ) );
+                    out[ pos++ ] = ( byte ) ( 0x80 | ( ( codePoint >> 12 ) & 0x3F ) );
+                    out[ pos++ ] = ( byte ) ( 0x80 | ( ( codePoint >> 6 ) & 0x3F ) );
+                    out[ pos++ ] = ( byte ) ( 0x80 | ( codePoint & 0x3F ) );
+                } else {
+                    /* Same replacement String.getBytes uses for a lone surrogate. */
+                    out[ pos++ ] = ( byte ) '?';
+                }
+            } else {
+                out[ pos++ ] = ( byte ) ( 0xE0 | ( c >> 12 ) );
+                out[ pos++ ] = ( byte ) ( 0x80 | ( ( c >> 6 ) & 0x3F ) );
+                out[ pos++ ] = ( byte ) ( 0x80 | ( c & 0x3F ) );
+            }
+        }
+
+        bytes.position( pos );
+
+        final int left = location - end;
+        if ( left > 0 ) {
+            chars[ 0 ] = chars[ end ];
+        }
+        location = left;
+    }
+
+
+    private void writeBytes() {
+        final ByteBuffer buffer = bytes;
+        buffer.flip();
+        try {
+            if ( outputStream != null ) {
+                outputStream.write( buffer.array(), 0, buffer.limit() );
+            } else {
+                while ( buffer.hasRemaining() ) {
+                    channel.write( buffer );
+                }
+            }
+        } catch ( IOException e ) {
+            Exceptions.handle( e );
+        } finally {
+            buffer.clear();
+        }
+    }
+}
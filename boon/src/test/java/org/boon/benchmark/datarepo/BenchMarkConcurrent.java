@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.benchmark.datarepo;
+
+import org.boon.Lists;
+import org.boon.benchmark.datarepo.model.Employee;
+import org.boon.benchmark.datarepo.utils.BenchmarkHelper;
+import org.boon.benchmark.datarepo.utils.MeasuredRun;
+import org.boon.criteria.internal.Criteria;
+import org.boon.datarepo.Repo;
+import org.boon.datarepo.Repos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.boon.Boon.println;
+import static org.boon.Exceptions.die;
+import static org.boon.criteria.ObjectFilter.eq;
+
+
+/**
+ * Readers querying while a writer updates, a concurrent repo against a normal repo behind a read write lock.
+ */
+public class BenchMarkConcurrent {
+
+
+    static int numCreations = 100_000;
+
+    static int readers = 4;
+
+    static int operations = 1_000;
+
+    @Test
+    public void test() {
+        numCreations = 100;
+    }
+
+    public static void main( String[] args ) throws Exception {
+
+
+        final List<Employee> employees = BenchmarkHelper.createMetricTonOfEmployees( numCreations );
+        System.out.println( "employees created " + employees.size() );
+
+        Map<String, List<MeasuredRun>> testResults = new ConcurrentHashMap<>();
+
+        MeasuredRun run1 = concurrent_DR( employees, testResults );
+        MeasuredRun run2 = readWriteLock_DR( employees, testResults );
+
+        List<MeasuredRun> runs = Lists.list( run1, run2 );
+
+
+        for ( int index = 0; index < 2; index++ ) {
+
+            for ( MeasuredRun run : runs ) {
+                System.gc();
+                Thread.sleep( 10 );
+                run.run();
+            }
+        }
+
+
+        for ( int index = 0; index < 5; index++ ) {
+
+            for ( MeasuredRun run : runs ) {
+                System.gc();
+                Thread.sleep( 10 );
+                run.run();
+                System.out.println( run );
+            }
+        }
+
+        println( "done" );
+        System.exit( 0 );
+
+
+    }
+
+    private static MeasuredRun concurrent_DR( final List<Employee> employees, final Map<String, List<MeasuredRun>> results ) {
+        return new MeasuredRun( "concurrent_DR", 10, 100, results ) {
+            Repo<String, Employee> repo;
+            ExecutorService executor;
+
+            @Override
+            protected void init() {
+                repo = Repos.builder().primaryKey( "id" ).searchIndex( "firstName" ).searchIndex( "salary" )
+                        .concurrent().build( String.class, Employee.class );
+
+                repo.addAll( employees );
+                executor = Executors.newFixedThreadPool( readers + 1 );
+            }
+
+            @Override
+            protected void test() {
+                mixedLoad( executor, repo, null );
+            }
+        };
+    }
+
+    private static MeasuredRun readWriteLock_DR( final List<Employee> employees, final Map<String, List<MeasuredRun>> results ) {
+        return new MeasuredRun( "read_write_lock_DR", 10, 100, results ) {
+            Repo<String, Employee> repo;
+            ExecutorService executor;
+            ReadWriteLock lock = new ReentrantReadWriteLock();
+
+            @Override
+            protected void init() {
+                repo = Repos.builder().primaryKey( "id" ).searchIndex( "firstName" ).searchIndex( "salary" )
+                        .build( String.class, Employee.class );
+
+                repo.addAll( employees );
+                executor = Executors.newFixedThreadPool( readers + 1 );
+            }
+
+            @Override
+            protected void test() {
+                mixedLoad( executor, repo, lock );
+            }
+        };
+    }
+
+    /**
+     * Times the readers to completion while one writer keeps updating, the lock is null when the repo guards itself.
+     */
+    private static void mixedLoad( ExecutorService executor, final Repo<String, Employee> repo, final ReadWriteLock lock ) {
+
+        final String key = repo.query( eq( "firstName", "Mike" ) ).get( 0 ).getId();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        Future<?> writer = executor.submit( new Runnable() {
+            @Override
+            public void run() {
+                for ( int index = 0; !done.get(); index++ ) {
+                    if ( lock != null ) lock.writeLock().lock();
+                    try {
+                        repo.update( key, "salary", index );
+                    } finally {
+                        if ( lock != null ) lock.writeLock().unlock();
+                    }
+                }
+            }
+        } );
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+
+        for ( int reader = 0; reader < readers; reader++ ) {
+            tasks.add( new Callable<Object>() {
+                Criteria exp = eq( "firstName", "Mike" );
+
+                @Override
+                public Object call() {
+                    for ( int index = 0; index < operations; index++ ) {
+                        if ( lock != null ) lock.readLock().lock();
+                        try {
+                            if ( repo.query( exp ).size() == 0 ) {
+                                die( "not found" );
+                            }
+                        } finally {
+                            if ( lock != null ) lock.readLock().unlock();
+                        }
+                    }
+                    return null;
+                }
+            } );
+        }
+
+        try {
+            executor.invokeAll( tasks );
+            done.set( true );
+            writer.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        } catch ( ExecutionException e ) {
+            die( e.getCause().toString() );
+        }
+    }
+
+}
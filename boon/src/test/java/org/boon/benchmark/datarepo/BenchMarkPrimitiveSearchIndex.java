@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.benchmark.datarepo;
+
+import org.boon.Lists;
+import org.boon.benchmark.datarepo.model.Employee;
+import org.boon.benchmark.datarepo.utils.BenchmarkHelper;
+import org.boon.benchmark.datarepo.utils.MeasuredRun;
+import org.boon.core.Function;
+import org.boon.datarepo.impl.indexes.PrimitiveSearchIndex;
+import org.boon.datarepo.impl.indexes.SearchIndexDefault;
+import org.boon.datarepo.spi.SearchIndex;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.boon.Boon.println;
+import static org.boon.Boon.puts;
+import static org.boon.Exceptions.die;
+
+/**
+ * Compares the TreeMap backed SearchIndexDefault with PrimitiveSearchIndex on a long
+ * property: time to load every employee, heap the loaded index holds on to, and the
+ * time of findBetween and findGreaterThan queries that each match RANGE employees.
+ */
+public class BenchMarkPrimitiveSearchIndex {
+
+
+    static int numCreations = 100_000;
+
+    static final int RANGE = 1_000;
+
+    @Test
+    public void test() {
+        numCreations = 100;
+    }
+
+    private static final Function<Employee, Long> EMP_NUM = new Function<Employee, Long>() {
+        @Override
+        public Long apply( Employee employee ) {
+            return employee.getEmpNum();
+        }
+    };
+
+
+    public static void main( String[] args ) throws Exception {
+
+
+        final List<Employee> employees = BenchmarkHelper.createMetricTonOfEmployees( numCreations );
+        System.out.println( "employees created " + employees.size() );
+
+        Map<String, List<MeasuredRun>> testResults = new ConcurrentHashMap<>();
+
+        for ( int index = 0; index < 3; index++ ) {
+            load( "tree_map", new SearchIndexDefault<Long, Employee>( Long.class ), employees );
+            load( "primitive", new PrimitiveSearchIndex<Long, Employee>( Long.class ), employees );
+        }
+
+        List<MeasuredRun> runs = Lists.list(
+                findBetween( "tree_map_between", new SearchIndexDefault<Long, Employee>( Long.class ), employees, testResults ),
+                findBetween( "primitive_between", new PrimitiveSearchIndex<Long, Employee>( Long.class ), employees, testResults ),
+                findGreaterThan( "tree_map_greater_than", new SearchIndexDefault<Long, Employee>( Long.class ), employees, testResults ),
+                findGreaterThan( "primitive_greater_than", new PrimitiveSearchIndex<Long, Employee>( Long.class ), employees, testResults ) );
+
+
+        for ( int index = 0; index < 2; index++ ) {
+
+            for ( MeasuredRun run : runs ) {
+                System.gc();
+                Thread.sleep( 10 );
+                run.run();
+            }
+        }
+
+
+        for ( int index = 0; index < 5; index++ ) {
+
+            for ( MeasuredRun run : runs ) {
+                System.gc();
+                Thread.sleep( 10 );
+                run.run();
+                puts( "Name", run.name(), "Time", run.time() / 1000.0, "micro seconds" );
+            }
+        }
+
+        println( "done" );
+
+
+    }
+
+    /* Adds one employee at a time, the way a repo fills its indexes, and reports the heap kept. */
+    private static void load( String name, SearchIndex<Long, Employee> searchIndex, List<Employee> employees ) {
+
+        long before = usedMemory();
+        long start = System.nanoTime();
+
+        searchIndex.setKeyGetter( EMP_NUM );
+        searchIndex.init();
+        for ( Employee employee : employees ) {
+            searchIndex.add( employee );
+        }
+
+        long time = System.nanoTime() - start;
+        long heap = usedMemory() - before;
+
+        if ( searchIndex.size() != employees.size() ) {
+            die( name, "indexed", searchIndex.size() );
+        }
+        puts( "Name", name, "Load", time / 1_000_000.0, "ms", "Heap", heap / 1024, "KB" );
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for ( int index = 0; index < 3; index++ ) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+    private static MeasuredRun findBetween( String name, final SearchIndex<Long, Employee> searchIndex,
+                                            final List<Employee> employees, final Map<String, List<MeasuredRun>> results ) {
+        return new MeasuredRun( name, 1000, 10_000, results ) {
+
+            long start;
+
+            @Override
+            protected void init() {
+                searchIndex.clear();
+                searchIndex.setKeyGetter( EMP_NUM );
+                searchIndex.init();
+                for ( Employee employee : employees ) {
+                    searchIndex.add( employee );
+                }
+                start = employees.size() / 4;
+            }
+
+            @Override
+            protected void test() {
+                List<Employee> found = searchIndex.findBetween( start, start + RANGE );
+                if ( found.size() != Math.min( RANGE, employees.size() - start ) ) {
+                    die( "found", found.size() );
+                }
+            }
+        };
+    }
+
+    private static MeasuredRun findGreaterThan( String name, final SearchIndex<Long, Employee> searchIndex,
+                                                final List<Employee> employees, final Map<String, List<MeasuredRun>> results ) {
+        return new MeasuredRun( name, 1000, 10_000, results ) {
+
+            long key;
+
+            @Override
+            protected void init() {
+                searchIndex.clear();
+                searchIndex.setKeyGetter( EMP_NUM );
+                searchIndex.init();
+                for ( Employee employee : employees ) {
+                    searchIndex.add( employee );
+                }
+                key = Math.max( -1, employees.size() - RANGE - 1 );
+            }
+
+            @Override
+            protected void test() {
+                List<Employee> found = searchIndex.findGreaterThan( key );
+                if ( found.size() != employees.size() - key - 1 ) {
+                    die( "found", found.size() );
+                }
+            }
+        };
+    }
+
+}
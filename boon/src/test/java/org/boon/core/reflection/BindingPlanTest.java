@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection;
+
+import org.boon.core.TypeType;
+import org.boon.core.reflection.fields.FieldAccessMode;
+import org.boon.json.annotations.JsonIgnore;
+import org.boon.json.annotations.JsonProperty;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BindingPlanTest {
+
+    public static class Item {
+        String name;
+    }
+
+    public static class Order {
+        long id;
+        String ab;
+        String ba;
+        String aab;
+        String abb;
+        int café;
+        Item item;
+        List<Item> items;
+        List<String> tags;
+
+        @JsonProperty( "cust" )
+        String customer;
+
+        @JsonIgnore
+        String secret;
+    }
+
+
+    private static BindingPlan plan() {
+        return ClassMeta.classMeta( Order.class ).bindingPlan( FieldAccessMode.FIELD );
+    }
+
+    private static BindingPlan.FieldBinding find( BindingPlan plan, String name ) {
+        byte[] bytes = ( "\"" + name + "\"" ).getBytes( StandardCharsets.UTF_8 );
+        return plan.find( bytes, 1, bytes.length - 1 );
+    }
+
+
+    @Test
+    public void cachedOnClassMeta() {
+        assertSame( plan(), plan() );
+        assertSame( Order.class, plan().type() );
+    }
+
+
+    @Test
+    public void findsEveryFieldFromBytesCharsAndStrings() {
+
+        BindingPlan plan = plan();
+
+        for ( String name : new String[]{ "id", "ab", "ba", "aab", "abb", "café", "item", "items", "tags", "cust" } ) {
+            char[] chars = ( "[" + name + "]" ).toCharArray();
+            assertEquals( name, find( plan, name ).name );
+            assertEquals( name, plan.find( chars, 1, chars.length - 1 ).name );
+            assertEquals( name, plan.find( name ).name );
+        }
+
+        assertNull( find( plan, "customer" ) );
+        assertNull( find( plan, "secret" ) );
+        assertNull( find( plan, "i" ) );
+        assertNull( find( plan, "" ) );
+        assertNull( find( plan, "idd" ) );
+    }
+
+
+    @Test
+    public void precomputesTypes() {
+
+        BindingPlan plan = plan();
+
+        assertEquals( TypeType.LONG, find( plan, "id" ).type );
+        assertTrue( find( plan, "item" ).bindable );
+        assertTrue( find( plan, "items" ).componentBindable );
+        assertEquals( false, find( plan, "tags" ).componentBindable );
+        assertSame( ClassMeta.classMeta( Item.class ).bindingPlan( FieldAccessMode.FIELD ),
+                find( plan, "items" ).plan() );
+    }
+
+}
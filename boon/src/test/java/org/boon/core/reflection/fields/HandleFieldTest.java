@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection.fields;
+
+import org.boon.core.reflection.Reflection;
+import org.boon.json.JsonParserFactory;
+import org.boon.json.JsonSerializerFactory;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandleFieldTest {
+
+    public static class Sample {
+        boolean flag;
+        byte b;
+        short s;
+        char c;
+        int i;
+        long l;
+        float f;
+        double d;
+        String name;
+        Integer boxed;
+        final String fixed = "fixed";
+
+        static String shared;
+    }
+
+
+    private static Map<String, FieldAccess> fields() {
+        return Reflection.getAllAccessorHandleFields( Sample.class );
+    }
+
+
+    @Test
+    public void primitiveGettersAndSetters() {
+
+        Map<String, FieldAccess> fields = fields();
+        Sample sample = new Sample();
+
+        fields.get( "flag" ).setBoolean( sample, true );
+        fields.get( "b" ).setByte( sample, ( byte ) 1 );
+        fields.get( "s" ).setShort( sample, ( short ) 2 );
+        fields.get( "c" ).setChar( sample, 'c' );
+        fields.get( "i" ).setInt( sample, 3 );
+        fields.get( "l" ).setLong( sample, 4L );
+        fields.get( "f" ).setFloat( sample, 5f );
+        fields.get( "d" ).setDouble( sample, 6d );
+
+        assertTrue( fields.get( "flag" ) instanceof HandleField );
+        assertEquals( true, fields.get( "flag" ).getBoolean( sample ) );
+        assertEquals( 1, fields.get( "b" ).getByte( sample ) );
+        assertEquals( 2, fields.get( "s" ).getShort( sample ) );
+        assertEquals( 'c', fields.get( "c" ).getChar( sample ) );
+        assertEquals( 3, fields.get( "i" ).getInt( sample ) );
+        assertEquals( 4L, fields.get( "l" ).getLong( sample ) );
+        assertEquals( 5f, fields.get( "f" ).getFloat( sample ), 0 );
+        assertEquals( 6d, fields.get( "d" ).getDouble( sample ), 0 );
+        assertEquals( 3, sample.i );
+        assertEquals( 4L, sample.l );
+    }
+
+
+    @Test
+    public void objectAccessBoxesAndCoerces() {
+
+        Map<String, FieldAccess> fields = fields();
+        Sample sample = new Sample();
+
+        fields.get( "i" ).setObject( sample, 7 );
+        assertEquals( 7, fields.get( "i" ).getObject( sample ) );
+
+        fields.get( "l" ).setValue( sample, "8" );
+        assertEquals( 8L, sample.l );
+
+        fields.get( "name" ).setObject( sample, "rick" );
+        fields.get( "boxed" ).setValue( sample, 9 );
+        assertEquals( "rick", fields.get( "name" ).getValue( sample ) );
+        assertEquals( Integer.valueOf( 9 ), sample.boxed );
+    }
+
+
+    @Test
+    public void finalAndStaticFields() {
+
+        Map<String, FieldAccess> fields = fields();
+        Sample sample = new Sample();
+
+        fields.get( "fixed" ).setObject( sample, "changed" );
+        assertEquals( "changed", fields.get( "fixed" ).getObject( sample ) );
+
+        fields.get( "shared" ).setStaticValue( "static" );
+        assertEquals( "static", Sample.shared );
+        assertEquals( "static", fields.get( "shared" ).getObject( null ) );
+    }
+
+
+    @Test
+    public void jsonRoundTripWithFieldHandles() {
+
+        Sample sample = new Sample();
+        sample.i = 11;
+        sample.d = 1.5;
+        sample.name = "json";
+
+        String json = new JsonSerializerFactory().useFieldHandles().create().serialize( sample ).toString();
+
+        Sample copy = new JsonParserFactory().useFieldHandles().create().parse( Sample.class, json );
+        assertEquals( 11, copy.i );
+        assertEquals( 1.5, copy.d, 0 );
+        assertEquals( "json", copy.name );
+
+        copy = new JsonParserFactory().useFieldHandles().createDirectBindingParser().parse( Sample.class, json );
+        assertEquals( 11, copy.i );
+        assertEquals( "json", copy.name );
+    }
+
+}
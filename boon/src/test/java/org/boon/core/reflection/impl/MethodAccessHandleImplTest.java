@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.core.reflection.impl;
+
+import org.boon.core.reflection.ConstructorAccess;
+import org.boon.core.reflection.MethodAccess;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MethodAccessHandleImplTest {
+
+    public static class Calculator {
+
+        final String prefix;
+
+        public Calculator() {
+            this( "sum" );
+        }
+
+        public Calculator( String prefix ) {
+            this.prefix = prefix;
+        }
+
+        public String add( int a, long b ) {
+            return prefix + ( a + b );
+        }
+
+        public String three( String a, String b, String c ) {
+            return a + b + c;
+        }
+
+        public String four( String a, String b, String c, String d ) {
+            return a + b + c + d;
+        }
+
+        public void nothing() {
+        }
+
+        private String secret() {
+            return prefix + "secret";
+        }
+
+        public static int twice( int value ) {
+            return value * 2;
+        }
+
+        public String fail() {
+            throw new IllegalStateException( "fail" );
+        }
+    }
+
+
+    private static MethodAccess method( String name ) throws Exception {
+        for ( java.lang.reflect.Method m : Calculator.class.getDeclaredMethods() ) {
+            if ( m.getName().equals( name ) ) {
+                return new MethodAccessHandleImpl( m );
+            }
+        }
+        throw new NoSuchMethodException( name );
+    }
+
+
+    @Test
+    public void invokesWithExactArguments() throws Exception {
+        assertEquals( "sum3", method( "add" ).invoke( new Calculator(), 1, 2L ) );
+        assertEquals( "abc", method( "three" ).invoke( new Calculator(), "a", "b", "c" ) );
+        assertEquals( "abcd", method( "four" ).invoke( new Calculator(), "a", "b", "c", "d" ) );
+        assertNull( method( "nothing" ).invoke( new Calculator() ) );
+        assertEquals( "sumsecret", method( "secret" ).invoke( new Calculator() ) );
+    }
+
+    @Test
+    public void widensLikeReflection() throws Exception {
+        assertEquals( "sum3", method( "add" ).invoke( new Calculator(), ( short ) 1, 2 ) );
+    }
+
+    @Test
+    public void invokesStaticMethods() throws Exception {
+        assertEquals( 8, method( "twice" ).invokeStatic( 4 ) );
+        assertEquals( 8, method( "twice" ).invoke( null, 4 ) );
+    }
+
+    @Test
+    public void reportsExceptionsFromTheTarget() throws Exception {
+        boolean thrown = false;
+        try {
+            method( "fail" ).invoke( new Calculator() );
+        } catch ( Exception ex ) {
+            thrown = true;
+        }
+        assertTrue( thrown );
+    }
+
+    @Test
+    public void createsInstances() throws Exception {
+        ConstructorAccess<Calculator> access = new ConstructorAccessHandleImpl<>(
+                Calculator.class.getConstructor( String.class ) );
+        assertEquals( "total", access.create( "total" ).prefix );
+
+        ConstructorAccess<Calculator> noArg = new ConstructorAccessHandleImpl<>(
+                Calculator.class.getConstructor() );
+        assertEquals( "sum", noArg.create().prefix );
+    }
+}
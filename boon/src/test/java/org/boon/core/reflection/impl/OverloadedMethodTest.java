@@ -198,4 +198,17 @@ public class OverloadedMethodTest {
         equalsOrDie("addTwoLongs9223372036854775807_1", str);
 
     }
+
+
+    @Test
+    public void resolvedOverloadIsReusedPerArgumentClasses() {
+        final SomeClass object = new SomeClass();
+
+        for (int index = 0; index < 3; index++) {
+            equalsOrDie("addTwoInts_1_2", method.invokeDynamic(object, 1, 2));
+            equalsOrDie("addIntLong1_2", method.invokeDynamic(object, 1, 2L));
+            equalsOrDie("addTwoStrings_a_b", method.invokeDynamic(object, "a", "b"));
+        }
+
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.datarepo.impl.indexes;
+
+import org.boon.core.Function;
+import org.boon.core.Typ;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class PrimitiveSearchIndexTest {
+
+    static class Row {
+        final int value;
+        final double amount;
+
+        Row( int value, double amount ) {
+            this.value = value;
+            this.amount = amount;
+        }
+
+        @Override
+        public String toString() {
+            return "Row{" + value + ", " + amount + "}";
+        }
+    }
+
+    private static final Function<Row, Integer> VALUE = new Function<Row, Integer>() {
+        @Override
+        public Integer apply( Row row ) {
+            return row.value;
+        }
+    };
+
+    private static final Function<Row, Double> AMOUNT = new Function<Row, Double>() {
+        @Override
+        public Double apply( Row row ) {
+            return row.amount;
+        }
+    };
+
+
+    @Test
+    public void testSameAnswersAsTreeMapIndex() throws Exception {
+
+        PrimitiveSearchIndex<Integer, Row> primitive = new PrimitiveSearchIndex<>( Typ.intgr );
+        primitive.setKeyGetter( VALUE );
+
+        SearchIndexDefault<Integer, Row> tree = new SearchIndexDefault<>( Typ.intgr );
+        tree.setKeyGetter( VALUE );
+        tree.init();
+
+        Random random = new Random( 7 );
+        List<Row> rows = new ArrayList<>();
+
+        for ( int index = 0; index < 5_000; index++ ) {
+            Row row = new Row( random.nextInt( 200 ) - 100, 0 );
+            rows.add( row );
+            primitive.add( row );
+            tree.add( row );
+
+            if ( index % 3 == 0 ) {
+                Row removed = rows.remove( random.nextInt( rows.size() ) );
+                Assert.assertTrue( primitive.delete( removed ) );
+                tree.delete( removed );
+            }
+        }
+
+        primitive.deleteByKey( 42 );
+        tree.deleteByKey( 42 );
+
+        Assert.assertEquals( tree.size(), primitive.size() );
+        Assert.assertEquals( tree.itemCount(), primitive.itemCount() );
+        Assert.assertEquals( tree.all(), primitive.all() );
+        Assert.assertEquals( tree.findFirstKey(), primitive.findFirstKey() );
+        Assert.assertEquals( tree.findLastKey(), primitive.findLastKey() );
+        Assert.assertEquals( list( tree.walk( true ) ), list( primitive.walk( true ) ) );
+        Assert.assertEquals( values( list( tree.walk( false ) ) ), values( list( primitive.walk( false ) ) ) );
+
+        for ( int key = -110; key <= 110; key += 7 ) {
+            Assert.assertEquals( tree.findEquals( key ), primitive.findEquals( key ) );
+            Assert.assertEquals( tree.findGreaterThan( key ), primitive.findGreaterThan( key ) );
+            Assert.assertEquals( tree.findGreaterThanEqual( key ), primitive.findGreaterThanEqual( key ) );
+            Assert.assertEquals( tree.findLessThan( key ), primitive.findLessThan( key ) );
+            Assert.assertEquals( tree.findLessThanEqual( key ), primitive.findLessThanEqual( key ) );
+            Assert.assertEquals( tree.findBetween( key, key + 13 ), primitive.findBetween( key, key + 13 ) );
+        }
+    }
+
+    private static List<Row> list( Iterator<Row> rows ) {
+        List<Row> list = new ArrayList<>();
+        while ( rows.hasNext() ) {
+            list.add( rows.next() );
+        }
+        return list;
+    }
+
+    private static List<Integer> values( List<Row> rows ) {
+        List<Integer> values = new ArrayList<>();
+        for ( Row row : rows ) {
+            values.add( row.value );
+        }
+        return values;
+    }
+
+    @Test
+    public void testFractionalBoundsOnWholeNumbers() throws Exception {
+
+        PrimitiveSearchIndex index = new PrimitiveSearchIndex( Typ.intgr );
+        index.setKeyGetter( VALUE );
+
+        for ( int value = 0; value < 10; value++ ) {
+            index.add( new Row( value, 0 ) );
+        }
+
+        Assert.assertEquals( index.findGreaterThanEqual( 3 ), index.findGreaterThan( 2.5 ) );
+        Assert.assertEquals( index.findLessThanEqual( 2 ), index.findLessThan( 2.5 ) );
+        Assert.assertNull( index.findEquals( 2.5 ) );
+        Assert.assertEquals( 1, index.findEquals( 2.0 ).size() );
+        Assert.assertEquals( 1, index.findEquals( 2L ).size() );
+    }
+
+    @Test
+    public void testDoubles() throws Exception {
+
+        PrimitiveSearchIndex index = new PrimitiveSearchIndex( Typ.dbl );
+        index.setKeyGetter( AMOUNT );
+
+        double[] amounts = { 3.5, -0.25, -7.0, 0.0, 12.75, -7.5, 1e9 };
+        for ( double amount : amounts ) {
+            index.add( new Row( 0, amount ) );
+        }
+
+        Assert.assertEquals( -7.5, index.findFirstKey() );
+        Assert.assertEquals( 1e9, index.findLastKey() );
+        Assert.assertEquals( 3, index.findLessThan( 0.0 ).size() );
+        Assert.assertEquals( 5, index.findGreaterThanEqual( -0.25 ).size() );
+        Assert.assertEquals( 2, index.findBetween( -7.5, -0.25 ).size() );
+    }
+
+}
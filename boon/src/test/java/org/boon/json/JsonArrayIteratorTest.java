@@ -0,0 +1,173 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JsonArrayIteratorTest {
+
+    public static class Employee {
+        String name;
+        long id;
+        List<String> tags;
+    }
+
+
+    private static String employees( int count ) {
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int index = 0; index < count; index++ ) {
+            if ( index > 0 ) {
+                builder.append( ",\n" );
+            }
+            builder.append( "{\"name\":\"emp" ).append( index ).append( "\", \"id\":" ).append( index )
+                    .append( ", \"tags\":[\"a\",\"b\"]}" );
+        }
+        return builder.append( "]" ).toString();
+    }
+
+
+    @Test
+    public void mapsEachElement() {
+
+        JsonArrayIterator<Employee> iterator = new JsonParserFactory().create()
+                .iterateList( Employee.class, new StringReader( employees( 3 ) ) );
+
+        List<Employee> employees = new ArrayList<>();
+        while ( iterator.hasNext() ) {
+            employees.add( iterator.next() );
+        }
+
+        assertEquals( 3, employees.size() );
+        assertEquals( "emp2", employees.get( 2 ).name );
+        assertEquals( 2L, employees.get( 2 ).id );
+        assertEquals( 2, employees.get( 2 ).tags.size() );
+        assertFalse( iterator.hasNext() );
+    }
+
+    @Test
+    public void readsWithFactoryBufferSize() {
+
+        final int[] largestRead = new int[ 1 ];
+        Reader reader = new FilterReader( new StringReader( employees( 20 ) ) ) {
+            @Override
+            public int read( char[] buffer, int offset, int length ) throws IOException {
+                largestRead[ 0 ] = Math.max( largestRead[ 0 ], length );
+                return super.read( buffer, offset, length );
+            }
+        };
+
+        JsonArrayIterator<Employee> iterator = new JsonParserFactory().setStreamBufferSize( 32 ).create()
+                .iterateList( Employee.class, reader );
+        int count = 0;
+        while ( iterator.hasNext() ) {
+            iterator.next();
+            count++;
+        }
+
+        assertEquals( 20, count );
+        assertTrue( largestRead[ 0 ] <= 32 );
+    }
+
+    @Test
+    public void everyParserVariant() {
+
+        JsonParserFactory factory = new JsonParserFactory();
+        JsonParserAndMapper[] parsers = {
+                factory.createFastParser(), factory.createLaxParser(), factory.createUTF8DirectByteParser(),
+                factory.createCharacterSourceParser(), factory.createJsonCharArrayParser()
+        };
+
+        for ( JsonParserAndMapper parser : parsers ) {
+            JsonArrayIterator<Employee> iterator = parser.iterateList( Employee.class,
+                    new ByteArrayInputStream( employees( 5 ).getBytes( StandardCharsets.UTF_8 ) ) );
+            int count = 0;
+            while ( iterator.hasNext() ) {
+                assertEquals( count, iterator.next().id );
+                count++;
+            }
+            assertEquals( 5, count );
+        }
+    }
+
+    @Test
+    public void basicTypesAndMaps() {
+
+        JsonArrayIterator<Integer> ints = new JsonParserFactory().create()
+                .iterateList( Integer.class, new StringReader( "[1, 2.0, \"3\"]" ) );
+
+        int sum = 0;
+        while ( ints.hasNext() ) {
+            sum += ints.next();
+        }
+        assertEquals( 6, sum );
+
+        JsonArrayIterator<Map> maps = new JsonParserFactory().create()
+                .iterateList( Map.class, new StringReader( "[{\"a\":{\"b\":[1,null]}}, {}]" ) );
+        assertEquals( "{a={b=[1, null]}}", maps.next().toString() );
+        assertTrue( maps.next().isEmpty() );
+        assertFalse( maps.hasNext() );
+    }
+
+    @Test
+    public void emptyArray() {
+
+        JsonArrayIterator<Employee> iterator = new JsonParserFactory().create()
+                .iterateList( Employee.class, new StringReader( " [ ] " ) );
+        assertFalse( iterator.hasNext() );
+    }
+
+    @Test ( expected = NoSuchElementException.class )
+    public void nextPastTheEnd() {
+
+        JsonArrayIterator<Employee> iterator = new JsonParserFactory().create()
+                .iterateList( Employee.class, new StringReader( "[]" ) );
+        iterator.next();
+    }
+
+    @Test ( expected = JsonException.class )
+    public void notAnArray() {
+
+        new JsonParserFactory().create().iterateList( Employee.class, new StringReader( "{\"a\":1}" ) );
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.json.annotations.JsonIgnore;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class JsonBindingParserTest {
+
+    public enum Status { NEW, SHIPPED }
+
+    public static class Address {
+        String street;
+        int zip;
+    }
+
+    public static class LineItem {
+        String sku;
+        int quantity;
+        double price;
+    }
+
+    public static class Order {
+        long id;
+        int count;
+        short shortValue;
+        byte byteValue;
+        float ratio;
+        double total;
+        boolean paid;
+        Integer boxedCount;
+        Long boxedId;
+        Double boxedTotal;
+        Boolean boxedPaid;
+        String customer;
+        Status status;
+        BigDecimal amount;
+        Address shipTo;
+        List<LineItem> items;
+        Set<String> tags;
+        Map<String, Object> attributes;
+        int[] codes;
+        String missing = "default";
+
+        @JsonIgnore
+        String secret;
+    }
+
+
+    private static final String ORDER = "{ \"id\" : 12345678901, \"count\":-3, \"shortValue\":7, \"byteValue\":-2,\n" +
+            "\"ratio\":0.25, \"total\":1.5e2, \"paid\":true, \"boxedCount\":4, \"boxedId\":5,\n" +
+            "\"boxedTotal\":-2.75, \"boxedPaid\":false, \"customer\":\"Rick \\\"Hi\\\" \\u00e9\",\n" +
+            "\"unknown\":{\"a\":[1,2,{\"b\":null}]}, \"status\":\"SHIPPED\", \"amount\":10.10,\n" +
+            "\"shipTo\":{\"street\":\"Main\",\"zip\":94040}, \"secret\":\"s\", \"missing\":null,\n" +
+            "\"items\":[{\"sku\":\"a\",\"quantity\":1,\"price\":2.5},{\"sku\":\"b\",\"quantity\":2,\"price\":3}],\n" +
+            "\"tags\":[\"x\",\"y\"], \"attributes\":{\"k\":\"v\",\"n\":1}, \"codes\":[1,2,3] }";
+
+
+    private JsonParserAndMapper parser() {
+        return new JsonParserFactory().createDirectBindingParser();
+    }
+
+
+    @Test
+    public void bindsEveryKindOfField() {
+
+        Order order = parser().parse( Order.class, ORDER.getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( 12345678901L, order.id );
+        assertEquals( -3, order.count );
+        assertEquals( 7, order.shortValue );
+        assertEquals( -2, order.byteValue );
+        assertEquals( 0.25f, order.ratio, 0 );
+        assertEquals( 150.0, order.total, 0 );
+        assertEquals( true, order.paid );
+        assertEquals( Integer.valueOf( 4 ), order.boxedCount );
+        assertEquals( Long.valueOf( 5 ), order.boxedId );
+        assertEquals( Double.valueOf( -2.75 ), order.boxedTotal );
+        assertEquals( Boolean.FALSE, order.boxedPaid );
+        assertEquals( "Rick \"Hi\" \u00e9", order.customer );
+        assertEquals( Status.SHIPPED, order.status );
+        assertEquals( new BigDecimal( "10.10" ).doubleValue(), order.amount.doubleValue(), 0 );
+        assertEquals( "Main", order.shipTo.street );
+        assertEquals( 94040, order.shipTo.zip );
+        assertEquals( 2, order.items.size() );
+        assertEquals( "b", order.items.get( 1 ).sku );
+        assertEquals( 2, order.items.get( 1 ).quantity );
+        assertEquals( 3.0, order.items.get( 1 ).price, 0 );
+        assertEquals( 2, order.tags.size() );
+        assertEquals( "v", order.attributes.get( "k" ) );
+        assertEquals( 3, order.codes[ 2 ] );
+        assertNull( order.missing );
+        assertNull( order.secret );
+    }
+
+
+    @Test
+    public void matchesTwoPassMapping() {
+
+        JsonParserAndMapper twoPass = new JsonParserFactory().createUTF8DirectByteParser();
+
+        Order expected = twoPass.parse( Order.class, ORDER );
+        Order actual = parser().parse( Order.class, ORDER );
+
+        assertEquals( expected.id, actual.id );
+        assertEquals( expected.total, actual.total, 0 );
+        assertEquals( expected.ratio, actual.ratio, 0 );
+        assertEquals( expected.customer, actual.customer );
+        assertEquals( expected.status, actual.status );
+        assertEquals( expected.amount, actual.amount );
+        assertEquals( expected.items.get( 0 ).price, actual.items.get( 0 ).price, 0 );
+        assertEquals( expected.tags, actual.tags );
+        assertEquals( expected.attributes, actual.attributes );
+    }
+
+
+    @Test
+    public void bindsListOfObjects() {
+
+        List<LineItem> items = parser().parseList( LineItem.class,
+                "[ {\"sku\":\"a\",\"quantity\":1}, {\"sku\":\"b\",\"quantity\":2} ]" );
+
+        assertEquals( 2, items.size() );
+        assertEquals( "a", items.get( 0 ).sku );
+        assertEquals( 2, items.get( 1 ).quantity );
+
+        assertEquals( 0, parser().parseList( LineItem.class, "[]" ).size() );
+    }
+
+
+    @Test
+    public void untypedParsesStillWork() {
+
+        Map<String, Object> map = parser().parseMap( "{\"a\":1}" );
+        assertEquals( 1, map.get( "a" ) );
+        assertEquals( 3, parser().parseList( Integer.class, "[1,2,3]" ).size() );
+    }
+
+
+    @Test
+    public void reusedAcrossMessages() {
+
+        JsonParserAndMapper parser = parser();
+        for ( int index = 0; index < 100; index++ ) {
+            LineItem item = parser.parse( LineItem.class,
+                    "{\"sku\":\"s" + index + "\",\"quantity\":" + index + "}" );
+            assertEquals( "s" + index, item.sku );
+            assertEquals( index, item.quantity );
+        }
+    }
+
+
+    @Test
+    public void escapedFieldNamesAreFound() {
+
+        LineItem item = parser().parse( LineItem.class, "{\"\\u0073ku\":\"a\",\"quantit\\u0079\":4}" );
+        assertEquals( "a", item.sku );
+        assertEquals( 4, item.quantity );
+    }
+
+
+    @Test
+    public void truncatedObjectFails() {
+
+        try {
+            parser().parse( LineItem.class, "{\"sku\":\"a\",\"quantity\":1" );
+            die( "expected a JsonException" );
+        } catch ( JsonException expected ) {
+        }
+    }
+
+    @Test
+    public void nullIntoPrimitiveFails() {
+
+        try {
+            parser().parse( LineItem.class, "{\"sku\":\"a\",\"quantity\":null}" );
+            die( "expected a JsonException" );
+        } catch ( JsonException expected ) {
+        }
+    }
+
+    @Test
+    public void nullIntoObjectField() {
+
+        Order order = parser().parse( Order.class, "{\"customer\":null,\"boxedCount\":null,\"shipTo\":null}" );
+        assertNull( order.customer );
+        assertNull( order.boxedCount );
+        assertNull( order.shipTo );
+    }
+
+    @Test
+    public void utf8CharsetFromLookup() {
+
+        LineItem item = parser().parse( LineItem.class,
+                "{\"sku\":\"a\",\"quantity\":2}".getBytes( StandardCharsets.UTF_8 ), Charset.forName( "utf-8" ) );
+        assertEquals( "a", item.sku );
+        assertEquals( 2, item.quantity );
+    }
+
+}
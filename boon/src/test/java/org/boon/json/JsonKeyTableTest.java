@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.json.implementation.JsonKeyTable;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class JsonKeyTableTest {
+
+    private static final String JSON =
+            "[{\"id\":1,\"name\":\"a\",\"t\\u00e9\":1},{\"id\":2,\"name\":\"b\",\"t\\u00e9\":2}]";
+
+    @Test
+    public void charAndByteLookupsReturnSameString() {
+        JsonKeyTable table = new JsonKeyTable();
+
+        char[] chars = "xx\"name\"xx".toCharArray();
+        byte[] bytes = "yy\"name\"".getBytes( StandardCharsets.UTF_8 );
+        byte[] utf8 = "\"über\"".getBytes( StandardCharsets.UTF_8 );
+
+        String fromChars = table.get( chars, 3, 7 );
+        assertEquals( "name", fromChars );
+        assertSame( fromChars, table.get( chars, 3, 7 ) );
+        assertSame( fromChars, table.get( bytes, 3, 7 ) );
+        assertSame( fromChars, table.get( bytes, 3, 7 ) );
+
+        String uber = table.get( utf8, 1, utf8.length - 1 );
+        assertEquals( "über", uber );
+        assertSame( uber, table.get( "über".toCharArray(), 0, 4 ) );
+    }
+
+    @Test
+    public void tableStaysBoundedUnderManyKeys() {
+        JsonKeyTable table = new JsonKeyTable( 16 );
+
+        for ( int index = 0; index < 100_000; index++ ) {
+            char[] key = ( "key" + index ).toCharArray();
+            assertEquals( "key" + index, table.get( key, 0, key.length ) );
+        }
+
+        char[] hot = "hot".toCharArray();
+        String first = table.get( hot, 0, hot.length );
+        assertSame( first, table.get( hot, 0, hot.length ) );
+    }
+
+    @Test
+    public void parsersShareKeys() {
+        JsonParserFactory factory = new JsonParserFactory().internKeys();
+
+        List<JsonParserAndMapper> parsers = Arrays.asList(
+                factory.createFastParser(),
+                factory.createUTF8DirectByteParser(),
+                factory.createASCIIParser(),
+                factory.createJsonCharArrayParser(),
+                factory.create() );
+
+        String name = null;
+        for ( JsonParserAndMapper parser : parsers ) {
+            @SuppressWarnings( "unchecked" )
+            List<Map<String, Object>> list = ( List<Map<String, Object>> ) parser.parse( JSON.getBytes( StandardCharsets.UTF_8 ) );
+            assertEquals( 2, list.size() );
+
+            Map<String, Object> second = list.get( 1 );
+            assertEquals( "b", second.get( "name" ).toString() );
+            assertEquals( 2, ( ( Number ) second.get( "té" ) ).intValue() );
+
+            String first = keyOf( list.get( 0 ), "name" );
+            assertSame( first, keyOf( second, "name" ) );
+            if ( name == null ) {
+                name = first;
+            }
+            assertSame( name, first );
+        }
+
+        Map<String, Object> values = factory.createFastObjectMapperParser().parseMap( "{\"name\":\"c\",\"id\":3}" );
+        assertEquals( "c", values.get( "name" ).toString() );
+        assertSame( name, keyOf( values, "name" ) );
+    }
+
+    private static String keyOf( Map<String, Object> map, String name ) {
+        for ( String key : map.keySet() ) {
+            if ( key.equals( name ) ) {
+                return key;
+            }
+        }
+        throw new AssertionError( name );
+    }
+}
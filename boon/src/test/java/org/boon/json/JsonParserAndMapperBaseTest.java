@@ -978,6 +978,58 @@ public class JsonParserAndMapperBaseTest {
 
     }
 
+    @Test
+    public void parseArrayIntoCallerArray () {
+
+        String testString = " [ -3, 2147483,\n4 , 8,16 ] ";
+
+        int [] ints = new int[ 8 ];
+        boolean ok = jsonParserAndMapper.parseIntArray ( testString, ints ) == 5 || die();
+        ok &= Arrays.equals ( new int[] { -3, 2147483, 4, 8, 16, 0, 0, 0 }, ints ) || die( sputs(ints) );
+
+        long [] longs = new long[ 5 ];
+        ok &= jsonParserAndMapper.parseLongArray ( "[9007199254740993,-1]", longs ) == 2 || die();
+        ok &= longs[ 0 ] == 9007199254740993L || die( sputs(longs) );
+
+        double [] doubles = new double[ 4 ];
+        ok &= jsonParserAndMapper.parseDoubleArray ( "[1.5, -2e3, 7]", doubles ) == 3 || die();
+        ok &= Arrays.equals ( new double[] { 1.5, -2000.0, 7.0, 0 }, doubles ) || die( sputs(doubles) );
+
+        float [] floats = new float[ 1 ];
+        ok &= jsonParserAndMapper.parseFloatArray ( "[]", floats ) == 0 || die();
+
+        try {
+            jsonParserAndMapper.parseIntArray ( "[1,2,3]", new int[ 2 ] );
+            die( "expected too many elements" );
+        } catch ( JsonException expected ) {
+        }
+
+        puts ("parseArrayIntoCallerArray", ok);
+    }
+
+    @Test
+    public void parseArrayFallsBackForOtherValues () {
+
+        /* Values the scanner does not take go through the generic conversions. */
+        boolean ok = Arrays.equals ( new int[] { 1, 2 }, jsonParserAndMapper.parseIntArray ( "[1.9, 2]" ) )
+                || die( sputs( jsonParserAndMapper.parseIntArray ( "[1.9, 2]" ) ) );
+
+        ok &= Arrays.equals ( new long[] { 12345678901234567L, 4 },
+                jsonParserAndMapper.parseLongArray ( "[12345678901234567, 4]" ) ) || die();
+
+        ok &= Arrays.equals ( new long[] { 1234567890123456789L },
+                jsonParserAndMapper.parseLongArray ( "[1234567890123456789]" ) ) || die();
+
+        ok &= Arrays.equals ( new double[] { 3, 4.25 }, jsonParserAndMapper.parseDoubleArray ( "[\"3\", 4.25]" ) )
+                || die();
+
+        int [] ints = new int[ 3 ];
+        ok &= jsonParserAndMapper.parseIntArray ( "[\"7\", 8]", ints ) == 2 || die();
+        ok &= ints[ 0 ] == 7 && ints[ 1 ] == 8 || die( sputs(ints) );
+
+        puts ("parseArrayFallsBackForOtherValues", ok);
+    }
+
     @Test
     public void parseNumber () {
         int i = jsonParserAndMapper.parseInt ( "123" );
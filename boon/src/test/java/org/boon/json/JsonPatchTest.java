@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.Lists;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+
+public class JsonPatchTest {
+
+    public static class Address {
+        String street;
+        String city;
+
+        Address() {
+        }
+
+        Address( String street, String city ) {
+            this.street = street;
+            this.city = city;
+        }
+    }
+
+    public static class Person {
+        String name;
+        int age;
+        boolean active;
+        Address address;
+        List<String> tags = new ArrayList<>();
+        List<Address> previous = new ArrayList<>();
+        int[] scores = { 1, 2, 3 };
+        Map<String, Object> extra = new LinkedHashMap<>();
+    }
+
+
+    private static Person rick() {
+        Person person = new Person();
+        person.name = "Rick";
+        person.age = 40;
+        person.active = true;
+        person.address = new Address( "Main", "Tucson" );
+        person.tags.add( "java" );
+        person.tags.add( "json" );
+        person.previous.add( new Address( "Elm", "Austin" ) );
+        person.extra.put( "a/b", 1 );
+        return person;
+    }
+
+
+    @Test
+    public void onlyChangedPathsAreEmitted() {
+        Person source = rick();
+        Person target = rick();
+        target.age = 41;
+        target.address.city = "Phoenix";
+
+        List<Map<String, Object>> patch = JsonPatch.diff( source, target );
+
+        boolean ok = patch.size() == 2 || die( patch );
+        ok &= patch.get( 0 ).get( "path" ).equals( "/age" ) || die( patch );
+        ok &= patch.get( 1 ).get( "path" ).equals( "/address/city" ) || die( patch );
+        ok &= patch.get( 1 ).get( "value" ).equals( "Phoenix" ) || die( patch );
+
+        ok &= JsonPatch.diff( source, rick() ).isEmpty() || die();
+    }
+
+
+    @Test
+    public void applyOntoPojo() {
+        Person source = rick();
+        Person target = rick();
+        target.name = "Richard";
+        target.active = false;
+        target.address = null;
+        target.tags.remove( 1 );
+        target.tags.add( "boon" );
+        target.tags.add( "fast" );
+        target.previous.add( new Address( "Oak", "Dallas" ) );
+        target.scores[ 1 ] = 20;
+        target.extra.put( "a/b", 2 );
+        target.extra.put( "c~d", "new" );
+
+        Person patched = JsonPatch.apply( rick(), JsonPatch.diff( source, target ) );
+
+        ObjectMapper mapper = JsonFactory.create();
+        assertEquals( mapper.toJson( target ), mapper.toJson( patched ) );
+    }
+
+
+    @Test
+    public void applyJsonOntoParsedMap() {
+        Person source = rick();
+        Person target = rick();
+        target.age = 12;
+        target.tags.clear();
+        target.previous.get( 0 ).city = "Dallas";
+        target.scores = new int[]{ 1 };
+
+        String patch = JsonPatch.diffAsJson( source, target );
+
+        ObjectMapper mapper = JsonFactory.create();
+        Object document = mapper.fromJson( mapper.toJson( source ) );
+        document = JsonPatch.apply( document, patch );
+
+        assertEquals( mapper.fromJson( mapper.toJson( target ) ), document );
+
+        Person patched = JsonPatch.apply( rick(), patch );
+        assertEquals( mapper.toJson( target ), mapper.toJson( patched ) );
+    }
+
+
+    @Test
+    public void operations() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put( "list", Lists.list( 1, 2, 3 ) );
+
+        String patch = "[" +
+                "{\"op\":\"add\",\"path\":\"/list/-\",\"value\":4}," +
+                "{\"op\":\"add\",\"path\":\"/list/0\",\"value\":0}," +
+                "{\"op\":\"remove\",\"path\":\"/list/1\"}," +
+                "{\"op\":\"copy\",\"from\":\"/list\",\"path\":\"/copy\"}," +
+                "{\"op\":\"move\",\"from\":\"/list/0\",\"path\":\"/first\"}," +
+                "{\"op\":\"replace\",\"path\":\"/list/0\",\"value\":\"two\"}," +
+                "{\"op\":\"test\",\"path\":\"/copy\",\"value\":[0,2,3,4]}" +
+                "]";
+
+        JsonPatch.apply( document, patch );
+
+        assertEquals( Lists.list( "two", 3, 4 ), document.get( "list" ) );
+        assertEquals( 0, document.get( "first" ) );
+    }
+
+
+    @Test
+    public void testJsonNull() {
+        JsonPatch.apply( JsonFactory.create().fromJson( "{\"a\":null}" ), "[{\"op\":\"test\",\"path\":\"/a\",\"value\":null}]" );
+
+        try {
+            JsonPatch.apply( JsonFactory.create().fromJson( "{\"a\":1}" ), "[{\"op\":\"test\",\"path\":\"/a\",\"value\":null}]" );
+            die( "expected a JsonException" );
+        } catch ( JsonException expected ) {
+        }
+    }
+
+
+    public static class Scores {
+        Map<Integer, String> byId = new LinkedHashMap<>();
+    }
+
+
+    @Test
+    public void nonStringMapKeys() {
+        Scores source = new Scores();
+        source.byId.put( 1, "one" );
+        source.byId.put( 2, "two" );
+        Scores target = new Scores();
+        target.byId.put( 1, "uno" );
+        target.byId.put( 3, "three" );
+
+        Scores patched = new Scores();
+        patched.byId.putAll( source.byId );
+        patched = JsonPatch.apply( patched, JsonPatch.diffAsJson( source, target ) );
+        assertEquals( target.byId, patched.byId );
+
+        /* No field to ask, so the key type comes from the keys already there. */
+        Map<Long, String> map = new HashMap<>();
+        map.put( 5L, "five" );
+        JsonPatch.apply( map, "[{\"op\":\"replace\",\"path\":\"/5\",\"value\":\"FIVE\"}," +
+                "{\"op\":\"add\",\"path\":\"/6\",\"value\":\"six\"}]" );
+        assertEquals( "FIVE", map.get( 5L ) );
+        assertEquals( "six", map.get( 6L ) );
+    }
+
+
+    @Test (expected = JsonException.class)
+    public void failedTest() {
+        JsonPatch.apply( rick(), "[{\"op\":\"test\",\"path\":\"/address/city\",\"value\":\"Austin\"}]" );
+    }
+
+
+    @Test (expected = JsonException.class)
+    public void missingMember() {
+        JsonPatch.apply( new HashMap<String, Object>(), "[{\"op\":\"replace\",\"path\":\"/nope\",\"value\":1}]" );
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.json.serializers.JsonSerializerInternal;
+import org.boon.json.serializers.impl.AbstractCustomObjectSerializer;
+import org.boon.primitive.CharBuf;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.*;
+
+import static org.boon.Exceptions.die;
+import static org.boon.Lists.list;
+import static org.boon.Maps.map;
+
+public class JsonPooledMapperTest {
+
+    boolean ok;
+
+    public static class Employee {
+        String name;
+        int age;
+        List<String> tags;
+
+        Employee() {
+        }
+
+        Employee( String name, int age, String... tags ) {
+            this.name = name;
+            this.age = age;
+            this.tags = list( tags );
+        }
+    }
+
+    public static class Envelope {
+        Object payload;
+
+        Envelope( Object payload ) {
+            this.payload = payload;
+        }
+    }
+
+
+    public static class Child {
+        String name;
+
+        Child( String name ) {
+            this.name = name;
+        }
+    }
+
+    public static class Parent {
+        Child a = new Child( "a" );
+        Child b = new Child( "b" );
+    }
+
+
+    @Test
+    public void sameGraphTwiceWithComplexBackReferences() {
+        ObjectMapper pooled = JsonFactory.createPooled( new JsonParserFactory(),
+                new JsonSerializerFactory().setHandleComplexBackReference( true ) );
+        Parent parent = new Parent();
+
+        String first = pooled.toJson( parent );
+        ok = first.equals( "{\"a\":{\"name\":\"a\"},\"b\":{\"name\":\"b\"}}" ) || die( first );
+
+        String second = pooled.toJson( parent );
+        ok = second.equals( first ) || die( second );
+    }
+
+
+    @Test
+    public void sameResultsAsUnpooled() {
+        ObjectMapper pooled = JsonFactory.createPooled();
+        ObjectMapper plain = JsonFactory.create();
+
+        for ( int index = 0; index < 3; index++ ) {
+            Employee employee = new Employee( "Rick" + index, 30 + index, "a", "b" );
+
+            String json = pooled.toJson( employee );
+            ok = json.equals( plain.toJson( employee ) ) || die( json );
+            ok = Arrays.equals( pooled.writeValueAsBytes( employee ), plain.writeValueAsBytes( employee ) ) || die();
+
+            Employee back = pooled.readValue( json, Employee.class );
+            ok = back.name.equals( employee.name ) && back.age == employee.age || die( back.name );
+
+            Set<Employee> set = pooled.readValue( "[" + json + "," + json + "]", Set.class, Employee.class );
+            ok = set.size() == 2 || die( set );
+        }
+    }
+
+    @Test
+    public void nestedCallsGetTheirOwnSerializer() {
+        final JsonSerializerFactory serializerFactory = new JsonSerializerFactory();
+        final ObjectMapper[] mapper = new ObjectMapper[ 1 ];
+
+        serializerFactory.addTypeSerializer( Envelope.class, new AbstractCustomObjectSerializer<Envelope>( Envelope.class ) {
+            @Override
+            public void serializeObject( JsonSerializerInternal serializer, Envelope instance, CharBuf builder ) {
+                serializer.serializeString( mapper[ 0 ].toJson( instance.payload ), builder );
+            }
+        } );
+        mapper[ 0 ] = JsonFactory.createPooled( new JsonParserFactory(), serializerFactory );
+
+        String json = mapper[ 0 ].toJson( list( new Envelope( map( "a", 1 ) ), 2 ) );
+        ok = json.equals( "[\"{\\\"a\\\":1}\",2]" ) || die( json );
+
+        json = mapper[ 0 ].toJson( list( 3 ) );
+        ok = json.equals( "[3]" ) || die( json );
+    }
+
+    @Test
+    public void parsedValuesOutliveTheNextParse() {
+        ObjectMapper mapper = JsonFactory.createPooled();
+
+        Map<String, Object> first = ( Map<String, Object> ) mapper.fromJson( new StringReader( "{\"name\":\"first\",\"n\":1.5}" ) );
+        Map<String, Object> second = ( Map<String, Object> ) mapper.fromJson( new StringReader( "{\"name\":\"other\",\"n\":2.5}" ) );
+
+        ok = first.get( "name" ).toString().equals( "first" ) || die( first );
+        ok = first.get( "n" ).toString().equals( "1.5" ) || die( first );
+        ok = second.get( "name" ).toString().equals( "other" ) || die( second );
+    }
+
+    @Test
+    public void largeOutputStillRoundTrips() {
+        ObjectMapper mapper = JsonFactory.createPooled();
+
+        List<Integer> big = new ArrayList<>();
+        for ( int index = 0; index < 100_000; index++ ) {
+            big.add( index );
+        }
+
+        String json = mapper.toJson( big );
+        List<Integer> back = mapper.readValue( json, List.class, Integer.class );
+        ok = back.equals( big ) || die();
+
+        json = mapper.toJson( list( 1, 2 ) );
+        ok = json.equals( "[1,2]" ) || die( json );
+    }
+
+}
@@ -32,6 +32,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import org.boon.Lists;
 import org.boon.core.reflection.BeanUtils;
+import org.boon.json.annotations.JsonViews;
 import org.boon.json.serializers.impl.JsonSimpleSerializerImpl;
 import org.boon.json.test.AllTypes;
 import org.boon.json.test.FooEnum;
@@ -39,6 +40,8 @@ import org.junit.Test;
 
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.boon.Boon.puts;
 import static org.boon.Exceptions.die;
@@ -555,4 +558,157 @@ public class JsonSerializeTest {
         serializer.serialize( new int[]{ 0, 1, 2, 3, 4, 5 } );
     }
 
+
+
+    @Test
+    public void parallelCollectionsMatchSequential() {
+
+        List<Object> list = new ArrayList<>();
+        for ( int index = 0; index < 5_000; index++ ) {
+            Employee employee = new Employee();
+            employee.name = "Employee " + index;
+            list.add( index % 100 == 0 ? null : employee );
+            list.add( Lists.list( index, "x" + index ) );
+        }
+        Set<Object> set = new LinkedHashSet<Object>( list.subList( 1, 2_001 ) );
+
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        try {
+            JsonSerializerFactory[] factories = {
+                    new JsonSerializerFactory(),
+                    new JsonSerializerFactory().includeNulls().useAnnotations()
+            };
+
+            for ( JsonSerializerFactory factory : factories ) {
+                String sequential = factory.create().serialize( list ).toString();
+                String sequentialSet = factory.create().serialize( set ).toString();
+
+                factory.parallelCollections( 100, pool );
+                JsonSerializer serializer = factory.create();
+
+                String parallel = serializer.serialize( list ).toString();
+                ok = parallel.equals( sequential ) || die( parallel.length() );
+
+                parallel = serializer.serialize( set ).toString();
+                ok = parallel.equals( sequentialSet ) || die( parallel.length() );
+
+                parallel = serializer.serialize( Lists.list( 1, 2 ) ).toString();
+                ok = parallel.equals( "[1,2]" ) || die( parallel );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static class Badge {
+        Employee holder;
+        Employee backup;
+    }
+
+
+    @Test
+    public void parallelCollectionsWithComplexBackReferences() {
+
+        List<Badge> list = new ArrayList<>();
+        for ( int index = 0; index < 1_000; index++ ) {
+            Badge badge = new Badge();
+            badge.holder = new Employee();
+            badge.holder.name = "Employee " + index;
+            badge.backup = badge.holder;
+            list.add( badge );
+        }
+
+        final String sequential = new JsonSerializerFactory().setHandleComplexBackReference( true )
+                .create().serialize( list ).toString();
+
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        try {
+            final JsonSerializer serializer = new JsonSerializerFactory().setHandleComplexBackReference( true )
+                    .parallelCollections( 100, pool ).create();
+
+            for ( int run = 0; run < 2; run++ ) {
+                String parallel = serializer.serialize( list ).toString();
+                ok = parallel.equals( sequential ) || die( parallel.length(), sequential.length() );
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelCollectionsFromAnotherPool() throws Exception {
+
+        final List<Object> list = new ArrayList<>();
+        for ( int index = 0; index < 1_000; index++ ) {
+            list.add( Lists.list( index, "x" + index ) );
+        }
+        final String sequential = new JsonSerializerFactory().create().serialize( list ).toString();
+
+        ForkJoinPool pool = new ForkJoinPool( 2 );
+        ForkJoinPool caller = new ForkJoinPool( 1 );
+        try {
+            final JsonSerializer serializer = new JsonSerializerFactory().parallelCollections( 100, pool ).create();
+            String parallel = caller.submit( new Callable<String>() {
+                @Override
+                public String call() {
+                    return serializer.serialize( list ).toString();
+                }
+            } ).get();
+            ok = parallel.equals( sequential ) || die( parallel.length() );
+        } finally {
+            pool.shutdown();
+            caller.shutdown();
+        }
+    }
+
+    public static class Viewed {
+        @JsonViews( ignoreWithViews = { "public" }, includeWithViews = { "internal" } )
+        String secret = "s";
+        String open = "o";
+        Viewed self = this;
+        Object none;
+    }
+
+    public static class Wrapped {
+        int id = 7;
+
+        public Object serializeAs() {
+            return Lists.list( "wrapped", id );
+        }
+    }
+
+
+    @Test
+    public void generatedSerializersMatchSimple() {
+
+        AllTypes foo = new AllTypes();
+        foo.setDate( new Date() );
+        foo.setBar( FooEnum.BAR );
+        foo.setString( "Hi Mom" );
+        AllTypes foo2 = BeanUtils.copy( foo );
+        foo.setAllType( foo2 );
+        foo.setAllTypeList( Lists.list( BeanUtils.copy( foo2 ), BeanUtils.copy( foo2 ) ) );
+
+        Object[] values = {
+                foo,
+                new Employee(),
+                new JsonSimpleUTF8SerializerTest.Everything(),
+                Lists.list( new Viewed(), new Wrapped() )
+        };
+
+        for ( String view : new String[] { null, "public" } ) {
+            JsonSerializer simple = new JsonSerializerFactory().setView( view ).create();
+            JsonSerializer generated = new JsonSerializerFactory().setView( view ).generateSerializers().create();
+
+            for ( Object value : values ) {
+                String expected = simple.serialize( value ).toString();
+                String actual = generated.serialize( value ).toString();
+                ok = actual.equals( expected ) || die( actual, expected );
+            }
+        }
+
+        String json = new JsonSerializerFactory().setView( "public" ).generateSerializers().create()
+                .serialize( new Viewed() ).toString();
+        ok = json.equals( "{\"open\":\"o\"}" ) || die( json );
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.json.serializers.impl.JsonSimpleSerializerImpl;
+import org.boon.primitive.JsonByteBuf;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class JsonSimpleUTF8SerializerTest {
+
+    public enum Color { RED, GREEN }
+
+    public static class Inner {
+        String text = "quote \" slash \\ tab \t newline \n";
+        double ratio = 0.25;
+    }
+
+    public static class Everything {
+        int i = Integer.MIN_VALUE;
+        int j = 123456789;
+        long l = Long.MAX_VALUE;
+        long small = -42;
+        short s = -7;
+        byte b = 3;
+        float f = 1.5f;
+        double d = -1.0E-10;
+        boolean flag = true;
+        char c = 'é';
+        Integer boxed = 99;
+        BigDecimal money = new BigDecimal( "12.50" );
+        String ascii = "plain";
+        String unicode = "über 中文 😀 \u0001";
+        String lone = "broken \uD800 end";
+        Color color = Color.GREEN;
+        Date date = new Date( 1_000L );
+        int[] ints = { 1, -2, 3 };
+        String[] names = { "a", "é" };
+        List<Object> list = new ArrayList<Object>( Arrays.asList( 1, "two", 3.0, null, new Inner() ) );
+        Map<String, Object> map = new LinkedHashMap<>();
+        Inner inner = new Inner();
+
+        Everything() {
+            map.put( "k\"ey", "välue" );
+            map.put( "n", 1L );
+        }
+    }
+
+
+    private static void assertSame( Object value, boolean asciiOnly ) {
+        String chars = new JsonSimpleSerializerImpl( null, true, true, asciiOnly ).serialize( value ).toString();
+        byte[] bytes = new JsonSimpleSerializerImpl( null, true, true, asciiOnly ).serializeUTF8( value ).toBytes();
+        assertArrayEquals( chars, chars.getBytes( StandardCharsets.UTF_8 ), bytes );
+    }
+
+
+    @Test
+    public void sameBytesAsCharSerializer() {
+        assertSame( new Everything(), false );
+        assertSame( Arrays.asList( "x", 1, new Everything() ), false );
+    }
+
+    @Test
+    public void sameBytesAsCharSerializerAsciiOnly() {
+        assertSame( new Everything(), true );
+    }
+
+    @Test
+    public void sameBytesWithGeneratedWritersAndSlices() {
+        ForkJoinPool pool = new ForkJoinPool( 2 );
+        try {
+            JsonSimpleSerializerImpl serializer = ( JsonSimpleSerializerImpl ) new JsonSerializerFactory()
+                    .generateSerializers().parallelCollections( 10, pool ).create();
+            List<Everything> values = new ArrayList<>();
+            for ( int index = 0; index < 50; index++ ) {
+                values.add( new Everything() );
+            }
+            String chars = serializer.serialize( values ).toString();
+            assertArrayEquals( chars.getBytes( StandardCharsets.UTF_8 ), serializer.serializeUTF8( values ).toBytes() );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void numbers() {
+        long[] values = { 0, 1, -1, 9, 10, 99, 100, 999_999_999, 1_000_000_000, Integer.MAX_VALUE,
+                Integer.MIN_VALUE, 9_999_999_999L, 10_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE, -123_456_789_012L };
+        for ( long value : values ) {
+            JsonByteBuf buf = JsonByteBuf.create( 1 );
+            buf.addLong( value );
+            assertEquals( Long.toString( value ), buf.toString() );
+            if ( value == ( int ) value ) {
+                buf = JsonByteBuf.create( 1 );
+                buf.addInt( ( int ) value );
+                assertEquals( Long.toString( value ), buf.toString() );
+            }
+        }
+    }
+
+    @Test
+    public void objectMapperWritesBytes() {
+        ObjectMapper mapper = JsonFactory.create();
+        Everything value = new Everything();
+        assertArrayEquals( mapper.writeValueAsString( value ).getBytes( StandardCharsets.UTF_8 ),
+                mapper.writeValueAsBytes( value ) );
+    }
+
+    @Test
+    public void objectMapperWritesBytesWithParallelCollections() {
+        ForkJoinPool pool = new ForkJoinPool( 2 );
+        try {
+            ObjectMapper mapper = JsonFactory.create( new JsonParserFactory(),
+                    new JsonSerializerFactory().parallelCollections( 10, pool ) );
+            List<Everything> values = new ArrayList<>();
+            for ( int index = 0; index < 50; index++ ) {
+                values.add( new Everything() );
+            }
+            assertArrayEquals( JsonFactory.create().writeValueAsBytes( values ), mapper.writeValueAsBytes( values ) );
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+import org.boon.Boon;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JsonTapeDocumentTest {
+
+    private static final String JSON = "{\n" +
+            "  \"id\": 7, \"total\": 12.5, \"paid\": true, \"note\": null,\n" +
+            "  \"customer\": { \"name\": \"Zoë\", \"tags\": [] , \"q\\\"uoted\": \"a\\nb\" },\n" +
+            "  \"orders\": [\n" +
+            "    { \"lines\": [ { \"sku\": \"A-1\", \"qty\": 1 } ] },\n" +
+            "    { \"lines\": [ { \"sku\": \"B-2\", \"qty\": 2 }, { \"sku\": \"B-3\", \"qty\": -3e2 } ] },\n" +
+            "    { \"lines\": [] }\n" +
+            "  ]\n" +
+            "}";
+
+    private final JsonDocument document = new JsonParserFactory().createDocument( JSON );
+    private final Object tree = new JsonParserFactory().createJsonCharArrayParser().parse( JSON );
+
+
+    @Test
+    public void pathsMatchFullyParsedTree() {
+        String[] paths = {
+                "id", "total", "paid", "note", "customer", "customer.name", "customer.tags",
+                "customer/q\"uoted", "orders", "orders[1]", "orders[1].lines[1].sku", "orders[1].lines[1].qty",
+                "orders[0].lines[0]", "orders[2].lines", "orders.lines"
+        };
+        for ( String path : paths ) {
+            assertEquals( path, Boon.atIndex( tree, path ), Boon.atIndex( document, path ) );
+        }
+        assertEquals( tree, document.toValue() );
+    }
+
+    @Test
+    public void missingPaths() {
+        assertNull( document.atIndex( "missing" ) );
+        assertNull( document.atIndex( "orders[9]" ) );
+        assertNull( document.atIndex( "id.deeper" ) );
+        assertFalse( document.has( "orders[2].lines[0]" ) );
+        assertTrue( document.has( "note" ) );
+        assertTrue( document.has( "orders.lines.sku" ) );
+    }
+
+    @Test
+    public void listsMapOverElements() {
+        assertEquals( Arrays.asList( Collections.singletonList( "A-1" ), Arrays.asList( "B-2", "B-3" ),
+                Collections.emptyList() ), document.atIndex( "orders.lines.sku" ) );
+        assertEquals( "B-2", Boon.stringAtIndex( document, "orders[1].lines[0].sku" ) );
+    }
+
+    @Test
+    public void scalarAndEmptyDocuments() {
+        JsonParserFactory factory = new JsonParserFactory();
+        assertEquals( 42, factory.createDocument( " 42 " ).toValue() );
+        assertEquals( "x", factory.createDocument( "\"x\"" ).toValue() );
+        assertNull( factory.createDocument( "  " ).toValue() );
+
+        byte[] bytes = "xx[1,{\"a\":[true,false]}]yy".getBytes();
+        JsonDocument slice = factory.createDocument( bytes, 2, bytes.length - 2 );
+        assertEquals( false, slice.atIndex( "[1].a[1]" ) );
+        assertEquals( 2, ( ( List ) slice.toValue() ).size() );
+    }
+
+    @Test
+    public void malformedDocuments() {
+        String[] bad = { "{\"a\" 1}", "[1 2]", "{\"a\":1", "[tru]", "{\"a\":\"open}", "{1:2}", "[1,}" };
+        for ( String json : bad ) {
+            try {
+                new JsonParserFactory().createDocument( json );
+                fail( json );
+            } catch ( JsonException expected ) {
+            }
+        }
+    }
+
+    @Test
+    public void largeDocumentAcrossIndexWindows() {
+        StringBuilder json = new StringBuilder( "{\"items\":[" );
+        for ( int index = 0; index < 5_000; index++ ) {
+            if ( index > 0 ) {
+                json.append( ',' );
+            }
+            json.append( "{\"n\":" ).append( index ).append( ",\"s\":\"v\\\\" ).append( index ).append( "é\"}" );
+        }
+        json.append( "]}" );
+        JsonDocument large = new JsonParserFactory().createDocument( json.toString() );
+        assertEquals( 4321, large.atIndex( "items[4321].n" ) );
+        assertEquals( "v\\4999é", large.atIndex( "items[4999].s" ) );
+        assertEquals( 5_000, ( ( List ) large.atIndex( "items" ) ).size() );
+        assertEquals( 4321, ( ( Map ) ( ( List ) large.atIndex( "items" ) ).get( 4321 ) ).get( "n" ) );
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JsonTokenReaderTest {
+
+
+    private JsonTokenReader reader( String json, int bufferSize ) {
+        return new JsonParserFactory().setStreamBufferSize( bufferSize ).createTokenReader( new StringReader( json ) );
+    }
+
+    private List<JsonToken> tokens( JsonTokenReader reader ) {
+        List<JsonToken> tokens = new ArrayList<>();
+        JsonToken token;
+        while ( ( token = reader.nextToken() ) != null ) {
+            tokens.add( token );
+        }
+        return tokens;
+    }
+
+
+    @Test
+    public void tokens() {
+
+        String json = " { \"name\" : \"Rick\", \"age\":42, \"tags\":[ true, false, null ], \"empty\":{}, \"none\":[] } ";
+
+        for ( int bufferSize : new int[]{ 1, 2, 3, 7, 1024 } ) {
+            JsonTokenReader reader = reader( json, bufferSize );
+
+            assertEquals( JsonToken.START_OBJECT, reader.nextToken() );
+            assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+            assertEquals( "name", reader.readString() );
+            assertEquals( JsonToken.STRING, reader.nextToken() );
+            assertEquals( "Rick", reader.readString() );
+            assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+            assertEquals( "age", reader.readString() );
+            assertEquals( JsonToken.NUMBER, reader.nextToken() );
+            assertEquals( 42L, reader.readLong() );
+            assertEquals( 42, reader.readInt() );
+            assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+            assertEquals( JsonToken.START_ARRAY, reader.nextToken() );
+            assertEquals( 2, reader.depth() );
+            assertEquals( JsonToken.TRUE, reader.nextToken() );
+            assertTrue( reader.readBoolean() );
+            assertEquals( JsonToken.FALSE, reader.nextToken() );
+            assertEquals( JsonToken.NULL, reader.nextToken() );
+            assertNull( reader.readString() );
+            assertEquals( JsonToken.END_ARRAY, reader.nextToken() );
+            assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+            assertEquals( JsonToken.START_OBJECT, reader.nextToken() );
+            assertEquals( JsonToken.END_OBJECT, reader.nextToken() );
+            assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+            assertEquals( JsonToken.START_ARRAY, reader.nextToken() );
+            assertEquals( JsonToken.END_ARRAY, reader.nextToken() );
+            assertEquals( JsonToken.END_OBJECT, reader.nextToken() );
+            assertEquals( 0, reader.depth() );
+            assertNull( reader.nextToken() );
+        }
+    }
+
+    @Test
+    public void escapesAcrossBufferBoundaries() {
+
+        String json = "[\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\u2603 end\"]";
+
+        for ( int bufferSize = 1; bufferSize < json.length() + 2; bufferSize++ ) {
+            JsonTokenReader reader = reader( json, bufferSize );
+            reader.nextToken();
+            assertEquals( JsonToken.STRING, reader.nextToken() );
+            assertEquals( "a\"b\\c/d\n\té☃ end", reader.readString() );
+            assertEquals( JsonToken.END_ARRAY, reader.nextToken() );
+        }
+    }
+
+    @Test
+    public void numbers() {
+
+        JsonTokenReader reader = reader( "[-12, 9223372036854775807, 1.5, -2.5e3, 0]", 4 );
+
+        reader.nextToken();
+        reader.nextToken();
+        assertEquals( -12, reader.readInt() );
+        assertEquals( -12, reader.readNumber() );
+        reader.nextToken();
+        assertEquals( Long.MAX_VALUE, reader.readLong() );
+        assertEquals( Long.MAX_VALUE, reader.readNumber() );
+        reader.nextToken();
+        assertEquals( 1.5, reader.readDouble(), 0.0 );
+        assertEquals( "1.5", reader.readString() );
+        reader.nextToken();
+        assertEquals( -2500.0, reader.readDouble(), 0.0 );
+        assertEquals( -2500L, reader.readLong() );
+        reader.nextToken();
+        assertEquals( 0L, reader.readLong() );
+        assertEquals( JsonToken.END_ARRAY, reader.nextToken() );
+    }
+
+    @Test
+    public void skipChildren() {
+
+        JsonTokenReader reader = reader(
+                "{\"skip\":{\"a\":[1,2,{\"b\":\"}]\\\"\"}],\"c\":{}},\"keep\":7}", 5 );
+
+        assertEquals( JsonToken.START_OBJECT, reader.nextToken() );
+        assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+        assertEquals( JsonToken.START_OBJECT, reader.nextToken() );
+        reader.skipChildren();
+        assertEquals( JsonToken.END_OBJECT, reader.currentToken() );
+        assertEquals( 1, reader.depth() );
+        assertEquals( JsonToken.FIELD_NAME, reader.nextToken() );
+        assertEquals( "keep", reader.readString() );
+        reader.nextToken();
+        assertEquals( 7, reader.readInt() );
+        assertEquals( JsonToken.END_OBJECT, reader.nextToken() );
+        assertNull( reader.nextToken() );
+    }
+
+    @Test
+    public void severalRootValues() {
+
+        JsonTokenReader reader = reader( "{\"id\":1}\n{\"id\":2}\n3", 8 );
+
+        assertEquals( 9, tokens( reader ).size() );
+    }
+
+    @Test
+    public void inputStream() {
+
+        JsonTokenReader reader = new JsonParserFactory().createTokenReader(
+                new ByteArrayInputStream( "[\"café\"]".getBytes( StandardCharsets.UTF_8 ) ) );
+
+        reader.nextToken();
+        reader.nextToken();
+        assertEquals( "café", reader.readString() );
+        reader.close();
+    }
+
+    @Test
+    public void documentLargerThanBuffer() {
+
+        final int count = 200_000;
+
+        /* Generates a huge array on the fly, nothing ever holds the whole document. */
+        Reader generator = new Reader() {
+            int item = -1;
+            String pending = "[";
+
+            @Override
+            public int read( char[] buffer, int offset, int length ) {
+                if ( pending == null ) {
+                    return -1;
+                }
+                int written = 0;
+                while ( written < length && pending != null ) {
+                    int chunk = Math.min( length - written, pending.length() );
+                    pending.getChars( 0, chunk, buffer, offset + written );
+                    written += chunk;
+                    pending = pending.substring( chunk );
+                    if ( pending.isEmpty() ) {
+                        item++;
+                        pending = item < count ? ( item == 0 ? "" : "," ) + "{\"id\":" + item + "}" :
+                                item == count ? "]" : null;
+                    }
+                }
+                return written;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        JsonTokenReader reader = new JsonParserFactory().setStreamBufferSize( 512 ).createTokenReader( generator );
+
+        long sum = 0;
+        JsonToken token;
+        while ( ( token = reader.nextToken() ) != null ) {
+            if ( token == JsonToken.NUMBER ) {
+                sum += reader.readLong();
+            }
+        }
+
+        assertEquals( ( long ) count * ( count - 1 ) / 2, sum );
+    }
+
+    @Test
+    public void errors() {
+
+        String[] bad = { "{\"a\" 1}", "[1 2]", "{\"a\":}", "[\"open", "{1:2}", "[tru]", "[-]", "[1," };
+
+        for ( String json : bad ) {
+            boolean failed = false;
+            try {
+                tokens( reader( json, 3 ) );
+            } catch ( JsonException ex ) {
+                failed = true;
+            }
+            if ( !failed ) {
+                die( "expected failure for", json );
+            }
+        }
+    }
+}
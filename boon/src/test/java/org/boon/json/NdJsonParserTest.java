@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+
+package org.boon.json;
+
+import org.boon.IO;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NdJsonParserTest {
+
+    public static class Event {
+        long id;
+        String type;
+        double value;
+    }
+
+
+    private static String events( int count ) {
+        StringBuilder builder = new StringBuilder();
+        for ( int index = 0; index < count; index++ ) {
+            builder.append( "{\"id\":" ).append( index ).append( ",\"type\":\"click\\u00e9\",\"value\":" )
+                    .append( index ).append( ".5}" ).append( index % 3 == 0 ? "\r\n" : "\n" );
+            if ( index % 100 == 0 ) {
+                builder.append( "   \n" );
+            }
+        }
+        return builder.toString();
+    }
+
+
+    private static final ForkJoinPool pool = new ForkJoinPool( 4 );
+
+    private NdJsonParser parser() {
+        return new JsonParserFactory().createNdJsonParser( pool, 1024 );
+    }
+
+
+    @Test
+    public void parseBytesInOrder() {
+
+        List<Object> values = parser().parse( events( 5_000 ).getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( 5_000, values.size() );
+        for ( int index = 0; index < values.size(); index++ ) {
+            Map<String, Object> map = ( Map<String, Object> ) values.get( index );
+            assertEquals( index, ( ( Number ) map.get( "id" ) ).intValue() );
+        }
+        assertEquals( "clické", ( ( Map ) values.get( 7 ) ).get( "type" ) );
+    }
+
+    @Test
+    public void parseBytesToObjects() {
+
+        List<Event> events = parser().parse( Event.class, events( 1_000 ).getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( 1_000, events.size() );
+        assertEquals( 999L, events.get( 999 ).id );
+        assertEquals( 999.5, events.get( 999 ).value, 0.0 );
+    }
+
+    @Test
+    public void lastLineWithoutNewline() {
+
+        List<Object> values = parser().parse( "1\n[2]\n\"three\"".getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( 3, values.size() );
+        assertEquals( "three", values.get( 2 ) );
+    }
+
+    @Test
+    public void parseMappedFile() throws Exception {
+
+        File file = File.createTempFile( "events", ".ndjson" );
+        file.deleteOnExit();
+        IO.write( file.toPath(), events( 5_000 ) );
+
+        List<Event> events = parser().parseFile( Event.class, file.toString() );
+
+        assertEquals( 5_000, events.size() );
+        for ( int index = 0; index < events.size(); index++ ) {
+            assertEquals( index, events.get( index ).id );
+        }
+    }
+
+    @Test
+    public void usesFactorySettings() {
+
+        NdJsonParser parser = new JsonParserFactory().lax().createNdJsonParser( pool, 1024 );
+        List<Object> values = parser.parse( "{a:1}\n{'b':'two'}\n".getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( 2, values.size() );
+        assertEquals( 1, ( ( Number ) ( ( Map ) values.get( 0 ) ).get( "a" ) ).intValue() );
+        assertEquals( "two", ( ( Map ) values.get( 1 ) ).get( "b" ) );
+    }
+
+    @Test
+    public void defaultPool() {
+
+        List<Object> values = new JsonParserFactory().createNdJsonParser()
+                .parse( "1\n2\n".getBytes( StandardCharsets.UTF_8 ) );
+        assertEquals( 2, values.size() );
+    }
+
+    @Test
+    public void errorOffsetInLaterChunk() throws Exception {
+
+        String lines = "{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n{\"a\":4}\n{\"a\":}\n{\"a\":6}\n";
+        NdJsonParser parser = new JsonParserFactory().createNdJsonParser( pool, 16 );
+
+        try {
+            parser.parse( lines.getBytes( StandardCharsets.UTF_8 ) );
+            die( "a malformed line must not parse" );
+        } catch ( JsonException ex ) {
+            assertTrue( ex.getMessage(), ex.getMessage().endsWith( "unable to parse the line starting at byte 32" ) );
+        }
+
+        File file = File.createTempFile( "malformed", ".ndjson" );
+        file.deleteOnExit();
+        IO.write( file.toPath(), lines );
+
+        try {
+            parser.parseFile( Object.class, file.toString() );
+            die( "a malformed line must not parse" );
+        } catch ( JsonException ex ) {
+            assertTrue( ex.getMessage(), ex.getMessage().endsWith( "unable to parse the line starting at byte 32" ) );
+        }
+    }
+
+    @Test
+    public void valueSpanningLines() {
+
+        try {
+            parser().parse( "{\"a\":1}\n[1,\n2]\n".getBytes( StandardCharsets.UTF_8 ) );
+        } catch ( JsonException ex ) {
+            return;
+        }
+        die( "a value split over two lines must not parse" );
+    }
+}
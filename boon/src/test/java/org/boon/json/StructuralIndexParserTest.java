@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.json;
+
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the shared parser tests against the two stage parser, plus documents built to
+ * put escapes, quotes and multi-byte characters across 64 byte block and window edges.
+ */
+public class StructuralIndexParserTest extends JsonParserAndMapperBaseTest {
+
+
+    public JsonParserAndMapper parser () {
+        return new JsonParserFactory().createUTF8StructuralParser();
+    }
+
+    public JsonParserAndMapper objectParser () {
+        return parser();
+    }
+
+
+    private static void assertSameAsCharParser( String json ) {
+        byte[] bytes = json.getBytes( StandardCharsets.UTF_8 );
+        Object expected = new JsonParserFactory().createJsonCharArrayParser().parse( json );
+        Object actual = new JsonParserFactory().createUTF8StructuralParser().parse( bytes );
+        assertEquals( expected, actual );
+    }
+
+
+    @Test
+    public void escapesAcrossBlockEdges() {
+        String[] pieces = { "\\\"", "\\\\", "\\\\\\\"", "\\u00e9", "é", "中", "😀", "\\n", "{", "]", ",", ":" };
+
+        for ( int pad = 0; pad < 70; pad++ ) {
+            for ( String piece : pieces ) {
+                StringBuilder json = new StringBuilder( "{\"" );
+                for ( int index = 0; index < pad; index++ ) {
+                    json.append( 'x' );
+                }
+                json.append( piece ).append( piece ).append( "\":[\"" ).append( piece )
+                        .append( "\", 1, -2.5e3, true, null, {}, []],\"b\\\\\":\"\\\\\"}" );
+                assertSameAsCharParser( json.toString() );
+            }
+        }
+    }
+
+
+    @Test
+    public void documentLargerThanOneWindow() {
+        StringBuilder json = new StringBuilder( "[" );
+        Random random = new Random( 7 );
+        for ( int index = 0; index < 20_000; index++ ) {
+            if ( index > 0 ) {
+                json.append( ",\n  " );
+            }
+            json.append( "{\"id\":" ).append( index )
+                    .append( ",\"name\":\"n\\\"ü" ).append( random.nextInt() )
+                    .append( "\",\"tags\":[\"a\",\"b\\\\\"],\"score\":" ).append( random.nextDouble() )
+                    .append( ",\"ok\":" ).append( random.nextBoolean() ).append( '}' );
+        }
+        json.append( ']' );
+        assertSameAsCharParser( json.toString() );
+    }
+
+
+    @Test
+    public void sliceOfALargerBuffer() {
+        byte[] bytes = "xx[1,\"two\",{\"three\":3}]yy".getBytes( StandardCharsets.UTF_8 );
+        Object value = new org.boon.json.implementation.JsonStructuralParser().parse( bytes, 2, bytes.length - 2 );
+        assertEquals( Arrays.asList( 1, "two", Collections.singletonMap( "three", 3 ) ), value );
+    }
+
+
+    @Test( expected = JsonException.class )
+    public void unterminatedString() {
+        parser().parse( "{\"a\":\"never ends}".getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+
+    @Test( expected = JsonException.class )
+    public void strayStructuralCharacter() {
+        parser().parse( "[1 2]".getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
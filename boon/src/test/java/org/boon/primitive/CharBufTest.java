@@ -242,4 +242,15 @@ public class CharBufTest {
 
     }
 
+    @Test
+    public void jsonFieldName() {
+        assertEquals( "\"name\":", new String( CharBuf.jsonFieldName( "name" ) ) );
+        assertEquals( "\"été\":", new String( CharBuf.jsonFieldName( "été" ) ) );
+        assertEquals( "\"a\\\"b\":", new String( CharBuf.jsonFieldName( "a\"b" ) ) );
+
+        CharBuf buf = CharBuf.create( 1 );
+        buf.addJsonFieldName( "été".toCharArray() );
+        assertEquals( buf.toString(), new String( CharBuf.jsonFieldName( "été" ) ) );
+    }
+
 }
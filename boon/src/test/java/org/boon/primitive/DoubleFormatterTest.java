@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+
+public class DoubleFormatterTest {
+
+    @Test
+    public void sameLayoutAsToString() {
+        assertEquals( "0.0", DoubleFormatter.toString( 0.0 ) );
+        assertEquals( "-0.0", DoubleFormatter.toString( -0.0 ) );
+        assertEquals( "1.0", DoubleFormatter.toString( 1.0 ) );
+        assertEquals( "-12.5", DoubleFormatter.toString( -12.5 ) );
+        assertEquals( "0.001", DoubleFormatter.toString( 0.001 ) );
+        assertEquals( "9.9E-4", DoubleFormatter.toString( 0.00099 ) );
+        assertEquals( "9999999.0", DoubleFormatter.toString( 9999999.0 ) );
+        assertEquals( "1.0E7", DoubleFormatter.toString( 1e7 ) );
+        assertEquals( "1.234E-100", DoubleFormatter.toString( 1.234e-100 ) );
+        assertEquals( "0.30000000000000004", DoubleFormatter.toString( 0.1 + 0.2 ) );
+        assertEquals( "1.7976931348623157E308", DoubleFormatter.toString( Double.MAX_VALUE ) );
+        assertEquals( "4.9E-324", DoubleFormatter.toString( Double.MIN_VALUE ) );
+        assertEquals( "NaN", DoubleFormatter.toString( Double.NaN ) );
+        assertEquals( "-Infinity", DoubleFormatter.toString( Double.NEGATIVE_INFINITY ) );
+
+        assertEquals( "0.1", DoubleFormatter.toString( 0.1f ) );
+        assertEquals( "3.4028235E38", DoubleFormatter.toString( Float.MAX_VALUE ) );
+        assertEquals( "1.4E-45", DoubleFormatter.toString( Float.MIN_VALUE ) );
+    }
+
+    @Test
+    public void shorterThanJdk8WhereItOverPrints() {
+        /* JDK 8 Double.toString prints these as 9.999999999999999E22 and 1.9999999999999998E23. */
+        assertEquals( "1.0E23", DoubleFormatter.toString( 1e23 ) );
+        assertEquals( "2.0E23", DoubleFormatter.toString( 2e23 ) );
+    }
+
+    @Test
+    public void randomDoublesRoundTripShortest() {
+        Random random = new Random( 15 );
+        char[] chars = new char[ 40 ];
+        byte[] bytes = new byte[ 40 ];
+
+        for ( int index = 0; index < 20_000; index++ ) {
+            double value = Double.longBitsToDouble( random.nextLong() );
+            if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+                continue;
+            }
+
+            String text = DoubleFormatter.toString( value );
+            boolean ok = Double.parseDouble( text ) == value || die( text );
+
+            int end = DoubleFormatter.write( value, chars, 3 );
+            ok &= new String( chars, 3, end - 3 ).equals( text ) || die( text );
+            end = DoubleFormatter.write( value, bytes, 5 );
+            ok &= new String( bytes, 5, end - 5 ).equals( text ) || die( text );
+
+            ok &= digits( text ) <= digits( Double.toString( value ) ) || die( text );
+            ok &= !shorterRoundTrips( value, digits( text ) ) || die( text );
+        }
+    }
+
+    @Test
+    public void randomFloatsRoundTrip() {
+        Random random = new Random( 15 );
+
+        for ( int index = 0; index < 20_000; index++ ) {
+            float value = Float.intBitsToFloat( random.nextInt() );
+            if ( Float.isNaN( value ) || Float.isInfinite( value ) ) {
+                continue;
+            }
+
+            String text = DoubleFormatter.toString( value );
+            boolean ok = Float.parseFloat( text ) == value || die( text );
+            ok &= digits( text ) <= digits( Float.toString( value ) ) || die( text );
+        }
+    }
+
+    @Test
+    public void charBufAndByteBufUseIt() {
+        assertEquals( "[1.0E23,0.1]", CharBuf.create( 16 ).add( '[' ).addDouble( 1e23 ).add( ',' )
+                .addFloat( 0.1f ).add( ']' ).toString() );
+
+        JsonByteBuf buf = JsonByteBuf.create( 2 );
+        buf.addDouble( -2.5e-7 );
+        assertEquals( "-2.5E-7", new String( buf.toBytes() ) );
+    }
+
+
+    private static int digits( String text ) {
+        String digits = text.split( "E" )[ 0 ].replace( "-", "" ).replace( ".", "" );
+        digits = digits.replaceAll( "^0+", "" ).replaceAll( "0+$", "" );
+        return Math.max( 1, digits.length() );
+    }
+
+    private static boolean shorterRoundTrips( double value, int digits ) {
+        if ( digits == 1 || Math.abs( value ) < 1e-323 ) {
+            return false;
+        }
+        BigDecimal shorter = new BigDecimal( value ).round( new MathContext( digits - 1, RoundingMode.HALF_EVEN ) );
+        BigDecimal ulp = shorter.ulp();
+        return shorter.doubleValue() == value || shorter.add( ulp ).doubleValue() == value
+                || shorter.subtract( ulp ).doubleValue() == value;
+    }
+}
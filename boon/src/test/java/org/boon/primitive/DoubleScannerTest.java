@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.boon.Exceptions.die;
+import static org.junit.Assert.assertEquals;
+
+public class DoubleScannerTest {
+
+    @Test
+    public void hardCases() {
+        String[] numbers = {
+                "0.1", "0.3", "1.", ".5", "00012.500", "-1E+2", "0.5e1", "-0", "-0.0",
+                "9007199254740993", "9007199254740995", "9999999999999999999", "18446744073709551615",
+                "2.2250738585072011e-308", "2.2250738585072012e-308", "4.9406564584124654e-324",
+                "2.4703282292062327e-324", "2.4703282292062328e-324",
+                "1.7976931348623157e308", "1.7976931348623159e308", "1e-400", "1e400",
+                "123456789012345678901234", "0.0000000000000000000000000001",
+                "7.038531e-26", "1.00000006", "3.4028235e38", "3.4028236e38", "1.4e-45", "7e-46"
+        };
+
+        for ( String number : numbers ) {
+            check( number );
+        }
+    }
+
+    @Test
+    public void randomDecimals() {
+        Random random = new Random( 15 );
+
+        for ( int index = 0; index < 10_000; index++ ) {
+            double value = Double.longBitsToDouble( random.nextLong() );
+            if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+                continue;
+            }
+            check( Double.toString( value ) );
+            check( new BigDecimal( value ).round( new MathContext( 1 + random.nextInt( 19 ) ) ).toString() );
+            check( Long.toString( random.nextLong() >>> random.nextInt( 64 ) ) + "." + random.nextInt( 1000 )
+                    + "e" + ( random.nextInt( 700 ) - 350 ) );
+            check( random.nextInt( 100_000 ) + "." + random.nextInt( 1000 ) + "e" + ( random.nextInt( 90 ) - 45 ) );
+        }
+    }
+
+    @Test
+    public void jsonNumbersUseTheScanner() {
+        String json = "[2.2250738585072011e-308, 0.30000000000000004]";
+        char[] chars = json.toCharArray();
+
+        assertEquals( 2.2250738585072011e-308, CharScanner.parseJsonNumber( chars, 1, chars.length ) );
+        assertEquals( 0.30000000000000004, ByteScanner.parseJsonNumber( json.getBytes(), 26, chars.length ) );
+    }
+
+    @Test
+    public void compareUnsigned() {
+        long[] values = { 0, 1, 2, Long.MAX_VALUE, Long.MIN_VALUE, -2, -1 };
+        for ( int i = 0; i < values.length; i++ ) {
+            for ( int j = 0; j < values.length; j++ ) {
+                assertEquals( Integer.signum( Integer.compare( i, j ) ),
+                        Integer.signum( DoubleScanner.compareUnsigned( values[ i ], values[ j ] ) ) );
+            }
+        }
+    }
+
+    @Test (expected = Exception.class)
+    public void unexpectedCharacter() {
+        DoubleScanner.parseDouble( "1.5x".toCharArray(), 0, 4 );
+    }
+
+
+    private static void check( String number ) {
+        char[] chars = number.toCharArray();
+        byte[] bytes = number.getBytes();
+
+        long expected = Double.doubleToLongBits( Double.parseDouble( number ) );
+        boolean ok = Double.doubleToLongBits( DoubleScanner.parseDouble( chars, 0, chars.length ) ) == expected
+                || die( number );
+        ok &= Double.doubleToLongBits( DoubleScanner.parseDouble( bytes, 0, bytes.length ) ) == expected || die( number );
+
+        int expectedFloat = Float.floatToIntBits( Float.parseFloat( number ) );
+        ok &= Float.floatToIntBits( DoubleScanner.parseFloat( chars, 0, chars.length ) ) == expectedFloat
+                || die( number );
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2013-2014 Richard M. Hightower
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * __________                              _____          __   .__
+ * \______   \ ____   ____   ____   /\    /     \ _____  |  | _|__| ____    ____
+ *  |    |  _//  _ \ /  _ \ /    \  \/   /  \ /  \\__  \ |  |/ /  |/    \  / ___\
+ *  |    |   (  <_> |  <_> )   |  \ /\  /    Y    \/ __ \|    <|  |   |  \/ /_/  >
+ *  |______  /\____/ \____/|___|  / \/  \____|__  (____  /__|_ \__|___|  /\___  /
+ *         \/                   \/              \/     \/     \/       \//_____/
+ *      ____.                     ___________   _____    ______________.___.
+ *     |    |____ ___  _______    \_   _____/  /  _  \  /   _____/\__  |   |
+ *     |    \__  \\  \/ /\__  \    |    __)_  /  /_\  \ \_____  \  /   |   |
+ * /\__|    |/ __ \\   /  / __ \_  |        \/    |    \/        \ \____   |
+ * \________(____  /\_/  (____  / /_______  /\____|__  /_______  / / ______|
+ *               \/           \/          \/         \/        \/  \/
+ */
+package org.boon.primitive;
+
+import org.boon.json.JsonFactory;
+import org.boon.json.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class StreamingCharBufTest {
+
+
+    public static class Item {
+        String name;
+        int count;
+        List<String> tags = new ArrayList<>();
+
+        Item( String name, int count ) {
+            this.name = name;
+            this.count = count;
+            tags.add( "t" + count );
+            tags.add( "é😀" );
+        }
+    }
+
+
+    private static List<Object> bigList() {
+        List<Object> list = new ArrayList<>();
+        for ( int index = 0; index < 20_000; index++ ) {
+            if ( index % 3 == 0 ) {
+                list.add( new Item( "item " + index, index ) );
+            } else if ( index % 3 == 1 ) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put( "id", index );
+                map.put( "text", "über 中文 " + index );
+                list.add( map );
+            } else {
+                list.add( "😀 smile " + index );
+            }
+        }
+        return list;
+    }
+
+
+    @Test
+    public void largeOutputMatchesString() {
+        ObjectMapper mapper = JsonFactory.create();
+        List<Object> list = bigList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeValue( out, list );
+
+        assertArrayEquals( mapper.writeValueAsString( list ).getBytes( StandardCharsets.UTF_8 ), out.toByteArray() );
+    }
+
+    @Test
+    public void channelOutputMatchesString() {
+        ObjectMapper mapper = JsonFactory.create();
+        List<Object> list = bigList();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeValue( Channels.newChannel( out ), list );
+
+        assertEquals( mapper.writeValueAsString( list ), new String( out.toByteArray(), StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void surrogatePairSplitAcrossDrains() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingCharBuf buf = StreamingCharBuf.create( out );
+
+        StringBuilder expected = new StringBuilder();
+        for ( int index = 0; index < 8 * 1024 - 1; index++ ) {
+            buf.addChar( 'a' );
+            expected.append( 'a' );
+        }
+        buf.addChar( '\uD83D' );
+        buf.flushIfFull();
+        buf.addChar( '\uDE00' );
+        buf.close();
+        expected.append( "😀" );
+
+        assertArrayEquals( expected.toString().getBytes( StandardCharsets.UTF_8 ), out.toByteArray() );
+    }
+
+    @Test
+    public void smallValues() {
+        ObjectMapper mapper = JsonFactory.create();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeValue( out, new Item( "x", 1 ) );
+
+        assertEquals( mapper.writeValueAsString( new Item( "x", 1 ) ), new String( out.toByteArray(), StandardCharsets.UTF_8 ) );
+    }
+}
@@ -28,9 +28,20 @@
 
 package org.boon.tests;
 
+import org.boon.criteria.ObjectFilter;
+import org.boon.datarepo.PlanSteps;
+import org.boon.datarepo.Repo;
+import org.boon.datarepo.ResultSet;
+import org.boon.tests.model.Employee;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.boon.Exceptions.die;
+import static org.boon.criteria.ObjectFilter.eq;
+
 public class RepoBuilderTest {
     RepoDefaultTest test;
 
@@ -122,4 +133,105 @@ public class RepoBuilderTest {
 
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testConcurrent() throws Exception {
+
+        test.repo = TestHelper.createConcurrentFromBuilder();
+        runAll();
+
+    }
+
+
+    @Test
+    public void testConcurrentReadersSeeOneVersion() throws Exception {
+
+        final Repo<String, Employee> repo = TestHelper.createConcurrentFromBuilder();
+        final AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread writer = new Thread() {
+            public void run() {
+                for ( int index = 0; index < 2_000; index++ ) {
+                    repo.update( TestHelper.getTestSSN, "salary", index % 2 == 0 ? 1 : 2 );
+                }
+            }
+        };
+
+        Thread reader = new Thread() {
+            public void run() {
+                for ( int index = 0; index < 2_000; index++ ) {
+                    List<Employee> ones = repo.query( eq( "salary", 1 ) );
+                    for ( Employee employee : ones ) {
+                        if ( employee.getSalary() != 1 ) {
+                            failure.set( "index and item disagree " + employee );
+                        }
+                    }
+                    if ( repo.query( eq( "id", TestHelper.getTestSSN ) ).size() != 1 ) {
+                        failure.set( "item missing from primary key index" );
+                    }
+                }
+            }
+        };
+
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        boolean ok = failure.get() == null || die( failure.get() );
+        ok = repo.get( TestHelper.getTestSSN ).getSalary() == 2 || die();
+
+    }
+
+
+    @Test
+    public void testBitmap() throws Exception {
+
+        test.repo = TestHelper.createFromBuilderWithBitmapIndexes();
+        runAll();
+
+    }
+
+
+    @Test
+    public void testBitmapGroups() throws Exception {
+
+        Repo<String, Employee> repo = TestHelper.createFromBuilderWithBitmapIndexes();
+
+        ResultSet<Employee> results = repo.results( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.eq( "salary", 10_000 ) );
+        boolean ok = results.asList().size() == 2 || die( results.asList() );
+        ok = results.queryPlan().get( 0 ).getType() == PlanSteps.USE_BITMAP || die( results.queryPlan() );
+
+        results = repo.results( ObjectFilter.or( ObjectFilter.eq( "lastName", "Sith" ), ObjectFilter.eq( "lastName", "Zmm" ) ) );
+        ok = results.asList().size() == 2 || die( results.asList() );
+
+        ok = repo.query( ObjectFilter.in( "salary", 100_000, 199_000 ) ).size() == 2 || die();
+        ok = repo.query( ObjectFilter.notEq( "lastName", "Smith" ) ).size() == 3 || die();
+        ok = repo.query( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.not( ObjectFilter.eq( "salary", 10_000 ) ) ).size() == 4 || die();
+
+        /* A bitmap criterion mixed with one the bitmaps can not answer. */
+        ok = repo.query( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.startsWith( "firstName", "Bobb" ) ).size() == 2 || die();
+
+    }
+
+
+    @Test
+    public void testBitmapFollowsEdits() throws Exception {
+
+        Repo<String, Employee> repo = TestHelper.createFromBuilderWithBitmapIndexes();
+        repo.add( Employee.employee( "Edit", "Foo", "555-222-2222", "05.29.70", 10_000 ) );
+
+        repo.update( "555-222-2222", "lastName", "Smith" );
+        boolean ok = repo.query( ObjectFilter.eq( "lastName", "Smith" ) ).size() == 7 || die();
+        ok = repo.query( ObjectFilter.eq( "lastName", "Foo" ) ).size() == 1 || die();
+
+        repo.removeByKey( "555-222-2222" );
+        ok = repo.query( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.eq( "salary", 10_000 ) ).size() == 2 || die();
+        ok = repo.query( ObjectFilter.notEq( "lastName", "Smith" ) ).size() == 3 || die();
+
+        repo.clear();
+        ok = repo.query( ObjectFilter.notEq( "lastName", "Smith" ) ).size() == 0 || die();
+
+    }
+
+}
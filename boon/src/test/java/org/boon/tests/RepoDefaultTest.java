@@ -29,14 +29,21 @@
 package org.boon.tests;
 
 import junit.framework.Assert;
+import org.boon.Lists;
 import org.boon.core.reflection.BeanUtils;
 import org.boon.criteria.ObjectFilter;
 import org.boon.datarepo.Repo;
 import org.boon.criteria.internal.Visitor;
+import org.boon.datarepo.PlanStep;
+import org.boon.datarepo.PlanSteps;
+import org.boon.datarepo.ResultSet;
+import org.boon.sort.Sort;
 import org.boon.tests.model.Employee;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -457,4 +464,106 @@ public class RepoDefaultTest {
         repo.clear();
         assertEquals( 0, repo.size() );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testQueryPlanIntersectsSmallestFirst() {
+        ResultSet<Employee> results = repo.results( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.eq( "salary", 10_000 ) );
+
+        List<Employee> employees = results.asList();
+        assertEquals( 2, employees.size() );
+
+        List<PlanStep> plan = results.queryPlan();
+        assertEquals( 2, plan.size() );
+        assertEquals( PlanSteps.USE_INDEX, plan.get( 0 ).getType() );
+        assertEquals( 5, plan.get( 0 ).getEstimate() );
+        assertEquals( PlanSteps.INTERSECT_INDEX, plan.get( 1 ).getType() );
+        assertEquals( 2, plan.get( 1 ).getSize() );
+    }
+
+    @Test
+    public void testQueryPlanFallsBackToLinearSearch() {
+        ResultSet<Employee> results = repo.results( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.eq( "salary", 10_000 ),
+                ObjectFilter.eq( "firstName", "Boc" ) );
+
+        List<Employee> employees = results.asList();
+        assertEquals( 1, employees.size() );
+        assertEquals( "Boc", employees.get( 0 ).getFirstName() );
+
+        List<PlanStep> plan = results.queryPlan();
+        assertEquals( 2, plan.size() );
+        assertEquals( PlanSteps.USE_INDEX, plan.get( 0 ).getType() );
+        assertEquals( 1, plan.get( 0 ).getEstimate() );
+        assertEquals( PlanSteps.LINEAR_SEARCH, plan.get( 1 ).getType() );
+    }
+
+    @Test
+    public void testQueryPlanRange() {
+        ResultSet<Employee> results = repo.results( ObjectFilter.gt( "salary", 150_000 ),
+                ObjectFilter.eq( "lastName", "Smith" ) );
+
+        assertEquals( 2, results.asList().size() );
+
+        List<PlanStep> plan = results.queryPlan();
+        assertEquals( 6, plan.get( 0 ).getEstimate() );
+        assertEquals( PlanSteps.INTERSECT_INDEX, plan.get( 1 ).getType() );
+        assertEquals( 7, plan.get( 1 ).getEstimate() );
+    }
+
+    @Test
+    public void testCursor() {
+        Iterator<Employee> cursor = repo.cursor( ObjectFilter.eq( "lastName", "Smith" ), ObjectFilter.gt( "salary", 50_000 ) );
+
+        List<String> names = new ArrayList<>();
+        while ( cursor.hasNext() ) {
+            names.add( cursor.next().getFirstName() );
+        }
+
+        assertEquals( 4, names.size() );
+        assertTrue( names.containsAll( Lists.list( "Bobbie", "Bobs", "Bob", "Bobbzie" ) ) );
+    }
+
+    @Test
+    public void testPageWalksSortIndex() {
+        Sort sort = Sort.desc( "salary" ).then( "firstName" );
+        ResultSet<Employee> results = repo.results( sort, 3, 4, ObjectFilter.notEq( "firstName", "Bob" ) );
+
+        assertEquals( Lists.list( "AAA", "Boa", "Boc", "Darth" ), firstNames( results.asList() ) );
+        assertEquals( firstNames( repo.sortedQuery( Sort.desc( "salary" ).then( "firstName" ),
+                ObjectFilter.notEq( "firstName", "Bob" ) ).subList( 3, 7 ) ), firstNames( results.asList() ) );
+
+        List<PlanStep> plan = results.queryPlan();
+        assertEquals( 1, plan.size() );
+        assertEquals( PlanSteps.WALK_INDEX, plan.get( 0 ).getType() );
+    }
+
+    @Test
+    public void testPageKeepsTopMatchesOnHeap() {
+        ResultSet<Employee> results = repo.results( Sort.asc( "firstName" ), 1, 2, ObjectFilter.eq( "lastName", "Smith" ) );
+
+        assertEquals( Lists.list( "Bob", "Bobbie" ), firstNames( results.asList() ) );
+
+        List<PlanStep> plan = results.queryPlan();
+        assertEquals( PlanSteps.USE_INDEX, plan.get( 0 ).getType() );
+        assertEquals( PlanSteps.TOP_K, plan.get( 1 ).getType() );
+    }
+
+    @Test
+    public void testPageWithoutSort() {
+        List<Employee> page = repo.query( 1, 3, ObjectFilter.eq( "lastName", "Smith" ) );
+        assertEquals( 3, page.size() );
+        for ( Employee employee : page ) {
+            assertEquals( "Smith", employee.getLastName() );
+        }
+
+        assertEquals( 0, repo.query( 6, 3, ObjectFilter.eq( "lastName", "Smith" ) ).size() );
+        assertEquals( 2, repo.sortedQuery( "salary", 7, 5 ).size() );
+    }
+
+    private static List<String> firstNames( List<Employee> employees ) {
+        List<String> names = new ArrayList<>();
+        for ( Employee employee : employees ) {
+            names.add( employee.getFirstName() );
+        }
+        return names;
+    }
+}
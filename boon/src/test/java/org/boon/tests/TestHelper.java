@@ -146,6 +146,44 @@ public class TestHelper {
     }
 
 
+    static Repo<String, Employee> createConcurrentFromBuilder() {
+
+        /* Create a repo that many threads can use at once. */
+        RepoBuilder repoBuilder = Repos.builder().concurrent();
+
+        repoBuilder.primaryKey( "id" )
+                .searchIndex( "firstName" ).searchIndex( "lastName" )
+                .searchIndex( "salary" ).uniqueSearchIndex( "empNum" );
+
+        Repo<String, Employee> repo
+                = repoBuilder.build( String.class, Employee.class, SalesEmployee.class );
+
+        for ( Employee employee : employees ) {
+            repo.add( employee );
+        }
+        return repo;
+    }
+
+
+    static Repo<String, Employee> createFromBuilderWithBitmapIndexes() {
+
+        /* Create a repo, lastName and salary have few values so they get bitmaps. */
+        RepoBuilder repoBuilder = Repos.builder();
+
+        repoBuilder.primaryKey( "id" )
+                .searchIndex( "firstName" ).bitmapIndex( "lastName" )
+                .bitmapIndex( "salary" ).uniqueSearchIndex( "empNum" );
+
+        Repo<String, Employee> repo
+                = repoBuilder.build( String.class, Employee.class, SalesEmployee.class );
+
+        for ( Employee employee : employees ) {
+            repo.add( employee );
+        }
+        return repo;
+    }
+
+
     static Repo<String, Employee> createFromBuilderWithTransformAndCollation() {
 
         /* Create a repo, and decide what to index. */
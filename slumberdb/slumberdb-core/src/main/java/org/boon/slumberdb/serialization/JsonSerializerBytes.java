@@ -3,8 +3,6 @@ package org.boon.slumberdb.serialization;
 import org.boon.core.Function;
 import org.boon.json.serializers.impl.JsonSimpleSerializerImpl;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * Created by Richard on 4/9/14.
  */
@@ -21,6 +19,6 @@ public class JsonSerializerBytes<T> implements Function<T, byte[]> {
 
     @Override
     public byte[] apply(T t) {
-        return serializer.serialize(t).toString().getBytes(StandardCharsets.UTF_8);
+        return serializer.serializeUTF8(t).toBytes();
     }
 }